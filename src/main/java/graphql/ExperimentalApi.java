@@ -24,4 +24,10 @@ public @interface ExperimentalApi {
      * The key that should be associated with a boolean value which indicates whether @defer and @stream behaviour is enabled for this execution.
      */
     String ENABLE_INCREMENTAL_SUPPORT  = "ENABLE_INCREMENTAL_SUPPORT";
+
+    /**
+     * The key that should be associated with a boolean value which indicates whether the objects in the result data are
+     * represented as compact, read only maps that share their keys instead of {@link java.util.LinkedHashMap}s.
+     */
+    String ENABLE_COMPACT_RESULTS = "ENABLE_COMPACT_RESULTS";
 }
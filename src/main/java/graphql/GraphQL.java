@@ -1,5 +1,6 @@
 package graphql;
 
+import graphql.analysis.QueryAnalysisCache;
 import graphql.execution.AbortExecutionException;
 import graphql.execution.Async;
 import graphql.execution.AsyncExecutionStrategy;
@@ -17,21 +18,25 @@ import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.dataloader.BatchWindowDispatchOptions;
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.execution.plan.ExecutionPlan;
 import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationResultCache;
 
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -93,6 +98,9 @@ public class GraphQL {
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
     private final boolean doNotAutomaticallyDispatchDataLoader;
+    private final boolean compileExecutionPlans;
+    private final BatchWindowDispatchOptions batchWindowDispatchOptions;
+    private final ValidationResultCache validationResultCache;
 
 
     private GraphQL(Builder builder) {
@@ -105,6 +113,9 @@ public class GraphQL {
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, () -> "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, () -> "valueUnboxer must not be null");
         this.doNotAutomaticallyDispatchDataLoader = builder.doNotAutomaticallyDispatchDataLoader;
+        this.compileExecutionPlans = builder.compileExecutionPlans;
+        this.batchWindowDispatchOptions = builder.batchWindowDispatchOptions;
+        this.validationResultCache = builder.validationResultCache;
     }
 
     /**
@@ -153,6 +164,30 @@ public class GraphQL {
         return doNotAutomaticallyDispatchDataLoader;
     }
 
+    /**
+     * @return true if this {@link GraphQL} instance executes queries via compiled execution plans
+     */
+    @ExperimentalApi
+    public boolean isCompileExecutionPlans() {
+        return compileExecutionPlans;
+    }
+
+    /**
+     * @return the batch window DataLoader dispatch options of this {@link GraphQL} instance or null if DataLoaders are dispatched per level
+     */
+    @ExperimentalApi
+    public BatchWindowDispatchOptions getBatchWindowDispatchOptions() {
+        return batchWindowDispatchOptions;
+    }
+
+    /**
+     * @return the cache of validation outcomes of this {@link GraphQL} instance or null if every document is validated
+     */
+    @ExperimentalApi
+    public ValidationResultCache getValidationResultCache() {
+        return validationResultCache;
+    }
+
     /**
      * @return the PreparsedDocumentProvider for this {@link GraphQL} instance
      */
@@ -194,7 +229,10 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(Optional.ofNullable(this.idProvider).orElse(builder.idProvider))
                 .instrumentation(Optional.ofNullable(this.instrumentation).orElse(builder.instrumentation))
-                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider))
+                .compileExecutionPlans(this.compileExecutionPlans)
+                .batchWindowDispatchOptions(this.batchWindowDispatchOptions)
+                .validationResultCache(this.validationResultCache);
 
         builderConsumer.accept(builder);
 
@@ -212,6 +250,9 @@ public class GraphQL {
         private Instrumentation instrumentation = null; // deliberate default here
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
         private boolean doNotAutomaticallyDispatchDataLoader = false;
+        private boolean compileExecutionPlans = false;
+        private BatchWindowDispatchOptions batchWindowDispatchOptions;
+        private ValidationResultCache validationResultCache;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
 
 
@@ -279,6 +320,55 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * When enabled, the first execution of a document compiles an execution plan that is stored alongside its
+         * {@link PreparsedDocumentEntry}.  The plan records the collected fields per object type, the field definitions and the
+         * data fetchers in play, and later executions of the same document walk the plan instead of rediscovering them.
+         * <p>
+         * This only pays off if a {@link PreparsedDocumentProvider} that caches documents is in place.  Each combination of
+         * {@code @skip} / {@code @include} variable values gets its own plan variant.  The data fetcher returned by a
+         * {@link graphql.schema.DataFetcherFactory} is reused across executions of a plan, so factories must not rely on being
+         * called for every field fetch.
+         *
+         * @param compileExecutionPlans true to execute queries via compiled execution plans
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder compileExecutionPlans(boolean compileExecutionPlans) {
+            this.compileExecutionPlans = compileExecutionPlans;
+            return this;
+        }
+
+        /**
+         * Switches DataLoader dispatching to batch window dispatching, where DataLoaders are also dispatched once a short batch window
+         * elapsed or enough keys are queued instead of only when a whole level of the query has been fetched.  This can be overridden per
+         * execution by putting {@link BatchWindowDispatchOptions} into the {@link GraphQLContext}.
+         *
+         * @param batchWindowDispatchOptions the batch window options or null to dispatch per level
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder batchWindowDispatchOptions(BatchWindowDispatchOptions batchWindowDispatchOptions) {
+            this.batchWindowDispatchOptions = batchWindowDispatchOptions;
+            return this;
+        }
+
+        /**
+         * Caches the validation outcome of queries by their query text, so that repeated queries are only validated once even
+         * without a caching {@link PreparsedDocumentProvider}.  The cache is dropped whenever a different schema is validated against.
+         *
+         * @param validationResultCache the cache of validation outcomes or null to validate every document
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder validationResultCache(ValidationResultCache validationResultCache) {
+            this.validationResultCache = validationResultCache;
+            return this;
+        }
+
         public Builder valueUnboxer(ValueUnboxer valueUnboxer) {
             this.valueUnboxer = valueUnboxer;
             return this;
@@ -467,13 +557,14 @@ public class GraphQL {
             executionInputRef.set(transformedInput);
             return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
         };
-        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, computeFunction);
+        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, graphQLSchema, computeFunction);
         return preparsedDoc.thenCompose(preparsedDocumentEntry -> {
             if (preparsedDocumentEntry.hasErrors()) {
                 return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDocumentEntry.getErrors()));
             }
             try {
-                return execute(executionInputRef.get(), preparsedDocumentEntry.getDocument(), graphQLSchema, instrumentationState);
+                ExecutionPlan executionPlan = compileExecutionPlans ? preparsedDocumentEntry.getOrCreateExecutionPlan(graphQLSchema) : null;
+                return execute(executionInputRef.get(), preparsedDocumentEntry.getDocument(), graphQLSchema, instrumentationState, executionPlan, preparsedDocumentEntry.getQueryAnalysisCache());
             } catch (AbortExecutionException e) {
                 return CompletableFuture.completedFuture(e.toExecutionResult());
             }
@@ -526,9 +617,18 @@ public class GraphQL {
         InstrumentationContext<List<ValidationError>> validationCtx = nonNullCtx(instrumentation.beginValidation(new InstrumentationValidationParameters(executionInput, document, graphQLSchema), instrumentationState));
         validationCtx.onDispatched();
 
-        Predicate<Class<?>> validationRulePredicate = executionInput.getGraphQLContext().getOrDefault(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT, r -> true);
+        Predicate<Class<?>> validationRulePredicate = executionInput.getGraphQLContext().get(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT);
         Locale locale = executionInput.getLocale() != null ? executionInput.getLocale() : Locale.getDefault();
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale);
+        Executor validationExecutor = executionInput.getGraphQLContext().get(ParseAndValidate.VALIDATION_EXECUTOR_HINT);
+        List<ValidationError> validationErrors;
+        if (validationResultCache != null && validationRulePredicate == null) {
+            // outcomes are only cached for the full set of rules, since a rule predicate cannot be compared
+            validationErrors = validationResultCache.validate(graphQLSchema, executionInput.getQuery(), locale,
+                    () -> ParseAndValidate.validate(graphQLSchema, document, r -> true, locale, validationExecutor));
+        } else {
+            Predicate<Class<?>> rulePredicate = validationRulePredicate != null ? validationRulePredicate : r -> true;
+            validationErrors = ParseAndValidate.validate(graphQLSchema, document, rulePredicate, locale, validationExecutor);
+        }
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
@@ -537,13 +637,15 @@ public class GraphQL {
     private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput,
                                                        Document document,
                                                        GraphQLSchema graphQLSchema,
-                                                       InstrumentationState instrumentationState
+                                                       InstrumentationState instrumentationState,
+                                                       ExecutionPlan executionPlan,
+                                                       QueryAnalysisCache queryAnalysisCache
     ) {
 
-        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader);
+        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader, batchWindowDispatchOptions);
         ExecutionId executionId = executionInput.getExecutionId();
 
-        return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
+        return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState, executionPlan, queryAnalysisCache);
     }
 
 }
@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import static java.util.Optional.ofNullable;
@@ -33,6 +34,15 @@ public class ParseAndValidate {
     @Internal
     public static final String INTERNAL_VALIDATION_PREDICATE_HINT = "graphql.ParseAndValidate.Predicate";
 
+    /**
+     * This {@link GraphQLContext} hint can be used to supply an {@link Executor} to the Validator so that groups of independent
+     * validation rules are run in parallel on it.  This pays off for large documents only.
+     *
+     * @see graphql.validation.Validator#validateDocument(GraphQLSchema, Document, Predicate, Locale, Executor)
+     */
+    @ExperimentalApi
+    public static final String VALIDATION_EXECUTOR_HINT = "graphql.ParseAndValidate.Executor";
+
     /**
      * This can be called to parse and validate a graphql query against a schema, which is useful if you want to know if it would be acceptable
      * for execution.
@@ -118,6 +128,23 @@ public class ParseAndValidate {
         return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale);
     }
 
+    /**
+     * This can be called to validate a parsed graphql query with groups of independent validation rules run in parallel.
+     *
+     * @param graphQLSchema  the graphql schema to validate against
+     * @param parsedDocument the previously parsed document
+     * @param rulePredicate  this predicate is used to decide what validation rules will be applied
+     * @param locale         the current locale
+     * @param executor       the executor the rule groups are run on or null to run them all on the calling thread
+     *
+     * @return a result object that indicates how this operation went
+     */
+    @ExperimentalApi
+    public static List<ValidationError> validate(@NotNull GraphQLSchema graphQLSchema, @NotNull Document parsedDocument, @NotNull Predicate<Class<?>> rulePredicate, @NotNull Locale locale, Executor executor) {
+        Validator validator = new Validator();
+        return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale, executor);
+    }
+
     /**
      * This can be called to validate a parsed graphql query, with the JVM default locale.
      *
@@ -3,7 +3,6 @@ package graphql.analysis;
 import graphql.ExecutionResult;
 import graphql.PublicApi;
 import graphql.execution.AbortExecutionException;
-import graphql.execution.ExecutionContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
@@ -94,8 +93,8 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters instrumentationExecuteOperationParameters, InstrumentationState rawState) {
         State state = ofState(rawState);
-        QueryComplexityCalculator queryComplexityCalculator = newQueryComplexityCalculator(instrumentationExecuteOperationParameters.getExecutionContext());
-        int totalComplexity = queryComplexityCalculator.calculate();
+        // the analysis is shared with the other protections of this execution and the complexity is kept with a cached document
+        int totalComplexity = instrumentationExecuteOperationParameters.getExecutionContext().getQueryComplexity(fieldComplexityCalculator);
         if (totalComplexity > maxComplexity) {
             QueryComplexityInfo queryComplexityInfo = QueryComplexityInfo.newQueryComplexityInfo()
                     .complexity(totalComplexity)
@@ -110,16 +109,6 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
         return noOp();
     }
 
-    private QueryComplexityCalculator newQueryComplexityCalculator(ExecutionContext executionContext) {
-        return QueryComplexityCalculator.newCalculator()
-                .fieldComplexityCalculator(fieldComplexityCalculator)
-                .schema(executionContext.getGraphQLSchema())
-                .document(executionContext.getDocument())
-                .operationName(executionContext.getExecutionInput().getOperationName())
-                .variables(executionContext.getCoercedVariables())
-                .build();
-    }
-
     /**
      * Called to generate your own error message or custom exception class
      *
@@ -3,7 +3,6 @@ package graphql.analysis;
 import graphql.ExecutionResult;
 import graphql.PublicApi;
 import graphql.execution.AbortExecutionException;
-import graphql.execution.ExecutionContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
@@ -52,8 +51,8 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
-        QueryTraverser queryTraverser = newQueryTraverser(parameters.getExecutionContext());
-        int depth = queryTraverser.reducePreOrder((env, acc) -> Math.max(getPathLength(env.getParentEnvironment()), acc), 0);
+        // the analysis is shared with the other protections of this execution and the depth is kept with a cached document
+        int depth = parameters.getExecutionContext().getQueryDepth();
         if (log.isDebugEnabled()) {
             log.debug("Query depth info: {}", depth);
         }
@@ -80,22 +79,4 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
     protected AbortExecutionException mkAbortException(int depth, int maxDepth) {
         return new AbortExecutionException("maximum query depth exceeded " + depth + " > " + maxDepth);
     }
-
-    QueryTraverser newQueryTraverser(ExecutionContext executionContext) {
-        return QueryTraverser.newQueryTraverser()
-                .schema(executionContext.getGraphQLSchema())
-                .document(executionContext.getDocument())
-                .operationName(executionContext.getExecutionInput().getOperationName())
-                .coercedVariables(executionContext.getCoercedVariables())
-                .build();
-    }
-
-    private int getPathLength(QueryVisitorFieldEnvironment path) {
-        int length = 1;
-        while (path != null) {
-            path = path.getParentEnvironment();
-            length++;
-        }
-        return length;
-    }
 }
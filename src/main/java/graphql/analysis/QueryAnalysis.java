@@ -0,0 +1,305 @@
+package graphql.analysis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import graphql.ExperimentalApi;
+import graphql.execution.CoercedVariables;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLSchema;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * A query analysis is the outcome of walking an operation once with a {@link QueryTraverser} and it has everything
+ * that {@link MaxQueryDepthInstrumentation}, {@link MaxQueryComplexityInstrumentation} and
+ * {@link graphql.execution.instrumentation.fieldvalidation.FieldValidationInstrumentation} need, so that stacking these
+ * protections does not walk the operation once per protection.
+ * <p>
+ * The analysis of an execution is available via {@link graphql.execution.ExecutionContext#getQueryAnalysis()}.  If the
+ * operation does not declare any variables then the analysis only depends on the document and the schema, and it is kept
+ * with the {@link graphql.execution.preparsed.PreparsedDocumentEntry} of the document and so shared by every execution of
+ * a cached document.  So it only keeps what the protections need to know about each field, see {@link QueryAnalysisField},
+ * and not the environments the fields have been visited with.
+ */
+@ExperimentalApi
+public class QueryAnalysis {
+
+    private final GraphQLSchema schema;
+    private final ImmutableList<QueryAnalysisField> fields;
+    private final int[] parentIndexes;
+    private final int depth;
+    private final ImmutableMap<FieldCoordinates, Integer> fieldCounts;
+
+    private QueryAnalysis(GraphQLSchema schema, ImmutableList<QueryAnalysisField> fields, int[] parentIndexes, int depth, ImmutableMap<FieldCoordinates, Integer> fieldCounts) {
+        this.schema = schema;
+        this.fields = fields;
+        this.parentIndexes = parentIndexes;
+        this.depth = depth;
+        this.fieldCounts = fieldCounts;
+    }
+
+    /**
+     * Walks the given operation once and analyses it
+     *
+     * @param schema           the schema in play
+     * @param document         the document that contains the operation
+     * @param operationName    the name of the operation, which can be null if the document has only one operation
+     * @param coercedVariables the variables of the operation
+     *
+     * @return the analysis of the operation
+     */
+    public static QueryAnalysis analyseQuery(GraphQLSchema schema, Document document, String operationName, CoercedVariables coercedVariables) {
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(assertNotNull(schema))
+                .document(assertNotNull(document))
+                .operationName(operationName)
+                .coercedVariables(assertNotNull(coercedVariables))
+                .build();
+
+        List<QueryAnalysisField> fields = new ArrayList<>();
+        List<Integer> parentIndexes = new ArrayList<>();
+        Map<QueryVisitorFieldEnvironment, Integer> indexes = new IdentityHashMap<>();
+        Map<QueryVisitorFieldEnvironment, Integer> depths = new IdentityHashMap<>();
+        Map<FieldCoordinates, Integer> fieldCounts = new LinkedHashMap<>();
+        int[] maxDepth = {0};
+
+        // the parent environment of a field is the very environment its parent has been visited with
+        queryTraverser.visitPreOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                QueryVisitorFieldEnvironment parentEnvironment = env.getParentEnvironment();
+                int fieldDepth = parentEnvironment == null ? 1 : depths.get(parentEnvironment) + 1;
+                maxDepth[0] = Math.max(maxDepth[0], fieldDepth);
+
+                int parentIndex = parentEnvironment == null ? -1 : indexes.get(parentEnvironment);
+                indexes.put(env, fields.size());
+                depths.put(env, fieldDepth);
+                parentIndexes.add(parentIndex);
+                fields.add(new QueryAnalysisField(env, parentIndex < 0 ? null : fields.get(parentIndex)));
+
+                if (!env.isTypeNameIntrospectionField()) {
+                    fieldCounts.merge(coordinates(env.getFieldsContainer(), env.getFieldDefinition()), 1, Integer::sum);
+                }
+            }
+        });
+
+        int[] parents = new int[parentIndexes.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = parentIndexes.get(i);
+        }
+        return new QueryAnalysis(schema, ImmutableList.copyOf(fields), parents, maxDepth[0], ImmutableMap.copyOf(fieldCounts));
+    }
+
+    /**
+     * @param schema the schema in play
+     *
+     * @return true if this analysis was made against exactly this schema object
+     */
+    public boolean isForSchema(GraphQLSchema schema) {
+        return this.schema == schema;
+    }
+
+    /**
+     * The depth of the operation, where the top level fields are at depth 1.  This is the depth that
+     * {@link MaxQueryDepthInstrumentation} checks.
+     *
+     * @return the depth of the operation
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of fields that are selected in the operation, counting a field once per place it is selected in
+     */
+    public int getFieldCount() {
+        return fields.size();
+    }
+
+    /**
+     * @return how often each field of the schema is selected in the operation, not counting the {@code __typename} fields
+     */
+    public Map<FieldCoordinates, Integer> getFieldCounts() {
+        return fieldCounts;
+    }
+
+    /**
+     * @return the selected fields, in the order in which {@link QueryTraverser#visitPreOrder(QueryVisitor)} visits them
+     */
+    public List<QueryAnalysisField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Calculates the complexity of the operation just like {@link QueryComplexityCalculator#calculate()} does, but from the
+     * fields of this analysis rather than by walking the operation again
+     *
+     * @param fieldComplexityCalculator the calculator of the complexity of a single field
+     *
+     * @return the complexity of the operation
+     */
+    public int getComplexity(FieldComplexityCalculator fieldComplexityCalculator) {
+        return getComplexity(fieldComplexityCalculator, null);
+    }
+
+    /**
+     * Calculates the complexity of the operation and records the names of the variables whose values the calculator has
+     * read, via the arguments of the fields it has been given
+     *
+     * @param fieldComplexityCalculator the calculator of the complexity of a single field
+     * @param readVariableNames         the set to add the names of the read variables to or null to not record them
+     *
+     * @return the complexity of the operation
+     */
+    int getComplexity(FieldComplexityCalculator fieldComplexityCalculator, Set<String> readVariableNames) {
+        assertNotNull(fieldComplexityCalculator, () -> "fieldComplexityCalculator can't be null");
+        int fieldCount = fields.size();
+        FieldComplexityEnvironment[] complexityEnvironments = new FieldComplexityEnvironment[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            QueryAnalysisField field = fields.get(i);
+            if (field.isTypeNameIntrospectionField()) {
+                continue;
+            }
+            FieldComplexityEnvironment parentEnvironment = parentIndexes[i] < 0 ? null : complexityEnvironments[parentIndexes[i]];
+            Map<String, Object> arguments = field.getArguments();
+            if (readVariableNames != null) {
+                arguments = recordVariableReads(field.getField(), arguments, readVariableNames);
+            }
+            complexityEnvironments[i] = new FieldComplexityEnvironment(field.getField(),
+                    field.getFieldDefinition(),
+                    field.getFieldsContainer(),
+                    arguments,
+                    parentEnvironment);
+        }
+
+        // every field comes after its parent in pre order and so walking backwards sees the children before their parent
+        int[] childComplexities = new int[fieldCount];
+        int complexity = 0;
+        for (int i = fieldCount - 1; i >= 0; i--) {
+            // the __typename fields add nothing to the complexity, just like they do in QueryComplexityCalculator
+            int value = complexityEnvironments[i] == null ? 0 : fieldComplexityCalculator.calculate(complexityEnvironments[i], childComplexities[i]);
+            if (parentIndexes[i] < 0) {
+                complexity += value;
+            } else {
+                childComplexities[parentIndexes[i]] += value;
+            }
+        }
+        return complexity;
+    }
+
+    private static Map<String, Object> recordVariableReads(Field field, Map<String, Object> arguments, Set<String> readVariableNames) {
+        Map<String, List<String>> variableNamesByArgument = null;
+        for (Argument argument : field.getArguments()) {
+            List<String> variableNames = new ArrayList<>();
+            collectVariableNames(argument.getValue(), variableNames);
+            if (!variableNames.isEmpty()) {
+                if (variableNamesByArgument == null) {
+                    variableNamesByArgument = new LinkedHashMap<>();
+                }
+                variableNamesByArgument.put(argument.getName(), variableNames);
+            }
+        }
+        if (variableNamesByArgument == null) {
+            // none of the arguments depend on variables, so reading them reads no variable
+            return arguments;
+        }
+        return new VariableReadRecordingArguments(arguments, variableNamesByArgument, readVariableNames);
+    }
+
+    private static void collectVariableNames(Value<?> value, List<String> variableNames) {
+        if (value instanceof VariableReference) {
+            variableNames.add(((VariableReference) value).getName());
+        } else if (value instanceof ArrayValue) {
+            for (Value<?> item : ((ArrayValue) value).getValues()) {
+                collectVariableNames(item, variableNames);
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                collectVariableNames(objectField.getValue(), variableNames);
+            }
+        }
+    }
+
+    /*
+     * The arguments of a field as the complexity calculator sees them, which records the variables behind the
+     * arguments it reads.  Anything that looks at all the arguments at once reads all of their variables.
+     */
+    private static class VariableReadRecordingArguments extends AbstractMap<String, Object> {
+        private final Map<String, Object> arguments;
+        private final Map<String, List<String>> variableNamesByArgument;
+        private final Set<String> readVariableNames;
+
+        VariableReadRecordingArguments(Map<String, Object> arguments, Map<String, List<String>> variableNamesByArgument, Set<String> readVariableNames) {
+            this.arguments = arguments;
+            this.variableNamesByArgument = variableNamesByArgument;
+            this.readVariableNames = readVariableNames;
+        }
+
+        private void recordRead(Object argumentName) {
+            List<String> variableNames = variableNamesByArgument.get(argumentName);
+            if (variableNames != null) {
+                readVariableNames.addAll(variableNames);
+            }
+        }
+
+        private void recordReadOfAll() {
+            variableNamesByArgument.values().forEach(readVariableNames::addAll);
+        }
+
+        @Override
+        public Object get(Object key) {
+            recordRead(key);
+            return arguments.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            recordRead(key);
+            return arguments.containsKey(key);
+        }
+
+        @Override
+        public Object getOrDefault(Object key, Object defaultValue) {
+            recordRead(key);
+            return arguments.getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public int size() {
+            recordReadOfAll();
+            return arguments.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            recordReadOfAll();
+            return Collections.unmodifiableMap(arguments).entrySet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryAnalysis{" +
+                "depth=" + depth +
+                ", fieldCount=" + getFieldCount() +
+                '}';
+    }
+}
@@ -0,0 +1,227 @@
+package graphql.analysis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import graphql.Internal;
+import graphql.execution.CoercedVariables;
+import graphql.execution.plan.ExecutionPlan;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Keeps the outcomes of analysing the operations of a single document, so that executing a cached document again is
+ * mostly a hash look up rather than a walk over the operation.
+ * <p>
+ * The {@link QueryAnalysis} itself is only kept for operations that do not declare variables.  The depth and the
+ * complexities are also kept for operations that do, keyed on the values of just those variables that the outcome
+ * has been seen to depend on.  These are the variables of the {@code @skip} and {@code @include} directives, and for
+ * a complexity, the variables behind the field arguments that the {@link FieldComplexityCalculator} has read.  This
+ * assumes that a complexity calculator is a function of what it is given, which is all it can see.
+ * <p>
+ * It lives as long as the {@link graphql.execution.preparsed.PreparsedDocumentEntry} of its document.
+ */
+@Internal
+public class QueryAnalysisCache {
+
+    /**
+     * The number of outcomes kept per operation and per depth or complexity calculator, after which new outcomes
+     * are calculated but no longer kept
+     */
+    public static final int MAX_OUTCOMES = 128;
+
+    private static final String ANONYMOUS_OPERATION = "";
+    private static final Object ABSENT_VARIABLE = new Object();
+
+    private final Document document;
+    private final ImmutableSet<String> conditionalVariableNames;
+    private final Map<String, OperationOutcomes> outcomesByOperationName = new ConcurrentHashMap<>();
+
+    public QueryAnalysisCache(Document document) {
+        this.document = assertNotNull(document);
+        this.conditionalVariableNames = ImmutableSet.copyOf(ExecutionPlan.collectConditionalVariableNames(document));
+    }
+
+    /**
+     * @param document the document of an execution, which instrumentation may have changed
+     *
+     * @return true if this cache is for this very document
+     */
+    public boolean isForDocument(Document document) {
+        return this.document == document;
+    }
+
+    /**
+     * Returns the analysis of the given operation, which is shared with other executions of the same document where that
+     * is possible
+     *
+     * @param schema              the schema in play
+     * @param operationDefinition the operation being executed
+     * @param coercedVariables    the variables of the execution
+     *
+     * @return the analysis of the operation
+     */
+    public QueryAnalysis getQueryAnalysis(GraphQLSchema schema, OperationDefinition operationDefinition, CoercedVariables coercedVariables) {
+        if (!operationDefinition.getVariableDefinitions().isEmpty()) {
+            return analyse(schema, operationDefinition, coercedVariables);
+        }
+        OperationOutcomes outcomes = getOutcomes(schema, operationDefinition);
+        QueryAnalysis queryAnalysis = outcomes.queryAnalysis;
+        if (queryAnalysis == null) {
+            queryAnalysis = analyse(schema, operationDefinition, coercedVariables);
+            outcomes.queryAnalysis = queryAnalysis;
+        }
+        return queryAnalysis;
+    }
+
+    /**
+     * @param schema              the schema in play
+     * @param operationDefinition the operation being executed
+     * @param coercedVariables    the variables of the execution
+     * @param queryAnalysis       the analysis of the execution, which is only asked for if the depth is not known yet
+     *
+     * @return the depth of the operation
+     */
+    public int getDepth(GraphQLSchema schema, OperationDefinition operationDefinition, CoercedVariables coercedVariables, Supplier<QueryAnalysis> queryAnalysis) {
+        OperationOutcomes outcomes = getOutcomes(schema, operationDefinition);
+        // which fields there are only depends on the variables of the @skip and @include directives
+        return outcomes.depths.getOrCalculate(coercedVariables, () -> new Outcome(queryAnalysis.get().getDepth(), conditionalVariableNames));
+    }
+
+    /**
+     * @param schema                    the schema in play
+     * @param operationDefinition       the operation being executed
+     * @param coercedVariables          the variables of the execution
+     * @param fieldComplexityCalculator the calculator of the complexity of a single field
+     * @param queryAnalysis             the analysis of the execution, which is only asked for if the complexity is not known yet
+     *
+     * @return the complexity of the operation
+     */
+    public int getComplexity(GraphQLSchema schema, OperationDefinition operationDefinition, CoercedVariables coercedVariables, FieldComplexityCalculator fieldComplexityCalculator, Supplier<QueryAnalysis> queryAnalysis) {
+        OperationOutcomes outcomes = getOutcomes(schema, operationDefinition);
+        Outcomes complexities = outcomes.complexities.get(fieldComplexityCalculator);
+        if (complexities == null) {
+            if (outcomes.complexities.size() >= MAX_OUTCOMES) {
+                // a calculator per execution would never be asked for again
+                return queryAnalysis.get().getComplexity(fieldComplexityCalculator);
+            }
+            complexities = outcomes.complexities.computeIfAbsent(fieldComplexityCalculator, calculator -> new Outcomes());
+        }
+        return complexities.getOrCalculate(coercedVariables, () -> {
+            Set<String> readVariableNames = new LinkedHashSet<>(conditionalVariableNames);
+            int complexity = queryAnalysis.get().getComplexity(fieldComplexityCalculator, readVariableNames);
+            return new Outcome(complexity, readVariableNames);
+        });
+    }
+
+    private QueryAnalysis analyse(GraphQLSchema schema, OperationDefinition operationDefinition, CoercedVariables coercedVariables) {
+        return QueryAnalysis.analyseQuery(schema, document, operationDefinition.getName(), coercedVariables);
+    }
+
+    private OperationOutcomes getOutcomes(GraphQLSchema schema, OperationDefinition operationDefinition) {
+        String key = operationDefinition.getName() != null ? operationDefinition.getName() : ANONYMOUS_OPERATION;
+        OperationOutcomes outcomes = outcomesByOperationName.get(key);
+        if (outcomes == null || outcomes.schema != schema) {
+            outcomes = new OperationOutcomes(schema);
+            outcomesByOperationName.put(key, outcomes);
+        }
+        return outcomes;
+    }
+
+    private static List<Object> variableValues(List<String> variableNames, CoercedVariables coercedVariables) {
+        List<Object> values = new ArrayList<>(variableNames.size());
+        for (String variableName : variableNames) {
+            values.add(coercedVariables.containsKey(variableName) ? coercedVariables.get(variableName) : ABSENT_VARIABLE);
+        }
+        return values;
+    }
+
+    private static class OperationOutcomes {
+        private final GraphQLSchema schema;
+        private final Outcomes depths = new Outcomes();
+        private final Map<FieldComplexityCalculator, Outcomes> complexities = new ConcurrentHashMap<>();
+        private volatile QueryAnalysis queryAnalysis;
+
+        OperationOutcomes(GraphQLSchema schema) {
+            this.schema = schema;
+        }
+    }
+
+    private static class Outcome {
+        private final int value;
+        private final ImmutableList<String> readVariableNames;
+
+        Outcome(int value, Set<String> readVariableNames) {
+            this.value = value;
+            // in a canonical order, so that the same variables read in a different order are kept together
+            this.readVariableNames = ImmutableList.sortedCopyOf(readVariableNames);
+        }
+    }
+
+    /*
+     * An outcome that has been calculated after reading some variables holds for any execution whose variables have the
+     * same values, and so the outcomes are kept per set of read variables and then per values of those variables.
+     */
+    private static class Outcomes {
+        private final List<ImmutableList<String>> readVariableNames = new CopyOnWriteArrayList<>();
+        private final Map<OutcomeKey, Integer> values = new ConcurrentHashMap<>();
+
+        int getOrCalculate(CoercedVariables coercedVariables, Supplier<Outcome> calculation) {
+            for (ImmutableList<String> variableNames : readVariableNames) {
+                Integer value = values.get(new OutcomeKey(variableNames, variableValues(variableNames, coercedVariables)));
+                if (value != null) {
+                    return value;
+                }
+            }
+            Outcome outcome = calculation.get();
+            if (values.size() < MAX_OUTCOMES) {
+                if (!readVariableNames.contains(outcome.readVariableNames)) {
+                    readVariableNames.add(outcome.readVariableNames);
+                }
+                values.put(new OutcomeKey(outcome.readVariableNames, variableValues(outcome.readVariableNames, coercedVariables)), outcome.value);
+            }
+            return outcome.value;
+        }
+    }
+
+    private static class OutcomeKey {
+        private final ImmutableList<String> variableNames;
+        private final List<Object> variableValues;
+        private final int hashCode;
+
+        OutcomeKey(ImmutableList<String> variableNames, List<Object> variableValues) {
+            this.variableNames = variableNames;
+            this.variableValues = variableValues;
+            this.hashCode = Objects.hash(variableNames, variableValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            OutcomeKey that = (OutcomeKey) o;
+            return variableNames.equals(that.variableNames) && variableValues.equals(that.variableValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
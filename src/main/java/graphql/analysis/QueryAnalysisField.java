@@ -0,0 +1,76 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.language.Field;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+
+import java.util.Map;
+
+/**
+ * A field that is selected in an operation, as a {@link QueryAnalysis} keeps it.  It has only what the query protections
+ * need to know about the field, rather than the whole {@link QueryVisitorFieldEnvironment} it has been visited with.
+ */
+@ExperimentalApi
+public class QueryAnalysisField {
+    private final Field field;
+    private final GraphQLFieldDefinition fieldDefinition;
+    private final GraphQLCompositeType fieldsContainer;
+    private final Map<String, Object> arguments;
+    private final QueryAnalysisField parent;
+    private final boolean typeNameIntrospectionField;
+
+    QueryAnalysisField(QueryVisitorFieldEnvironment environment, QueryAnalysisField parent) {
+        this.field = environment.getField();
+        this.fieldDefinition = environment.getFieldDefinition();
+        this.fieldsContainer = environment.getFieldsContainer();
+        this.arguments = environment.getArguments();
+        this.parent = parent;
+        this.typeNameIntrospectionField = environment.isTypeNameIntrospectionField();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public GraphQLFieldDefinition getFieldDefinition() {
+        return fieldDefinition;
+    }
+
+    /**
+     * @return the object or interface type the field is selected on
+     */
+    public GraphQLCompositeType getFieldsContainer() {
+        return fieldsContainer;
+    }
+
+    /**
+     * @return the values of the arguments of the field
+     */
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return the field this field is selected under or null if it is a top level field
+     */
+    public QueryAnalysisField getParent() {
+        return parent;
+    }
+
+    /**
+     * @return true if this is a {@code __typename} field
+     */
+    public boolean isTypeNameIntrospectionField() {
+        return typeNameIntrospectionField;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryAnalysisField{" +
+                "field=" + field.getName() +
+                ", fieldsContainer=" + fieldsContainer.getName() +
+                ", arguments=" + arguments +
+                '}';
+    }
+}
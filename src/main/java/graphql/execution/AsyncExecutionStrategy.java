@@ -1,6 +1,7 @@
 package graphql.execution;
 
 import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.execution.incremental.DeferredExecutionSupport;
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
@@ -11,8 +12,11 @@ import graphql.introspection.Introspection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 
+import static graphql.Assert.assertNotNull;
+
 /**
  * The standard graphql execution strategy that runs fields asynchronously non-blocking.
  */
@@ -35,6 +39,25 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         super(exceptionHandler);
     }
 
+    /**
+     * Creates a execution strategy that uses the provided exception handler and invokes every data fetcher that
+     * is not a {@link graphql.TrivialDataFetcher} on the provided executor, which suits blocking data fetchers.
+     * <pre>
+     * {@code
+     * new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), DataFetcherExecutors.newVirtualThreadPerTaskExecutor());
+     * }
+     * </pre>
+     *
+     * @param exceptionHandler    the exception handler to use
+     * @param dataFetcherExecutor the executor data fetchers are invoked on
+     *
+     * @see DataFetcherExecutors
+     */
+    @ExperimentalApi
+    public AsyncExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, Executor dataFetcherExecutor) {
+        super(exceptionHandler, assertNotNull(dataFetcherExecutor, () -> "dataFetcherExecutor must not be null"));
+    }
+
     @Override
     @SuppressWarnings("FutureReturnValueIgnored")
     public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
@@ -0,0 +1,53 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Helps to create executors that blocking data fetchers can be run on via
+ * {@link AsyncExecutionStrategy#AsyncExecutionStrategy(DataFetcherExceptionHandler, java.util.concurrent.Executor)}.
+ * <p>
+ * Virtual threads are ideal for data fetchers that do blocking I/O, such as JDBC calls, since each data fetcher invocation
+ * gets a cheap thread of its own.  graphql-java runs on Java versions without virtual threads, so they are looked up at runtime.
+ */
+@ExperimentalApi
+public class DataFetcherExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findNewVirtualThreadPerTaskExecutor();
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that runs each data fetcher invocation on a new virtual thread
+     *
+     * @return a new virtual thread per task executor
+     *
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, this is Java " + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Unable to create a virtual thread executor", e);
+        }
+    }
+
+    private static Method findNewVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
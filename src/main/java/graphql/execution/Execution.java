@@ -8,14 +8,19 @@ import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
+import graphql.analysis.QueryAnalysisCache;
 import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.dataloader.BatchWindowDataLoaderDispatchStrategy;
+import graphql.execution.instrumentation.dataloader.BatchWindowDispatchOptions;
 import graphql.execution.instrumentation.dataloader.FallbackDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.PerLevelDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.plan.ExecutionPlan;
+import graphql.execution.plan.ExecutionPlanVariant;
 import graphql.extensions.ExtensionsBuilder;
 import graphql.incremental.DelayedIncrementalPartialResult;
 import graphql.incremental.IncrementalExecutionResultImpl;
@@ -51,6 +56,7 @@ public class Execution {
     private final Instrumentation instrumentation;
     private final ValueUnboxer valueUnboxer;
     private final boolean doNotAutomaticallyDispatchDataLoader;
+    private final BatchWindowDispatchOptions batchWindowDispatchOptions;
 
     public Execution(ExecutionStrategy queryStrategy,
                      ExecutionStrategy mutationStrategy,
@@ -58,15 +64,34 @@ public class Execution {
                      Instrumentation instrumentation,
                      ValueUnboxer valueUnboxer,
                      boolean doNotAutomaticallyDispatchDataLoader) {
+        this(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader, null);
+    }
+
+    public Execution(ExecutionStrategy queryStrategy,
+                     ExecutionStrategy mutationStrategy,
+                     ExecutionStrategy subscriptionStrategy,
+                     Instrumentation instrumentation,
+                     ValueUnboxer valueUnboxer,
+                     boolean doNotAutomaticallyDispatchDataLoader,
+                     BatchWindowDispatchOptions batchWindowDispatchOptions) {
         this.queryStrategy = queryStrategy != null ? queryStrategy : new AsyncExecutionStrategy();
         this.mutationStrategy = mutationStrategy != null ? mutationStrategy : new AsyncSerialExecutionStrategy();
         this.subscriptionStrategy = subscriptionStrategy != null ? subscriptionStrategy : new AsyncExecutionStrategy();
         this.instrumentation = instrumentation;
         this.valueUnboxer = valueUnboxer;
         this.doNotAutomaticallyDispatchDataLoader = doNotAutomaticallyDispatchDataLoader;
+        this.batchWindowDispatchOptions = batchWindowDispatchOptions;
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, ExecutionPlan executionPlan) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, executionPlan, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, ExecutionPlan executionPlan, QueryAnalysisCache queryAnalysisCache) {
 
         NodeUtil.GetOperationResult getOperationResult = NodeUtil.getOperation(document, executionInput.getOperationName());
         Map<String, FragmentDefinition> fragmentsByName = getOperationResult.fragmentsByName;
@@ -85,6 +110,8 @@ public class Execution {
             throw rte;
         }
 
+        ExecutionPlanVariant executionPlanVariant = executionPlan != null ? executionPlan.getVariant(coercedVariables, executionInput.getGraphQLContext()) : null;
+
         ExecutionContext executionContext = newExecutionContextBuilder()
                 .instrumentation(instrumentation)
                 .instrumentationState(instrumentationState)
@@ -105,6 +132,8 @@ public class Execution {
                 .locale(executionInput.getLocale())
                 .valueUnboxer(valueUnboxer)
                 .executionInput(executionInput)
+                .executionPlan(executionPlanVariant)
+                .queryAnalysisCache(queryAnalysisCache)
                 .build();
 
         executionContext.getGraphQLContext().put(ResultNodesInfo.RESULT_NODES_INFO, executionContext.getResultNodesInfo());
@@ -113,10 +142,29 @@ public class Execution {
                 executionInput, graphQLSchema
         );
         executionContext = instrumentation.instrumentExecutionContext(executionContext, parameters, instrumentationState);
+        executionContext = ensurePlanMatchesInstrumentedContext(executionContext, executionPlan, document, coercedVariables);
         return executeOperation(executionContext, executionInput.getRoot(), executionContext.getOperationDefinition());
     }
 
 
+    /*
+     * Instrumentation is allowed to change the document and variables of the execution context, in which case
+     * the plan variant we picked may no longer describe what is being executed
+     */
+    private ExecutionContext ensurePlanMatchesInstrumentedContext(ExecutionContext executionContext, ExecutionPlan executionPlan, Document document, CoercedVariables coercedVariables) {
+        if (executionContext.getExecutionPlan() == null) {
+            return executionContext;
+        }
+        if (executionContext.getDocument() != document) {
+            return executionContext.transform(builder -> builder.executionPlan(null));
+        }
+        if (executionContext.getCoercedVariables() != coercedVariables) {
+            ExecutionPlanVariant executionPlanVariant = executionPlan.getVariant(executionContext.getCoercedVariables(), executionContext.getGraphQLContext());
+            return executionContext.transform(builder -> builder.executionPlan(executionPlanVariant));
+        }
+        return executionContext;
+    }
+
     private CompletableFuture<ExecutionResult> executeOperation(ExecutionContext executionContext, Object root, OperationDefinition operationDefinition) {
 
         GraphQLContext graphQLContext = executionContext.getGraphQLContext();
@@ -150,13 +198,7 @@ public class Execution {
                 .graphQLContext(graphQLContext)
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(
-                collectorParameters,
-                operationDefinition.getSelectionSet(),
-                Optional.ofNullable(executionContext.getGraphQLContext())
-                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
-                        .orElse(false)
-        );
+        MergedSelectionSet fields = collectRootFields(executionContext, collectorParameters, operationRootType, operationDefinition);
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -200,6 +242,21 @@ public class Execution {
         return incrementalSupport(executionContext, result);
     }
 
+    private MergedSelectionSet collectRootFields(ExecutionContext executionContext, FieldCollectorParameters collectorParameters, GraphQLObjectType operationRootType, OperationDefinition operationDefinition) {
+        ExecutionPlanVariant executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getSelectionSet(operationDefinition, operationRootType,
+                    () -> fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet(), false));
+        }
+        return fieldCollector.collectFields(
+                collectorParameters,
+                operationDefinition.getSelectionSet(),
+                Optional.ofNullable(executionContext.getGraphQLContext())
+                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                        .orElse(false)
+        );
+    }
+
     /*
      * Adds the deferred publisher if it's needed at the end of the query.  This is also a good time for the deferred code to start running
      */
@@ -228,6 +285,10 @@ public class Execution {
             return DataLoaderDispatchStrategy.NO_OP;
         }
         if (executionStrategy instanceof AsyncExecutionStrategy) {
+            BatchWindowDispatchOptions batchWindowOptions = executionContext.getGraphQLContext().getOrDefault(BatchWindowDispatchOptions.class, batchWindowDispatchOptions);
+            if (batchWindowOptions != null) {
+                return new BatchWindowDataLoaderDispatchStrategy(executionContext, batchWindowOptions);
+            }
             return new PerLevelDataLoaderDispatchStrategy(executionContext);
         } else {
             return new FallbackDataLoaderDispatchStrategy(executionContext);
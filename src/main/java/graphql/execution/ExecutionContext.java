@@ -4,14 +4,20 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicApi;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.QueryAnalysis;
+import graphql.analysis.QueryAnalysisCache;
 import graphql.collect.ImmutableKit;
 import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.plan.ExecutionPlanVariant;
+import graphql.execution.result.CompactResultMapFactory;
 import graphql.language.Document;
 import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
@@ -19,6 +25,7 @@ import graphql.normalized.ExecutableNormalizedOperation;
 import graphql.normalized.ExecutableNormalizedOperationFactory;
 import graphql.schema.GraphQLSchema;
 import graphql.util.FpKit;
+import graphql.util.InterThreadMemoizedSupplier;
 import graphql.util.LockKit;
 import org.dataloader.DataLoaderRegistry;
 
@@ -58,7 +65,11 @@ public class ExecutionContext {
     private final IncrementalCallState incrementalCallState = new IncrementalCallState();
     private final ValueUnboxer valueUnboxer;
     private final ExecutionInput executionInput;
-    private final Supplier<ExecutableNormalizedOperation> queryTree;
+    private final InterThreadMemoizedSupplier<ExecutableNormalizedOperation> queryTree;
+    private final QueryAnalysisCache queryAnalysisCache;
+    private final Supplier<QueryAnalysis> queryAnalysis;
+    private final ExecutionPlanVariant executionPlan;
+    private final CompactResultMapFactory compactResultMapFactory;
 
     // this is modified after creation so it needs to be volatile to ensure visibility across Threads
     private volatile DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = DataLoaderDispatchStrategy.NO_OP;
@@ -86,7 +97,11 @@ public class ExecutionContext {
         this.errors.set(builder.errors);
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
-        this.queryTree = FpKit.interThreadMemoize(() -> ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables));
+        this.executionPlan = builder.executionPlan;
+        this.compactResultMapFactory = graphQLContext != null && graphQLContext.getBoolean(ExperimentalApi.ENABLE_COMPACT_RESULTS) ? new CompactResultMapFactory() : null;
+        this.queryTree = new InterThreadMemoizedSupplier<>(() -> ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables));
+        this.queryAnalysisCache = builder.queryAnalysisCache;
+        this.queryAnalysis = FpKit.interThreadMemoize(this::mkQueryAnalysis);
     }
 
 
@@ -273,6 +288,93 @@ public class ExecutionContext {
         return queryTree;
     }
 
+    /**
+     * Returns the normalized operation of this execution, which is created by the given factory if it has not been
+     * created yet.  This allows a caller that needs a normalized operation made with particular options, say with limits
+     * on its size, to share it with the rest of the execution.
+     *
+     * @param normalizedOperationFactory the factory of the normalized operation
+     *
+     * @return the normalized operation of this execution
+     */
+    @Internal
+    public ExecutableNormalizedOperation getOrCreateNormalizedOperation(Supplier<ExecutableNormalizedOperation> normalizedOperationFactory) {
+        return queryTree.get(normalizedOperationFactory);
+    }
+
+    /**
+     * The query analysis has the depth, the complexity and the fields of the operation, from a single walk over the
+     * operation that is shared by everything that asks for it during this execution.
+     *
+     * @return the query analysis of the operation
+     */
+    @ExperimentalApi
+    public QueryAnalysis getQueryAnalysis() {
+        return queryAnalysis.get();
+    }
+
+    /**
+     * The depth of the operation as {@link QueryAnalysis#getDepth()} has it, which may come from an earlier execution of
+     * the same document with the same {@code @skip} and {@code @include} variables rather than from a walk over the operation
+     *
+     * @return the depth of the operation
+     */
+    @ExperimentalApi
+    public int getQueryDepth() {
+        if (canUseQueryAnalysisCache()) {
+            return queryAnalysisCache.getDepth(graphQLSchema, operationDefinition, coercedVariables, this::getQueryAnalysis);
+        }
+        return getQueryAnalysis().getDepth();
+    }
+
+    /**
+     * The complexity of the operation as {@link QueryAnalysis#getComplexity(FieldComplexityCalculator)} has it, which may come
+     * from an earlier execution of the same document whose variables had the same values as far as the calculator has read them
+     *
+     * @param fieldComplexityCalculator the calculator of the complexity of a single field
+     *
+     * @return the complexity of the operation
+     */
+    @ExperimentalApi
+    public int getQueryComplexity(FieldComplexityCalculator fieldComplexityCalculator) {
+        if (canUseQueryAnalysisCache()) {
+            return queryAnalysisCache.getComplexity(graphQLSchema, operationDefinition, coercedVariables, fieldComplexityCalculator, this::getQueryAnalysis);
+        }
+        return getQueryAnalysis().getComplexity(fieldComplexityCalculator);
+    }
+
+    QueryAnalysisCache getQueryAnalysisCache() {
+        return queryAnalysisCache;
+    }
+
+    private boolean canUseQueryAnalysisCache() {
+        return queryAnalysisCache != null && operationDefinition != null && queryAnalysisCache.isForDocument(document);
+    }
+
+    private QueryAnalysis mkQueryAnalysis() {
+        if (canUseQueryAnalysisCache()) {
+            return queryAnalysisCache.getQueryAnalysis(graphQLSchema, operationDefinition, coercedVariables);
+        }
+        String operationName = executionInput != null ? executionInput.getOperationName() : null;
+        return QueryAnalysis.analyseQuery(graphQLSchema, document, operationName, coercedVariables);
+    }
+
+    /**
+     * @return the compiled execution plan in play or null if this execution is not using one
+     */
+    @Internal
+    public ExecutionPlanVariant getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * @return the factory of compact result maps or null if the result objects are plain maps
+     */
+    @Internal
+    public CompactResultMapFactory getCompactResultMapFactory() {
+        return compactResultMapFactory;
+    }
+
     @Internal
     public void setDataLoaderDispatcherStrategy(DataLoaderDispatchStrategy dataLoaderDispatcherStrategy) {
         this.dataLoaderDispatcherStrategy = dataLoaderDispatcherStrategy;
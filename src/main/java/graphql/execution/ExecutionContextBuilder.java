@@ -7,9 +7,11 @@ import graphql.GraphQLContext;
 import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicApi;
+import graphql.analysis.QueryAnalysisCache;
 import graphql.collect.ImmutableKit;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.plan.ExecutionPlanVariant;
 import graphql.language.Document;
 import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
@@ -45,6 +47,8 @@ public class ExecutionContextBuilder {
     ValueUnboxer valueUnboxer;
     Object localContext;
     ExecutionInput executionInput;
+    ExecutionPlanVariant executionPlan;
+    QueryAnalysisCache queryAnalysisCache;
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -90,6 +94,8 @@ public class ExecutionContextBuilder {
         errors = ImmutableList.copyOf(other.getErrors());
         valueUnboxer = other.getValueUnboxer();
         executionInput = other.getExecutionInput();
+        executionPlan = other.getExecutionPlan();
+        queryAnalysisCache = other.getQueryAnalysisCache();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -203,6 +209,18 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    @Internal
+    public ExecutionContextBuilder executionPlan(ExecutionPlanVariant executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
+    @Internal
+    public ExecutionContextBuilder queryAnalysisCache(QueryAnalysisCache queryAnalysisCache) {
+        this.queryAnalysisCache = queryAnalysisCache;
+        return this;
+    }
+
     public ExecutionContextBuilder resetErrors() {
         this.errors = emptyList();
         return this;
@@ -20,10 +20,14 @@ import graphql.execution.instrumentation.ExecuteObjectInstrumentationContext;
 import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import graphql.execution.plan.ExecutionPlanVariant;
+import graphql.execution.result.CompactResultMapFactory;
 import graphql.extensions.ExtensionsBuilder;
 import graphql.introspection.Introspection;
 import graphql.language.Argument;
@@ -44,7 +48,9 @@ import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
 import graphql.schema.LightDataFetcher;
+import graphql.schema.PropertyDataFetcher;
 import graphql.util.FpKit;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,6 +62,9 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -135,7 +144,10 @@ public abstract class ExecutionStrategy {
     protected final FieldCollector fieldCollector = new FieldCollector();
     protected final ExecutionStepInfoFactory executionStepInfoFactory = new ExecutionStepInfoFactory();
     protected final DataFetcherExceptionHandler dataFetcherExceptionHandler;
+    private final Executor dataFetcherExecutor;
     private final ResolveType resolvedType = new ResolveType();
+    // sub classes can override how fields are fetched and completed, so only the built-in strategies take the leaf fast path
+    private final boolean leafFastPathSupported = getClass() == AsyncExecutionStrategy.class || getClass() == AsyncSerialExecutionStrategy.class;
 
 
     /**
@@ -144,6 +156,7 @@ public abstract class ExecutionStrategy {
      */
     protected ExecutionStrategy() {
         dataFetcherExceptionHandler = new SimpleDataFetcherExceptionHandler();
+        dataFetcherExecutor = null;
     }
 
 
@@ -154,7 +167,21 @@ public abstract class ExecutionStrategy {
      * @param dataFetcherExceptionHandler the callback invoked if an exception happens during data fetching
      */
     protected ExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler) {
+        this(dataFetcherExceptionHandler, null);
+    }
+
+    /**
+     * The consumers of the execution strategy can pass in an {@link Executor} that every data fetcher that is not a
+     * {@link TrivialDataFetcher} is invoked on, so that blocking data fetchers do not block the calling thread.
+     *
+     * @param dataFetcherExceptionHandler the callback invoked if an exception happens during data fetching
+     * @param dataFetcherExecutor         the executor non trivial data fetchers are invoked on or null to invoke them on the calling thread
+     *
+     * @see DataFetcherExecutors#newVirtualThreadPerTaskExecutor()
+     */
+    protected ExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, Executor dataFetcherExecutor) {
         this.dataFetcherExceptionHandler = dataFetcherExceptionHandler;
+        this.dataFetcherExecutor = dataFetcherExecutor;
     }
 
 
@@ -215,7 +242,7 @@ public abstract class ExecutionStrategy {
 
         CompletableFuture<Map<String, Object>> overallResult = new CompletableFuture<>();
         List<String> fieldsExecutedOnInitialResult = deferredExecutionSupport.getNonDeferredFieldNames(fieldNames);
-        BiConsumer<List<Object>, Throwable> handleResultsConsumer = buildFieldValueMap(fieldsExecutedOnInitialResult, overallResult, executionContext);
+        BiConsumer<List<Object>, Throwable> handleResultsConsumer = buildFieldValueMap(parameters.getFields(), fieldsExecutedOnInitialResult, overallResult, executionContext);
 
         resolveObjectCtx.onDispatched();
 
@@ -257,7 +284,7 @@ public abstract class ExecutionStrategy {
                 overallResult.whenComplete(resolveObjectCtx::onCompleted);
                 return overallResult;
             } else {
-                Map<String, Object> fieldValueMap = buildFieldValueMap(fieldsExecutedOnInitialResult, (List<Object>) completedValuesObject);
+                Map<String, Object> fieldValueMap = buildFieldValueMap(parameters.getFields(), fieldsExecutedOnInitialResult, (List<Object>) completedValuesObject, executionContext);
                 resolveObjectCtx.onCompleted(fieldValueMap, null);
                 return fieldValueMap;
             }
@@ -273,19 +300,23 @@ public abstract class ExecutionStrategy {
         return resultFutures;
     }
 
-    private BiConsumer<List<Object>, Throwable> buildFieldValueMap(List<String> fieldNames, CompletableFuture<Map<String, Object>> overallResult, ExecutionContext executionContext) {
+    private BiConsumer<List<Object>, Throwable> buildFieldValueMap(MergedSelectionSet fields, List<String> fieldNames, CompletableFuture<Map<String, Object>> overallResult, ExecutionContext executionContext) {
         return (List<Object> results, Throwable exception) -> {
             if (exception != null) {
                 handleValueException(overallResult, exception, executionContext);
                 return;
             }
-            Map<String, Object> resolvedValuesByField = buildFieldValueMap(fieldNames, results);
+            Map<String, Object> resolvedValuesByField = buildFieldValueMap(fields, fieldNames, results, executionContext);
             overallResult.complete(resolvedValuesByField);
         };
     }
 
     @NotNull
-    private static Map<String, Object> buildFieldValueMap(List<String> fieldNames, List<Object> results) {
+    private static Map<String, Object> buildFieldValueMap(MergedSelectionSet fields, List<String> fieldNames, List<Object> results, ExecutionContext executionContext) {
+        CompactResultMapFactory compactResultMapFactory = executionContext.getCompactResultMapFactory();
+        if (compactResultMapFactory != null) {
+            return compactResultMapFactory.newResultMap(fields, fieldNames, results);
+        }
         Map<String, Object> resolvedValuesByField = Maps.newLinkedHashMapWithExpectedSize(fieldNames.size());
         int ix = 0;
         for (Object fieldValue : results) {
@@ -324,21 +355,113 @@ public abstract class ExecutionStrategy {
         Async.CombinedBuilder<FieldValueInfo> futures = Async
                 .ofExpectedSize(fields.size() - deferredExecutionSupport.deferredFieldsCount());
 
+        GraphQLObjectType leafFastPathParentType = isLeafFastPathPossible(executionContext)
+                ? (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType() : null;
+
         for (String fieldName : fields.getKeys()) {
             MergedField currentField = fields.getSubField(fieldName);
+            if (deferredExecutionSupport.isDeferredField(currentField)) {
+                continue;
+            }
 
-            ResultPath fieldPath = parameters.getPath().segment(mkNameForPath(currentField));
-            ExecutionStrategyParameters newParameters = parameters
-                    .transform(builder -> builder.field(currentField).path(fieldPath).parent(parameters));
-
-            if (!deferredExecutionSupport.isDeferredField(currentField)) {
-                Object fieldValueInfo = resolveFieldWithInfo(executionContext, newParameters);
-                futures.addObject(fieldValueInfo);
+            if (leafFastPathParentType != null) {
+                Object leafValueInfo = resolveLeafFieldFast(executionContext, parameters, leafFastPathParentType, currentField);
+                if (leafValueInfo != null) {
+                    futures.addObject(leafValueInfo);
+                    continue;
+                }
             }
+
+            ExecutionStrategyParameters newParameters = newFieldParameters(parameters, currentField);
+            Object fieldValueInfo = resolveFieldWithInfo(executionContext, newParameters);
+            futures.addObject(fieldValueInfo);
         }
         return futures;
     }
 
+    private ExecutionStrategyParameters newFieldParameters(ExecutionStrategyParameters parameters, MergedField currentField) {
+        ResultPath fieldPath = parameters.getPath().segment(mkNameForPath(currentField));
+        return parameters.transform(builder -> builder.field(currentField).path(fieldPath).parent(parameters));
+    }
+
+    /*
+     * The leaf fast path fetches and serialises a field without telling anyone about it, so it can only be taken when
+     * nothing is listening: no instrumentation, no DataLoader dispatching and no result node limit
+     */
+    private boolean isLeafFastPathPossible(ExecutionContext executionContext) {
+        return leafFastPathSupported
+                && executionContext.getInstrumentation().getClass() == SimplePerformantInstrumentation.class
+                && executionContext.getDataLoaderDispatcherStrategy() == DataLoaderDispatchStrategy.NO_OP
+                && executionContext.getGraphQLContext().get(MAX_RESULT_NODES) == null;
+    }
+
+    /*
+     * Scalar and enum fields fetched by a PropertyDataFetcher are the bulk of most results.  This fetches and serialises
+     * them straight from the source object, without the ExecutionStrategyParameters, ResultPath, ExecutionStepInfo and
+     * DataFetchingEnvironment that the general path builds for every field.  Those are only built if the property fetching
+     * asks for the environment or the value needs the general path after all, for example because the getter threw, the
+     * value could not be serialised or it is null for a non-null field.
+     *
+     * Returns null if the field is not such a leaf, in which case nothing has been fetched.
+     */
+    private Object /* CompletableFuture<FieldValueInfo> | FieldValueInfo | null */
+    resolveLeafFieldFast(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType parentType, MergedField field) {
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parentType, field.getSingleField());
+        GraphQLType fieldType = GraphQLTypeUtil.unwrapNonNull(fieldDef.getType());
+        if (!isScalar(fieldType) && !isEnum(fieldType)) {
+            return null;
+        }
+        DataFetcher<?> dataFetcher = getDataFetcher(executionContext, parentType, fieldDef);
+        if (!(dataFetcher instanceof PropertyDataFetcher)) {
+            return null;
+        }
+
+        executionContext.getResultNodesInfo().incrementAndGetResultNodesCount();
+
+        Object fetchedObject;
+        try {
+            // property fetching only asks for the environment for getters that take a DataFetchingEnvironment argument
+            Object fetchedValueRaw = ((PropertyDataFetcher<?>) dataFetcher).get(fieldDef, parameters.getSource(),
+                    () -> createDataFetchingEnvironment(executionContext, newFieldParameters(parameters, field), fieldDef, parentType).get());
+            if (!(fetchedValueRaw instanceof CompletionStage) && !(fetchedValueRaw instanceof DataFetcherResult)) {
+                Object result = executionContext.getValueUnboxer().unbox(fetchedValueRaw);
+                if (result == null) {
+                    if (!GraphQLTypeUtil.isNonNull(fieldDef.getType())) {
+                        return new FieldValueInfo(NULL, null);
+                    }
+                } else {
+                    Object serialized = serializeLeafValue(executionContext, fieldType, result);
+                    if (serialized != null) {
+                        return new FieldValueInfo(isScalar(fieldType) ? SCALAR : ENUM, serialized);
+                    }
+                }
+            }
+            fetchedObject = Async.toCompletableFutureOrMaterializedObject(fetchedValueRaw);
+        } catch (Exception e) {
+            fetchedObject = Async.exceptionallyCompletedFuture(e);
+        }
+
+        // the value needs errors, null bubbling or async completion so finish it on the general path
+        ExecutionStrategyParameters fieldParameters = newFieldParameters(parameters, field);
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, fieldParameters, fieldDef, parentType);
+        Object fetchedValueObj = unboxFetchedObject(executionContext, fieldParameters, FieldFetchingInstrumentationContext.NOOP, dataFetchingEnvironment, fetchedObject);
+        return completeFetchedField(executionContext, fieldParameters, fieldDef, SimpleInstrumentationContext.noOp(), fetchedValueObj);
+    }
+
+    /*
+     * Returns null rather than reporting a problem, the general path serialises the value again and reports it properly
+     */
+    private Object serializeLeafValue(ExecutionContext executionContext, GraphQLType fieldType, Object result) {
+        try {
+            if (fieldType instanceof GraphQLScalarType) {
+                return ((GraphQLScalarType) fieldType).getCoercing().serialize(result, executionContext.getGraphQLContext(), executionContext.getLocale());
+            }
+            return ((GraphQLEnumType) fieldType).serialize(result, executionContext.getGraphQLContext(), executionContext.getLocale());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Called to fetch a value for a field and resolve it further in terms of the graphql query.  This will call
      * #fetchField followed by #completeField and the completed Object is returned.
@@ -395,6 +518,12 @@ public abstract class ExecutionStrategy {
         ));
 
         Object fetchedValueObj = fetchField(executionContext, parameters);
+        return completeFetchedField(executionContext, parameters, fieldDef, fieldCtx, fetchedValueObj);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object /* CompletableFuture<FieldValueInfo> | FieldValueInfo */
+    completeFetchedField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, InstrumentationContext<Object> fieldCtx, Object fetchedValueObj) {
         if (fetchedValueObj instanceof CompletableFuture) {
             CompletableFuture<FetchedValue> fetchFieldFuture = (CompletableFuture<FetchedValue>) fetchedValueObj;
             CompletableFuture<FieldValueInfo> result = fetchFieldFuture.thenApply((fetchedValue) ->
@@ -434,7 +563,7 @@ public abstract class ExecutionStrategy {
     fetchField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         MergedField field = parameters.getField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parentType, field.getSingleField());
         return fetchField(fieldDef, executionContext, parameters);
     }
 
@@ -445,12 +574,62 @@ public abstract class ExecutionStrategy {
             return new FetchedValue(null, Collections.emptyList(), null);
         }
 
-        MergedField field = parameters.getField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, parameters, fieldDef, parentType);
+
+        DataFetcher<?> dataFetcher = getDataFetcher(executionContext, parentType, fieldDef);
+
+        Instrumentation instrumentation = executionContext.getInstrumentation();
+
+        boolean trivialDataFetcher = dataFetcher instanceof TrivialDataFetcher;
+        InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, trivialDataFetcher);
+        FieldFetchingInstrumentationContext fetchCtx = FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams,
+                executionContext.getInstrumentationState())
+        );
+
+        dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState());
+        dataFetcher = executionContext.getDataLoaderDispatcherStrategy().modifyDataFetcher(dataFetcher);
+        Object fetchedObject;
+        if (dataFetcherExecutor != null && !trivialDataFetcher) {
+            fetchedObject = invokeDataFetcherOnExecutor(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+        } else {
+            fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+            executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, dataFetcher, fetchedObject);
+        }
+        return unboxFetchedObject(executionContext, parameters, fetchCtx, dataFetchingEnvironment, fetchedObject);
+    }
+
+    private Object /*CompletableFuture<FetchedValue> | FetchedValue>*/
+    unboxFetchedObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, FieldFetchingInstrumentationContext fetchCtx, Supplier<DataFetchingEnvironment> dataFetchingEnvironment, Object fetchedObject) {
+        fetchCtx.onDispatched();
+        fetchCtx.onFetchedValue(fetchedObject);
+        if (fetchedObject instanceof CompletableFuture) {
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
+            return fetchedValue
+                    .handle((result, exception) -> {
+                        fetchCtx.onCompleted(result, exception);
+                        if (exception != null) {
+                            return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception);
+                        } else {
+                            // we can simply return the fetched value CF and avoid a allocation
+                            return fetchedValue;
+                        }
+                    })
+                    .thenCompose(Function.identity())
+                    .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
+        } else {
+            fetchCtx.onCompleted(fetchedObject, null);
+            return unboxPossibleDataFetcherResult(executionContext, parameters, fetchedObject);
+        }
+    }
+
+    private Supplier<DataFetchingEnvironment> createDataFetchingEnvironment(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, GraphQLObjectType parentType) {
+        MergedField field = parameters.getField();
 
         // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
 
-        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = FpKit.intraThreadMemoize(() -> {
+        return FpKit.intraThreadMemoize(() -> {
 
             Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
                     () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
@@ -481,42 +660,15 @@ public abstract class ExecutionStrategy {
                     .queryDirectives(queryDirectives)
                     .build();
         });
+    }
 
+    private DataFetcher<?> getDataFetcher(ExecutionContext executionContext, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef) {
         GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, fieldDef);
-
-        Instrumentation instrumentation = executionContext.getInstrumentation();
-
-        InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, dataFetcher instanceof TrivialDataFetcher);
-        FieldFetchingInstrumentationContext fetchCtx = FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams,
-                executionContext.getInstrumentationState())
-        );
-
-        dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState());
-        dataFetcher = executionContext.getDataLoaderDispatcherStrategy().modifyDataFetcher(dataFetcher);
-        Object fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
-        executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, dataFetcher, fetchedObject);
-        fetchCtx.onDispatched();
-        fetchCtx.onFetchedValue(fetchedObject);
-        if (fetchedObject instanceof CompletableFuture) {
-            @SuppressWarnings("unchecked")
-            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
-            return fetchedValue
-                    .handle((result, exception) -> {
-                        fetchCtx.onCompleted(result, exception);
-                        if (exception != null) {
-                            return handleFetchingException(dataFetchingEnvironment.get(), parameters, exception);
-                        } else {
-                            // we can simply return the fetched value CF and avoid a allocation
-                            return fetchedValue;
-                        }
-                    })
-                    .thenCompose(Function.identity())
-                    .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
-        } else {
-            fetchCtx.onCompleted(fetchedObject, null);
-            return unboxPossibleDataFetcherResult(executionContext, parameters, fetchedObject);
+        ExecutionPlanVariant executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getDataFetcher(parentType, fieldDef, () -> codeRegistry.getDataFetcher(parentType, fieldDef));
         }
+        return codeRegistry.getDataFetcher(parentType, fieldDef);
     }
 
     /*
@@ -539,6 +691,27 @@ public abstract class ExecutionStrategy {
         return fetchedValue;
     }
 
+    /*
+     * The field only counts as fetched for DataLoader dispatching once the data fetcher has run on the executor,
+     * since only then have the DataLoader calls it makes been queued
+     */
+    private CompletableFuture<Object> invokeDataFetcherOnExecutor(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, Supplier<DataFetchingEnvironment> dataFetchingEnvironment, DataFetcher<?> dataFetcher) {
+        DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
+        CompletableFuture<Object> fetchedValue;
+        try {
+            fetchedValue = CompletableFuture.supplyAsync(() -> {
+                Object fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, dataFetcher);
+                dataLoaderDispatcherStrategy.fieldFetched(executionContext, parameters, dataFetcher, fetchedObject);
+                return fetchedObject;
+            }, dataFetcherExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<Object> rejected = Async.exceptionallyCompletedFuture(e);
+            dataLoaderDispatcherStrategy.fieldFetched(executionContext, parameters, dataFetcher, rejected);
+            return rejected;
+        }
+        return fetchedValue.thenCompose(Async::toCompletableFuture);
+    }
+
     protected Supplier<ExecutableNormalizedField> getNormalizedField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Supplier<ExecutionStepInfo> executionStepInfo) {
         Supplier<ExecutableNormalizedOperation> normalizedQuery = executionContext.getNormalizedQueryTree();
         return () -> normalizedQuery.get().getNormalizedField(parameters.getField(), executionStepInfo.get().getObjectType(), executionStepInfo.get().getPath());
@@ -631,7 +804,7 @@ public abstract class ExecutionStrategy {
     protected FieldValueInfo completeField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
         Field field = parameters.getField().getSingleField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parentType, field);
         return completeField(fieldDef, executionContext, parameters, fetchedValue);
     }
 
@@ -946,13 +1119,7 @@ public abstract class ExecutionStrategy {
                 .graphQLContext(executionContext.getGraphQLContext())
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(
-                collectorParameters,
-                parameters.getField(),
-                Optional.ofNullable(executionContext.getGraphQLContext())
-                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
-                        .orElse(false)
-        );
+        MergedSelectionSet subFields = collectSubFields(executionContext, collectorParameters, parameters.getField(), resolvedObjectType);
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
@@ -968,6 +1135,21 @@ public abstract class ExecutionStrategy {
         return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
     }
 
+    private MergedSelectionSet collectSubFields(ExecutionContext executionContext, FieldCollectorParameters collectorParameters, MergedField mergedField, GraphQLObjectType resolvedObjectType) {
+        ExecutionPlanVariant executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getSelectionSet(mergedField, resolvedObjectType,
+                    () -> fieldCollector.collectFields(collectorParameters, mergedField, false));
+        }
+        return fieldCollector.collectFields(
+                collectorParameters,
+                mergedField,
+                Optional.ofNullable(executionContext.getGraphQLContext())
+                        .map(graphqlContext -> graphqlContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT))
+                        .orElse(false)
+        );
+    }
+
     @SuppressWarnings("SameReturnValue")
     private Object handleCoercionProblem(ExecutionContext context, ExecutionStrategyParameters parameters, CoercingSerializeException e) {
         SerializationError error = new SerializationError(parameters.getPath(), e);
@@ -1033,7 +1215,16 @@ public abstract class ExecutionStrategy {
      */
     protected GraphQLFieldDefinition getFieldDef(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Field field) {
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        return getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
+        return getFieldDef(executionContext, parentType, field);
+    }
+
+    private GraphQLFieldDefinition getFieldDef(ExecutionContext executionContext, GraphQLObjectType parentType, Field field) {
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        ExecutionPlanVariant executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan != null) {
+            return executionPlan.getFieldDefinition(field, parentType, () -> getFieldDef(schema, parentType, field));
+        }
+        return getFieldDef(schema, parentType, field);
     }
 
     /**
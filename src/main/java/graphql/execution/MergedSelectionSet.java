@@ -3,11 +3,14 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.Assert;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.result.ResultKeys;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 
 @PublicApi
@@ -15,6 +18,8 @@ public class MergedSelectionSet {
 
     private final Map<String, MergedField> subFields;
     private final List<String> keys;
+    // set racily like String.hashCode, which is safe as result keys are immutable
+    private ResultKeys resultKeys;
 
     protected MergedSelectionSet(Map<String, MergedField> subFields) {
         this.subFields = subFields == null ? ImmutableMap.of() : subFields;
@@ -49,6 +54,24 @@ public class MergedSelectionSet {
         return subFields.isEmpty();
     }
 
+    /**
+     * Returns the result keys that the compact result objects of this selection set share, which are only made once for
+     * a selection set that is reused, say by an {@link graphql.execution.plan.ExecutionPlan}
+     *
+     * @param resultKeysFactory the code to run to get the result keys of the keys of this selection set if there are none yet
+     *
+     * @return the result keys of this selection set
+     */
+    @Internal
+    public ResultKeys getResultKeys(Function<List<String>, ResultKeys> resultKeysFactory) {
+        ResultKeys resultKeys = this.resultKeys;
+        if (resultKeys == null) {
+            resultKeys = resultKeysFactory.apply(keys);
+            this.resultKeys = resultKeys;
+        }
+        return resultKeys;
+    }
+
     public static Builder newMergedSelectionSet() {
         return new Builder();
     }
@@ -31,6 +31,8 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static graphql.Assert.assertNotNull;
 
@@ -39,6 +41,11 @@ import static graphql.Assert.assertNotNull;
  * and run them in sequence.  The list order of instrumentation objects is always guaranteed to be followed and
  * the {@link graphql.execution.instrumentation.InstrumentationState} objects they create will be passed back to the originating
  * implementation.
+ * <p>
+ * The per field hooks, such as {@link #beginFieldFetching(InstrumentationFieldFetchParameters, InstrumentationState)}, are
+ * only called on the instrumentations that implement them rather than inherit them from {@link Instrumentation} or
+ * {@link SimplePerformantInstrumentation}, and if only one instrumentation implements a hook then its context is
+ * returned as is.
  *
  * @see graphql.execution.instrumentation.Instrumentation
  */
@@ -49,8 +56,27 @@ public class ChainedInstrumentation implements Instrumentation {
 
     protected final ImmutableList<Instrumentation> instrumentations;
 
+    // the positions of the instrumentations that do something in each per field hook, worked out once so that the hooks
+    // that most instrumentations leave as they are cost no calls and no allocations per field
+    private final int[] executeObjectParticipants;
+    private final int[] fieldExecutionParticipants;
+    private final int[] fieldFetchParticipants;
+    private final int[] fieldFetchingParticipants;
+    private final int[] fieldCompletionParticipants;
+    private final int[] fieldListCompletionParticipants;
+    private final int[] dataFetcherParticipants;
+
     public ChainedInstrumentation(List<Instrumentation> instrumentations) {
         this.instrumentations = ImmutableList.copyOf(assertNotNull(instrumentations));
+        this.executeObjectParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginExecuteObject", InstrumentationExecutionStrategyParameters.class, InstrumentationState.class));
+        this.fieldExecutionParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginFieldExecution", InstrumentationFieldParameters.class, InstrumentationState.class));
+        this.fieldFetchParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginFieldFetch", InstrumentationFieldFetchParameters.class, InstrumentationState.class));
+        // by default beginFieldFetching calls beginFieldFetch and so implementing either takes part in field fetching
+        this.fieldFetchingParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginFieldFetching", InstrumentationFieldFetchParameters.class, InstrumentationState.class)
+                || implementsHook(instrumentation, "beginFieldFetch", InstrumentationFieldFetchParameters.class, InstrumentationState.class));
+        this.fieldCompletionParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginFieldCompletion", InstrumentationFieldCompleteParameters.class, InstrumentationState.class));
+        this.fieldListCompletionParticipants = participants(instrumentation -> implementsHook(instrumentation, "beginFieldListCompletion", InstrumentationFieldCompleteParameters.class, InstrumentationState.class));
+        this.dataFetcherParticipants = participants(instrumentation -> implementsHook(instrumentation, "instrumentDataFetcher", DataFetcher.class, InstrumentationFieldFetchParameters.class, InstrumentationState.class));
     }
 
     public ChainedInstrumentation(Instrumentation... instrumentations) {
@@ -77,6 +103,54 @@ public class ChainedInstrumentation implements Instrumentation {
         return new ChainedInstrumentationContext<>(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
     }
 
+    private int[] participants(Predicate<Instrumentation> implementsHook) {
+        return IntStream.range(0, instrumentations.size())
+                .filter(index -> implementsHook.test(instrumentations.get(index)))
+                .toArray();
+    }
+
+    /*
+     * A hook is only left out for an instrumentation whose implementation of it is the one of Instrumentation or of
+     * SimplePerformantInstrumentation, which do nothing.  When in doubt the hook is called.
+     */
+    private static boolean implementsHook(Instrumentation instrumentation, String hookName, Class<?>... parameterTypes) {
+        if (instrumentation.getClass() == ChainedInstrumentation.class) {
+            // a plain chain only does something in a hook if one of its instrumentations does
+            for (Instrumentation chained : ((ChainedInstrumentation) instrumentation).instrumentations) {
+                if (implementsHook(chained, hookName, parameterTypes)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            Class<?> declaringClass = instrumentation.getClass().getMethod(hookName, parameterTypes).getDeclaringClass();
+            return declaringClass != Instrumentation.class && declaringClass != SimplePerformantInstrumentation.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+
+    private <T> InstrumentationContext<T> participantsCtx(int[] participants, InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, InstrumentationContext<T>> mapper) {
+        return new ChainedInstrumentationContext<>(participantsMapAndDropNulls(participants, state, mapper));
+    }
+
+    private <T> ImmutableList<T> participantsMapAndDropNulls(int[] participants, InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, T> mapper) {
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        ImmutableList.Builder<T> result = ImmutableList.builderWithExpectedSize(participants.length);
+        for (int index : participants) {
+            T value = mapper.apply(instrumentations.get(index), chainedInstrumentationState.getState(index));
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result.build();
+    }
+
+    private static InstrumentationState stateOf(InstrumentationState state, int index) {
+        return ((ChainedInstrumentationState) state).getState(index);
+    }
+
     private <T> T chainedInstrument(InstrumentationState state, T input, ChainedInstrumentationFunction<Instrumentation, InstrumentationState, T, T> mapper) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
         for (int i = 0; i < instrumentations.size(); i++) {
@@ -153,15 +227,14 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable ExecuteObjectInstrumentationContext beginExecuteObject(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] participants = executeObjectParticipants;
+        if (participants.length == 0) {
             return ExecuteObjectInstrumentationContext.NOOP;
         }
-        BiFunction<Instrumentation, InstrumentationState, ExecuteObjectInstrumentationContext> mapper = (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState);
-        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginExecuteObject(parameters, stateOf(state, participants[0]));
         }
-        return new ChainedExecuteObjectInstrumentationContext(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
+        return new ChainedExecuteObjectInstrumentationContext(participantsMapAndDropNulls(participants, state, (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState)));
     }
 
     @ExperimentalApi
@@ -178,38 +251,65 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
+        int[] participants = fieldExecutionParticipants;
+        if (participants.length == 0) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginFieldExecution(parameters, stateOf(state, participants[0]));
+        }
+        return participantsCtx(participants, state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
     }
 
     @SuppressWarnings("deprecation")
     @Override
     public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
+        int[] participants = fieldFetchParticipants;
+        if (participants.length == 0) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginFieldFetch(parameters, stateOf(state, participants[0]));
+        }
+        return participantsCtx(participants, state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
     }
 
     @Override
     public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] participants = fieldFetchingParticipants;
+        if (participants.length == 0) {
             return FieldFetchingInstrumentationContext.NOOP;
         }
-        BiFunction<Instrumentation, InstrumentationState, FieldFetchingInstrumentationContext> mapper = (instrumentation, specificState) -> instrumentation.beginFieldFetching(parameters, specificState);
-        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginFieldFetching(parameters, stateOf(state, participants[0]));
         }
-        ImmutableList<FieldFetchingInstrumentationContext> objects = chainedMapAndDropNulls(chainedInstrumentationState, mapper);
+        ImmutableList<FieldFetchingInstrumentationContext> objects = participantsMapAndDropNulls(participants, state, (instrumentation, specificState) -> instrumentation.beginFieldFetching(parameters, specificState));
         return new ChainedFieldFetchingInstrumentationContext(objects);
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
+        int[] participants = fieldCompletionParticipants;
+        if (participants.length == 0) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginFieldCompletion(parameters, stateOf(state, participants[0]));
+        }
+        return participantsCtx(participants, state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
     }
 
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldListCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
+        int[] participants = fieldListCompletionParticipants;
+        if (participants.length == 0) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        if (participants.length == 1) {
+            return instrumentations.get(participants[0]).beginFieldListCompletion(parameters, stateOf(state, participants[0]));
+        }
+        return participantsCtx(participants, state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
     }
 
     @NotNull
@@ -242,8 +342,10 @@ public class ChainedInstrumentation implements Instrumentation {
     @NotNull
     @Override
     public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, dataFetcher, (Instrumentation instrumentation, InstrumentationState specificState, DataFetcher<?> accumulator) ->
-                instrumentation.instrumentDataFetcher(accumulator, parameters, specificState));
+        for (int index : dataFetcherParticipants) {
+            dataFetcher = instrumentations.get(index).instrumentDataFetcher(dataFetcher, parameters, stateOf(state, index));
+        }
+        return dataFetcher;
     }
 
     @NotNull
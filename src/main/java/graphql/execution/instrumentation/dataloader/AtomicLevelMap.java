@@ -0,0 +1,76 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread safe, lock free variant of {@link LevelMap} that tracks a count per level.
+ * <p>
+ * Counts are held in fixed size chunks of atomic counters that are linked together as deeper levels are accessed,
+ * so growing the map never copies (and never loses) concurrent updates.
+ */
+@Internal
+public class AtomicLevelMap {
+
+    // A reasonable default that guarantees a single chunk for most use cases.
+    private static final int CHUNK_SIZE = 16;
+
+    private final Chunk head = new Chunk();
+
+    public int get(int level) {
+        return chunkFor(level).counts.get(level % CHUNK_SIZE);
+    }
+
+    public int increment(int level, int by) {
+        return chunkFor(level).counts.addAndGet(level % CHUNK_SIZE, by);
+    }
+
+    public void set(int level, int newValue) {
+        chunkFor(level).counts.set(level % CHUNK_SIZE, newValue);
+    }
+
+    public boolean compareAndSet(int level, int expectedValue, int newValue) {
+        return chunkFor(level).counts.compareAndSet(level % CHUNK_SIZE, expectedValue, newValue);
+    }
+
+    private Chunk chunkFor(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("negative level " + level);
+        }
+        Chunk chunk = head;
+        for (int i = level / CHUNK_SIZE; i > 0; i--) {
+            chunk = chunk.next();
+        }
+        return chunk;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(getClass().getSimpleName()).append("[");
+        int level = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next.get()) {
+            for (int i = 0; i < CHUNK_SIZE; i++, level++) {
+                result.append("level=").append(level).append(",count=").append(chunk.counts.get(i)).append(" ");
+            }
+        }
+        result.append("]");
+        return result.toString();
+    }
+
+    private static class Chunk {
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(CHUNK_SIZE);
+        private final AtomicReference<Chunk> next = new AtomicReference<>();
+
+        private Chunk next() {
+            Chunk nextChunk = next.get();
+            if (nextChunk == null) {
+                next.compareAndSet(null, new Chunk());
+                nextChunk = next.get();
+            }
+            return nextChunk;
+        }
+    }
+}
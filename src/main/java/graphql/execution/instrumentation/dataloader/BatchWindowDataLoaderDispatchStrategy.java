@@ -0,0 +1,82 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.schema.DataFetcher;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches like {@link PerLevelDataLoaderDispatchStrategy} when a level is ready, but in addition dispatches once the batch window
+ * has elapsed after DataLoader calls were queued or when enough keys are queued, so that DataLoader calls are not held back
+ * by slow fetches in unrelated parts of the query.
+ * <p>
+ * The scheduled executor of the options only times the batch window, the dispatch itself runs on the dispatch executor.  A
+ * dispatch because of the max batch size runs on the thread that fetched the field, as per level dispatches do.
+ * <p>
+ * Summing the queued keys of every registered DataLoader on each fetched field would cost as much as the fetch itself, so
+ * fields that return a value which is not completed yet are counted as pending loads instead.  The queued keys are only
+ * looked at once that count reaches the max batch size.
+ *
+ * @see BatchWindowDispatchOptions
+ */
+@Internal
+public class BatchWindowDataLoaderDispatchStrategy extends PerLevelDataLoaderDispatchStrategy {
+
+    private final BatchWindowDispatchOptions options;
+    private final long batchWindowNanos;
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final AtomicInteger pendingLoads = new AtomicInteger();
+
+    public BatchWindowDataLoaderDispatchStrategy(ExecutionContext executionContext, BatchWindowDispatchOptions options) {
+        super(executionContext);
+        this.options = options;
+        this.batchWindowNanos = options.getBatchWindow().toNanos();
+    }
+
+    @Override
+    public void fieldFetched(ExecutionContext executionContext,
+                             ExecutionStrategyParameters executionStrategyParameters,
+                             DataFetcher<?> dataFetcher,
+                             Object fetchedValue) {
+        super.fieldFetched(executionContext, executionStrategyParameters, dataFetcher, fetchedValue);
+        if (!isPending(fetchedValue)) {
+            return;
+        }
+        DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
+        if (pendingLoads.incrementAndGet() >= options.getMaxBatchSize()) {
+            // not every pending field queued a key, so the queued keys decide and become the new count
+            int queuedKeys = dataLoaderRegistry.dispatchDepth();
+            if (queuedKeys >= options.getMaxBatchSize()) {
+                pendingLoads.set(0);
+                dataLoaderRegistry.dispatchAll();
+                return;
+            }
+            pendingLoads.set(queuedKeys);
+        }
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            options.getScheduledExecutorService().schedule(() -> options.getDispatchExecutor().execute(() -> batchWindowElapsed(dataLoaderRegistry)),
+                    batchWindowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean isPending(Object fetchedValue) {
+        // a DataLoader call returns a future that only completes once its key has been dispatched
+        if (fetchedValue instanceof CompletableFuture) {
+            return !((CompletableFuture<?>) fetchedValue).isDone();
+        }
+        return fetchedValue instanceof CompletionStage;
+    }
+
+    private void batchWindowElapsed(DataLoaderRegistry dataLoaderRegistry) {
+        dispatchScheduled.set(false);
+        pendingLoads.set(0);
+        dataLoaderRegistry.dispatchAll();
+    }
+}
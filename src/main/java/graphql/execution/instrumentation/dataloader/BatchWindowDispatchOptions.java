@@ -0,0 +1,153 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.ExperimentalApi;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Options that switch DataLoader dispatching from "per level" to "batch window" dispatching.
+ * <p>
+ * By default DataLoaders are dispatched when every field of a level of the query has been fetched, which means that one slow
+ * asynchronous data fetcher holds back the DataLoader calls made on deeper levels of other parts of the query.  With batch window
+ * dispatching, DataLoaders are additionally dispatched once the {@link #getBatchWindow() batch window} has elapsed since the first
+ * DataLoader call was queued, or as soon as {@link #getMaxBatchSize() max batch size} keys are queued.
+ * <p>
+ * Batch window dispatching can be enabled for all executions via {@link graphql.GraphQL.Builder#batchWindowDispatchOptions(BatchWindowDispatchOptions)}
+ * or per execution by putting the options into the {@link graphql.GraphQLContext} under the key {@code BatchWindowDispatchOptions.class}.
+ * <p>
+ * The {@link #getScheduledExecutorService() scheduled executor} only times the batch window: by default it is a single daemon thread
+ * shared by all executions, which must never run the batch loaders.  Once a batch window elapsed the DataLoaders are dispatched on the
+ * {@link #getDispatchExecutor() dispatch executor}, which is {@link ForkJoinPool#commonPool()} by default.  A dispatch because of the
+ * max batch size happens on the thread that fetched the field.
+ */
+@ExperimentalApi
+public class BatchWindowDispatchOptions {
+
+    public static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(1);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Executor dispatchExecutor;
+
+    private BatchWindowDispatchOptions(Builder builder) {
+        this.batchWindow = builder.batchWindow;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.scheduledExecutorService = builder.scheduledExecutorService != null ? builder.scheduledExecutorService : DefaultScheduler.INSTANCE;
+        this.dispatchExecutor = builder.dispatchExecutor != null ? builder.dispatchExecutor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * @return how long queued DataLoader calls wait at most before they are dispatched
+     */
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * @return the number of queued DataLoader keys that causes an immediate dispatch
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the executor used to time the batch window
+     */
+    public ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService;
+    }
+
+    /**
+     * @return the executor used to dispatch the DataLoaders once the batch window elapsed
+     */
+    public Executor getDispatchExecutor() {
+        return dispatchExecutor;
+    }
+
+    /**
+     * @return batch window options with the default settings
+     */
+    public static BatchWindowDispatchOptions defaultOptions() {
+        return newBatchWindowDispatchOptions().build();
+    }
+
+    public static Builder newBatchWindowDispatchOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Duration batchWindow = DEFAULT_BATCH_WINDOW;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private ScheduledExecutorService scheduledExecutorService;
+        private Executor dispatchExecutor;
+
+        /**
+         * @param batchWindow how long queued DataLoader calls wait at most before they are dispatched
+         *
+         * @return this builder
+         */
+        public Builder batchWindow(Duration batchWindow) {
+            assertNotNull(batchWindow, () -> "batchWindow must not be null");
+            assertTrue(!batchWindow.isNegative() && !batchWindow.isZero(), () -> "batchWindow must be positive");
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * @param maxBatchSize the number of queued DataLoader keys that causes an immediate dispatch
+         *
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            assertTrue(maxBatchSize > 0, () -> "maxBatchSize must be greater than zero");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * By default a shared single daemon thread is used to time the batch windows.  It only hands elapsed batch windows
+         * to the {@link #dispatchExecutor(Executor) dispatch executor}.
+         *
+         * @param scheduledExecutorService the executor used to time the batch window
+         *
+         * @return this builder
+         */
+        public Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = assertNotNull(scheduledExecutorService, () -> "scheduledExecutorService must not be null");
+            return this;
+        }
+
+        /**
+         * By default {@link ForkJoinPool#commonPool()} is used to dispatch elapsed batch windows.
+         *
+         * @param dispatchExecutor the executor used to dispatch the DataLoaders once the batch window elapsed
+         *
+         * @return this builder
+         */
+        public Builder dispatchExecutor(Executor dispatchExecutor) {
+            this.dispatchExecutor = assertNotNull(dispatchExecutor, () -> "dispatchExecutor must not be null");
+            return this;
+        }
+
+        public BatchWindowDispatchOptions build() {
+            return new BatchWindowDispatchOptions(this);
+        }
+    }
+
+    private static class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graphql-java-dataloader-batch-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
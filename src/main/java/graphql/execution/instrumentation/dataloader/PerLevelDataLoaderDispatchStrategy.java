@@ -1,6 +1,5 @@
 package graphql.execution.instrumentation.dataloader;
 
-import graphql.Assert;
 import graphql.Internal;
 import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
@@ -8,12 +7,9 @@ import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.FieldValueInfo;
 import graphql.execution.MergedField;
 import graphql.schema.DataFetcher;
-import graphql.util.LockKit;
 import org.dataloader.DataLoaderRegistry;
 
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 @Internal
 public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
@@ -22,16 +18,23 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     private final ExecutionContext executionContext;
 
 
+    /**
+     * The call stack is updated concurrently by every thread that completes a field, so it is kept lock free.
+     * <p>
+     * The readiness checks rely on the order of the updates: an expected count is always increased before the
+     * "happened" count that makes it final is increased, and the readiness checks read the "happened" counts
+     * before the expected counts that depend on them.  A level can be seen as ready by more than one thread
+     * so dispatching is guarded by a compare and set per level.
+     */
     private static class CallStack {
 
-        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
-        private final LevelMap expectedFetchCountPerLevel = new LevelMap();
-        private final LevelMap fetchCountPerLevel = new LevelMap();
-        private final LevelMap expectedStrategyCallsPerLevel = new LevelMap();
-        private final LevelMap happenedStrategyCallsPerLevel = new LevelMap();
-        private final LevelMap happenedOnFieldValueCallsPerLevel = new LevelMap();
+        private final AtomicLevelMap expectedFetchCountPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap fetchCountPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap expectedStrategyCallsPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap happenedStrategyCallsPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap happenedOnFieldValueCallsPerLevel = new AtomicLevelMap();
 
-        private final Set<Integer> dispatchedLevels = new LinkedHashSet<>();
+        private final AtomicLevelMap dispatchedLevels = new AtomicLevelMap();
 
         public CallStack() {
             expectedStrategyCallsPerLevel.set(1, 1);
@@ -65,6 +68,10 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
             return happenedOnFieldValueCallsPerLevel.get(level) == expectedStrategyCallsPerLevel.get(level);
         }
 
+        boolean hasStrategyCalls(int level) {
+            return expectedStrategyCallsPerLevel.get(level) > 0;
+        }
+
         boolean allFetchesHappened(int level) {
             return fetchCountPerLevel.get(level) == expectedFetchCountPerLevel.get(level);
         }
@@ -83,12 +90,7 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
 
         public boolean dispatchIfNotDispatchedBefore(int level) {
-            if (dispatchedLevels.contains(level)) {
-                Assert.assertShouldNeverHappen("level " + level + " already dispatched");
-                return false;
-            }
-            dispatchedLevels.add(level);
-            return true;
+            return dispatchedLevels.compareAndSet(level, 0, 1);
         }
     }
 
@@ -116,9 +118,7 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
     public void executionStrategyOnFieldValuesException(Throwable t, ExecutionStrategyParameters executionStrategyParameters) {
         int curLevel = executionStrategyParameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        callStack.increaseHappenedOnFieldValueCalls(curLevel);
     }
 
 
@@ -138,37 +138,26 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     @Override
     public void executeObjectOnFieldValuesException(Throwable t, ExecutionStrategyParameters parameters) {
         int curLevel = parameters.getPath().getLevel() + 1;
-        callStack.lock.runLocked(() ->
-                callStack.increaseHappenedOnFieldValueCalls(curLevel)
-        );
+        callStack.increaseHappenedOnFieldValueCalls(curLevel);
     }
 
 
     private void increaseCallCounts(int curLevel, ExecutionStrategyParameters executionStrategyParameters) {
         int fieldCount = executionStrategyParameters.getFields().size();
-        callStack.lock.runLocked(() -> {
-            callStack.increaseExpectedFetchCount(curLevel, fieldCount);
-            callStack.increaseHappenedStrategyCalls(curLevel);
-        });
+        callStack.increaseExpectedFetchCount(curLevel, fieldCount);
+        callStack.increaseHappenedStrategyCalls(curLevel);
     }
 
     private void onFieldValuesInfoDispatchIfNeeded(List<FieldValueInfo> fieldValueInfoList, int curLevel, ExecutionStrategyParameters parameters) {
-        boolean dispatchNeeded = callStack.lock.callLocked(() ->
-                handleOnFieldValuesInfo(fieldValueInfoList, curLevel)
-        );
-        if (dispatchNeeded) {
-            dispatch(curLevel);
-        }
+        handleOnFieldValuesInfo(fieldValueInfoList, curLevel);
+        dispatchReadyLevels(curLevel + 1);
     }
 
-    //
-// thread safety: called with callStack.lock
-//
-    private boolean handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfos, int curLevel) {
-        callStack.increaseHappenedOnFieldValueCalls(curLevel);
+    private void handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfos, int curLevel) {
         int expectedStrategyCalls = getCountForList(fieldValueInfos);
+        // the expected strategy calls of the next level must be visible before this call is counted as happened
         callStack.increaseExpectedStrategyCalls(curLevel + 1, expectedStrategyCalls);
-        return dispatchIfNeeded(curLevel + 1);
+        callStack.increaseHappenedOnFieldValueCalls(curLevel);
     }
 
     private int getCountForList(List<FieldValueInfo> fieldValueInfos) {
@@ -190,31 +179,31 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
                              DataFetcher<?> dataFetcher,
                              Object fetchedValue) {
         int level = executionStrategyParameters.getPath().getLevel();
-        boolean dispatchNeeded = callStack.lock.callLocked(() -> {
-            callStack.increaseFetchCount(level);
-            return dispatchIfNeeded(level);
-        });
-        if (dispatchNeeded) {
-            dispatch(level);
-        }
-
+        callStack.increaseFetchCount(level);
+        dispatchReadyLevels(level);
     }
 
 
-    //
-// thread safety : called with callStack.lock
-//
-    private boolean dispatchIfNeeded(int level) {
-        boolean ready = levelReady(level);
-        if (ready) {
-            return callStack.dispatchIfNotDispatchedBefore(level);
+    /*
+     * A level becoming ready can make the levels below it ready at the same time, because the fields of the objects below
+     * may all have been fetched and reported before the last call of this level happened.  So the levels below are looked
+     * at too, until a level is not ready or has no objects below it.
+     */
+    private void dispatchReadyLevels(int level) {
+        while (levelReady(level)) {
+            if (callStack.dispatchIfNotDispatchedBefore(level)) {
+                dispatch(level);
+            }
+            if (!callStack.hasStrategyCalls(level)) {
+                return;
+            }
+            level++;
         }
-        return false;
     }
 
     //
-// thread safety: called with callStack.lock
-//
+    // thread safety: the checks read the "happened" counts of a level before the expected counts they make final
+    //
     private boolean levelReady(int level) {
         if (level == 1) {
             // level 1 is special: there is only one strategy call and that's it
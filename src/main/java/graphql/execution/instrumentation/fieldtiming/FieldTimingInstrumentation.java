@@ -0,0 +1,211 @@
+package graphql.execution.instrumentation.fieldtiming;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.visibility.FieldVisibilityIndex;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+import static graphql.execution.instrumentation.SimpleInstrumentationContext.whenCompleted;
+
+/**
+ * This {@link graphql.execution.instrumentation.Instrumentation} keeps histograms of how long the fields of the schema
+ * take to be fetched and to be completed, across all the executions it has sampled, so that the p50 or p99 latency of a
+ * field can be read from {@link #getFieldTimings()} at any time.
+ * <p>
+ * Only a sample of the executions is timed.  An execution that is not sampled gets no instrumentation state and so costs
+ * no more than the sampling decision.  The fields are told apart by the number a {@link FieldVisibilityIndex} gives them,
+ * which is worked out once per schema, and the histograms are recorded into without taking any locks.
+ * <p>
+ * The histograms are kept per schema, so executions of several schemas can take turns without their latencies being lost.
+ * A schema that is no longer used elsewhere can be garbage collected along with its histograms.
+ *
+ * @see LatencyHistogram
+ */
+@ExperimentalApi
+public class FieldTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    private final Predicate<ExecutionInput> sampler;
+    // weak keys are compared by identity, which is how the fields of a schema are numbered
+    private final ConcurrentMap<GraphQLSchema, SchemaTimings> schemaTimings = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Times a random sample of the executions
+     *
+     * @param sampleRate the fraction of the executions to time, between 0 and 1
+     */
+    public FieldTimingInstrumentation(double sampleRate) {
+        this(sampledAtRate(sampleRate));
+    }
+
+    /**
+     * Times the executions that the given sampler decides on
+     *
+     * @param sampler the sampler that is called with the input of each execution before it is executed
+     */
+    public FieldTimingInstrumentation(Predicate<ExecutionInput> sampler) {
+        this.sampler = assertNotNull(sampler);
+    }
+
+    private static Predicate<ExecutionInput> sampledAtRate(double sampleRate) {
+        assertTrue(sampleRate >= 0 && sampleRate <= 1, () -> "sampleRate must be between 0 and 1");
+        return executionInput -> sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    @Override
+    public @Nullable InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (!sampler.test(parameters.getExecutionInput())) {
+            return null;
+        }
+        return getSchemaTimings(parameters.getSchema());
+    }
+
+    @Override
+    public @Nullable FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (state == null) {
+            return null;
+        }
+        LatencyRecorder recorder = ((SchemaTimings) state).fetchRecorder(parameters.getExecutionStepInfo());
+        if (recorder == null) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        return FieldFetchingInstrumentationContext.adapter(whenCompleted((result, throwable) -> recorder.record(System.nanoTime() - startNanos)));
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+        if (state == null) {
+            return null;
+        }
+        LatencyRecorder recorder = ((SchemaTimings) state).completionRecorder(parameters.getExecutionStepInfo());
+        if (recorder == null) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        return whenCompleted((result, throwable) -> recorder.record(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Takes a snapshot of the latencies of the fields that have been timed so far.  The latencies of a field that is
+     * in more than one of the schemas that have been executed are added together.
+     *
+     * @return the latencies of the timed fields of all the schemas
+     */
+    public Map<FieldCoordinates, FieldTimings> getFieldTimings() {
+        Map<FieldCoordinates, FieldTimings> fieldTimings = new LinkedHashMap<>();
+        for (SchemaTimings schemaTimings : this.schemaTimings.values()) {
+            schemaTimings.snapshot().forEach((fieldCoordinates, timings) -> fieldTimings.merge(fieldCoordinates, timings, FieldTimings::plus));
+        }
+        return ImmutableMap.copyOf(fieldTimings);
+    }
+
+    /**
+     * Takes a snapshot of the latencies of the fields of the given schema that have been timed so far.
+     *
+     * @param schema the schema whose fields to get the latencies of
+     *
+     * @return the latencies of the timed fields, in the order of their numbers in the schema
+     */
+    public Map<FieldCoordinates, FieldTimings> getFieldTimings(GraphQLSchema schema) {
+        SchemaTimings schemaTimings = this.schemaTimings.get(schema);
+        return schemaTimings == null ? ImmutableMap.of() : schemaTimings.snapshot();
+    }
+
+    /**
+     * Forgets all the latencies that have been recorded so far, say after {@link #getFieldTimings()} has been exported.
+     * Fields of executions that are underway may still be recorded into the latencies being forgotten.
+     */
+    public void reset() {
+        schemaTimings.replaceAll((schema, schemaTimings) -> new SchemaTimings(schemaTimings.fieldIndex));
+    }
+
+    private SchemaTimings getSchemaTimings(GraphQLSchema schema) {
+        SchemaTimings schemaTimings = this.schemaTimings.get(schema);
+        if (schemaTimings == null) {
+            // the fields are numbered outside of the map so that other schemas are not held up by it
+            SchemaTimings newSchemaTimings = new SchemaTimings(FieldVisibilityIndex.newFieldVisibilityIndex(schema));
+            schemaTimings = this.schemaTimings.putIfAbsent(schema, newSchemaTimings);
+            if (schemaTimings == null) {
+                schemaTimings = newSchemaTimings;
+            }
+        }
+        return schemaTimings;
+    }
+
+    /*
+     * The recorders of the fields of one schema, which are only made once a field is timed.  It is the state of every sampled
+     * execution of the schema.  It must not refer to the schema, which would keep the schema from being garbage collected.
+     */
+    private static class SchemaTimings implements InstrumentationState {
+        private final FieldVisibilityIndex fieldIndex;
+        private final AtomicReferenceArray<LatencyRecorder> fetchRecorders;
+        private final AtomicReferenceArray<LatencyRecorder> completionRecorders;
+
+        SchemaTimings(FieldVisibilityIndex fieldIndex) {
+            this.fieldIndex = fieldIndex;
+            this.fetchRecorders = new AtomicReferenceArray<>(fieldIndex.size());
+            this.completionRecorders = new AtomicReferenceArray<>(fieldIndex.size());
+        }
+
+        LatencyRecorder fetchRecorder(ExecutionStepInfo executionStepInfo) {
+            return recorder(fetchRecorders, executionStepInfo);
+        }
+
+        LatencyRecorder completionRecorder(ExecutionStepInfo executionStepInfo) {
+            return recorder(completionRecorders, executionStepInfo);
+        }
+
+        private LatencyRecorder recorder(AtomicReferenceArray<LatencyRecorder> recorders, ExecutionStepInfo executionStepInfo) {
+            // introspection fields such as __typename are not fields of their object type and so have no number
+            int fieldNumber = fieldIndex.indexOf(executionStepInfo.getObjectType().getName(), executionStepInfo.getFieldDefinition().getName());
+            if (fieldNumber < 0) {
+                return null;
+            }
+            LatencyRecorder recorder = recorders.get(fieldNumber);
+            if (recorder == null) {
+                recorders.compareAndSet(fieldNumber, null, new LatencyRecorder());
+                recorder = recorders.get(fieldNumber);
+            }
+            return recorder;
+        }
+
+        Map<FieldCoordinates, FieldTimings> snapshot() {
+            List<FieldCoordinates> fieldCoordinates = fieldIndex.getFieldCoordinates();
+            ImmutableMap.Builder<FieldCoordinates, FieldTimings> fieldTimings = ImmutableMap.builder();
+            LatencyHistogram noLatencies = new LatencyRecorder().snapshot();
+            for (int fieldNumber = 0; fieldNumber < fieldCoordinates.size(); fieldNumber++) {
+                LatencyRecorder fetchRecorder = fetchRecorders.get(fieldNumber);
+                LatencyRecorder completionRecorder = completionRecorders.get(fieldNumber);
+                if (fetchRecorder == null && completionRecorder == null) {
+                    continue;
+                }
+                fieldTimings.put(fieldCoordinates.get(fieldNumber), new FieldTimings(fieldCoordinates.get(fieldNumber),
+                        fetchRecorder == null ? noLatencies : fetchRecorder.snapshot(),
+                        completionRecorder == null ? noLatencies : completionRecorder.snapshot()));
+            }
+            return fieldTimings.build();
+        }
+    }
+}
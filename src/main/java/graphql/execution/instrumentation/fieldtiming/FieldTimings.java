@@ -0,0 +1,55 @@
+package graphql.execution.instrumentation.fieldtiming;
+
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+
+/**
+ * The latencies of a field of the schema, as sampled by a {@link FieldTimingInstrumentation}
+ */
+@ExperimentalApi
+public class FieldTimings {
+
+    private final FieldCoordinates fieldCoordinates;
+    private final LatencyHistogram fetchLatencies;
+    private final LatencyHistogram completionLatencies;
+
+    FieldTimings(FieldCoordinates fieldCoordinates, LatencyHistogram fetchLatencies, LatencyHistogram completionLatencies) {
+        this.fieldCoordinates = fieldCoordinates;
+        this.fetchLatencies = fetchLatencies;
+        this.completionLatencies = completionLatencies;
+    }
+
+    /**
+     * @return the coordinates of the field
+     */
+    public FieldCoordinates getFieldCoordinates() {
+        return fieldCoordinates;
+    }
+
+    /**
+     * @return the latencies from calling the data fetcher of the field until the value it has fetched is ready
+     */
+    public LatencyHistogram getFetchLatencies() {
+        return fetchLatencies;
+    }
+
+    /**
+     * @return the latencies of completing the fetched value of the field, which includes completing any fields below it
+     */
+    public LatencyHistogram getCompletionLatencies() {
+        return completionLatencies;
+    }
+
+    FieldTimings plus(FieldTimings other) {
+        return new FieldTimings(fieldCoordinates, fetchLatencies.plus(other.fetchLatencies), completionLatencies.plus(other.completionLatencies));
+    }
+
+    @Override
+    public String toString() {
+        return "FieldTimings{" +
+                "fieldCoordinates=" + fieldCoordinates +
+                ", fetchLatencies=" + fetchLatencies +
+                ", completionLatencies=" + completionLatencies +
+                '}';
+    }
+}
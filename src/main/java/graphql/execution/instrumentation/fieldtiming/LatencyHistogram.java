@@ -0,0 +1,130 @@
+package graphql.execution.instrumentation.fieldtiming;
+
+import graphql.ExperimentalApi;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A snapshot of the latencies, in nanoseconds, that have been recorded for a field.
+ * <p>
+ * The latencies are counted in buckets whose width grows with the latency, in the manner of an HDR histogram, so
+ * that a value taken from the histogram is at most 1/16th more than the latency that has been recorded.  Latencies
+ * of more than 2^41 nanoseconds, which is about 36 minutes, are counted as 2^41 nanoseconds.
+ */
+@ExperimentalApi
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT = 40;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final long[] counts;
+    private final long count;
+    private final long totalValue;
+    private final long maxValue;
+
+    LatencyHistogram(long[] counts, long totalValue, long maxValue) {
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        this.counts = counts;
+        this.count = count;
+        this.totalValue = totalValue;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * @param other the histogram to add to this one
+     *
+     * @return a histogram of the latencies of both this histogram and the other one
+     */
+    LatencyHistogram plus(LatencyHistogram other) {
+        long[] sumCounts = new long[counts.length];
+        for (int i = 0; i < sumCounts.length; i++) {
+            sumCounts[i] = counts[i] + other.counts[i];
+        }
+        return new LatencyHistogram(sumCounts, totalValue + other.totalValue, Math.max(maxValue, other.maxValue));
+    }
+
+    /**
+     * @return the number of latencies that have been recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the largest latency that has been recorded or 0 if there is none
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @return the mean of the latencies that have been recorded or 0 if there is none
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) totalValue / count;
+    }
+
+    /**
+     * Returns the latency that the given percentage of the recorded latencies are at or below, so for example
+     * {@code getValueAtPercentile(99)} is the p99 latency
+     *
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the latency at the percentile or 0 if there is none
+     */
+    public long getValueAtPercentile(double percentile) {
+        assertTrue(percentile >= 0 && percentile <= 100, () -> "percentile must be between 0 and 100");
+        if (count == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= countAtPercentile) {
+                return Math.min(highestValueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(value, 0);
+        }
+        long clamped = Math.min(value, MAX_VALUE);
+        int exponent = 63 - Long.numberOfLeadingZeros(clamped);
+        // the buckets of a power of two are told apart by the bits that follow its highest bit
+        return (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + (int) (clamped >>> (exponent - SUB_BUCKET_BITS));
+    }
+
+    static long lowestValueOf(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int exponent = bucketIndex / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long leadingBits = bucketIndex % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return leadingBits << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long highestValueOf(int bucketIndex) {
+        return bucketIndex == BUCKET_COUNT - 1 ? MAX_VALUE : lowestValueOf(bucketIndex + 1) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + maxValue +
+                '}';
+    }
+}
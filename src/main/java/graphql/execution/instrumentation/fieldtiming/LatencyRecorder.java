@@ -0,0 +1,43 @@
+package graphql.execution.instrumentation.fieldtiming;
+
+import graphql.Internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts latencies into the buckets of a {@link LatencyHistogram} without taking any locks, so that it can be recorded
+ * into from any number of threads at once.
+ */
+@Internal
+class LatencyRecorder {
+
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(LatencyHistogram.bucketIndex(value));
+        totalValue.add(value);
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * The snapshot is not atomic, so latencies that are recorded while it is taken may be in some of its numbers and not
+     * in others
+     *
+     * @return a snapshot of the latencies recorded so far
+     */
+    LatencyHistogram snapshot() {
+        long[] snapshotCounts = new long[LatencyHistogram.BUCKET_COUNT];
+        for (int i = 0; i < snapshotCounts.length; i++) {
+            snapshotCounts[i] = counts.get(i);
+        }
+        return new LatencyHistogram(snapshotCounts, totalValue.sum(), maxValue.get());
+    }
+}
@@ -4,9 +4,7 @@ import com.google.common.collect.ImmutableList;
 import graphql.ErrorType;
 import graphql.GraphQLError;
 import graphql.Internal;
-import graphql.analysis.QueryTraverser;
-import graphql.analysis.QueryVisitorFieldEnvironment;
-import graphql.analysis.QueryVisitorStub;
+import graphql.analysis.QueryAnalysisField;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ResultPath;
 import graphql.language.Field;
@@ -29,29 +27,20 @@ class FieldValidationSupport {
 
         Map<ResultPath, List<FieldAndArguments>> fieldArgumentsMap = new LinkedHashMap<>();
 
-        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
-                .schema(executionContext.getGraphQLSchema())
-                .document(executionContext.getDocument())
-                .operationName(executionContext.getOperationDefinition().getName())
-                .coercedVariables(executionContext.getCoercedVariables())
-                .build();
-
-        queryTraverser.visitPreOrder(new QueryVisitorStub() {
-            @Override
-            public void visitField(QueryVisitorFieldEnvironment env) {
-                Field field = env.getField();
-                if (field.getArguments() != null && !field.getArguments().isEmpty()) {
-                    //
-                    // only fields that have arguments make any sense to placed in play
-                    // since only they have variable input
-                    FieldAndArguments fieldArguments = new FieldAndArgumentsImpl(env);
-                    ResultPath path = fieldArguments.getPath();
-                    List<FieldAndArguments> list = fieldArgumentsMap.getOrDefault(path, new ArrayList<>());
-                    list.add(fieldArguments);
-                    fieldArgumentsMap.put(path, list);
-                }
+        // the fields come from the analysis that is shared with the other protections of this execution
+        for (QueryAnalysisField analysedField : executionContext.getQueryAnalysis().getFields()) {
+            Field field = analysedField.getField();
+            if (field.getArguments() != null && !field.getArguments().isEmpty()) {
+                //
+                // only fields that have arguments make any sense to placed in play
+                // since only they have variable input
+                FieldAndArguments fieldArguments = new FieldAndArgumentsImpl(analysedField);
+                ResultPath path = fieldArguments.getPath();
+                List<FieldAndArguments> list = fieldArgumentsMap.getOrDefault(path, new ArrayList<>());
+                list.add(fieldArguments);
+                fieldArgumentsMap.put(path, list);
             }
-        });
+        }
 
         FieldValidationEnvironment environment = new FieldValidationEnvironmentImpl(executionContext, fieldArgumentsMap);
         //
@@ -60,35 +49,35 @@ class FieldValidationSupport {
     }
 
     private static class FieldAndArgumentsImpl implements FieldAndArguments {
-        private final QueryVisitorFieldEnvironment traversalEnv;
+        private final QueryAnalysisField analysedField;
         private final FieldAndArguments parentArgs;
         private final ResultPath path;
 
-        FieldAndArgumentsImpl(QueryVisitorFieldEnvironment traversalEnv) {
-            this.traversalEnv = traversalEnv;
-            this.parentArgs = mkParentArgs(traversalEnv);
-            this.path = mkPath(traversalEnv);
+        FieldAndArgumentsImpl(QueryAnalysisField analysedField) {
+            this.analysedField = analysedField;
+            this.parentArgs = mkParentArgs(analysedField);
+            this.path = mkPath(analysedField);
         }
 
-        private FieldAndArguments mkParentArgs(QueryVisitorFieldEnvironment traversalEnv) {
-            return traversalEnv.getParentEnvironment() != null ? new FieldAndArgumentsImpl(traversalEnv.getParentEnvironment()) : null;
+        private FieldAndArguments mkParentArgs(QueryAnalysisField analysedField) {
+            return analysedField.getParent() != null ? new FieldAndArgumentsImpl(analysedField.getParent()) : null;
         }
 
-        private ResultPath mkPath(QueryVisitorFieldEnvironment traversalEnv) {
-            QueryVisitorFieldEnvironment parentEnvironment = traversalEnv.getParentEnvironment();
-            if (parentEnvironment == null) {
-                return ResultPath.rootPath().segment(traversalEnv.getField().getName());
+        private ResultPath mkPath(QueryAnalysisField analysedField) {
+            QueryAnalysisField parent = analysedField.getParent();
+            if (parent == null) {
+                return ResultPath.rootPath().segment(analysedField.getField().getName());
             } else {
-                Deque<QueryVisitorFieldEnvironment> stack = new ArrayDeque<>();
-                stack.push(traversalEnv);
-                while (parentEnvironment != null) {
-                    stack.push(parentEnvironment);
-                    parentEnvironment = parentEnvironment.getParentEnvironment();
+                Deque<QueryAnalysisField> stack = new ArrayDeque<>();
+                stack.push(analysedField);
+                while (parent != null) {
+                    stack.push(parent);
+                    parent = parent.getParent();
                 }
                 ResultPath path = ResultPath.rootPath();
                 while (!stack.isEmpty()) {
-                    QueryVisitorFieldEnvironment environment = stack.pop();
-                    path = path.segment(environment.getField().getName());
+                    QueryAnalysisField field = stack.pop();
+                    path = path.segment(field.getField().getName());
                 }
                 return path;
             }
@@ -96,17 +85,17 @@ class FieldValidationSupport {
 
         @Override
         public Field getField() {
-            return traversalEnv.getField();
+            return analysedField.getField();
         }
 
         @Override
         public GraphQLFieldDefinition getFieldDefinition() {
-            return traversalEnv.getFieldDefinition();
+            return analysedField.getFieldDefinition();
         }
 
         @Override
         public GraphQLCompositeType getParentType() {
-            return traversalEnv.getFieldsContainer();
+            return analysedField.getFieldsContainer();
         }
 
         @Override
@@ -116,14 +105,14 @@ class FieldValidationSupport {
 
         @Override
         public Map<String, Object> getArgumentValuesByName() {
-            return traversalEnv.getArguments();
+            return analysedField.getArguments();
         }
 
         @Override
         @SuppressWarnings("TypeParameterUnusedInFormals")
         public <T> T getArgumentValue(String argumentName) {
             //noinspection unchecked
-            return (T) traversalEnv.getArguments().get(argumentName);
+            return (T) analysedField.getArguments().get(argumentName);
         }
 
         @Override
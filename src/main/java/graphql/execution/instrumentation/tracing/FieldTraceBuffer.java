@@ -0,0 +1,92 @@
+package graphql.execution.instrumentation.tracing;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.execution.ExecutionStepInfo;
+import graphql.util.LockKit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the traces of the field fetches of one execution as primitive records in chunks of preallocated arrays, rather
+ * than as a map per field fetch.  A record holds the timings and a reference to the {@link ExecutionStepInfo} of the field,
+ * from which the path, the field name and the types of the trace are only worked out when the trace is turned into maps.
+ * <p>
+ * Records are added from whatever thread completes a field fetch and a record is only seen once it has been fully written.
+ */
+@Internal
+class FieldTraceBuffer {
+
+    static final int CHUNK_SIZE = 256;
+
+    private final AtomicInteger nextRecord = new AtomicInteger();
+    private final LockKit.ReentrantLock growLock = new LockKit.ReentrantLock();
+    private volatile Chunk[] chunks = new Chunk[]{new Chunk()};
+
+    void record(ExecutionStepInfo executionStepInfo, long startOffset, long duration) {
+        int recordIndex = nextRecord.getAndIncrement();
+        Chunk chunk = chunk(recordIndex / CHUNK_SIZE);
+        int slot = recordIndex % CHUNK_SIZE;
+        chunk.startOffsets[slot] = startOffset;
+        chunk.durations[slot] = duration;
+        // this publishes the timings written above
+        chunk.executionStepInfos.set(slot, executionStepInfo);
+    }
+
+    /**
+     * @return the number of records that have been added so far
+     */
+    int size() {
+        return Math.min(nextRecord.get(), chunks.length * CHUNK_SIZE);
+    }
+
+    /**
+     * @return the records in the order they have been added, as the maps of the apollo tracing format
+     */
+    ImmutableList<Map<String, Object>> toFieldMaps() {
+        int size = size();
+        Chunk[] chunks = this.chunks;
+        ImmutableList.Builder<Map<String, Object>> fieldMaps = ImmutableList.builderWithExpectedSize(size);
+        for (int recordIndex = 0; recordIndex < size; recordIndex++) {
+            Chunk chunk = chunks[recordIndex / CHUNK_SIZE];
+            int slot = recordIndex % CHUNK_SIZE;
+            ExecutionStepInfo executionStepInfo = chunk.executionStepInfos.get(slot);
+            // a fetch that is still being recorded is left out, just like it is when it ends after the snapshot
+            if (executionStepInfo != null) {
+                fieldMaps.add(TracingSupport.mkFieldMap(executionStepInfo, chunk.startOffsets[slot], chunk.durations[slot]));
+            }
+        }
+        return fieldMaps.build();
+    }
+
+    private Chunk chunk(int chunkIndex) {
+        Chunk[] chunks = this.chunks;
+        if (chunkIndex < chunks.length) {
+            return chunks[chunkIndex];
+        }
+        growLock.lock();
+        try {
+            chunks = this.chunks;
+            if (chunkIndex >= chunks.length) {
+                Chunk[] grown = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, chunks.length * 2));
+                for (int i = chunks.length; i < grown.length; i++) {
+                    grown[i] = new Chunk();
+                }
+                this.chunks = grown;
+                chunks = grown;
+            }
+            return chunks[chunkIndex];
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private static class Chunk {
+        private final long[] startOffsets = new long[CHUNK_SIZE];
+        private final long[] durations = new long[CHUNK_SIZE];
+        private final AtomicReferenceArray<ExecutionStepInfo> executionStepInfos = new AtomicReferenceArray<>(CHUNK_SIZE);
+    }
+}
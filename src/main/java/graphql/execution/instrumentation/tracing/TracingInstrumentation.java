@@ -2,6 +2,7 @@ package graphql.execution.instrumentation.tracing;
 
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
 import graphql.execution.instrumentation.Instrumentation;
@@ -21,7 +22,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.LongPredicate;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.execution.instrumentation.InstrumentationState.ofState;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.whenCompleted;
 
@@ -34,15 +37,27 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
 
     public static class Options {
         private final boolean includeTrivialDataFetchers;
+        private final boolean compactFieldRecords;
+        private final LongPredicate includeTracingPredicate;
 
-        private Options(boolean includeTrivialDataFetchers) {
+        private Options(boolean includeTrivialDataFetchers, boolean compactFieldRecords, LongPredicate includeTracingPredicate) {
             this.includeTrivialDataFetchers = includeTrivialDataFetchers;
+            this.compactFieldRecords = compactFieldRecords;
+            this.includeTracingPredicate = includeTracingPredicate;
         }
 
         public boolean isIncludeTrivialDataFetchers() {
             return includeTrivialDataFetchers;
         }
 
+        public boolean isCompactFieldRecords() {
+            return compactFieldRecords;
+        }
+
+        public LongPredicate getIncludeTracingPredicate() {
+            return includeTracingPredicate;
+        }
+
         /**
          * By default trivial data fetchers (those that simple pull data from an object into field) are included
          * in tracing but you can control this behavior.
@@ -52,11 +67,41 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
          * @return a new options object
          */
         public Options includeTrivialDataFetchers(boolean flag) {
-            return new Options(flag);
+            return new Options(flag, compactFieldRecords, includeTracingPredicate);
+        }
+
+        /**
+         * By default the trace of every field fetch is put into a map as soon as the fetch ends.  With compact field records
+         * a field fetch is recorded as a few numbers and the maps are only made when the tracing is put into the result.
+         *
+         * @param flag the flag on whether to keep the traces of the field fetches as compact records
+         *
+         * @return a new options object
+         *
+         * @see TracingSupport#TracingSupport(boolean, boolean)
+         */
+        @ExperimentalApi
+        public Options compactFieldRecords(boolean flag) {
+            return new Options(includeTrivialDataFetchers, flag, includeTracingPredicate);
+        }
+
+        /**
+         * By default the tracing is put into every result.  This allows you to decide at the end of each request, given
+         * how many nanoseconds it has taken, whether its tracing is put into its result, say only for slow requests or
+         * for a random sample of them.  With {@link #compactFieldRecords(boolean)} the tracing of a request that is left
+         * out never gets turned into maps.
+         *
+         * @param includeTracingPredicate the predicate that is given the duration of a request in nanoseconds
+         *
+         * @return a new options object
+         */
+        @ExperimentalApi
+        public Options includeTracingIf(LongPredicate includeTracingPredicate) {
+            return new Options(includeTrivialDataFetchers, compactFieldRecords, assertNotNull(includeTracingPredicate));
         }
 
         public static Options newOptions() {
-            return new Options(true);
+            return new Options(true, false, durationNanos -> true);
         }
 
     }
@@ -73,14 +118,17 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
 
     @Override
     public @Nullable CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
-        return CompletableFuture.completedFuture(new TracingSupport(options.includeTrivialDataFetchers));
+        return CompletableFuture.completedFuture(new TracingSupport(options.includeTrivialDataFetchers, options.compactFieldRecords));
     }
 
     @Override
     public @NotNull CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState rawState) {
-        Map<Object, Object> currentExt = executionResult.getExtensions();
-
         TracingSupport tracingSupport = ofState(rawState);
+        if (!options.includeTracingPredicate.test(tracingSupport.getElapsedNanos())) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        Map<Object, Object> currentExt = executionResult.getExtensions();
         Map<Object, Object> withTracingExt = new LinkedHashMap<>(currentExt == null ? ImmutableKit.emptyMap() : currentExt);
         withTracingExt.put("tracing", tracingSupport.snapshotTracingData());
 
@@ -1,6 +1,7 @@
 package graphql.execution.instrumentation.tracing;
 
 import com.google.common.collect.ImmutableList;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.execution.ExecutionStepInfo;
 import graphql.execution.instrumentation.InstrumentationState;
@@ -28,6 +29,7 @@ public class TracingSupport implements InstrumentationState {
     private final Instant startRequestTime;
     private final long startRequestNanos;
     private final ConcurrentLinkedQueue<Map<String, Object>> fieldData;
+    private final FieldTraceBuffer fieldTraceBuffer;
     private final Map<String, Object> parseMap = new LinkedHashMap<>();
     private final Map<String, Object> validationMap = new LinkedHashMap<>();
     private final boolean includeTrivialDataFetchers;
@@ -38,10 +40,26 @@ public class TracingSupport implements InstrumentationState {
      * @param includeTrivialDataFetchers whether the trace trivial data fetchers
      */
     public TracingSupport(boolean includeTrivialDataFetchers) {
+        this(includeTrivialDataFetchers, false);
+    }
+
+    /**
+     * The timer starts as soon as you create this object
+     * <p>
+     * With compact field records the trace of a field fetch is kept as a few numbers and a reference to its
+     * {@link ExecutionStepInfo}, and the map of the field is only made when {@link #snapshotTracingData()} is called,
+     * which saves most of the allocation of tracing if the snapshot is only taken for some requests.
+     *
+     * @param includeTrivialDataFetchers whether the trace trivial data fetchers
+     * @param compactFieldRecords        whether to keep the traces of the field fetches as compact records
+     */
+    @ExperimentalApi
+    public TracingSupport(boolean includeTrivialDataFetchers, boolean compactFieldRecords) {
         this.includeTrivialDataFetchers = includeTrivialDataFetchers;
         startRequestNanos = System.nanoTime();
         startRequestTime = Instant.now();
-        fieldData = new ConcurrentLinkedQueue<>();
+        fieldData = compactFieldRecords ? null : new ConcurrentLinkedQueue<>();
+        fieldTraceBuffer = compactFieldRecords ? new FieldTraceBuffer() : null;
     }
 
     /**
@@ -76,18 +94,33 @@ public class TracingSupport implements InstrumentationState {
             long startOffset = startFieldFetch - startRequestNanos;
             ExecutionStepInfo executionStepInfo = dataFetchingEnvironment.getExecutionStepInfo();
 
-            Map<String, Object> fetchMap = new LinkedHashMap<>();
-            fetchMap.put("path", executionStepInfo.getPath().toList());
-            fetchMap.put("parentType", simplePrint(executionStepInfo.getParent().getUnwrappedNonNullType()));
-            fetchMap.put("returnType", executionStepInfo.simplePrint());
-            fetchMap.put("fieldName", executionStepInfo.getFieldDefinition().getName());
-            fetchMap.put("startOffset", startOffset);
-            fetchMap.put("duration", duration);
-
-            fieldData.add(fetchMap);
+            if (fieldTraceBuffer != null) {
+                fieldTraceBuffer.record(executionStepInfo, startOffset, duration);
+            } else {
+                fieldData.add(mkFieldMap(executionStepInfo, startOffset, duration));
+            }
         };
     }
 
+    static Map<String, Object> mkFieldMap(ExecutionStepInfo executionStepInfo, long startOffset, long duration) {
+        Map<String, Object> fetchMap = new LinkedHashMap<>();
+        fetchMap.put("path", executionStepInfo.getPath().toList());
+        fetchMap.put("parentType", simplePrint(executionStepInfo.getParent().getUnwrappedNonNullType()));
+        fetchMap.put("returnType", executionStepInfo.simplePrint());
+        fetchMap.put("fieldName", executionStepInfo.getFieldDefinition().getName());
+        fetchMap.put("startOffset", startOffset);
+        fetchMap.put("duration", duration);
+        return fetchMap;
+    }
+
+    /**
+     * @return the nanoseconds since this tracing has been started
+     */
+    @ExperimentalApi
+    public long getElapsedNanos() {
+        return System.nanoTime() - startRequestNanos;
+    }
+
     /**
      * This should be called to start the trace of query parsing, with {@link TracingContext#onEnd()} being called to
      * end the call.
@@ -145,7 +178,7 @@ public class TracingSupport implements InstrumentationState {
 
     private Map<String, Object> executionData() {
         Map<String, Object> map = new LinkedHashMap<>();
-        List<Map<String, Object>> list = ImmutableList.copyOf(fieldData);
+        List<Map<String, Object>> list = fieldTraceBuffer != null ? fieldTraceBuffer.toFieldMaps() : ImmutableList.copyOf(fieldData);
         map.put("resolvers", list);
         return map;
     }
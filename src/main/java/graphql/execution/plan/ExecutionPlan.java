@@ -0,0 +1,154 @@
+package graphql.execution.plan;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Directives;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.execution.CoercedVariables;
+import graphql.execution.conditional.ConditionalNodeDecision;
+import graphql.language.Argument;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.language.NodeTraverser;
+import graphql.language.NodeVisitorStub;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * An execution plan is the compiled form of a validated {@link Document} against a specific {@link GraphQLSchema}.
+ * <p>
+ * It is created once per {@link graphql.execution.preparsed.PreparsedDocumentEntry} and then consulted by the execution
+ * strategies instead of re-collecting fields and re-discovering field definitions and data fetchers on every request.
+ * <p>
+ * The only variable inputs that can change which fields get collected are the variables referenced by
+ * {@code @skip} and {@code @include} directives and so each distinct combination of those variable values gets its
+ * own {@link ExecutionPlanVariant}.  As n such variables allow for 2^n combinations, at most {@link #MAX_VARIANTS} variants are
+ * compiled per plan and executions with further combinations run without a compiled plan.
+ */
+@Internal
+public class ExecutionPlan {
+
+    /**
+     * The number of variants compiled per plan, after which new combinations of conditional variable values run without a
+     * compiled plan
+     */
+    public static final int MAX_VARIANTS = 32;
+
+    private final GraphQLSchema graphQLSchema;
+    private final List<String> conditionalVariableNames;
+    private final Map<List<Object>, ExecutionPlanVariant> variants = new ConcurrentHashMap<>();
+
+    private ExecutionPlan(Document document, GraphQLSchema graphQLSchema) {
+        this.graphQLSchema = assertNotNull(graphQLSchema);
+        this.conditionalVariableNames = collectConditionalVariableNames(assertNotNull(document));
+    }
+
+    public static ExecutionPlan newExecutionPlan(Document document, GraphQLSchema graphQLSchema) {
+        return new ExecutionPlan(document, graphQLSchema);
+    }
+
+    /**
+     * @param graphQLSchema the schema in play
+     *
+     * @return true if this plan was compiled against exactly this schema object
+     */
+    public boolean isForSchema(GraphQLSchema graphQLSchema) {
+        return this.graphQLSchema == graphQLSchema;
+    }
+
+    /**
+     * @return the names of the variables that are used in {@code @skip} and {@code @include} directives
+     */
+    public List<String> getConditionalVariableNames() {
+        return conditionalVariableNames;
+    }
+
+    /**
+     * Returns the plan variant to use for the given variables or null if this execution cannot use a compiled plan, for example
+     * because a custom {@link ConditionalNodeDecision} or incremental delivery is in play or because {@link #MAX_VARIANTS}
+     * other variants have been compiled already.
+     *
+     * @param coercedVariables the coerced variables of this execution
+     * @param graphQLContext   the context of this execution
+     *
+     * @return a plan variant or null if the plan cannot be used
+     */
+    public ExecutionPlanVariant getVariant(CoercedVariables coercedVariables, GraphQLContext graphQLContext) {
+        if (graphQLContext != null) {
+            if (graphQLContext.get(ConditionalNodeDecision.class) != null) {
+                return null;
+            }
+            if (graphQLContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, false)) {
+                return null;
+            }
+        }
+        List<Object> variantKey = mkVariantKey(coercedVariables);
+        ExecutionPlanVariant variant = variants.get(variantKey);
+        if (variant == null) {
+            if (variants.size() >= MAX_VARIANTS) {
+                return null;
+            }
+            variant = variants.computeIfAbsent(variantKey, key -> new ExecutionPlanVariant());
+        }
+        return variant;
+    }
+
+    /**
+     * @return the number of plan variants compiled so far
+     */
+    public int getVariantCount() {
+        return variants.size();
+    }
+
+    private List<Object> mkVariantKey(CoercedVariables coercedVariables) {
+        if (conditionalVariableNames.isEmpty()) {
+            return ImmutableList.of();
+        }
+        List<Object> variantKey = new ArrayList<>(conditionalVariableNames.size());
+        for (String variableName : conditionalVariableNames) {
+            variantKey.add(coercedVariables.get(variableName));
+        }
+        return variantKey;
+    }
+
+    /**
+     * @param document the document to look at
+     *
+     * @return the names of the variables that are used in {@code @skip} and {@code @include} directives of the document
+     */
+    public static List<String> collectConditionalVariableNames(Document document) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        new NodeTraverser().preOrder(new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitDirective(Directive node, TraverserContext<Node> context) {
+                if (isConditionalDirective(node)) {
+                    for (Argument argument : node.getArguments()) {
+                        if (argument.getValue() instanceof VariableReference) {
+                            variableNames.add(((VariableReference) argument.getValue()).getName());
+                        }
+                    }
+                }
+                return TraversalControl.CONTINUE;
+            }
+        }, document);
+        return ImmutableList.copyOf(variableNames);
+    }
+
+    private static boolean isConditionalDirective(Directive directive) {
+        String name = directive.getName();
+        return name.equals(Directives.SkipDirective.getName()) || name.equals(Directives.IncludeDirective.getName());
+    }
+}
@@ -0,0 +1,123 @@
+package graphql.execution.plan;
+
+import graphql.Internal;
+import graphql.execution.MergedSelectionSet;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The compiled selections of an {@link ExecutionPlan} for one combination of {@code @skip} / {@code @include} variable values.
+ * <p>
+ * All entries are keyed by the identity of the AST / execution objects they were compiled from, which are stable because
+ * the document is cached and the {@link graphql.execution.MergedField}s are handed out from the cached selection sets.  Objects
+ * that are not stable, such as merged fields created by an instrumentation, would add entries on every execution, so each map
+ * keeps at most {@link #MAX_ENTRIES} entries and anything past that is computed without being kept.
+ */
+@Internal
+public class ExecutionPlanVariant {
+
+    /**
+     * The number of entries kept per kind of compiled object, after which new objects are computed but no longer kept
+     */
+    public static final int MAX_ENTRIES = 4096;
+
+    private final Map<PlanKey, MergedSelectionSet> selectionSets = new ConcurrentHashMap<>();
+    private final Map<PlanKey, GraphQLFieldDefinition> fieldDefinitions = new ConcurrentHashMap<>();
+    private final Map<PlanKey, DataFetcher<?>> dataFetchers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the collected fields of the selection owner (an operation definition or a merged field) for the given object type
+     *
+     * @param selectionOwner the object owning the selection set
+     * @param objectType     the object type the fields are collected for
+     * @param fieldCollector the code to run to collect the fields if they are not yet compiled
+     *
+     * @return the collected fields
+     */
+    public MergedSelectionSet getSelectionSet(Object selectionOwner, GraphQLObjectType objectType, Supplier<MergedSelectionSet> fieldCollector) {
+        return computeIfAbsent(selectionSets, new PlanKey(selectionOwner, objectType), fieldCollector);
+    }
+
+    /**
+     * Returns the field definition for the AST field on the given parent type
+     *
+     * @param field      the AST field
+     * @param parentType the parent type of the field
+     * @param lookup     the code to run to find the field definition if it is not yet compiled
+     *
+     * @return the field definition
+     */
+    public GraphQLFieldDefinition getFieldDefinition(Object field, GraphQLObjectType parentType, Supplier<GraphQLFieldDefinition> lookup) {
+        return computeIfAbsent(fieldDefinitions, new PlanKey(field, parentType), lookup);
+    }
+
+    /**
+     * Returns the data fetcher for the field definition on the given parent type
+     *
+     * @param parentType      the parent type of the field
+     * @param fieldDefinition the field definition
+     * @param lookup          the code to run to find the data fetcher if it is not yet compiled
+     *
+     * @return the data fetcher
+     */
+    public DataFetcher<?> getDataFetcher(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition, Supplier<DataFetcher<?>> lookup) {
+        return computeIfAbsent(dataFetchers, new PlanKey(fieldDefinition, parentType), lookup);
+    }
+
+    /**
+     * @return the number of entries kept in this variant
+     */
+    public int getEntryCount() {
+        return selectionSets.size() + fieldDefinitions.size() + dataFetchers.size();
+    }
+
+    private static <T> T computeIfAbsent(Map<PlanKey, T> map, PlanKey key, Supplier<T> supplier) {
+        // we do the get first to avoid the locking of computeIfAbsent on the hot path
+        T value = map.get(key);
+        if (value == null) {
+            value = supplier.get();
+            if (map.size() >= MAX_ENTRIES) {
+                return value;
+            }
+            T existing = map.putIfAbsent(key, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return value;
+    }
+
+    private static class PlanKey {
+        private final Object owner;
+        private final Object type;
+        private final int hashCode;
+
+        private PlanKey(Object owner, Object type) {
+            this.owner = owner;
+            this.type = type;
+            this.hashCode = 31 * System.identityHashCode(owner) + System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey that = (PlanKey) o;
+            return owner == that.owner && type == that.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
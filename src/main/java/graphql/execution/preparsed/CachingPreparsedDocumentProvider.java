@@ -0,0 +1,238 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.ParseAndValidate;
+import graphql.PublicApi;
+import graphql.schema.GraphQLSchema;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps parsed and validated documents in a bounded in memory cache keyed
+ * by the query text.
+ * <p>
+ * Since a document is validated against a schema, it is keyed by the schema it was validated against as well, and by the
+ * validation rule predicate of {@link ParseAndValidate#INTERNAL_VALIDATION_PREDICATE_HINT} if there is one, so that a
+ * document is never used with a schema or with rules it has not been validated with.  The schemas and predicates are
+ * compared by identity.  If the schema is changed by {@link graphql.execution.instrumentation.Instrumentation#instrumentSchema}
+ * then it has to be the same instance every time for the documents to be found again.
+ * <p>
+ * The cache is bounded by a maximum total weight, where the weight of a document is estimated from its query text
+ * (by default the number of characters in it).  New documents are only admitted into the cache in place of existing ones
+ * if they have been seen more often recently, so that a burst of one off queries cannot evict the frequently used ones.
+ * <p>
+ * When the schema has several visibility profiles, see {@link graphql.schema.visibility.CompiledFieldVisibility}, a query
+ * can be valid for one profile and not for another, so the documents are then keyed by the profile as well as the query text,
+ * see {@link Builder#visibilityProfile(Function)}.
+ * <p>
+ * Cache statistics are available via {@link #getStats()}
+ *
+ * @see graphql.GraphQL.Builder#preparsedDocumentProvider(PreparsedDocumentProvider)
+ */
+@PublicApi
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * By default the cache holds up to 10 million characters worth of query text
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 10_000_000L;
+
+    private final PreparsedDocumentCache<DocumentKey, PreparsedDocumentEntry> cache;
+    private final ToIntFunction<String> weigher;
+    private final Function<ExecutionInput, String> visibilityProfile;
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        this.cache = new PreparsedDocumentCache<>(builder.maximumWeight);
+        this.weigher = builder.weigher;
+        this.visibilityProfile = builder.visibilityProfile;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        Object validationPredicate = executionInput.getGraphQLContext().get(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT);
+        DocumentKey key = new DocumentKey(query, graphQLSchema, validationPredicate, visibilityProfile.apply(executionInput));
+        PreparsedDocumentEntry documentEntry = cache.get(key);
+        if (documentEntry == null) {
+            documentEntry = parseAndValidateFunction.apply(executionInput);
+            cache.put(key, documentEntry, weigher.applyAsInt(query));
+        }
+        return CompletableFuture.completedFuture(documentEntry);
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction statistics of this provider
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Carries the cached documents over to a new schema after a schema change, validating only those documents again that
+     * are affected by the change.  The documents of the old schema of the revalidator are moved over to its new schema, and
+     * documents that were cached without a schema are validated again in place.  Documents of other schemas are left alone.
+     *
+     * @param revalidator the revalidator from the old to the new schema
+     *
+     * @return the number of documents that were validated again
+     */
+    @ExperimentalApi
+    public int revalidate(PreparsedDocumentRevalidator revalidator) {
+        return revalidate(revalidator, profile -> true);
+    }
+
+    /**
+     * Like {@link #revalidate(PreparsedDocumentRevalidator)} but only for the documents of the given visibility profile,
+     * whose visibility the new schema of the revalidator has to have
+     *
+     * @param visibilityProfile the visibility profile of the documents to carry over
+     * @param revalidator       the revalidator from the old to the new schema of the profile
+     *
+     * @return the number of documents that were validated again
+     */
+    @ExperimentalApi
+    public int revalidate(String visibilityProfile, PreparsedDocumentRevalidator revalidator) {
+        return revalidate(revalidator, profile -> Objects.equals(profile, visibilityProfile));
+    }
+
+    private int revalidate(PreparsedDocumentRevalidator revalidator, Predicate<String> profiles) {
+        int revalidated = 0;
+        for (Map.Entry<DocumentKey, PreparsedDocumentEntry> cached : cache.entries().entrySet()) {
+            DocumentKey key = cached.getKey();
+            if (!profiles.test(key.visibilityProfile)) {
+                continue;
+            }
+            if (key.schema != null && key.schema != revalidator.getOldSchema()) {
+                continue;
+            }
+            PreparsedDocumentEntry entry = cached.getValue();
+            PreparsedDocumentEntry carriedOver = revalidator.revalidate(entry);
+            if (carriedOver != entry) {
+                revalidated++;
+            }
+            DocumentKey newKey = key.schema == null ? key : key.withSchema(revalidator.getNewSchema());
+            if (carriedOver != entry || newKey != key) {
+                cache.replace(key, entry, newKey, carriedOver);
+            }
+        }
+        return revalidated;
+    }
+
+    /**
+     * Removes all cached documents, for example when the schema has changed
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return a new builder of {@link CachingPreparsedDocumentProvider}s
+     */
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    private static class DocumentKey {
+        private final String query;
+        private final GraphQLSchema schema;
+        private final Object validationPredicate;
+        private final String visibilityProfile;
+
+        private DocumentKey(String query, GraphQLSchema schema, Object validationPredicate, String visibilityProfile) {
+            this.query = query;
+            this.schema = schema;
+            this.validationPredicate = validationPredicate;
+            this.visibilityProfile = visibilityProfile;
+        }
+
+        private DocumentKey withSchema(GraphQLSchema schema) {
+            return new DocumentKey(query, schema, validationPredicate, visibilityProfile);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DocumentKey that = (DocumentKey) o;
+            return query.equals(that.query)
+                    && schema == that.schema
+                    && validationPredicate == that.validationPredicate
+                    && Objects.equals(visibilityProfile, that.visibilityProfile);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = query.hashCode();
+            result = 31 * result + System.identityHashCode(schema);
+            result = 31 * result + System.identityHashCode(validationPredicate);
+            result = 31 * result + Objects.hashCode(visibilityProfile);
+            return result;
+        }
+    }
+
+    public static class Builder {
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        private ToIntFunction<String> weigher = String::length;
+        private Function<ExecutionInput, String> visibilityProfile = executionInput -> null;
+
+        /**
+         * @param maximumWeight the maximum total weight of the documents held in the cache
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, () -> "maximumWeight must be greater than zero");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * @param weigher a function that estimates the weight of a document from its query text, which must not be negative
+         *
+         * @return this builder
+         */
+        public Builder weigher(ToIntFunction<String> weigher) {
+            this.weigher = assertNotNull(weigher);
+            return this;
+        }
+
+        /**
+         * Keys the cached documents by a visibility profile as well as by the query text, so that a document validated
+         * against the visibility of one profile is never used for another profile
+         *
+         * @param visibilityProfile a function that gives the visibility profile an execution runs with, for example from
+         *                          its {@link graphql.GraphQLContext}
+         *
+         * @return this builder
+         *
+         * @see graphql.schema.visibility.CompiledFieldVisibility#getProfile()
+         */
+        @ExperimentalApi
+        public Builder visibilityProfile(Function<ExecutionInput, String> visibilityProfile) {
+            this.visibilityProfile = assertNotNull(visibilityProfile);
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+}
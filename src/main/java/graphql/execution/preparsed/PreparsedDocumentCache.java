@@ -0,0 +1,288 @@
+package graphql.execution.preparsed;
+
+import graphql.Internal;
+import graphql.util.LockKit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A bounded, weighted cache of values, such as {@link PreparsedDocumentEntry}s, with a window TinyLFU admission policy.
+ * <p>
+ * New entries go into a small LRU admission window.  When they age out of the window they are only admitted into the
+ * main LRU region if a {@link FrequencySketch} estimates them to be more popular than the entry they would displace, which
+ * stops a stream of one off queries from flushing out the hot set of documents.
+ * <p>
+ * Looking up an entry takes no lock.  The entries are read from a concurrent map and the key that was looked up is put
+ * into a read buffer, which is applied to the frequency sketch and the LRU order of the regions by whichever thread next
+ * holds the lock.  The lock is taken to put entries and evict them, and a lookup only takes it to drain a full read buffer
+ * when no other thread holds it.  Reads are dropped rather than buffered once the buffer is full, which only makes the
+ * frequencies and the LRU order a little less accurate.
+ *
+ * @param <K> the type of the cache key
+ * @param <V> the type of the cached values
+ */
+@Internal
+public class PreparsedDocumentCache<K, V> {
+
+    private static final int AVERAGE_ENTRY_WEIGHT_ESTIMATE = 512;
+    private static final int MINIMUM_SKETCH_SIZE = 256;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 64;
+    private static final int MAXIMUM_BUFFERED_READS = 1024;
+
+    private final long maximumWeight;
+    private final long maximumWindowWeight;
+    private final long maximumMainWeight;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+
+    private final ConcurrentHashMap<K, WeightedEntry<V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<K> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedReads = new AtomicInteger();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    // guarded by the lock
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, WeightedEntry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, WeightedEntry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private long windowWeight;
+    private long mainWeight;
+    private long evictionCount;
+    private long rejectionCount;
+
+    public PreparsedDocumentCache(long maximumWeight) {
+        assertTrue(maximumWeight > 0, () -> "maximumWeight must be greater than zero");
+        this.maximumWeight = maximumWeight;
+        this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        this.maximumMainWeight = Math.max(0, maximumWeight - maximumWindowWeight);
+        this.sketch = new FrequencySketch(Math.max(MINIMUM_SKETCH_SIZE, maximumWeight / AVERAGE_ENTRY_WEIGHT_ESTIMATE));
+    }
+
+    /**
+     * Looks up the entry for the key, recording the access for the admission policy
+     *
+     * @param key the key to look up
+     *
+     * @return the cached entry or null if there is none
+     */
+    public V get(K key) {
+        WeightedEntry<V> weightedEntry = data.get(key);
+        recordRead(key);
+        if (weightedEntry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return weightedEntry.entry;
+    }
+
+    /**
+     * Offers an entry to the cache.  Entries heavier than the maximum weight are never cached.
+     *
+     * @param key    the key of the entry
+     * @param entry  the entry
+     * @param weight the weight of the entry, which must not be negative
+     */
+    public void put(K key, V entry, int weight) {
+        assertTrue(weight >= 0, () -> "the weigher must not give a document a negative weight");
+        lock.runLocked(() -> {
+            drainReadBuffer();
+            if (weight > maximumWeight) {
+                rejectionCount++;
+                return;
+            }
+            remove(key);
+            WeightedEntry<V> weightedEntry = new WeightedEntry<>(entry, weight);
+            window.put(key, weightedEntry);
+            data.put(key, weightedEntry);
+            windowWeight += weight;
+            drainWindow();
+        });
+    }
+
+    /**
+     * @return a snapshot of the keys and entries currently in the cache, without recording any access
+     */
+    public Map<K, V> entries() {
+        return lock.callLocked(() -> {
+            Map<K, V> entries = new LinkedHashMap<>();
+            main.forEach((key, weightedEntry) -> entries.put(key, weightedEntry.entry));
+            window.forEach((key, weightedEntry) -> entries.put(key, weightedEntry.entry));
+            return entries;
+        });
+    }
+
+    /**
+     * Replaces the entry of a key with another one of the same weight, if the key is still mapped to the expected entry.
+     * This neither records an access nor changes the position of the key.
+     *
+     * @param key         the key of the entry
+     * @param expected    the entry the key is expected to be mapped to
+     * @param replacement the entry to replace it with
+     *
+     * @return true if the entry was replaced
+     */
+    public boolean replace(K key, V expected, V replacement) {
+        return replace(key, expected, key, replacement);
+    }
+
+    /**
+     * Moves the entry of a key to another key, replacing it with another entry of the same weight, if the key is still mapped
+     * to the expected entry.  The entry stays in the same region of the cache, as the most recently used entry of the region
+     * unless the key is unchanged.  If the new key is already mapped to an entry then that entry is kept, and the entry of the
+     * old key is still removed even though false is returned, as the old key is not expected to be looked up any more.
+     *
+     * @param key         the key of the entry
+     * @param expected    the entry the key is expected to be mapped to
+     * @param newKey      the key to move the entry to
+     * @param replacement the entry to replace it with
+     *
+     * @return true if the entry was moved to the new key, false if the key was not mapped to the expected entry or if the
+     * new key was already mapped to an entry
+     */
+    public boolean replace(K key, V expected, K newKey, V replacement) {
+        return lock.callLocked(() -> {
+            Map<K, WeightedEntry<V>> region = window.containsKey(key) ? window : main;
+            WeightedEntry<V> existing = region.get(key);
+            if (existing == null || existing.entry != expected) {
+                return false;
+            }
+            WeightedEntry<V> weightedEntry = new WeightedEntry<>(replacement, existing.weight);
+            if (key.equals(newKey)) {
+                // replacing the value of an existing key does not change the access order of a LinkedHashMap
+                region.put(key, weightedEntry);
+                data.put(key, weightedEntry);
+                return true;
+            }
+            remove(key);
+            if (data.containsKey(newKey)) {
+                return false;
+            }
+            region.put(newKey, weightedEntry);
+            data.put(newKey, weightedEntry);
+            if (region == window) {
+                windowWeight += weightedEntry.weight;
+            } else {
+                mainWeight += weightedEntry.weight;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public void invalidateAll() {
+        lock.runLocked(() -> {
+            window.clear();
+            main.clear();
+            data.clear();
+            windowWeight = 0;
+            mainWeight = 0;
+        });
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return lock.callLocked(() -> new PreparsedDocumentCacheStats(hitCount.sum(), missCount.sum(), evictionCount, rejectionCount,
+                window.size() + main.size(), windowWeight + mainWeight, maximumWeight));
+    }
+
+    private void recordRead(K key) {
+        if (bufferedReads.incrementAndGet() > MAXIMUM_BUFFERED_READS) {
+            bufferedReads.decrementAndGet();
+        } else {
+            readBuffer.add(key);
+        }
+        if (bufferedReads.get() >= READ_BUFFER_DRAIN_THRESHOLD) {
+            lock.tryRunLocked(this::drainReadBuffer);
+        }
+    }
+
+    private void drainReadBuffer() {
+        K key;
+        while ((key = readBuffer.poll()) != null) {
+            bufferedReads.decrementAndGet();
+            sketch.increment(key);
+            // a get on an access ordered LinkedHashMap makes the key the most recently used one
+            if (window.get(key) == null) {
+                main.get(key);
+            }
+        }
+    }
+
+    private void remove(K key) {
+        WeightedEntry<V> existing = window.remove(key);
+        if (existing != null) {
+            windowWeight -= existing.weight;
+        }
+        existing = main.remove(key);
+        if (existing != null) {
+            mainWeight -= existing.weight;
+        }
+        data.remove(key);
+    }
+
+    private void drainWindow() {
+        while (windowWeight > maximumWindowWeight && !window.isEmpty()) {
+            Map.Entry<K, WeightedEntry<V>> candidate = window.entrySet().iterator().next();
+            K candidateKey = candidate.getKey();
+            WeightedEntry<V> candidateEntry = candidate.getValue();
+            window.remove(candidateKey);
+            windowWeight -= candidateEntry.weight;
+            if (!admitToMain(candidateKey, candidateEntry)) {
+                data.remove(candidateKey);
+            }
+        }
+    }
+
+    private boolean admitToMain(K candidateKey, WeightedEntry<V> candidateEntry) {
+        if (candidateEntry.weight > maximumMainWeight) {
+            rejectionCount++;
+            return false;
+        }
+        int candidateFrequency = sketch.frequency(candidateKey);
+        List<K> victims = new ArrayList<>();
+        long freedWeight = 0;
+        for (Map.Entry<K, WeightedEntry<V>> victim : main.entrySet()) {
+            if (mainWeight - freedWeight + candidateEntry.weight <= maximumMainWeight) {
+                break;
+            }
+            if (candidateFrequency <= sketch.frequency(victim.getKey())) {
+                rejectionCount++;
+                return false;
+            }
+            victims.add(victim.getKey());
+            freedWeight += victim.getValue().weight;
+        }
+        for (K victim : victims) {
+            main.remove(victim);
+            data.remove(victim);
+            evictionCount++;
+        }
+        mainWeight -= freedWeight;
+        main.put(candidateKey, candidateEntry);
+        mainWeight += candidateEntry.weight;
+        return true;
+    }
+
+    private static class WeightedEntry<V> {
+        private final V entry;
+        private final int weight;
+
+        private WeightedEntry(V entry, int weight) {
+            this.entry = entry;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package graphql.execution.preparsed;
+
+import graphql.Internal;
+import graphql.PublicApi;
+
+/**
+ * A point in time snapshot of the statistics of a bounded preparsed document cache such as
+ * {@link CachingPreparsedDocumentProvider}
+ */
+@PublicApi
+public class PreparsedDocumentCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long rejectionCount;
+    private final int entryCount;
+    private final long weightedSize;
+    private final long maximumWeight;
+
+    @Internal
+    public PreparsedDocumentCacheStats(long hitCount, long missCount, long evictionCount, long rejectionCount, int entryCount, long weightedSize, long maximumWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.rejectionCount = rejectionCount;
+        this.entryCount = entryCount;
+        this.weightedSize = weightedSize;
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * @return the number of lookups that found a cached document
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that had to parse and validate the document
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of hits to lookups or 1.0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of documents removed from the cache to make room for more popular ones
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of new documents that were not admitted because they were less popular than the documents they would have replaced
+     */
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    /**
+     * @return the number of documents currently in the cache
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the total weight of the documents currently in the cache
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * @return the maximum total weight the cache will hold
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparsedDocumentCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", rejectionCount=" + rejectionCount +
+                ", entryCount=" + entryCount +
+                ", weightedSize=" + weightedSize +
+                ", maximumWeight=" + maximumWeight +
+                '}';
+    }
+}
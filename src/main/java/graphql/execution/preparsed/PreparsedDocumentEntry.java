@@ -1,8 +1,12 @@
 package graphql.execution.preparsed;
 
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.analysis.QueryAnalysisCache;
+import graphql.execution.plan.ExecutionPlan;
 import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 
 import java.io.Serializable;
 import java.util.List;
@@ -24,6 +28,9 @@ import static java.util.Collections.singletonList;
 public class PreparsedDocumentEntry implements Serializable {
     private final Document document;
     private final List<? extends GraphQLError> errors;
+    // the compiled plan is derived state and is rebuilt after deserialisation
+    private transient volatile ExecutionPlan executionPlan;
+    private transient volatile QueryAnalysisCache queryAnalysisCache;
 
     public PreparsedDocumentEntry(Document document,
                                   List<? extends GraphQLError> errors) {
@@ -60,4 +67,37 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return errors != null && !errors.isEmpty();
     }
+
+    /**
+     * Returns the compiled execution plan for this document against the given schema, compiling a new one if the
+     * schema has changed since the plan was last compiled.
+     *
+     * @param graphQLSchema the schema the document will be executed against
+     *
+     * @return the execution plan for this document
+     */
+    @Internal
+    public ExecutionPlan getOrCreateExecutionPlan(GraphQLSchema graphQLSchema) {
+        assertNotNull(document, () -> "An execution plan can only be created for a parsed document");
+        ExecutionPlan plan = this.executionPlan;
+        if (plan == null || !plan.isForSchema(graphQLSchema)) {
+            plan = ExecutionPlan.newExecutionPlan(document, graphQLSchema);
+            this.executionPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * @return the cache of the analyses of the operations of this document, which lives as long as this entry
+     */
+    @Internal
+    public QueryAnalysisCache getQueryAnalysisCache() {
+        assertNotNull(document, () -> "A query analysis can only be made for a parsed document");
+        QueryAnalysisCache cache = this.queryAnalysisCache;
+        if (cache == null) {
+            cache = new QueryAnalysisCache(document);
+            this.queryAnalysisCache = cache;
+        }
+        return cache;
+    }
 }
@@ -3,6 +3,7 @@ package graphql.execution.preparsed;
 
 import graphql.ExecutionInput;
 import graphql.PublicSpi;
+import graphql.schema.GraphQLSchema;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -25,6 +26,20 @@ public interface PreparsedDocumentProvider {
      * @return a promise to an {@link PreparsedDocumentEntry}
      */
     CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction);
+
+    /**
+     * This is called by {@link graphql.GraphQL} with the schema the query is going to be validated and executed against,
+     * so that a provider can tell apart the documents of different schemas.  By default it calls
+     * {@link #getDocumentAsync(ExecutionInput, Function)}.
+     *
+     * @param executionInput           The {@link graphql.ExecutionInput} containing the query
+     * @param graphQLSchema            The schema the query is validated and executed against
+     * @param parseAndValidateFunction If the query has not be pre-parsed, this function MUST be called to parse and validate it
+     * @return a promise to an {@link PreparsedDocumentEntry}
+     */
+    default CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
 }
 
 
@@ -0,0 +1,331 @@
+package graphql.execution.preparsed;
+
+import graphql.ExperimentalApi;
+import graphql.ParseAndValidate;
+import graphql.language.Argument;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.InlineFragment;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.TypeKind;
+import graphql.language.TypeName;
+import graphql.language.VariableDefinition;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.diff.DiffEvent;
+import graphql.schema.diff.SchemaDiff;
+import graphql.schema.diff.SchemaDiffSet;
+import graphql.schema.diff.reporting.DifferenceReporter;
+import graphql.validation.DocumentVisitor;
+import graphql.validation.LanguageTraversal;
+import graphql.validation.TraversalContext;
+import graphql.validation.ValidationError;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Carries cached {@link PreparsedDocumentEntry}s over from one schema to the next after a schema is hot swapped, only validating
+ * the documents again that use a part of the schema that has changed.
+ * <p>
+ * The changes between the two schemas are worked out once via {@link SchemaDiff}, together with the field types, root
+ * operation types and directive definitions that are not part of the schema diff but that validation depends on.  A document
+ * is affected if it selects a changed field, names a changed type in a fragment, variable or argument, uses a changed
+ * directive or has an operation whose root type changed.  Unaffected documents keep their entry, documents that had
+ * validation errors are always validated again since the new schema may have fixed them.
+ *
+ * @see CachingPreparsedDocumentProvider#revalidate(PreparsedDocumentRevalidator)
+ */
+@ExperimentalApi
+public class PreparsedDocumentRevalidator {
+
+    private final GraphQLSchema oldSchema;
+    private final GraphQLSchema newSchema;
+    private final Locale locale;
+    private final Set<String> changedTypes = new HashSet<>();
+    private final Set<String> changedFields = new HashSet<>();
+    private final Set<String> changedDirectives = new HashSet<>();
+    private final Set<OperationDefinition.Operation> changedOperations = new HashSet<>();
+
+    private PreparsedDocumentRevalidator(GraphQLSchema oldSchema, GraphQLSchema newSchema, Locale locale) {
+        this.oldSchema = oldSchema;
+        this.newSchema = newSchema;
+        this.locale = locale;
+        diffSchemas();
+        diffFieldTypes();
+        diffRootTypes();
+        diffDirectives();
+    }
+
+    /**
+     * Works out the changes between the two schemas
+     *
+     * @param oldSchema the schema the cached documents were validated against
+     * @param newSchema the schema that replaces it
+     *
+     * @return a revalidator of documents from the old to the new schema
+     */
+    public static PreparsedDocumentRevalidator newRevalidator(GraphQLSchema oldSchema, GraphQLSchema newSchema) {
+        return newRevalidator(oldSchema, newSchema, Locale.getDefault());
+    }
+
+    /**
+     * Works out the changes between the two schemas
+     *
+     * @param oldSchema the schema the cached documents were validated against
+     * @param newSchema the schema that replaces it
+     * @param locale    the locale of the validation error messages of revalidated documents
+     *
+     * @return a revalidator of documents from the old to the new schema
+     */
+    public static PreparsedDocumentRevalidator newRevalidator(GraphQLSchema oldSchema, GraphQLSchema newSchema, Locale locale) {
+        return new PreparsedDocumentRevalidator(assertNotNull(oldSchema), assertNotNull(newSchema), assertNotNull(locale));
+    }
+
+    /**
+     * @param document a document that was validated against the old schema
+     *
+     * @return true if the document uses a part of the schema that has changed
+     */
+    public boolean isAffected(Document document) {
+        if (changedTypes.isEmpty() && changedFields.isEmpty() && changedDirectives.isEmpty() && changedOperations.isEmpty()) {
+            return false;
+        }
+        SchemaUsage usage = new SchemaUsage(oldSchema);
+        new LanguageTraversal().traverse(document, usage);
+        return usage.unknown
+                || intersects(usage.types, changedTypes)
+                || intersects(usage.fields, changedFields)
+                || intersects(usage.directives, changedDirectives)
+                || intersects(usage.operations, changedOperations);
+    }
+
+    /**
+     * Carries an entry over to the new schema, validating its document again if it is affected by the schema changes
+     *
+     * @param entry an entry that was created against the old schema
+     *
+     * @return the same entry if it is still valid for the new schema, otherwise an entry with the new validation outcome
+     */
+    public PreparsedDocumentEntry revalidate(PreparsedDocumentEntry entry) {
+        Document document = entry.getDocument();
+        if (document == null) {
+            // parse errors do not depend on the schema
+            return entry;
+        }
+        if (!entry.hasErrors() && !isAffected(document)) {
+            return entry;
+        }
+        List<ValidationError> validationErrors = ParseAndValidate.validate(newSchema, document, locale);
+        if (!validationErrors.isEmpty()) {
+            return new PreparsedDocumentEntry(document, validationErrors);
+        }
+        return new PreparsedDocumentEntry(document);
+    }
+
+    public GraphQLSchema getOldSchema() {
+        return oldSchema;
+    }
+
+    public GraphQLSchema getNewSchema() {
+        return newSchema;
+    }
+
+    private void diffSchemas() {
+        DifferenceReporter reporter = new DifferenceReporter() {
+            @Override
+            public void report(DiffEvent event) {
+                // events without a category are the "examining ..." progress messages
+                if (event.getCategory() == null || event.getTypeName() == null) {
+                    return;
+                }
+                TypeKind typeKind = event.getTypeKind();
+                if (typeKind == TypeKind.Operation) {
+                    changedOperations.add(OperationDefinition.Operation.valueOf(event.getTypeName().toUpperCase(Locale.ROOT)));
+                } else if (event.getFieldName() != null && (typeKind == TypeKind.Object || typeKind == TypeKind.Interface)) {
+                    changedFields.add(coordinates(event.getTypeName(), event.getFieldName()));
+                } else {
+                    changedTypes.add(event.getTypeName());
+                }
+            }
+
+            @Override
+            public void onEnd() {
+            }
+        };
+        new SchemaDiff().diffSchema(SchemaDiffSet.diffSetFromSdl(oldSchema, newSchema), reporter);
+    }
+
+    private void diffFieldTypes() {
+        // the schema diff deems nullability changes of output fields to be compatible, but they matter when fields are merged
+        for (GraphQLNamedType oldType : oldSchema.getAllTypesAsList()) {
+            if (!(oldType instanceof GraphQLFieldsContainer)) {
+                continue;
+            }
+            GraphQLType newType = newSchema.getType(oldType.getName());
+            if (!(newType instanceof GraphQLFieldsContainer) || oldType.getClass() != newType.getClass()) {
+                changedTypes.add(oldType.getName());
+                continue;
+            }
+            for (GraphQLFieldDefinition oldField : ((GraphQLFieldsContainer) oldType).getFieldDefinitions()) {
+                GraphQLFieldDefinition newField = ((GraphQLFieldsContainer) newType).getFieldDefinition(oldField.getName());
+                if (newField == null || !sameArguments(oldField.getArguments(), newField.getArguments())
+                        || !GraphQLTypeUtil.simplePrint(oldField.getType()).equals(GraphQLTypeUtil.simplePrint(newField.getType()))) {
+                    changedFields.add(coordinates(oldType.getName(), oldField.getName()));
+                }
+            }
+        }
+    }
+
+    private void diffRootTypes() {
+        if (!Objects.equals(rootTypeName(oldSchema.getQueryType()), rootTypeName(newSchema.getQueryType()))) {
+            changedOperations.add(OperationDefinition.Operation.QUERY);
+        }
+        if (!Objects.equals(rootTypeName(oldSchema.getMutationType()), rootTypeName(newSchema.getMutationType()))) {
+            changedOperations.add(OperationDefinition.Operation.MUTATION);
+        }
+        if (!Objects.equals(rootTypeName(oldSchema.getSubscriptionType()), rootTypeName(newSchema.getSubscriptionType()))) {
+            changedOperations.add(OperationDefinition.Operation.SUBSCRIPTION);
+        }
+    }
+
+    private void diffDirectives() {
+        for (GraphQLDirective oldDirective : oldSchema.getDirectives()) {
+            GraphQLDirective newDirective = newSchema.getDirective(oldDirective.getName());
+            if (newDirective == null
+                    || oldDirective.isRepeatable() != newDirective.isRepeatable()
+                    || !oldDirective.validLocations().equals(newDirective.validLocations())
+                    || !sameArguments(oldDirective.getArguments(), newDirective.getArguments())) {
+                changedDirectives.add(oldDirective.getName());
+            }
+        }
+    }
+
+    private static boolean sameArguments(List<GraphQLArgument> oldArguments, List<GraphQLArgument> newArguments) {
+        if (oldArguments.size() != newArguments.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldArguments.size(); i++) {
+            GraphQLArgument oldArgument = oldArguments.get(i);
+            GraphQLArgument newArgument = newArguments.get(i);
+            if (!oldArgument.getName().equals(newArgument.getName())
+                    || oldArgument.hasSetDefaultValue() != newArgument.hasSetDefaultValue()
+                    || !GraphQLTypeUtil.simplePrint(oldArgument.getType()).equals(GraphQLTypeUtil.simplePrint(newArgument.getType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String rootTypeName(GraphQLObjectType rootType) {
+        return rootType != null ? rootType.getName() : null;
+    }
+
+    private static String coordinates(String typeName, String fieldName) {
+        return typeName + "." + fieldName;
+    }
+
+    private static <T> boolean intersects(Set<T> used, Set<T> changed) {
+        for (T element : used) {
+            if (changed.contains(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the types, fields and directives of the old schema that a document uses
+     */
+    private static class SchemaUsage implements DocumentVisitor {
+        private final TraversalContext traversalContext;
+        private final Set<String> types = new HashSet<>();
+        private final Set<String> fields = new HashSet<>();
+        private final Set<String> directives = new HashSet<>();
+        private final Set<OperationDefinition.Operation> operations = new HashSet<>();
+        // set if the document uses something the old schema does not have, which it can only do if it was invalid
+        private boolean unknown;
+
+        private SchemaUsage(GraphQLSchema schema) {
+            this.traversalContext = new TraversalContext(schema);
+        }
+
+        @Override
+        public void enter(Node node, List<Node> path) {
+            traversalContext.enter(node, path);
+            if (node instanceof OperationDefinition) {
+                operations.add(((OperationDefinition) node).getOperation());
+            } else if (node instanceof Field) {
+                GraphQLCompositeType parentType = traversalContext.getParentType();
+                GraphQLFieldDefinition fieldDefinition = traversalContext.getFieldDef();
+                if (parentType == null || fieldDefinition == null) {
+                    unknown = true;
+                    return;
+                }
+                types.add(parentType.getName());
+                fields.add(coordinates(parentType.getName(), fieldDefinition.getName()));
+                types.add(GraphQLTypeUtil.unwrapAll(fieldDefinition.getType()).getName());
+            } else if (node instanceof InlineFragment) {
+                addTypeCondition(((InlineFragment) node).getTypeCondition());
+            } else if (node instanceof FragmentDefinition) {
+                addTypeCondition(((FragmentDefinition) node).getTypeCondition());
+            } else if (node instanceof VariableDefinition) {
+                addInputType(traversalContext.getInputType());
+            } else if (node instanceof Argument) {
+                GraphQLArgument argument = traversalContext.getArgument();
+                if (argument == null) {
+                    unknown = true;
+                    return;
+                }
+                addInputType(argument.getType());
+            } else if (node instanceof Directive) {
+                directives.add(((Directive) node).getName());
+            }
+        }
+
+        @Override
+        public void leave(Node node, List<Node> path) {
+            traversalContext.leave(node, path);
+        }
+
+        private void addTypeCondition(TypeName typeCondition) {
+            if (typeCondition != null) {
+                types.add(typeCondition.getName());
+            }
+        }
+
+        private void addInputType(GraphQLType inputType) {
+            if (inputType == null) {
+                unknown = true;
+                return;
+            }
+            GraphQLNamedType namedType = GraphQLTypeUtil.unwrapAll(inputType);
+            if (!types.add(namedType.getName())) {
+                return;
+            }
+            if (namedType instanceof GraphQLInputObjectType) {
+                for (GraphQLInputObjectField inputField : ((GraphQLInputObjectType) namedType).getFieldDefinitions()) {
+                    addInputType(inputField.getType());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.Assert;
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentCache;
+import graphql.execution.preparsed.PreparsedDocumentCacheStats;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A PersistedQueryCache that keeps parsed and validated persisted queries in a bounded in memory cache.
+ * <p>
+ * Unlike {@link InMemoryPersistedQueryCache} the cache does not grow without limit.  It is bounded by a maximum total weight,
+ * where the weight of a query is estimated from its query text, and uses the same frequency aware admission policy
+ * as {@link CachingPreparsedDocumentProvider}.
+ */
+@PublicApi
+public class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+    private final PreparsedDocumentCache<Object, PreparsedDocumentEntry> cache;
+    private final Map<Object, String> knownQueries;
+    private final ToIntFunction<String> weigher;
+
+    private BoundedPersistedQueryCache(Builder builder) {
+        this.cache = new PreparsedDocumentCache<>(builder.maximumWeight);
+        this.knownQueries = Assert.assertNotNull(builder.knownQueries);
+        this.weigher = builder.weigher;
+    }
+
+    public Map<Object, String> getKnownQueries() {
+        return knownQueries;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        PreparsedDocumentEntry documentEntry = cache.get(persistedQueryId);
+        if (documentEntry != null) {
+            return CompletableFuture.completedFuture(documentEntry);
+        }
+        //get the query from the execution input. Make sure it's not null, empty or the APQ marker.
+        // if it is, fallback to the known queries.
+        String queryText = executionInput.getQuery();
+        if (queryText == null || queryText.isEmpty() || queryText.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+            queryText = knownQueries.get(persistedQueryId);
+        }
+        if (queryText == null) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        documentEntry = onCacheMiss.apply(queryText);
+        cache.put(persistedQueryId, documentEntry, weigher.applyAsInt(queryText));
+        return CompletableFuture.completedFuture(documentEntry);
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public static Builder newBoundedPersistedQueryCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<Object, String> knownQueries = new HashMap<>();
+        private long maximumWeight = CachingPreparsedDocumentProvider.DEFAULT_MAXIMUM_WEIGHT;
+        private ToIntFunction<String> weigher = String::length;
+
+        public Builder addQuery(Object key, String queryText) {
+            knownQueries.put(key, queryText);
+            return this;
+        }
+
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, () -> "maximumWeight must be greater than zero");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        public Builder weigher(ToIntFunction<String> weigher) {
+            this.weigher = assertNotNull(weigher);
+            return this;
+        }
+
+        public BoundedPersistedQueryCache build() {
+            return new BoundedPersistedQueryCache(this);
+        }
+    }
+}
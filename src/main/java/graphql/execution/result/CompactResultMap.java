@@ -0,0 +1,109 @@
+package graphql.execution.result;
+
+import graphql.Internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A read only map of the field values of one object in the result.  The keys are shared with every other object
+ * of the same selection set and the values are held in a plain array, which makes it a lot smaller than a
+ * {@link java.util.LinkedHashMap} with the same contents.  Iteration follows the order of the keys.
+ */
+@Internal
+public class CompactResultMap extends AbstractMap<String, Object> {
+
+    private final ResultKeys keys;
+    private final Object[] values;
+    private Set<Entry<String, Object>> entrySet;
+
+    public CompactResultMap(ResultKeys keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = keys.indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        int index = keys.indexOf(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < values.length; i++) {
+            action.accept(keys.get(i), values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<Entry<String, Object>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < values.length;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (index >= values.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<String, Object> entry = new SimpleImmutableEntry<>(keys.get(index), values[index]);
+                    index++;
+                    return entry;
+                }
+            };
+        }
+    }
+}
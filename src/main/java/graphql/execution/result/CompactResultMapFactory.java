@@ -0,0 +1,49 @@
+package graphql.execution.result;
+
+import graphql.Internal;
+import graphql.execution.MergedSelectionSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the {@link CompactResultMap}s of one execution, sharing one {@link ResultKeys} between all objects with the
+ * same result keys.
+ * <p>
+ * The result keys are kept on the {@link MergedSelectionSet} the objects are built for, so the objects of a selection set
+ * that is reused only need to read them from there.  The keys are only looked up by their names the first time a selection
+ * set is seen, or when some of its fields are deferred.
+ */
+@Internal
+public class CompactResultMapFactory {
+
+    private final Map<List<String>, ResultKeys> resultKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the result object of a selection set
+     *
+     * @param fields      the selection set the object is built for
+     * @param fieldNames  the names of the fields in the object, which are the keys of the selection set unless some fields are deferred
+     * @param fieldValues the values of the fields in the object
+     *
+     * @return the result object
+     */
+    public Map<String, Object> newResultMap(MergedSelectionSet fields, List<String> fieldNames, List<Object> fieldValues) {
+        ResultKeys keys;
+        if (fieldNames == fields.getKeys()) {
+            keys = fields.getResultKeys(this::resultKeys);
+        } else {
+            keys = resultKeys(fieldNames);
+        }
+        return new CompactResultMap(keys, fieldValues.toArray());
+    }
+
+    private ResultKeys resultKeys(List<String> fieldNames) {
+        ResultKeys keys = resultKeys.get(fieldNames);
+        if (keys == null) {
+            keys = resultKeys.computeIfAbsent(fieldNames, ResultKeys::new);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,59 @@
+package graphql.execution.result;
+
+import graphql.Internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result keys of a selection set, shared by all the {@link CompactResultMap}s built for that selection set
+ */
+@Internal
+public class ResultKeys {
+
+    // up to this many keys a linear scan is faster than a hash lookup
+    private static final int MAX_LINEAR_SCAN_KEYS = 8;
+
+    private final String[] keys;
+    private final Map<String, Integer> indexByKey;
+
+    public ResultKeys(List<String> keys) {
+        this.keys = keys.toArray(new String[0]);
+        this.indexByKey = this.keys.length > MAX_LINEAR_SCAN_KEYS ? buildIndex(this.keys) : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public String get(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param key the key to look for
+     *
+     * @return the index of the key or -1 if it is not one of the keys
+     */
+    public int indexOf(Object key) {
+        if (indexByKey != null) {
+            Integer index = indexByKey.get(key);
+            return index != null ? index : -1;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<String, Integer> buildIndex(String[] keys) {
+        Map<String, Integer> indexByKey = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            indexByKey.put(keys[i], i);
+        }
+        return indexByKey;
+    }
+}
@@ -88,7 +88,11 @@ public class GoodFaithIntrospection {
         if (isIntrospectionEnabled(executionContext.getGraphQLContext())) {
             ExecutableNormalizedOperation operation;
             try {
-                operation = mkOperation(executionContext);
+                // always made with the limits, so that they bound the work even if the execution has already made an operation
+                ExecutableNormalizedOperation limitedOperation = mkOperation(executionContext);
+                // one within the limits is shared with the rest of the execution, unless that has already made its own
+                executionContext.getOrCreateNormalizedOperation(() -> limitedOperation);
+                operation = limitedOperation;
             } catch (AbortExecutionException e) {
                 BadFaithIntrospectionError error = BadFaithIntrospectionError.tooBigOperation(e.getMessage());
                 return Optional.of(ExecutionResult.newExecutionResult().addError(error).build());
@@ -1,6 +1,8 @@
 package graphql.parser;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import graphql.Assert;
 import graphql.Internal;
 import graphql.collect.ImmutableKit;
@@ -63,6 +65,7 @@ import graphql.language.VariableDefinition;
 import graphql.language.VariableReference;
 import graphql.parser.antlr.GraphqlLexer;
 import graphql.parser.antlr.GraphqlParser;
+import graphql.util.Interning;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
@@ -88,6 +91,8 @@ import static java.util.Optional.ofNullable;
 public class GraphqlAntlrToLanguage {
 
     private static final List<Comment> NO_COMMENTS = ImmutableKit.emptyList();
+    // the parsed documents of a compact AST share equal source locations
+    static final Interner<SourceLocation> SOURCE_LOCATIONS = Interners.newWeakInterner();
     private final CommonTokenStream tokens;
     private final MultiSourceReader multiSourceReader;
     private final ParserOptions parserOptions;
@@ -140,7 +145,7 @@ public class GraphqlAntlrToLanguage {
             operationDefinition.operation(parseOperation(ctx.operationType()));
         }
         if (ctx.name() != null) {
-            operationDefinition.name(ctx.name().getText());
+            operationDefinition.name(name(ctx.name()));
         }
         operationDefinition.variableDefinitions(createVariableDefinitions(ctx.variableDefinitions()));
         operationDefinition.selectionSet(createSelectionSet(ctx.selectionSet()));
@@ -162,7 +167,7 @@ public class GraphqlAntlrToLanguage {
     }
 
     protected FragmentSpread createFragmentSpread(GraphqlParser.FragmentSpreadContext ctx) {
-        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(ctx.fragmentName().getText());
+        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(name(ctx.fragmentName()));
         addCommonData(fragmentSpread, ctx);
         fragmentSpread.directives(createDirectives(ctx.directives()));
         return captureRuleContext(fragmentSpread.build(), ctx);
@@ -178,7 +183,7 @@ public class GraphqlAntlrToLanguage {
     protected VariableDefinition createVariableDefinition(GraphqlParser.VariableDefinitionContext ctx) {
         VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
         addCommonData(variableDefinition, ctx);
-        variableDefinition.name(ctx.variable().name().getText());
+        variableDefinition.name(name(ctx.variable().name()));
         if (ctx.defaultValue() != null) {
             Value value = createValue(ctx.defaultValue().value());
             variableDefinition.defaultValue(value);
@@ -192,8 +197,8 @@ public class GraphqlAntlrToLanguage {
     protected FragmentDefinition createFragmentDefinition(GraphqlParser.FragmentDefinitionContext ctx) {
         FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
         addCommonData(fragmentDefinition, ctx);
-        fragmentDefinition.name(ctx.fragmentName().getText());
-        fragmentDefinition.typeCondition(TypeName.newTypeName().name(ctx.typeCondition().typeName().getText()).build());
+        fragmentDefinition.name(name(ctx.fragmentName()));
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(name(ctx.typeCondition().typeName())).build());
         fragmentDefinition.directives(createDirectives(ctx.directives()));
         fragmentDefinition.selectionSet(createSelectionSet(ctx.selectionSet()));
         return captureRuleContext(fragmentDefinition.build(), ctx);
@@ -227,9 +232,9 @@ public class GraphqlAntlrToLanguage {
     protected Field createField(GraphqlParser.FieldContext ctx) {
         Field.Builder builder = Field.newField();
         addCommonData(builder, ctx);
-        builder.name(ctx.name().getText());
+        builder.name(name(ctx.name()));
         if (ctx.alias() != null) {
-            builder.alias(ctx.alias().name().getText());
+            builder.alias(name(ctx.alias().name()));
         }
 
         builder.directives(createDirectives(ctx.directives()));
@@ -336,7 +341,7 @@ public class GraphqlAntlrToLanguage {
 
     protected TypeName createTypeName(GraphqlParser.TypeNameContext ctx) {
         TypeName.Builder builder = TypeName.newTypeName();
-        builder.name(ctx.name().getText());
+        builder.name(name(ctx.name()));
         addCommonData(builder, ctx);
         return captureRuleContext(builder.build(), ctx);
     }
@@ -364,7 +369,7 @@ public class GraphqlAntlrToLanguage {
     protected Argument createArgument(GraphqlParser.ArgumentContext ctx) {
         Argument.Builder builder = Argument.newArgument();
         addCommonData(builder, ctx);
-        builder.name(ctx.name().getText());
+        builder.name(name(ctx.name()));
         builder.value(createValue(ctx.valueWithVariable()));
         return captureRuleContext(builder.build(), ctx);
     }
@@ -386,7 +391,7 @@ public class GraphqlAntlrToLanguage {
 
     protected Directive createDirective(GraphqlParser.DirectiveContext ctx) {
         Directive.Builder builder = Directive.newDirective();
-        builder.name(ctx.name().getText());
+        builder.name(name(ctx.name()));
         addCommonData(builder, ctx);
         builder.arguments(createArguments(ctx.arguments()));
         return captureRuleContext(builder.build(), ctx);
@@ -420,7 +425,7 @@ public class GraphqlAntlrToLanguage {
 
     protected OperationTypeDefinition createOperationTypeDefinition(GraphqlParser.OperationTypeDefinitionContext ctx) {
         OperationTypeDefinition.Builder def = OperationTypeDefinition.newOperationTypeDefinition();
-        def.name(ctx.operationType().getText());
+        def.name(name(ctx.operationType()));
         def.typeName(createTypeName(ctx.typeName()));
         addCommonData(def, ctx);
         return captureRuleContext(def.build(), ctx);
@@ -428,7 +433,7 @@ public class GraphqlAntlrToLanguage {
 
     protected ScalarTypeDefinition createScalarTypeDefinition(GraphqlParser.ScalarTypeDefinitionContext ctx) {
         ScalarTypeDefinition.Builder def = ScalarTypeDefinition.newScalarTypeDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -437,7 +442,7 @@ public class GraphqlAntlrToLanguage {
 
     protected ScalarTypeExtensionDefinition createScalarTypeExtensionDefinition(GraphqlParser.ScalarTypeExtensionDefinitionContext ctx) {
         ScalarTypeExtensionDefinition.Builder def = ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         return captureRuleContext(def.build(), ctx);
@@ -445,7 +450,7 @@ public class GraphqlAntlrToLanguage {
 
     protected ObjectTypeDefinition createObjectTypeDefinition(GraphqlParser.ObjectTypeDefinitionContext ctx) {
         ObjectTypeDefinition.Builder def = ObjectTypeDefinition.newObjectTypeDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -460,7 +465,7 @@ public class GraphqlAntlrToLanguage {
 
     protected ObjectTypeExtensionDefinition createObjectTypeExtensionDefinition(GraphqlParser.ObjectTypeExtensionDefinitionContext ctx) {
         ObjectTypeExtensionDefinition.Builder def = ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         GraphqlParser.ImplementsInterfacesContext implementsInterfacesContext = ctx.implementsInterfaces();
@@ -489,7 +494,7 @@ public class GraphqlAntlrToLanguage {
 
     protected FieldDefinition createFieldDefinition(GraphqlParser.FieldDefinitionContext ctx) {
         FieldDefinition.Builder def = FieldDefinition.newFieldDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         def.type(createType(ctx.type()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
@@ -506,7 +511,7 @@ public class GraphqlAntlrToLanguage {
 
     protected InputValueDefinition createInputValueDefinition(GraphqlParser.InputValueDefinitionContext ctx) {
         InputValueDefinition.Builder def = InputValueDefinition.newInputValueDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         def.type(createType(ctx.type()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
@@ -519,7 +524,7 @@ public class GraphqlAntlrToLanguage {
 
     protected InterfaceTypeDefinition createInterfaceTypeDefinition(GraphqlParser.InterfaceTypeDefinitionContext ctx) {
         InterfaceTypeDefinition.Builder def = InterfaceTypeDefinition.newInterfaceTypeDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -532,7 +537,7 @@ public class GraphqlAntlrToLanguage {
 
     protected InterfaceTypeExtensionDefinition createInterfaceTypeExtensionDefinition(GraphqlParser.InterfaceTypeExtensionDefinitionContext ctx) {
         InterfaceTypeExtensionDefinition.Builder def = InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         GraphqlParser.ImplementsInterfacesContext implementsInterfacesContext = ctx.implementsInterfaces();
@@ -544,7 +549,7 @@ public class GraphqlAntlrToLanguage {
 
     protected UnionTypeDefinition createUnionTypeDefinition(GraphqlParser.UnionTypeDefinitionContext ctx) {
         UnionTypeDefinition.Builder def = UnionTypeDefinition.newUnionTypeDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -563,7 +568,7 @@ public class GraphqlAntlrToLanguage {
 
     protected UnionTypeExtensionDefinition createUnionTypeExtensionDefinition(GraphqlParser.UnionTypeExtensionDefinitionContext ctx) {
         UnionTypeExtensionDefinition.Builder def = UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         List<Type> members = new ArrayList<>();
@@ -580,7 +585,7 @@ public class GraphqlAntlrToLanguage {
 
     protected EnumTypeDefinition createEnumTypeDefinition(GraphqlParser.EnumTypeDefinitionContext ctx) {
         EnumTypeDefinition.Builder def = EnumTypeDefinition.newEnumTypeDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -593,7 +598,7 @@ public class GraphqlAntlrToLanguage {
 
     protected EnumTypeExtensionDefinition createEnumTypeExtensionDefinition(GraphqlParser.EnumTypeExtensionDefinitionContext ctx) {
         EnumTypeExtensionDefinition.Builder def = EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         if (ctx.extensionEnumValueDefinitions() != null) {
@@ -605,7 +610,7 @@ public class GraphqlAntlrToLanguage {
 
     protected EnumValueDefinition createEnumValueDefinition(GraphqlParser.EnumValueDefinitionContext ctx) {
         EnumValueDefinition.Builder def = EnumValueDefinition.newEnumValueDefinition();
-        def.name(ctx.enumValue().getText());
+        def.name(name(ctx.enumValue()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -614,7 +619,7 @@ public class GraphqlAntlrToLanguage {
 
     protected InputObjectTypeDefinition createInputObjectTypeDefinition(GraphqlParser.InputObjectTypeDefinitionContext ctx) {
         InputObjectTypeDefinition.Builder def = InputObjectTypeDefinition.newInputObjectDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
         def.directives(createDirectives(ctx.directives()));
@@ -626,7 +631,7 @@ public class GraphqlAntlrToLanguage {
 
     protected InputObjectTypeExtensionDefinition createInputObjectTypeExtensionDefinition(GraphqlParser.InputObjectTypeExtensionDefinitionContext ctx) {
         InputObjectTypeExtensionDefinition.Builder def = InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.directives(createDirectives(ctx.directives()));
         if (ctx.extensionInputObjectValueDefinitions() != null) {
@@ -637,7 +642,7 @@ public class GraphqlAntlrToLanguage {
 
     protected DirectiveDefinition createDirectiveDefinition(GraphqlParser.DirectiveDefinitionContext ctx) {
         DirectiveDefinition.Builder def = DirectiveDefinition.newDirectiveDefinition();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         def.description(newDescription(ctx.description()));
 
@@ -658,7 +663,7 @@ public class GraphqlAntlrToLanguage {
 
     protected DirectiveLocation createDirectiveLocation(GraphqlParser.DirectiveLocationContext ctx) {
         DirectiveLocation.Builder def = DirectiveLocation.newDirectiveLocation();
-        def.name(ctx.name().getText());
+        def.name(name(ctx.name()));
         addCommonData(def, ctx);
         return captureRuleContext(def.build(), ctx);
     }
@@ -690,7 +695,7 @@ public class GraphqlAntlrToLanguage {
             addCommonData(stringValue, ctx);
             return captureRuleContext(stringValue.build(), ctx);
         } else if (ctx.enumValue() != null) {
-            EnumValue.Builder enumValue = EnumValue.newEnumValue().name(ctx.enumValue().getText());
+            EnumValue.Builder enumValue = EnumValue.newEnumValue().name(name(ctx.enumValue()));
             addCommonData(enumValue, ctx);
             return captureRuleContext(enumValue.build(), ctx);
         } else if (ctx.arrayValueWithVariable() != null) {
@@ -709,14 +714,14 @@ public class GraphqlAntlrToLanguage {
                     ctx.objectValueWithVariable().objectFieldWithVariable()) {
 
                 ObjectField objectField = ObjectField.newObjectField()
-                        .name(objectFieldWithVariableContext.name().getText())
+                        .name(name(objectFieldWithVariableContext.name()))
                         .value(createValue(objectFieldWithVariableContext.valueWithVariable()))
                         .build();
                 objectFields.add(objectField);
             }
             return captureRuleContext(objectValue.objectFields(objectFields).build(), ctx);
         } else if (ctx.variable() != null) {
-            VariableReference.Builder variableReference = VariableReference.newVariableReference().name(ctx.variable().name().getText());
+            VariableReference.Builder variableReference = VariableReference.newVariableReference().name(name(ctx.variable().name()));
             addCommonData(variableReference, ctx);
             return captureRuleContext(variableReference.build(), ctx);
         }
@@ -745,7 +750,7 @@ public class GraphqlAntlrToLanguage {
             addCommonData(stringValue, ctx);
             return captureRuleContext(stringValue.build(), ctx);
         } else if (ctx.enumValue() != null) {
-            EnumValue.Builder enumValue = EnumValue.newEnumValue().name(ctx.enumValue().getText());
+            EnumValue.Builder enumValue = EnumValue.newEnumValue().name(name(ctx.enumValue()));
             addCommonData(enumValue, ctx);
             return captureRuleContext(enumValue.build(), ctx);
         } else if (ctx.arrayValue() != null) {
@@ -763,7 +768,7 @@ public class GraphqlAntlrToLanguage {
             for (GraphqlParser.ObjectFieldContext objectFieldContext :
                     ctx.objectValue().objectField()) {
                 ObjectField objectField = ObjectField.newObjectField()
-                        .name(objectFieldContext.name().getText())
+                        .name(name(objectFieldContext.name()))
                         .value(createValue(objectFieldContext.value()))
                         .build();
                 objectFields.add(objectField);
@@ -794,7 +799,7 @@ public class GraphqlAntlrToLanguage {
     }
 
     private void addIgnoredChars(ParserRuleContext ctx, NodeBuilder nodeBuilder) {
-        if (!parserOptions.isCaptureIgnoredChars()) {
+        if (!parserOptions.isCaptureIgnoredChars() || parserOptions.isCompactAst()) {
             return;
         }
         Token start = ctx.getStart();
@@ -862,20 +867,26 @@ public class GraphqlAntlrToLanguage {
         return new Description(content, sourceLocation, multiLine);
     }
 
+    protected String name(ParserRuleContext ctx) {
+        String name = ctx.getText();
+        return parserOptions.isCompactAst() ? Interning.intern(name) : name;
+    }
+
     protected SourceLocation getSourceLocation(ParserRuleContext parserRuleContext) {
         return getSourceLocation(parserRuleContext.getStart());
     }
 
     protected SourceLocation getSourceLocation(Token token) {
         if (parserOptions.isCaptureSourceLocation()) {
-            return AntlrHelper.createSourceLocation(multiSourceReader, token);
+            SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, token);
+            return parserOptions.isCompactAst() ? SOURCE_LOCATIONS.intern(sourceLocation) : sourceLocation;
         } else {
             return SourceLocation.EMPTY;
         }
     }
 
     protected List<Comment> getComments(ParserRuleContext ctx) {
-        if (!parserOptions.isCaptureLineComments()) {
+        if (!parserOptions.isCaptureLineComments() || parserOptions.isCompactAst()) {
             return NO_COMMENTS;
         }
 
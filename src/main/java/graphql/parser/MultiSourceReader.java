@@ -9,6 +9,7 @@ import java.io.LineNumberReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -252,6 +253,20 @@ public class MultiSourceReader extends Reader {
             return this;
         }
 
+        /**
+         * Adds a source of UTF-8 bytes, say a {@link java.nio.MappedByteBuffer} of a file, which are decoded as they are read
+         * rather than into a string up front.  The chars that are read are still kept if data is tracked.  The position and
+         * limit of the given buffer are left as they are.
+         *
+         * @param utf8Bytes  the UTF-8 bytes of the source
+         * @param sourceName the name of the source
+         *
+         * @return this builder
+         */
+        public Builder byteBuffer(ByteBuffer utf8Bytes, String sourceName) {
+            return reader(new Utf8ByteBufferReader(utf8Bytes.duplicate()), sourceName);
+        }
+
         public Builder trackData(boolean trackData) {
             this.trackData = trackData;
             return this;
@@ -169,9 +169,28 @@ public class Parser {
             Document doc = toLanguage.createDocument(documentContext);
             return new Object[]{documentContext, doc};
         };
+        ParserOptions parserOptions = Optional.ofNullable(environment.getParserOptions()).orElse(ParserOptions.getDefaultParserOptions());
+        if (useRecursiveDescentParser(parserOptions)) {
+            MultiSourceReader multiSourceReader = setupMultiSourceReader(environment, parserOptions);
+            String text = readFully(setupSafeTokenReader(environment, parserOptions, multiSourceReader));
+            Document document = RecursiveDescentOperationParser.parseDocument(text, multiSourceReader, parserOptions, environment.getI18N());
+            if (document != null) {
+                return document;
+            }
+            // anything the recursive descent parser cannot handle, including every error, is left to ANTLR
+            return (Document) parseImpl(environment, parserOptions, multiSourceReader, CharStreams.fromString(text), nodeFunction);
+        }
         return (Document) parseImpl(environment, nodeFunction);
     }
 
+    private boolean useRecursiveDescentParser(ParserOptions parserOptions) {
+        // subclasses may override the ANTLR to AST code, which the recursive descent parser does not go through
+        return parserOptions.isRecursiveDescentParser()
+                && !parserOptions.isCaptureIgnoredChars()
+                && parserOptions.getParsingListener() == ParsingListener.NOOP
+                && getClass() == Parser.class;
+    }
+
     private Value<?> parseValueImpl(String input) throws InvalidSyntaxException {
         BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction = (parser, toLanguage) -> {
             GraphqlParser.ValueContext documentContext = parser.value();
@@ -212,6 +231,10 @@ public class Parser {
 
         CodePointCharStream charStream = setupCharStream(safeTokenReader);
 
+        return parseImpl(environment, parserOptions, multiSourceReader, charStream, nodeFunction);
+    }
+
+    private Node<?> parseImpl(ParserEnvironment environment, ParserOptions parserOptions, MultiSourceReader multiSourceReader, CodePointCharStream charStream, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
         GraphqlLexer lexer = setupGraphqlLexer(environment, multiSourceReader, charStream);
 
         // this lexer wrapper allows us to stop lexing when too many tokens are in place.  This prevents DOS attacks.
@@ -290,6 +313,20 @@ public class Parser {
         return charStream;
     }
 
+    private static String readFully(Reader reader) {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[4096];
+        try (Reader closing = reader) {
+            int read;
+            while ((read = closing.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
     @NotNull
     private static GraphqlLexer setupGraphqlLexer(ParserEnvironment environment, MultiSourceReader multiSourceReader, CodePointCharStream charStream) {
         GraphqlLexer lexer = new GraphqlLexer(charStream);
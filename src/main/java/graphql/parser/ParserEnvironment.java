@@ -5,6 +5,7 @@ import graphql.i18n.I18n;
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.util.Locale;
 
 import static graphql.Assert.assertNotNull;
@@ -59,6 +60,20 @@ public interface ParserEnvironment {
             return document(new StringReader(documentText));
         }
 
+        /**
+         * The document can be given as UTF-8 bytes, say the body of a request or a {@link java.nio.MappedByteBuffer} of a file,
+         * which are then decoded while they are parsed rather than into a string up front.  The parser still keeps its own
+         * copy of the decoded chars while it lexes them, as does the {@link MultiSourceReader} unless
+         * {@link ParserOptions#isReaderTrackData()} is off.  The position and limit of the given buffer are left as they are.
+         *
+         * @param utf8Document the UTF-8 bytes of the document
+         *
+         * @return this builder
+         */
+        public Builder document(ByteBuffer utf8Document) {
+            return document(new Utf8ByteBufferReader(assertNotNull(utf8Document).duplicate()));
+        }
+
         public Builder parserOptions(ParserOptions parserOptions) {
             this.parserOptions = parserOptions;
             return this;
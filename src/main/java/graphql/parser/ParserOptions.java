@@ -1,5 +1,6 @@
 package graphql.parser;
 
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 
 import java.util.function.Consumer;
@@ -185,6 +186,8 @@ public class ParserOptions {
     private final boolean captureSourceLocation;
     private final boolean captureLineComments;
     private final boolean readerTrackData;
+    private final boolean compactAst;
+    private final boolean recursiveDescentParser;
     private final int maxCharacters;
     private final int maxTokens;
     private final int maxWhitespaceTokens;
@@ -196,6 +199,8 @@ public class ParserOptions {
         this.captureSourceLocation = builder.captureSourceLocation;
         this.captureLineComments = builder.captureLineComments;
         this.readerTrackData = builder.readerTrackData;
+        this.compactAst = builder.compactAst;
+        this.recursiveDescentParser = builder.recursiveDescentParser;
         this.maxCharacters = builder.maxCharacters;
         this.maxTokens = builder.maxTokens;
         this.maxWhitespaceTokens = builder.maxWhitespaceTokens;
@@ -249,6 +254,35 @@ public class ParserOptions {
         return readerTrackData;
     }
 
+    /**
+     * Documents that are held in memory for a long time, say in a {@link graphql.execution.preparsed.PreparsedDocumentProvider}
+     * cache, can be parsed into a compact AST.  The names in a compact AST are interned, equal {@link graphql.language.SourceLocation}s
+     * are shared across documents and neither {@link graphql.language.Comment}s nor ignored chars are captured, whatever the
+     * other options say.  Source locations can be dropped altogether via {@link #isCaptureSourceLocation()}.
+     *
+     * @return true if the parser should produce a compact AST
+     */
+    @ExperimentalApi
+    public boolean isCompactAst() {
+        return compactAst;
+    }
+
+    /**
+     * Executable documents, that is operations and fragments, can be parsed by a hand-written recursive descent parser
+     * instead of the ANTLR based one.  It produces the same AST and enforces the same limits, at a fraction of the cost.
+     * <p>
+     * Whatever it does not handle itself, such as SDL, capturing ignored chars, a {@link ParsingListener} and every syntax error or
+     * exceeded limit, is handed over to the ANTLR based parser so that the outcome, including the exceptions thrown, is
+     * always the one of the ANTLR based parser.  Subclasses of {@link Parser} always use the ANTLR based parser, since they
+     * may override {@link Parser#getAntlrToLanguage}.
+     *
+     * @return true if executable documents should be parsed by the recursive descent parser
+     */
+    @ExperimentalApi
+    public boolean isRecursiveDescentParser() {
+        return recursiveDescentParser;
+    }
+
     /**
      * A graphql hacking vector is to send nonsensical queries that contain a repeated characters that burn lots of parsing CPU time and burn
      * memory representing a document that won't ever execute.  To prevent this for most users, graphql-java
@@ -314,6 +348,8 @@ public class ParserOptions {
         private boolean captureSourceLocation = true;
         private boolean captureLineComments = true;
         private boolean readerTrackData = true;
+        private boolean compactAst = false;
+        private boolean recursiveDescentParser = false;
         private ParsingListener parsingListener = ParsingListener.NOOP;
         private int maxCharacters = MAX_QUERY_CHARACTERS;
         private int maxTokens = MAX_QUERY_TOKENS;
@@ -327,6 +363,8 @@ public class ParserOptions {
             this.captureIgnoredChars = parserOptions.captureIgnoredChars;
             this.captureSourceLocation = parserOptions.captureSourceLocation;
             this.captureLineComments = parserOptions.captureLineComments;
+            this.compactAst = parserOptions.compactAst;
+            this.recursiveDescentParser = parserOptions.recursiveDescentParser;
             this.maxCharacters = parserOptions.maxCharacters;
             this.maxTokens = parserOptions.maxTokens;
             this.maxWhitespaceTokens = parserOptions.maxWhitespaceTokens;
@@ -354,6 +392,18 @@ public class ParserOptions {
             return this;
         }
 
+        @ExperimentalApi
+        public Builder compactAst(boolean compactAst) {
+            this.compactAst = compactAst;
+            return this;
+        }
+
+        @ExperimentalApi
+        public Builder recursiveDescentParser(boolean recursiveDescentParser) {
+            this.recursiveDescentParser = recursiveDescentParser;
+            return this;
+        }
+
         public Builder maxCharacters(int maxCharacters) {
             this.maxCharacters = maxCharacters;
             return this;
@@ -0,0 +1,852 @@
+package graphql.parser;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.collect.ImmutableKit;
+import graphql.i18n.I18n;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.util.Interning;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A hand-written recursive descent lexer and parser for executable documents, that is operations and fragments, which
+ * produces the same AST as {@link GraphqlAntlrToLanguage} does for the ANTLR parse tree of the same text.
+ * <p>
+ * It only ever produces a document the ANTLR based parser would have produced as well.  Whenever it comes across something
+ * it does not handle, such as type system definitions, a syntax error, an invalid string or a {@link ParserOptions} limit
+ * that might be exceeded, it gives up and {@link #parseDocument} returns null, upon which {@link Parser} parses the text with ANTLR,
+ * so that syntax errors and cancelled parses are reported exactly as before.
+ * <p>
+ * Tokens are counted like {@link SafeTokenSource} counts them and the ANTLR rule depth is over estimated, so the limits
+ * never let a document through here that ANTLR would have refused.  Source locations and comments mirror the ANTLR tokens:
+ * lines are only ended by line feeds and columns count code points.
+ */
+@Internal
+public class RecursiveDescentOperationParser {
+
+    private static final List<Comment> NO_COMMENTS = ImmutableKit.emptyList();
+
+    // the depth of the ANTLR rules below the ones this parser tracks, like name -> baseName or enumValue -> enumValueName -> baseName
+    private static final int LEAF_RULE_DEPTH = 3;
+
+    private static final int EOF = -1;
+    private static final int NAME = -2;
+    private static final int INT = -3;
+    private static final int FLOAT = -4;
+    private static final int STRING = -5;
+    private static final int SPREAD = -6;
+    // the punctuators use their character as token kind
+
+    private static final GiveUp GIVE_UP = new GiveUp();
+
+    private final String text;
+    private final int length;
+    private final MultiSourceReader multiSourceReader;
+    private final I18n i18N;
+    private final boolean captureSourceLocation;
+    private final boolean captureComments;
+    private final boolean compactAst;
+    private final int maxTokens;
+    private final int maxWhitespaceTokens;
+    private final int maxRuleDepth;
+
+    private int pos;
+    // ANTLR lines are 1 based and only a line feed starts a new one
+    private int line = 1;
+    private int lineStart;
+    // the surrogate pairs read on the current line, as ANTLR columns count code points
+    private int lineSupplementaryChars;
+
+    private int grammarTokens;
+    private int commentTokens;
+    private int whitespaceTokens;
+    private int depth;
+
+    private int kind;
+    private int tokenStart;
+    private int tokenEnd;
+    private int tokenLine;
+    private int tokenColumn;
+    private List<Comment> tokenComments;
+    private SourceLocation tokenSourceLocation;
+
+    private RecursiveDescentOperationParser(String text, MultiSourceReader multiSourceReader, ParserOptions parserOptions, I18n i18N) {
+        this.text = text;
+        this.length = text.length();
+        this.multiSourceReader = multiSourceReader;
+        this.i18N = i18N;
+        this.captureSourceLocation = parserOptions.isCaptureSourceLocation();
+        this.captureComments = parserOptions.isCaptureLineComments() && !parserOptions.isCompactAst();
+        this.compactAst = parserOptions.isCompactAst();
+        this.maxTokens = parserOptions.getMaxTokens();
+        this.maxWhitespaceTokens = parserOptions.getMaxWhitespaceTokens();
+        this.maxRuleDepth = parserOptions.getMaxRuleDepth();
+    }
+
+    /**
+     * Parses an executable document
+     *
+     * @param text              the whole text of the document
+     * @param multiSourceReader the reader the text was read from, which maps lines back to their sources
+     * @param parserOptions     the parser options to use
+     * @param i18N              the i18n of the string value messages
+     *
+     * @return the document or null if the text has to be parsed by the ANTLR based parser instead
+     */
+    public static Document parseDocument(String text, MultiSourceReader multiSourceReader, ParserOptions parserOptions, I18n i18N) {
+        try {
+            RecursiveDescentOperationParser parser = new RecursiveDescentOperationParser(text, multiSourceReader, parserOptions, i18N);
+            parser.nextToken();
+            return parser.document();
+        } catch (GiveUp | InvalidSyntaxException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Document document() {
+        enter();
+        Document.Builder document = Document.newDocument();
+        addCommonData(document);
+        List<Definition> definitions = new ArrayList<>();
+        do {
+            definitions.add(definition());
+        } while (kind != EOF);
+        exit();
+        return document.definitions(definitions).build();
+    }
+
+    private Definition definition() {
+        enter();
+        Definition definition;
+        if (kind == '{' || isName("query") || isName("mutation") || isName("subscription")) {
+            definition = operationDefinition();
+        } else if (isName("fragment")) {
+            definition = fragmentDefinition();
+        } else {
+            // type system definitions and extensions are left to ANTLR
+            throw GIVE_UP;
+        }
+        exit();
+        return definition;
+    }
+
+    private OperationDefinition operationDefinition() {
+        enter();
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        addCommonData(operationDefinition);
+        if (kind == '{') {
+            operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            operationDefinition.variableDefinitions(emptyList());
+            operationDefinition.directives(emptyList());
+        } else {
+            operationDefinition.operation(operation());
+            nextToken();
+            if (kind == NAME) {
+                operationDefinition.name(name());
+            }
+            operationDefinition.variableDefinitions(kind == '(' ? variableDefinitions() : emptyList());
+            operationDefinition.directives(kind == '@' ? directives() : emptyList());
+        }
+        operationDefinition.selectionSet(selectionSet());
+        exit();
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation operation() {
+        if (isName("query")) {
+            return OperationDefinition.Operation.QUERY;
+        } else if (isName("mutation")) {
+            return OperationDefinition.Operation.MUTATION;
+        }
+        return OperationDefinition.Operation.SUBSCRIPTION;
+    }
+
+    private List<VariableDefinition> variableDefinitions() {
+        enter();
+        expect('(');
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        do {
+            variableDefinitions.add(variableDefinition());
+        } while (kind != ')');
+        nextToken();
+        exit();
+        return variableDefinitions;
+    }
+
+    private VariableDefinition variableDefinition() {
+        enter();
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        addCommonData(variableDefinition);
+        expect('$');
+        variableDefinition.name(name());
+        expect(':');
+        variableDefinition.type(type());
+        if (kind == '=') {
+            enter();
+            nextToken();
+            variableDefinition.defaultValue(value(false));
+            exit();
+        }
+        variableDefinition.directives(kind == '@' ? directives() : emptyList());
+        exit();
+        return variableDefinition.build();
+    }
+
+    private FragmentDefinition fragmentDefinition() {
+        enter();
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        addCommonData(fragmentDefinition);
+        nextToken();
+        if (isName("on")) {
+            throw GIVE_UP;
+        }
+        fragmentDefinition.name(name());
+        if (!isName("on")) {
+            throw GIVE_UP;
+        }
+        enter();
+        nextToken();
+        // unlike all other type names, the type condition of a fragment definition has no source location
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(name()).build());
+        exit();
+        fragmentDefinition.directives(kind == '@' ? directives() : emptyList());
+        fragmentDefinition.selectionSet(selectionSet());
+        exit();
+        return fragmentDefinition.build();
+    }
+
+    private SelectionSet selectionSet() {
+        enter();
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet);
+        expect('{');
+        List<Selection> selections = new ArrayList<>();
+        do {
+            selections.add(selection());
+        } while (kind != '}');
+        nextToken();
+        exit();
+        return selectionSet.selections(selections).build();
+    }
+
+    private Selection<?> selection() {
+        enter();
+        Selection<?> selection;
+        if (kind == NAME) {
+            selection = field();
+        } else if (kind == SPREAD) {
+            selection = fragment();
+        } else {
+            throw GIVE_UP;
+        }
+        exit();
+        return selection;
+    }
+
+    private Field field() {
+        enter();
+        Field.Builder field = Field.newField();
+        addCommonData(field);
+        String name = name();
+        if (kind == ':') {
+            nextToken();
+            field.alias(name);
+            name = name();
+        }
+        field.name(name);
+        field.arguments(kind == '(' ? arguments() : emptyList());
+        field.directives(kind == '@' ? directives() : emptyList());
+        if (kind == '{') {
+            field.selectionSet(selectionSet());
+        }
+        exit();
+        return field.build();
+    }
+
+    private Selection<?> fragment() {
+        enter();
+        SourceLocation sourceLocation = sourceLocation();
+        List<Comment> comments = tokenComments;
+        nextToken();
+        Selection<?> selection;
+        if (kind == NAME && !isName("on")) {
+            FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread();
+            addCommonData(fragmentSpread, sourceLocation, comments);
+            fragmentSpread.name(name());
+            fragmentSpread.directives(kind == '@' ? directives() : emptyList());
+            selection = fragmentSpread.build();
+        } else {
+            InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+            addCommonData(inlineFragment, sourceLocation, comments);
+            if (isName("on")) {
+                enter();
+                nextToken();
+                inlineFragment.typeCondition(typeName());
+                exit();
+            }
+            inlineFragment.directives(kind == '@' ? directives() : emptyList());
+            inlineFragment.selectionSet(selectionSet());
+            selection = inlineFragment.build();
+        }
+        exit();
+        return selection;
+    }
+
+    private List<Argument> arguments() {
+        enter();
+        expect('(');
+        List<Argument> arguments = new ArrayList<>();
+        do {
+            enter();
+            Argument.Builder argument = Argument.newArgument();
+            addCommonData(argument);
+            argument.name(name());
+            expect(':');
+            argument.value(value(true));
+            arguments.add(argument.build());
+            exit();
+        } while (kind != ')');
+        nextToken();
+        exit();
+        return arguments;
+    }
+
+    private List<Directive> directives() {
+        enter();
+        List<Directive> directives = new ArrayList<>();
+        do {
+            enter();
+            Directive.Builder directive = Directive.newDirective();
+            addCommonData(directive);
+            nextToken();
+            directive.name(name());
+            directive.arguments(kind == '(' ? arguments() : emptyList());
+            directives.add(directive.build());
+            exit();
+        } while (kind == '@');
+        exit();
+        return directives;
+    }
+
+    private Type<?> type() {
+        // a type may turn out to be a non null type, which ANTLR enters before the list type or type name
+        enter();
+        enter();
+        SourceLocation sourceLocation = sourceLocation();
+        List<Comment> comments = tokenComments;
+        Type<?> type;
+        if (kind == '[') {
+            enter();
+            nextToken();
+            ListType.Builder listType = ListType.newListType();
+            addCommonData(listType, sourceLocation, comments);
+            listType.type(type());
+            expect(']');
+            type = listType.build();
+            exit();
+        } else {
+            type = typeName();
+        }
+        if (kind == '!') {
+            nextToken();
+            NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+            addCommonData(nonNullType, sourceLocation, comments);
+            type = nonNullType.type(type).build();
+        }
+        exit();
+        exit();
+        return type;
+    }
+
+    private TypeName typeName() {
+        TypeName.Builder typeName = TypeName.newTypeName();
+        addCommonData(typeName);
+        return typeName.name(name()).build();
+    }
+
+    private Value<?> value(boolean variables) {
+        enter();
+        SourceLocation sourceLocation = sourceLocation();
+        List<Comment> comments = tokenComments;
+        Value<?> value;
+        switch (kind) {
+            case '$': {
+                if (!variables) {
+                    throw GIVE_UP;
+                }
+                nextToken();
+                VariableReference.Builder variableReference = VariableReference.newVariableReference();
+                addCommonData(variableReference, sourceLocation, comments);
+                value = variableReference.name(name()).build();
+                break;
+            }
+            case INT: {
+                IntValue.Builder intValue = IntValue.newIntValue().value(new BigInteger(tokenText()));
+                addCommonData(intValue, sourceLocation, comments);
+                value = intValue.build();
+                nextToken();
+                break;
+            }
+            case FLOAT: {
+                FloatValue.Builder floatValue = FloatValue.newFloatValue().value(new BigDecimal(tokenText()));
+                addCommonData(floatValue, sourceLocation, comments);
+                value = floatValue.build();
+                nextToken();
+                break;
+            }
+            case STRING: {
+                StringValue.Builder stringValue = StringValue.newStringValue().value(stringValue());
+                addCommonData(stringValue, sourceLocation, comments);
+                value = stringValue.build();
+                nextToken();
+                break;
+            }
+            case '[': {
+                enter();
+                ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+                addCommonData(arrayValue, sourceLocation, comments);
+                nextToken();
+                List<Value> values = new ArrayList<>();
+                while (kind != ']') {
+                    values.add(value(variables));
+                }
+                nextToken();
+                value = arrayValue.values(values).build();
+                exit();
+                break;
+            }
+            case '{': {
+                enter();
+                ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+                addCommonData(objectValue, sourceLocation, comments);
+                nextToken();
+                List<ObjectField> objectFields = new ArrayList<>();
+                while (kind != '}') {
+                    enter();
+                    String name = name();
+                    expect(':');
+                    objectFields.add(ObjectField.newObjectField().name(name).value(value(variables)).build());
+                    exit();
+                }
+                nextToken();
+                value = objectValue.objectFields(objectFields).build();
+                exit();
+                break;
+            }
+            case NAME: {
+                if (isName("true") || isName("false")) {
+                    BooleanValue.Builder booleanValue = BooleanValue.newBooleanValue().value(isName("true"));
+                    addCommonData(booleanValue, sourceLocation, comments);
+                    value = booleanValue.build();
+                    nextToken();
+                } else if (isName("null")) {
+                    NullValue.Builder nullValue = NullValue.newNullValue();
+                    addCommonData(nullValue, sourceLocation, comments);
+                    value = nullValue.build();
+                    nextToken();
+                } else {
+                    EnumValue.Builder enumValue = EnumValue.newEnumValue();
+                    addCommonData(enumValue, sourceLocation, comments);
+                    value = enumValue.name(name()).build();
+                }
+                break;
+            }
+            default:
+                throw GIVE_UP;
+        }
+        exit();
+        return value;
+    }
+
+    private String stringValue() {
+        String token = tokenText();
+        if (token.startsWith("\"\"\"")) {
+            return parseTripleQuotedString(token);
+        }
+        return parseSingleQuotedString(i18N, token, AntlrHelper.createSourceLocation(multiSourceReader, tokenLine, tokenColumn));
+    }
+
+    private String name() {
+        if (kind != NAME) {
+            throw GIVE_UP;
+        }
+        String name = tokenText();
+        nextToken();
+        return compactAst ? Interning.intern(name) : name;
+    }
+
+    private boolean isName(String name) {
+        return kind == NAME && tokenEnd - tokenStart == name.length() && text.startsWith(name, tokenStart);
+    }
+
+    private String tokenText() {
+        return text.substring(tokenStart, tokenEnd);
+    }
+
+    private void expect(int expectedKind) {
+        if (kind != expectedKind) {
+            throw GIVE_UP;
+        }
+        nextToken();
+    }
+
+    private void enter() {
+        if (++depth + LEAF_RULE_DEPTH > maxRuleDepth) {
+            throw GIVE_UP;
+        }
+    }
+
+    private void exit() {
+        depth--;
+    }
+
+    private void addCommonData(NodeBuilder nodeBuilder) {
+        addCommonData(nodeBuilder, sourceLocation(), tokenComments);
+    }
+
+    private void addCommonData(NodeBuilder nodeBuilder, SourceLocation sourceLocation, List<Comment> comments) {
+        if (!comments.isEmpty()) {
+            nodeBuilder.comments(comments);
+        }
+        nodeBuilder.sourceLocation(sourceLocation);
+    }
+
+    private SourceLocation sourceLocation() {
+        if (!captureSourceLocation) {
+            return SourceLocation.EMPTY;
+        }
+        if (tokenSourceLocation == null) {
+            SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, tokenLine, tokenColumn);
+            tokenSourceLocation = compactAst ? GraphqlAntlrToLanguage.SOURCE_LOCATIONS.intern(sourceLocation) : sourceLocation;
+        }
+        return tokenSourceLocation;
+    }
+
+    //
+    // the lexer, which reads one grammar token ahead and collects the comments in front of it
+    //
+
+    private void nextToken() {
+        List<Comment> comments = null;
+        skipping:
+        while (pos < length) {
+            switch (text.charAt(pos)) {
+                case '\n':
+                    whitespace();
+                    line++;
+                    lineStart = pos;
+                    lineSupplementaryChars = 0;
+                    break;
+                case '\r':
+                case ' ':
+                case '\t':
+                case ',':
+                case '\ufeff':
+                case '\u2028':
+                case '\u2029':
+                    whitespace();
+                    break;
+                case '#':
+                    comments = comment(comments);
+                    break;
+                default:
+                    break skipping;
+            }
+        }
+        if (++grammarTokens > maxTokens) {
+            throw GIVE_UP;
+        }
+        tokenComments = comments == null ? NO_COMMENTS : ImmutableList.copyOf(comments);
+        tokenSourceLocation = null;
+        tokenStart = pos;
+        tokenLine = line;
+        tokenColumn = column(pos);
+        if (pos == length) {
+            kind = EOF;
+        } else {
+            char c = text.charAt(pos);
+            switch (c) {
+                case '!':
+                case '$':
+                case '(':
+                case ')':
+                case ':':
+                case '=':
+                case '@':
+                case '[':
+                case ']':
+                case '{':
+                case '}':
+                    kind = c;
+                    pos++;
+                    break;
+                case '.':
+                    if (!text.startsWith("...", pos)) {
+                        throw GIVE_UP;
+                    }
+                    kind = SPREAD;
+                    pos += 3;
+                    break;
+                case '"':
+                    kind = STRING;
+                    string();
+                    break;
+                default:
+                    if (c == '-' || isDigit(c)) {
+                        number();
+                    } else if (isNameStart(c)) {
+                        kind = NAME;
+                        pos++;
+                        while (pos < length && isNameContinue(text.charAt(pos))) {
+                            pos++;
+                        }
+                    } else {
+                        throw GIVE_UP;
+                    }
+            }
+        }
+        tokenEnd = pos;
+    }
+
+    private void whitespace() {
+        if (++whitespaceTokens > maxWhitespaceTokens) {
+            throw GIVE_UP;
+        }
+        pos++;
+    }
+
+    private List<Comment> comment(List<Comment> comments) {
+        if (++commentTokens > maxTokens) {
+            throw GIVE_UP;
+        }
+        int start = pos;
+        int column = column(pos);
+        pos++;
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            sourceCharacter(c);
+        }
+        if (!captureComments) {
+            return comments;
+        }
+        SourceLocation sourceLocation = SourceLocation.EMPTY;
+        if (captureSourceLocation) {
+            // like GraphqlAntlrToLanguage, the 1 based ANTLR line of the comment is looked up
+            MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(line);
+            sourceLocation = new SourceLocation(sourceAndLine.getLine() + 1, column, sourceAndLine.getSourceName());
+        }
+        if (comments == null) {
+            comments = new ArrayList<>();
+        }
+        comments.add(new Comment(text.substring(start + 1, pos), sourceLocation));
+        return comments;
+    }
+
+    private void string() {
+        if (text.startsWith("\"\"\"", pos)) {
+            pos += 3;
+            while (true) {
+                if (pos >= length) {
+                    throw GIVE_UP;
+                }
+                char c = text.charAt(pos);
+                if (c == '"' && text.startsWith("\"\"\"", pos)) {
+                    pos += 3;
+                    return;
+                }
+                if (c == '\\' && text.startsWith("\"\"\"", pos + 1)) {
+                    pos += 4;
+                } else if (c == '\n') {
+                    pos++;
+                    line++;
+                    lineStart = pos;
+                    lineSupplementaryChars = 0;
+                } else {
+                    sourceCharacter(c);
+                }
+            }
+        }
+        pos++;
+        if (text.startsWith("\"", pos)) {
+            // the empty string, which is only a token of its own if no third quote follows
+            pos++;
+            return;
+        }
+        while (true) {
+            if (pos >= length) {
+                throw GIVE_UP;
+            }
+            char c = text.charAt(pos);
+            if (c == '"') {
+                pos++;
+                return;
+            }
+            if (c == '\n' || c == '\r') {
+                throw GIVE_UP;
+            }
+            if (c == '\\') {
+                escape();
+            } else {
+                sourceCharacter(c);
+            }
+        }
+    }
+
+    private void escape() {
+        pos++;
+        if (pos >= length) {
+            throw GIVE_UP;
+        }
+        char c = text.charAt(pos++);
+        if (c == 'u') {
+            if (pos < length && text.charAt(pos) == '{') {
+                int start = ++pos;
+                while (pos < length && isHex(text.charAt(pos))) {
+                    pos++;
+                }
+                if (pos == start || pos >= length || text.charAt(pos) != '}') {
+                    throw GIVE_UP;
+                }
+                pos++;
+            } else {
+                for (int i = 0; i < 4; i++) {
+                    if (pos >= length || !isHex(text.charAt(pos))) {
+                        throw GIVE_UP;
+                    }
+                    pos++;
+                }
+            }
+        } else if ("\"\\/bfnrt".indexOf(c) < 0) {
+            throw GIVE_UP;
+        }
+    }
+
+    private void sourceCharacter(char c) {
+        if (Character.isHighSurrogate(c)) {
+            if (pos + 1 >= length || !Character.isLowSurrogate(text.charAt(pos + 1))) {
+                throw GIVE_UP;
+            }
+            lineSupplementaryChars++;
+            pos += 2;
+        } else if (Character.isLowSurrogate(c)) {
+            throw GIVE_UP;
+        } else {
+            pos++;
+        }
+    }
+
+    private void number() {
+        kind = INT;
+        if (text.charAt(pos) == '-') {
+            pos++;
+        }
+        if (pos >= length || !isDigit(text.charAt(pos))) {
+            throw GIVE_UP;
+        }
+        if (text.charAt(pos++) != '0') {
+            digits();
+        }
+        if (pos < length && text.charAt(pos) == '.') {
+            kind = FLOAT;
+            pos++;
+            requireDigits();
+        }
+        if (pos < length && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            kind = FLOAT;
+            pos++;
+            if (pos < length && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+            requireDigits();
+        }
+        // the same look ahead as the IntValue and FloatValue lexer rules
+        if (pos < length) {
+            char c = text.charAt(pos);
+            if (isDigit(c) || c == '.' || isNameStart(c)) {
+                throw GIVE_UP;
+            }
+        }
+    }
+
+    private void requireDigits() {
+        if (pos >= length || !isDigit(text.charAt(pos))) {
+            throw GIVE_UP;
+        }
+        digits();
+    }
+
+    private void digits() {
+        while (pos < length && isDigit(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private int column(int index) {
+        return index - lineStart - lineSupplementaryChars;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isNameStart(char c) {
+        return '_' == c || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    /**
+     * Thrown to hand the document over to the ANTLR based parser, without the cost of a stack trace
+     */
+    private static class GiveUp extends RuntimeException {
+        private GiveUp() {
+            super(null, null, false, false);
+        }
+    }
+}
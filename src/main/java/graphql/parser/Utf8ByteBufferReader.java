@@ -0,0 +1,95 @@
+package graphql.parser;
+
+import graphql.Internal;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A reader of the UTF-8 bytes of a {@link ByteBuffer}, say a {@link java.nio.MappedByteBuffer} of a file or the body of a request.
+ * <p>
+ * The bytes are decoded straight into the buffers of whoever reads them, so this reader does not copy the document into a
+ * {@link String} or a char array of its own.  Whoever reads it may still do so, the {@link Parser} for one keeps all the
+ * chars of the document it is lexing.  Like {@link String#String(byte[], java.nio.charset.Charset)}, malformed input is
+ * replaced rather than reported.  The position of the given buffer is advanced as it is read.
+ */
+@Internal
+public class Utf8ByteBufferReader extends Reader {
+
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean decoded;
+    private boolean flushed;
+    // the low surrogate of a supplementary character that was read one char at a time
+    private int pendingChar = -1;
+
+    public Utf8ByteBufferReader(ByteBuffer bytes) {
+        this.bytes = assertNotNull(bytes);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        if (len == 0) {
+            return 0;
+        }
+        int read = 0;
+        if (pendingChar != -1) {
+            cbuf[off++] = (char) pendingChar;
+            pendingChar = -1;
+            read++;
+            len--;
+        }
+        if (len == 1) {
+            // a supplementary character does not fit into a single char, so it is decoded on the side
+            CharBuffer chars = CharBuffer.allocate(2);
+            decode(chars);
+            chars.flip();
+            if (chars.hasRemaining()) {
+                cbuf[off] = chars.get();
+                read++;
+                if (chars.hasRemaining()) {
+                    pendingChar = chars.get();
+                }
+            }
+        } else if (len > 1) {
+            CharBuffer chars = CharBuffer.wrap(cbuf, off, len);
+            decode(chars);
+            read += chars.position() - off;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    private void decode(CharBuffer chars) {
+        if (!decoded) {
+            // with the end of input given and malformed input replaced, this only ever stops when the chars are full or
+            // when all bytes are decoded
+            if (decoder.decode(bytes, chars, true).isOverflow()) {
+                return;
+            }
+            decoded = true;
+        }
+        if (!flushed) {
+            flushed = !decoder.flush(chars).isOverflow();
+        }
+    }
+
+    @Override
+    public boolean ready() {
+        return pendingChar != -1 || bytes.hasRemaining();
+    }
+
+    @Override
+    public void close() {
+        // a mapped buffer is unmapped once it is garbage collected
+    }
+}
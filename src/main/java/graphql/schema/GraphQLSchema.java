@@ -7,6 +7,7 @@ import com.google.common.collect.ImmutableSet;
 import graphql.Assert;
 import graphql.Directives;
 import graphql.DirectivesUtil;
+import graphql.ExperimentalApi;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
@@ -27,6 +28,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
@@ -689,6 +691,8 @@ public class GraphQLSchema {
         private final Set<GraphQLType> additionalTypes = new LinkedHashSet<>();
         private final List<GraphQLDirective> schemaDirectives = new ArrayList<>();
         private final List<GraphQLAppliedDirective> schemaAppliedDirectives = new ArrayList<>();
+        private ForkJoinPool validationPool;
+        private boolean typeReferencesResolved;
 
         public Builder query(GraphQLObjectType.Builder builder) {
             return query(builder.build());
@@ -832,6 +836,34 @@ public class GraphQLSchema {
             return this;
         }
 
+        /**
+         * The schema validation rules can be run concurrently on a pool, which shortens the build of very large schemas.
+         *
+         * @param validationPool the pool to validate the schema on or null to validate it on the calling thread
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder validationPool(ForkJoinPool validationPool) {
+            this.validationPool = validationPool;
+            return this;
+        }
+
+        /**
+         * Tells the builder that the type references of the given types and directives have already been resolved, so
+         * that it does not resolve them again.  Resolving them changes the types that hold them, which must not happen to
+         * types that are shared with another schema.
+         *
+         * @param typeReferencesResolved true if the type references have already been resolved
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder typeReferencesResolved(boolean typeReferencesResolved) {
+            this.typeReferencesResolved = typeReferencesResolved;
+            return this;
+        }
+
         /**
          * Builds the schema
          *
@@ -875,12 +907,17 @@ public class GraphQLSchema {
 
             // this is now build however its contained types are still to be mutated by type reference replacement
             final GraphQLSchema finalSchema = new GraphQLSchema(partiallyBuiltSchema, codeRegistry, allTypes, interfaceNameToObjectTypes);
-            SchemaUtil.replaceTypeReferences(finalSchema);
+            if (!typeReferencesResolved) {
+                SchemaUtil.replaceTypeReferences(finalSchema);
+            }
             return validateSchema(finalSchema);
         }
 
         private GraphQLSchema validateSchema(GraphQLSchema graphQLSchema) {
-            Collection<SchemaValidationError> errors = new SchemaValidator().validateSchema(graphQLSchema);
+            SchemaValidator schemaValidator = new SchemaValidator();
+            Collection<SchemaValidationError> errors = validationPool == null
+                    ? schemaValidator.validateSchema(graphQLSchema)
+                    : schemaValidator.validateSchema(graphQLSchema, validationPool);
             if (!errors.isEmpty()) {
                 throw new InvalidSchemaException(errors);
             }
@@ -2,8 +2,10 @@ package graphql.schema;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import graphql.ExperimentalApi;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
+import graphql.schema.impl.SharingSchemaTransformer;
 import graphql.util.Breadcrumb;
 import graphql.util.NodeAdapter;
 import graphql.util.NodeLocation;
@@ -23,6 +25,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotEmpty;
@@ -103,6 +106,46 @@ public class SchemaTransformer {
         return schemaTransformer.transform(schema, visitor, postTransformation);
     }
 
+    /**
+     * Transforms a GraphQLSchema and returns a new GraphQLSchema object that shares every named type the transformation
+     * has not changed with the given schema.
+     * <p>
+     * Only the changed elements and the elements that refer to them are copied, which makes small changes to large schemas
+     * much cheaper than {@link #transformSchema(GraphQLSchema, GraphQLTypeVisitor)}.  Each named type is visited once as
+     * a tree of its own, so references from one named type to another are not followed and
+     * {@link GraphQLTypeVisitor#visitBackRef(TraverserContext)} is never called.  The named types are visited in parallel
+     * on the given pool, so the visitor has to be thread safe and has to synchronize on the {@link GraphQLCodeRegistry.Builder}
+     * if it changes it.  The shared types are not changed in any way, so several schemas can be transformed from the same
+     * schema at the same time.
+     *
+     * @param schema       the schema to transform
+     * @param visitor      the visitor call back
+     * @param forkJoinPool the pool to visit the named types on
+     *
+     * @return a new GraphQLSchema instance or the given schema if nothing has changed
+     */
+    @ExperimentalApi
+    public static GraphQLSchema transformSchemaWithSharing(GraphQLSchema schema, GraphQLTypeVisitor visitor, ForkJoinPool forkJoinPool) {
+        SchemaTransformer schemaTransformer = new SchemaTransformer();
+        return schemaTransformer.transformWithSharing(schema, visitor, forkJoinPool);
+    }
+
+    /**
+     * Transforms a GraphQLSchema on the common pool and returns a new GraphQLSchema object that shares every named type
+     * the transformation has not changed with the given schema.
+     *
+     * @param schema  the schema to transform
+     * @param visitor the visitor call back
+     *
+     * @return a new GraphQLSchema instance or the given schema if nothing has changed
+     *
+     * @see #transformSchemaWithSharing(GraphQLSchema, GraphQLTypeVisitor, ForkJoinPool)
+     */
+    @ExperimentalApi
+    public static GraphQLSchema transformSchemaWithSharing(GraphQLSchema schema, GraphQLTypeVisitor visitor) {
+        return transformSchemaWithSharing(schema, visitor, ForkJoinPool.commonPool());
+    }
+
     /**
      * Transforms a {@link GraphQLSchemaElement} and returns a new element.
      *
@@ -125,6 +168,11 @@ public class SchemaTransformer {
         return (GraphQLSchema) transformImpl(schema, null, visitor, postTransformation);
     }
 
+    @ExperimentalApi
+    public GraphQLSchema transformWithSharing(final GraphQLSchema schema, GraphQLTypeVisitor visitor, ForkJoinPool forkJoinPool) {
+        return new SharingSchemaTransformer(schema, forkJoinPool).transform(assertNotNull(visitor));
+    }
+
     public <T extends GraphQLSchemaElement> T transform(final T schemaElement, GraphQLTypeVisitor visitor) {
         //noinspection unchecked
         return (T) transformImpl(null, schemaElement, visitor, null);
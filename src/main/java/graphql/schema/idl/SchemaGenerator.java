@@ -1,5 +1,6 @@
 package graphql.schema.idl;
 
+import graphql.ExperimentalApi;
 import graphql.GraphQLError;
 import graphql.PublicApi;
 import graphql.language.OperationTypeDefinition;
@@ -12,6 +13,7 @@ import graphql.schema.idl.errors.SchemaProblem;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static graphql.schema.idl.SchemaGeneratorHelper.buildDescription;
 
@@ -97,6 +99,23 @@ public class SchemaGenerator {
      * @throws SchemaProblem if there are problems in assembling a schema such as missing type resolvers or no operations defined
      */
     public GraphQLSchema makeExecutableSchema(Options options, TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
+        SchemaSnapshot schemaSnapshot = makeSchemaSnapshot(typeRegistry, wiring);
+        return makeExecutableSchemaImpl(schemaSnapshot.getTypeRegistry(), wiring, schemaSnapshot.getOperationTypeDefinitions(), options);
+    }
+
+    /**
+     * This will check a {@link TypeDefinitionRegistry} just like {@link #makeExecutableSchema(TypeDefinitionRegistry, RuntimeWiring)} does
+     * and capture it in a {@link SchemaSnapshot}, which can be stored and turned into an executable schema later on
+     *
+     * @param typeRegistry this can be obtained via {@link SchemaParser#parse(String)}
+     * @param wiring       the runtime wiring the type registry is checked against, which is not part of the snapshot
+     *
+     * @return a schema snapshot
+     *
+     * @throws SchemaProblem if there are problems in the type registry such as missing types or type resolvers
+     */
+    @ExperimentalApi
+    public SchemaSnapshot makeSchemaSnapshot(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
 
         TypeDefinitionRegistry typeRegistryCopy = new TypeDefinitionRegistry();
         typeRegistryCopy.merge(typeRegistry);
@@ -110,7 +129,50 @@ public class SchemaGenerator {
 
         Map<String, OperationTypeDefinition> operationTypeDefinitions = SchemaExtensionsChecker.gatherOperationDefs(typeRegistry);
 
-        return makeExecutableSchemaImpl(typeRegistryCopy, wiring, operationTypeDefinitions, options);
+        return new SchemaSnapshot(typeRegistryCopy, operationTypeDefinitions);
+    }
+
+    /**
+     * This will take a {@link SchemaSnapshot} and a {@link RuntimeWiring} and put them together to create a executable schema
+     * <p>
+     * The type definitions of the snapshot have been checked when it was made, so only the checks that depend on the wiring
+     * are made again.  These are the checks of the scalars and type resolvers of the wiring and of the directive argument
+     * values, which are parsed by the scalars of the wiring.
+     *
+     * @param schemaSnapshot this can be obtained via {@link #makeSchemaSnapshot(TypeDefinitionRegistry, RuntimeWiring)} or {@link SchemaSnapshot#read(java.io.InputStream)}
+     * @param wiring         this can be built using {@link RuntimeWiring#newRuntimeWiring()}
+     *
+     * @return an executable schema
+     *
+     * @throws SchemaProblem if there are problems in assembling a schema such as missing type resolvers
+     */
+    @ExperimentalApi
+    public GraphQLSchema makeExecutableSchema(SchemaSnapshot schemaSnapshot, RuntimeWiring wiring) throws SchemaProblem {
+        return makeExecutableSchema(Options.defaultOptions(), schemaSnapshot, wiring);
+    }
+
+    /**
+     * This will take a {@link SchemaSnapshot} and a {@link RuntimeWiring} and put them together to create a executable schema
+     * controlled by the provided options.
+     *
+     * @param options        the controlling options
+     * @param schemaSnapshot this can be obtained via {@link #makeSchemaSnapshot(TypeDefinitionRegistry, RuntimeWiring)} or {@link SchemaSnapshot#read(java.io.InputStream)}
+     * @param wiring         this can be built using {@link RuntimeWiring#newRuntimeWiring()}
+     *
+     * @return an executable schema
+     *
+     * @throws SchemaProblem if there are problems in assembling a schema such as missing type resolvers
+     */
+    @ExperimentalApi
+    public GraphQLSchema makeExecutableSchema(Options options, SchemaSnapshot schemaSnapshot, RuntimeWiring wiring) throws SchemaProblem {
+        TypeDefinitionRegistry typeRegistry = schemaSnapshot.getTypeRegistry();
+
+        List<GraphQLError> errors = typeChecker.checkRuntimeWiring(typeRegistry, wiring);
+        if (!errors.isEmpty()) {
+            throw new SchemaProblem(errors);
+        }
+
+        return makeExecutableSchemaImpl(typeRegistry, wiring, schemaSnapshot.getOperationTypeDefinitions(), options);
     }
 
     private GraphQLSchema makeExecutableSchemaImpl(TypeDefinitionRegistry typeRegistry,
@@ -121,11 +183,22 @@ public class SchemaGenerator {
 
         GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
 
+        ForkJoinPool forkJoinPool = options.getForkJoinPool();
+        if (forkJoinPool != null) {
+            // the types built in parallel refer to each other by type references, so they are all additional types
+            schemaBuilder.additionalTypes(schemaGeneratorHelper.buildScalarsAndReferToTypes(buildCtx));
+        }
+
         Set<GraphQLDirective> additionalDirectives = schemaGeneratorHelper.buildAdditionalDirectiveDefinitions(buildCtx);
         schemaBuilder.additionalDirectives(additionalDirectives);
 
         schemaGeneratorHelper.buildSchemaDirectivesAndExtensions(buildCtx, schemaBuilder);
 
+        if (forkJoinPool != null) {
+            schemaBuilder.additionalTypes(schemaGeneratorHelper.buildTypesInParallel(buildCtx, forkJoinPool));
+            schemaBuilder.validationPool(forkJoinPool);
+        }
+
         schemaGeneratorHelper.buildOperations(buildCtx, schemaBuilder);
 
         Set<GraphQLType> additionalTypes = schemaGeneratorHelper.buildAdditionalTypes(buildCtx);
@@ -164,11 +237,13 @@ public class SchemaGenerator {
         private final boolean useCommentsAsDescription;
         private final boolean captureAstDefinitions;
         private final boolean useAppliedDirectivesOnly;
+        private final ForkJoinPool forkJoinPool;
 
-        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly) {
+        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly, ForkJoinPool forkJoinPool) {
             this.useCommentsAsDescription = useCommentsAsDescription;
             this.captureAstDefinitions = captureAstDefinitions;
             this.useAppliedDirectivesOnly = useAppliedDirectivesOnly;
+            this.forkJoinPool = forkJoinPool;
         }
 
         public boolean isUseCommentsAsDescription() {
@@ -183,8 +258,13 @@ public class SchemaGenerator {
             return useAppliedDirectivesOnly;
         }
 
+        @ExperimentalApi
+        public ForkJoinPool getForkJoinPool() {
+            return forkJoinPool;
+        }
+
         public static Options defaultOptions() {
-            return new Options(true, true, false);
+            return new Options(true, true, false, null);
         }
 
         /**
@@ -197,7 +277,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useCommentsAsDescriptions(boolean useCommentsAsDescription) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
 
         /**
@@ -209,7 +289,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options captureAstDefinitions(boolean captureAstDefinitions) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
 
         /**
@@ -222,7 +302,26 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useAppliedDirectivesOnly(boolean useAppliedDirectivesOnly) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
+        }
+
+        /**
+         * Very large type registries can be built faster by building their named types concurrently.  Each type then refers
+         * to the other types via {@link graphql.schema.GraphQLTypeReference}s, which are replaced once the schema is assembled,
+         * and the schema validation rules run concurrently as well.
+         * <p>
+         * The built schema is the same, except that all of its types are additional types rather than only those that cannot
+         * be reached from the operation types.  Your {@link WiringFactory} and any {@link graphql.schema.DataFetcherFactory},
+         * {@link graphql.schema.TypeResolver} or scalar lookups it makes are called from the threads of the pool, so they
+         * must be thread safe.
+         *
+         * @param forkJoinPool the pool to build the types on or null to build them on the calling thread, which is the default
+         *
+         * @return a new Options object
+         */
+        @ExperimentalApi
+        public Options buildInParallel(ForkJoinPool forkJoinPool) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, forkJoinPool);
         }
     }
-}
\ No newline at end of file
+}
@@ -62,6 +62,7 @@ import graphql.schema.TypeResolverProxy;
 import graphql.schema.idl.errors.NotAnInputTypeError;
 import graphql.schema.idl.errors.NotAnOutputTypeError;
 import graphql.util.FpKit;
+import graphql.util.LockKit;
 import graphql.util.Pair;
 
 import java.util.ArrayDeque;
@@ -75,10 +76,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertShouldNeverHappen;
 import static graphql.Directives.DEPRECATED_DIRECTIVE_DEFINITION;
 import static graphql.Directives.IncludeDirective;
 import static graphql.Directives.NO_LONGER_SUPPORTED;
@@ -119,9 +124,12 @@ public class SchemaGeneratorHelper {
         private final Map<String, GraphQLInputType> inputGTypes = new LinkedHashMap<>();
         private final Set<GraphQLDirective> directives = new LinkedHashSet<>();
         private final GraphQLCodeRegistry.Builder codeRegistry;
+        private final LockKit.ReentrantLock codeRegistryLock = new LockKit.ReentrantLock();
         public final Map<String, OperationTypeDefinition> operationTypeDefs;
         public final SchemaGenerator.Options options;
-        public boolean directiveWiringRequired;
+        public volatile boolean directiveWiringRequired;
+        // when the named types are built in parallel they only refer to each other rather than building each other
+        private boolean referToTypes;
 
         BuildContext(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring, Map<String, OperationTypeDefinition> operationTypeDefinitions, SchemaGenerator.Options options) {
             this.typeRegistry = typeRegistry;
@@ -196,6 +204,28 @@ public class SchemaGeneratorHelper {
             return codeRegistry;
         }
 
+        boolean hasDataFetcher(FieldCoordinates coordinates) {
+            return codeRegistryLock.callLocked(() -> codeRegistry.hasDataFetcher(coordinates));
+        }
+
+        void dataFetcher(FieldCoordinates coordinates, DataFetcherFactory<?> dataFetcherFactory) {
+            codeRegistryLock.runLocked(() -> codeRegistry.dataFetcher(coordinates, dataFetcherFactory));
+        }
+
+        boolean hasTypeResolver(String typeName) {
+            return codeRegistryLock.callLocked(() -> codeRegistry.hasTypeResolver(typeName));
+        }
+
+        void typeResolver(GraphQLNamedOutputType type, TypeResolver typeResolver) {
+            codeRegistryLock.runLocked(() -> {
+                if (type instanceof GraphQLInterfaceType) {
+                    codeRegistry.typeResolver((GraphQLInterfaceType) type, typeResolver);
+                } else {
+                    codeRegistry.typeResolver((GraphQLUnionType) type, typeResolver);
+                }
+            });
+        }
+
         public void addDirectiveDefinition(GraphQLDirective directive) {
             this.directives.add(directive);
         }
@@ -267,6 +297,13 @@ public class SchemaGeneratorHelper {
             return typeInfo.decorate(inputType);
         }
 
+        if (buildCtx.referToTypes) {
+            if (!isInputType(typeDefinition)) {
+                throw new NotAnInputTypeError(rawType, typeDefinition);
+            }
+            return typeInfo.decorate(typeRef(typeInfo.getName()));
+        }
+
         if (buildCtx.stackContains(typeInfo)) {
             // we have circled around so put in a type reference and fix it later
             return typeInfo.decorate(typeRef(typeInfo.getName()));
@@ -606,9 +643,9 @@ public class SchemaGeneratorHelper {
         buildInterfaceTypeInterfaces(buildCtx, typeDefinition, builder, extensions);
 
         GraphQLInterfaceType interfaceType = builder.build();
-        if (!buildCtx.getCodeRegistry().hasTypeResolver(interfaceType.getName())) {
+        if (!buildCtx.hasTypeResolver(interfaceType.getName())) {
             TypeResolver typeResolver = getTypeResolverForInterface(buildCtx, typeDefinition);
-            buildCtx.getCodeRegistry().typeResolver(interfaceType, typeResolver);
+            buildCtx.typeResolver(interfaceType, typeResolver);
         }
         return directivesObserve(buildCtx, interfaceType);
     }
@@ -719,9 +756,9 @@ public class SchemaGeneratorHelper {
         ));
 
         GraphQLUnionType unionType = builder.build();
-        if (!buildCtx.getCodeRegistry().hasTypeResolver(unionType.getName())) {
+        if (!buildCtx.hasTypeResolver(unionType.getName())) {
             TypeResolver typeResolver = getTypeResolverForUnion(buildCtx, typeDefinition);
-            buildCtx.getCodeRegistry().typeResolver(unionType, typeResolver);
+            buildCtx.typeResolver(unionType, typeResolver);
         }
         return directivesObserve(buildCtx, unionType);
     }
@@ -745,6 +782,13 @@ public class SchemaGeneratorHelper {
             return typeInfo.decorate(outputType);
         }
 
+        if (buildCtx.referToTypes) {
+            if (!isOutputType(typeDefinition)) {
+                throw new NotAnOutputTypeError(rawType, typeDefinition);
+            }
+            return typeInfo.decorate(typeRef(typeInfo.getName()));
+        }
+
         if (buildCtx.stackContains(typeInfo)) {
             // we have circled around so put in a type reference and fix it up later
             // otherwise we will go into an infinite loop
@@ -800,14 +844,14 @@ public class SchemaGeneratorHelper {
         GraphQLFieldDefinition fieldDefinition = builder.build();
         // if they have already wired in a fetcher - then leave it alone
         FieldCoordinates coordinates = FieldCoordinates.coordinates(parentType.getName(), fieldDefinition.getName());
-        if (!buildCtx.getCodeRegistry().hasDataFetcher(coordinates)) {
+        if (!buildCtx.hasDataFetcher(coordinates)) {
             DataFetcherFactory<?> dataFetcherFactory = buildDataFetcherFactory(buildCtx,
                     parentType,
                     fieldDef,
                     fieldType,
                     appliedDirectives.first,
                     appliedDirectives.second);
-            buildCtx.getCodeRegistry().dataFetcher(coordinates, dataFetcherFactory);
+            buildCtx.dataFetcher(coordinates, dataFetcherFactory);
         }
         return directivesObserve(buildCtx, fieldDefinition);
     }
@@ -1035,6 +1079,99 @@ public class SchemaGeneratorHelper {
         return additionalTypes;
     }
 
+    /**
+     * Switches the build over to building the named types in parallel, where the types do not build the types they use
+     * but refer to them via type references that the schema builder replaces later.  The scalars are built up front though,
+     * so that the types can use them directly, which keeps unused specification scalars out of the schema just like
+     * building the types one by one does.
+     *
+     * @param buildCtx the context we need to work out what we are doing
+     *
+     * @return the scalars that have been built and belong in the schema
+     */
+    Set<GraphQLType> buildScalarsAndReferToTypes(BuildContext buildCtx) {
+        buildCtx.referToTypes = true;
+        Set<GraphQLType> scalars = new LinkedHashSet<>();
+        for (ScalarTypeDefinition scalarTypeDefinition : buildCtx.getTypeRegistry().scalars().values()) {
+            GraphQLScalarType scalar = buildScalar(buildCtx, scalarTypeDefinition);
+            buildCtx.putOutputType(scalar);
+            if (!ScalarInfo.isGraphqlSpecifiedScalar(scalar)) {
+                scalars.add(scalar);
+            }
+        }
+        return scalars;
+    }
+
+    /**
+     * Builds all the named types other than the scalars concurrently on the given pool, see {@link #buildScalarsAndReferToTypes(BuildContext)}
+     *
+     * @param buildCtx     the context we need to work out what we are doing
+     * @param forkJoinPool the pool to build the types on
+     *
+     * @return the types that have been built
+     */
+    Set<GraphQLType> buildTypesInParallel(BuildContext buildCtx, ForkJoinPool forkJoinPool) {
+        List<CompletableFuture<GraphQLType>> types = new ArrayList<>();
+        for (TypeDefinition<?> typeDefinition : buildCtx.getTypeRegistry().types().values()) {
+            types.add(CompletableFuture.supplyAsync(() -> buildNamedType(buildCtx, typeDefinition), forkJoinPool));
+        }
+        // every type is waited for, so that none is still being built once an error is thrown
+        Set<GraphQLType> builtTypes = new LinkedHashSet<>();
+        RuntimeException error = null;
+        for (CompletableFuture<GraphQLType> type : types) {
+            try {
+                builtTypes.add(type.join());
+            } catch (CompletionException e) {
+                if (error == null) {
+                    // the errors of a type are thrown as if it was built on this thread
+                    error = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        buildCtx.referToTypes = false;
+        if (error != null) {
+            throw error;
+        }
+
+        for (GraphQLType type : builtTypes) {
+            if (type instanceof GraphQLInputObjectType) {
+                buildCtx.putInputType((GraphQLInputObjectType) type);
+            } else {
+                buildCtx.putOutputType((GraphQLNamedOutputType) type);
+            }
+        }
+        return builtTypes;
+    }
+
+    private GraphQLType buildNamedType(BuildContext buildCtx, TypeDefinition<?> typeDefinition) {
+        if (typeDefinition instanceof ObjectTypeDefinition) {
+            return buildObjectType(buildCtx, (ObjectTypeDefinition) typeDefinition);
+        } else if (typeDefinition instanceof InterfaceTypeDefinition) {
+            return buildInterfaceType(buildCtx, (InterfaceTypeDefinition) typeDefinition);
+        } else if (typeDefinition instanceof UnionTypeDefinition) {
+            return buildUnionType(buildCtx, (UnionTypeDefinition) typeDefinition);
+        } else if (typeDefinition instanceof EnumTypeDefinition) {
+            return buildEnumType(buildCtx, (EnumTypeDefinition) typeDefinition);
+        } else if (typeDefinition instanceof InputObjectTypeDefinition) {
+            return buildInputObjectType(buildCtx, (InputObjectTypeDefinition) typeDefinition);
+        }
+        return assertShouldNeverHappen("Unexpected type definition %s", typeDefinition);
+    }
+
+    private static boolean isInputType(TypeDefinition<?> typeDefinition) {
+        return typeDefinition instanceof InputObjectTypeDefinition
+                || typeDefinition instanceof EnumTypeDefinition
+                || typeDefinition instanceof ScalarTypeDefinition;
+    }
+
+    private static boolean isOutputType(TypeDefinition<?> typeDefinition) {
+        return typeDefinition instanceof ObjectTypeDefinition
+                || typeDefinition instanceof InterfaceTypeDefinition
+                || typeDefinition instanceof UnionTypeDefinition
+                || typeDefinition instanceof EnumTypeDefinition
+                || typeDefinition instanceof ScalarTypeDefinition;
+    }
+
     /**
      * Detached types (or additional types) are all types that
      * are not connected to the root operations types.
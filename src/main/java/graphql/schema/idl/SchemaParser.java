@@ -10,6 +10,7 @@ import graphql.parser.InvalidSyntaxException;
 import graphql.parser.Parser;
 import graphql.parser.ParserEnvironment;
 import graphql.parser.ParserOptions;
+import graphql.parser.Utf8ByteBufferReader;
 import graphql.schema.idl.errors.NonSDLDefinitionError;
 import graphql.schema.idl.errors.SchemaProblem;
 
@@ -19,7 +20,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +56,46 @@ public class SchemaParser {
         }
     }
 
+    /**
+     * Parse a UTF-8 file of schema definitions and create a {@link TypeDefinitionRegistry}
+     * <p>
+     * The file is memory mapped and decoded while it is parsed, rather than read into a byte array and a string first.  The
+     * parser still keeps the decoded chars of the whole file while it parses it.
+     *
+     * @param path the path of the file to parse
+     *
+     * @return registry of type definitions
+     *
+     * @throws SchemaProblem if there are problems compiling the schema definitions
+     */
+    public TypeDefinitionRegistry parse(Path path) throws SchemaProblem {
+        return parse(path, null);
+    }
+
+    /**
+     * Parse a UTF-8 file of schema definitions and create a {@link TypeDefinitionRegistry}
+     * <p>
+     * The file is memory mapped and decoded while it is parsed, rather than read into a byte array and a string first.  The
+     * parser still keeps the decoded chars of the whole file while it parses it.
+     *
+     * @param path          the path of the file to parse
+     * @param parserOptions the parse options to use while parsing
+     *
+     * @return registry of type definitions
+     *
+     * @throws SchemaProblem if there are problems compiling the schema definitions
+     */
+    public TypeDefinitionRegistry parse(Path path, ParserOptions parserOptions) throws SchemaProblem {
+        MappedByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return parseImpl(new Utf8ByteBufferReader(bytes), parserOptions);
+    }
+
     /**
      * Parse a inputStream of schema definitions and create a {@link TypeDefinitionRegistry}
      *
@@ -0,0 +1,155 @@
+package graphql.schema.idl;
+
+import graphql.ExperimentalApi;
+import graphql.language.OperationTypeDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A schema snapshot is a {@link TypeDefinitionRegistry} that has been checked by {@link SchemaGenerator#makeSchemaSnapshot(TypeDefinitionRegistry, RuntimeWiring)}
+ * and which can be written out in a binary form and read back in.
+ * <p>
+ * A service that builds the same schema every time it starts can write a snapshot when the service is built and make its
+ * schema from the snapshot via {@link SchemaGenerator#makeExecutableSchema(SchemaSnapshot, RuntimeWiring)} when it starts, which
+ * skips parsing the SDL and checking the type definitions.  The runtime wiring is not part of the snapshot, so the data fetchers,
+ * type resolvers and scalars are given when the schema is made, just like they are when it is made from a type registry.
+ * <p>
+ * The binary form is only meant to be read by the same version of graphql-java that has written it.  Only the classes of a
+ * type registry are read back, and a snapshot that is nested more than {@value #MAX_DEPTH} objects deep, has more than
+ * {@value #MAX_REFERENCES} objects or is more than {@value #MAX_BYTES} bytes long is rejected, which is far more than a
+ * snapshot of a schema with tens of thousands of types needs.
+ */
+@ExperimentalApi
+public class SchemaSnapshot {
+
+    // "GQLS"
+    private static final int MAGIC = 0x47514c53;
+    private static final int FORMAT_VERSION = 1;
+
+    static final int MAX_DEPTH = 200;
+    static final int MAX_REFERENCES = 25_000_000;
+    static final int MAX_BYTES = 128 * 1024 * 1024;
+
+    // only the classes of a type registry can be read back, and only so much of them, whatever the stream might contain
+    private static final ObjectInputFilter CLASS_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=" + MAX_DEPTH + ";maxrefs=" + MAX_REFERENCES + ";maxbytes=" + MAX_BYTES + ";"
+                    + "graphql.language.*;graphql.schema.idl.*;java.lang.*;java.util.*;com.google.common.collect.*;!*");
+
+    private final TypeDefinitionRegistry typeRegistry;
+    private final Map<String, OperationTypeDefinition> operationTypeDefinitions;
+
+    SchemaSnapshot(TypeDefinitionRegistry typeRegistry, Map<String, OperationTypeDefinition> operationTypeDefinitions) {
+        this.typeRegistry = assertNotNull(typeRegistry);
+        this.operationTypeDefinitions = assertNotNull(operationTypeDefinitions);
+    }
+
+    TypeDefinitionRegistry getTypeRegistry() {
+        return typeRegistry;
+    }
+
+    Map<String, OperationTypeDefinition> getOperationTypeDefinitions() {
+        return operationTypeDefinitions;
+    }
+
+    /**
+     * Writes this snapshot to the given stream, which is left open
+     *
+     * @param outputStream the stream to write to
+     *
+     * @throws IOException if the stream cannot be written to
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(outputStream);
+        DataOutputStream header = new DataOutputStream(buffered);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.flush();
+
+        ObjectOutputStream objects = new ObjectOutputStream(buffered);
+        objects.writeObject(typeRegistry);
+        objects.writeObject(new LinkedHashMap<>(operationTypeDefinitions));
+        objects.flush();
+    }
+
+    /**
+     * @return this snapshot in its binary form
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot that has been written by {@link #write(OutputStream)}
+     *
+     * @param inputStream the stream to read from
+     *
+     * @return the snapshot
+     *
+     * @throws IOException if the stream cannot be read or does not contain a snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static SchemaSnapshot read(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        DataInputStream header = new DataInputStream(buffered);
+        if (header.readInt() != MAGIC) {
+            throw new StreamCorruptedException("The stream does not contain a schema snapshot");
+        }
+        int formatVersion = header.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new StreamCorruptedException("The schema snapshot has format version " + formatVersion + " but only version " + FORMAT_VERSION + " can be read");
+        }
+
+        ObjectInputStream objects = new ObjectInputStream(buffered);
+        objects.setObjectInputFilter(CLASS_FILTER);
+        try {
+            TypeDefinitionRegistry typeRegistry = (TypeDefinitionRegistry) objects.readObject();
+            Map<String, OperationTypeDefinition> operationTypeDefinitions = (Map<String, OperationTypeDefinition>) objects.readObject();
+            return new SchemaSnapshot(typeRegistry, operationTypeDefinitions);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            InvalidClassException invalidClassException = new InvalidClassException("The schema snapshot contains unexpected classes");
+            invalidClassException.initCause(e);
+            throw invalidClassException;
+        }
+    }
+
+    /**
+     * Reads a snapshot from its binary form, as created by {@link #toByteArray()}
+     *
+     * @param bytes the binary form of the snapshot
+     *
+     * @return the snapshot
+     *
+     * @throws UncheckedIOException if the bytes do not contain a snapshot
+     */
+    public static SchemaSnapshot fromByteArray(byte[] bytes) {
+        try {
+            return read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
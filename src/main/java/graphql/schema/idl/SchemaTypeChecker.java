@@ -82,6 +82,30 @@ public class SchemaTypeChecker {
         return errors;
     }
 
+    /**
+     * Checks only what depends on the runtime wiring, for type registries that have been checked already.  These are the
+     * scalar implementations, the type resolvers and the directive argument values, which are parsed by the scalars of
+     * the wiring.
+     *
+     * @param typeRegistry the checked type registry
+     * @param wiring       the runtime wiring to check
+     *
+     * @return the errors found
+     */
+    public List<GraphQLError> checkRuntimeWiring(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) {
+        List<GraphQLError> errors = new ArrayList<>();
+        checkScalarImplementationsArePresent(errors, typeRegistry, wiring);
+        checkTypeResolversArePresent(errors, typeRegistry, wiring);
+
+        // the directive argument values can only be parsed once all the scalars are present, and the directive checks that
+        // do not depend on the wiring have passed already and so add no errors
+        if (errors.isEmpty()) {
+            SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
+            directivesChecker.checkTypeDirectives(errors);
+        }
+        return errors;
+    }
+
     private void checkForMissingTypes(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
         // type extensions
         List<ObjectTypeExtensionDefinition> typeExtensions = typeRegistry.objectTypeExtensions().values().stream().flatMap(Collection::stream).collect(toList());
@@ -0,0 +1,416 @@
+package graphql.schema.impl;
+
+import graphql.Internal;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLSchemaElement;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLTypeResolvingVisitor;
+import graphql.schema.GraphQLTypeVisitor;
+import graphql.schema.SchemaElementChildrenContainer;
+import graphql.schema.SchemaTraverser;
+import graphql.util.NodeAdapter;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+import graphql.util.TraverserVisitorStub;
+import graphql.util.TreeParallelTransformer;
+import graphql.util.TreeTransformerUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.schema.GraphQLSchemaElementAdapter.SCHEMA_ELEMENT_ADAPTER;
+import static graphql.schema.GraphQLTypeReference.typeRef;
+import static graphql.schema.SchemaElementChildrenContainer.newSchemaElementChildrenContainer;
+import static graphql.util.FpKit.filterList;
+import static graphql.util.TraversalControl.ABORT;
+import static graphql.util.TraversalControl.CONTINUE;
+
+/**
+ * Transforms a schema such that only the changed elements and the elements that refer to them are copied and every other
+ * named type is shared with the original schema, see {@link graphql.schema.SchemaTransformer#transformSchemaWithSharing(GraphQLSchema, GraphQLTypeVisitor, ForkJoinPool)}
+ * <p>
+ * Every named type is its own tree here: a reference from one named type to another one is not followed, so the schema
+ * forms a forest of independent trees that is transformed by a {@link TreeParallelTransformer}.  Once that is done, the
+ * types that refer to a changed, renamed or deleted type are copied with a {@link GraphQLTypeReference} in place of every
+ * type they hold, which is again done in parallel.  These type references are then resolved within the copies only, so
+ * the shared types are never changed and several schemas can be transformed from the same schema at the same time.
+ */
+@Internal
+public class SharingSchemaTransformer {
+
+    private final GraphQLSchema schema;
+    private final ForkJoinPool forkJoinPool;
+
+    // the names of the types a type refers to and the names of the types that refer to a type, as found in the original schema
+    private final Map<String, Set<String>> referredToTypes = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> referringTypes = new ConcurrentHashMap<>();
+    // the names of the types a copied or inserted type refers to and the names of the types the directives refer to
+    private final Map<String, Set<String>> copiedReferredToTypes = new ConcurrentHashMap<>();
+    private final Set<String> directiveReferredToTypes = ConcurrentHashMap.newKeySet();
+    // the directives that refer to a copied or renamed type
+    private final Set<GraphQLSchemaElement> directivesToRelink = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, String> renamedTypes = new ConcurrentHashMap<>();
+    private final Set<String> deletedTypes = ConcurrentHashMap.newKeySet();
+
+    public SharingSchemaTransformer(GraphQLSchema schema, ForkJoinPool forkJoinPool) {
+        this.schema = assertNotNull(schema);
+        this.forkJoinPool = assertNotNull(forkJoinPool);
+    }
+
+    public GraphQLSchema transform(GraphQLTypeVisitor visitor) {
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry());
+        TypesRoot root = new TypesRoot(schema.getAllTypesAsList(), schema.getDirectives(), schema.getSchemaDirectives(), schema.getSchemaAppliedDirectives());
+
+        TypesRoot transformedRoot = (TypesRoot) TreeParallelTransformer.parallelTransformer(SCHEMA_ELEMENT_ADAPTER, forkJoinPool)
+                .rootVar(GraphQLSchema.class, schema)
+                .rootVar(GraphQLCodeRegistry.Builder.class, codeRegistry)
+                .transform(root, new TransformingVisitor(root, visitor));
+        if (transformedRoot == root && !codeRegistry.hasChanged()) {
+            return schema;
+        }
+
+        Map<String, GraphQLNamedType> transformedTypes = typesByName(transformedRoot);
+        Set<String> insertedTypes = new LinkedHashSet<>(transformedTypes.keySet());
+        Deque<String> changedTypes = new ArrayDeque<>();
+        for (GraphQLNamedType type : root.types) {
+            String newName = newName(type.getName());
+            insertedTypes.remove(newName);
+            if (deletedTypes.contains(type.getName()) || transformedTypes.get(newName) != type) {
+                changedTypes.add(type.getName());
+            }
+        }
+
+        // every type that refers to a changed type, directly or via other types, has to be copied as well
+        Set<String> copiedTypes = new HashSet<>();
+        while (!changedTypes.isEmpty()) {
+            String typeName = changedTypes.poll();
+            if (!deletedTypes.contains(typeName)) {
+                copiedTypes.add(typeName);
+            }
+            for (String referringType : referringTypes.getOrDefault(typeName, Collections.emptySet())) {
+                if (!copiedTypes.contains(referringType) && !deletedTypes.contains(referringType)) {
+                    copiedTypes.add(referringType);
+                    changedTypes.add(referringType);
+                }
+            }
+        }
+        Set<String> typesToRelink = new HashSet<>(insertedTypes);
+        for (String copiedType : copiedTypes) {
+            typesToRelink.add(newName(copiedType));
+        }
+
+        TypesRoot relinkedRoot = (TypesRoot) TreeParallelTransformer.parallelTransformer(SCHEMA_ELEMENT_ADAPTER, forkJoinPool)
+                .transform(transformedRoot, new RelinkingVisitor(transformedRoot, copiedTypes, typesToRelink));
+
+        // the directives that have not been changed and do not refer to a copied type are shared as well
+        Set<GraphQLSchemaElement> originalDirectives = new HashSet<>(root.directives);
+        originalDirectives.addAll(root.schemaDirectives);
+        originalDirectives.addAll(root.schemaAppliedDirectives);
+        relinkedRoot = new TypesRoot(relinkedRoot.types,
+                relinkedOrShared(transformedRoot.directives, relinkedRoot.directives, originalDirectives),
+                relinkedOrShared(transformedRoot.schemaDirectives, relinkedRoot.schemaDirectives, originalDirectives),
+                relinkedOrShared(transformedRoot.schemaAppliedDirectives, relinkedRoot.schemaAppliedDirectives, originalDirectives));
+
+        return rebuildSchema(relinkedRoot, insertedTypes, typesToRelink, originalDirectives, codeRegistry);
+    }
+
+    private <T extends GraphQLSchemaElement> List<T> relinkedOrShared(List<T> transformedDirectives, List<T> relinkedDirectives, Set<GraphQLSchemaElement> originalDirectives) {
+        List<T> directives = new ArrayList<>(transformedDirectives.size());
+        for (int i = 0; i < transformedDirectives.size(); i++) {
+            T directive = transformedDirectives.get(i);
+            boolean relink = !originalDirectives.contains(directive) || directivesToRelink.contains(directive);
+            directives.add(relink ? relinkedDirectives.get(i) : directive);
+        }
+        return directives;
+    }
+
+    private GraphQLSchema rebuildSchema(TypesRoot relinkedRoot, Set<String> insertedTypes, Set<String> typesToRelink, Set<GraphQLSchemaElement> originalDirectives, GraphQLCodeRegistry.Builder codeRegistry) {
+        Map<String, GraphQLNamedType> newTypes = typesByName(relinkedRoot);
+
+        Set<String> additionalTypes = new LinkedHashSet<>(insertedTypes);
+        for (GraphQLType additionalType : schema.getAdditionalTypes()) {
+            String typeName = ((GraphQLNamedType) additionalType).getName();
+            if (!deletedTypes.contains(typeName)) {
+                additionalTypes.add(newName(typeName));
+            }
+        }
+
+        // the copied types only refer to other types by type references, so the types that are still used by the schema
+        // are handed to the builder as additional types
+        Set<String> reachableTypes = new HashSet<>();
+        Deque<String> typesToVisit = new ArrayDeque<>(additionalTypes);
+        typesToVisit.addAll(directiveReferredToTypes);
+        typesToVisit.add(newName(schema.getQueryType().getName()));
+        if (schema.isSupportingMutations()) {
+            typesToVisit.add(newName(schema.getMutationType().getName()));
+        }
+        if (schema.isSupportingSubscriptions()) {
+            typesToVisit.add(newName(schema.getSubscriptionType().getName()));
+        }
+        typesToVisit.add(newName(schema.getIntrospectionSchemaType().getName()));
+        while (!typesToVisit.isEmpty()) {
+            String typeName = typesToVisit.poll();
+            if (!reachableTypes.add(typeName)) {
+                continue;
+            }
+            if (newTypes.containsKey(typeName)) {
+                additionalTypes.add(typeName);
+            }
+            Set<String> referredTo = copiedReferredToTypes.get(typeName);
+            if (referredTo == null) {
+                referredTo = referredToTypes.getOrDefault(typeName, Collections.emptySet());
+            }
+            typesToVisit.addAll(referredTo);
+        }
+
+        Set<GraphQLType> additionalTypeObjects = new LinkedHashSet<>();
+        for (String typeName : additionalTypes) {
+            GraphQLNamedType newType = newTypes.get(typeName);
+            if (newType != null) {
+                additionalTypeObjects.add(newType);
+            }
+        }
+        resolveTypeReferences(relinkedRoot, newTypes, typesToRelink, originalDirectives);
+
+        GraphQLObjectType introspectionSchemaType = (GraphQLObjectType) newTypes.get(newName(schema.getIntrospectionSchemaType().getName()));
+        return GraphQLSchema.newSchema()
+                .query((GraphQLObjectType) newTypes.get(newName(schema.getQueryType().getName())))
+                .mutation(schema.isSupportingMutations() ? (GraphQLObjectType) newTypes.get(newName(schema.getMutationType().getName())) : null)
+                .subscription(schema.isSupportingSubscriptions() ? (GraphQLObjectType) newTypes.get(newName(schema.getSubscriptionType().getName())) : null)
+                .additionalTypes(additionalTypeObjects)
+                .additionalDirectives(new LinkedHashSet<>(relinkedRoot.directives))
+                .introspectionSchemaType(introspectionSchemaType)
+                .withSchemaDirectives(relinkedRoot.schemaDirectives)
+                .withSchemaAppliedDirectives(relinkedRoot.schemaAppliedDirectives)
+                .codeRegistry(codeRegistry.build())
+                .description(schema.getDescription())
+                .typeReferencesResolved(true)
+                .build();
+    }
+
+    /*
+     * The schema builder would resolve the type references of every type, which changes the interfaces of the shared object
+     * and interface types and the members of the shared unions.  So the type references are resolved here instead, within
+     * the copied types and directives, without following the references to the shared types.
+     */
+    private static void resolveTypeReferences(TypesRoot relinkedRoot, Map<String, GraphQLNamedType> newTypes, Set<String> typesToRelink, Set<GraphQLSchemaElement> originalDirectives) {
+        List<GraphQLSchemaElement> copies = new ArrayList<>();
+        for (String typeName : typesToRelink) {
+            GraphQLNamedType copiedType = newTypes.get(typeName);
+            if (copiedType != null) {
+                copies.add(copiedType);
+            }
+        }
+        List<GraphQLSchemaElement> directives = new ArrayList<>(relinkedRoot.directives);
+        directives.addAll(relinkedRoot.schemaDirectives);
+        directives.addAll(relinkedRoot.schemaAppliedDirectives);
+        for (GraphQLSchemaElement directive : directives) {
+            if (!originalDirectives.contains(directive)) {
+                copies.add(directive);
+            }
+        }
+        new SchemaTraverser(element -> filterList(element.getChildrenWithTypeReferences().getChildrenAsList(),
+                child -> !(child instanceof GraphQLNamedType) || child instanceof GraphQLTypeReference))
+                .depthFirst(new GraphQLTypeResolvingVisitor(newTypes), copies);
+    }
+
+    private String newName(String typeName) {
+        return renamedTypes.getOrDefault(typeName, typeName);
+    }
+
+    private static Map<String, GraphQLNamedType> typesByName(TypesRoot root) {
+        Map<String, GraphQLNamedType> typesByName = new LinkedHashMap<>();
+        for (GraphQLNamedType type : root.types) {
+            typesByName.put(type.getName(), type);
+        }
+        return typesByName;
+    }
+
+    // the element directly below the root that the current element belongs to
+    private static GraphQLSchemaElement rootChild(TraverserContext<GraphQLSchemaElement> context, TypesRoot root) {
+        TraverserContext<GraphQLSchemaElement> rootChildContext = context;
+        while (rootChildContext.getParentNode() != root) {
+            rootChildContext = rootChildContext.getParentContext();
+        }
+        return rootChildContext.thisNode();
+    }
+
+    private class TransformingVisitor extends TraverserVisitorStub<GraphQLSchemaElement> {
+        private final TypesRoot root;
+        private final GraphQLTypeVisitor visitor;
+
+        TransformingVisitor(TypesRoot root, GraphQLTypeVisitor visitor) {
+            this.root = root;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public TraversalControl enter(TraverserContext<GraphQLSchemaElement> context) {
+            GraphQLSchemaElement element = context.thisNode();
+            if (element == root) {
+                return CONTINUE;
+            }
+            boolean isRootChild = context.getParentNode() == root;
+            if (!isRootChild && element instanceof GraphQLNamedType) {
+                recordReference(context, ((GraphQLNamedType) element).getName());
+                if (!(element instanceof GraphQLTypeReference)) {
+                    // a named type is visited as a child of the root and not where it is referred to
+                    return ABORT;
+                }
+            }
+            context.setVar(NodeAdapter.class, SCHEMA_ELEMENT_ADAPTER);
+            TraversalControl result = element.accept(context, visitor);
+            if (isRootChild && element instanceof GraphQLNamedType) {
+                String typeName = ((GraphQLNamedType) element).getName();
+                if (context.isDeleted()) {
+                    deletedTypes.add(typeName);
+                } else if (context.isChanged() && context.thisNode() instanceof GraphQLNamedType) {
+                    String newTypeName = ((GraphQLNamedType) context.thisNode()).getName();
+                    if (!typeName.equals(newTypeName)) {
+                        renamedTypes.put(typeName, newTypeName);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void recordReference(TraverserContext<GraphQLSchemaElement> context, String typeName) {
+            GraphQLSchemaElement rootChild = rootChild(context, root);
+            if (rootChild instanceof GraphQLNamedType) {
+                String referringType = ((GraphQLNamedType) rootChild).getName();
+                referredToTypes.computeIfAbsent(referringType, ignored -> ConcurrentHashMap.newKeySet()).add(typeName);
+                referringTypes.computeIfAbsent(typeName, ignored -> ConcurrentHashMap.newKeySet()).add(referringType);
+            }
+        }
+    }
+
+    private class RelinkingVisitor extends TraverserVisitorStub<GraphQLSchemaElement> {
+        private final TypesRoot root;
+        private final Set<String> copiedTypes;
+        private final Set<String> typesToRelink;
+
+        RelinkingVisitor(TypesRoot root, Set<String> copiedTypes, Set<String> typesToRelink) {
+            this.root = root;
+            this.copiedTypes = copiedTypes;
+            this.typesToRelink = typesToRelink;
+        }
+
+        @Override
+        public TraversalControl enter(TraverserContext<GraphQLSchemaElement> context) {
+            GraphQLSchemaElement element = context.thisNode();
+            if (element == root) {
+                return CONTINUE;
+            }
+            if (context.getParentNode() == root) {
+                // the types that are not copied are shared as they are
+                if (element instanceof GraphQLNamedType) {
+                    return typesToRelink.contains(((GraphQLNamedType) element).getName()) ? CONTINUE : ABORT;
+                }
+                return CONTINUE;
+            }
+            if (!(element instanceof GraphQLNamedType)) {
+                return CONTINUE;
+            }
+            context.setVar(NodeAdapter.class, SCHEMA_ELEMENT_ADAPTER);
+            String typeName = ((GraphQLNamedType) element).getName();
+            GraphQLSchemaElement rootChild = rootChild(context, root);
+            if (!(rootChild instanceof GraphQLNamedType) && (copiedTypes.contains(typeName) || renamedTypes.containsKey(typeName) || deletedTypes.contains(typeName))) {
+                directivesToRelink.add(rootChild);
+            }
+            if (deletedTypes.contains(typeName)) {
+                TreeTransformerUtil.deleteNode(context);
+                return ABORT;
+            }
+            recordReference(rootChild, typeName);
+            // a type reference is resolved by replacing the type of the element that holds it, so every element of a copied
+            // type that holds a type is copied with a new type reference, which leaves no shared element to be changed
+            TreeTransformerUtil.changeNode(context, typeRef(newName(typeName)));
+            return ABORT;
+        }
+
+        private void recordReference(GraphQLSchemaElement rootChild, String typeName) {
+            if (rootChild instanceof GraphQLNamedType) {
+                String referringType = ((GraphQLNamedType) rootChild).getName();
+                copiedReferredToTypes.computeIfAbsent(referringType, ignored -> ConcurrentHashMap.newKeySet()).add(newName(typeName));
+            } else {
+                directiveReferredToTypes.add(newName(typeName));
+            }
+        }
+    }
+
+    // artificial schema element whose children are all the types and directives of the schema
+    private static class TypesRoot implements GraphQLSchemaElement {
+
+        static final String TYPES = "types";
+        static final String DIRECTIVES = "directives";
+        static final String SCHEMA_DIRECTIVES = "schemaDirectives";
+        static final String SCHEMA_APPLIED_DIRECTIVES = "schemaAppliedDirectives";
+
+        final List<GraphQLNamedType> types;
+        final List<GraphQLDirective> directives;
+        final List<GraphQLDirective> schemaDirectives;
+        final List<GraphQLAppliedDirective> schemaAppliedDirectives;
+
+        TypesRoot(List<GraphQLNamedType> types,
+                  List<GraphQLDirective> directives,
+                  List<GraphQLDirective> schemaDirectives,
+                  List<GraphQLAppliedDirective> schemaAppliedDirectives) {
+            this.types = types;
+            this.directives = directives;
+            this.schemaDirectives = schemaDirectives;
+            this.schemaAppliedDirectives = schemaAppliedDirectives;
+        }
+
+        @Override
+        public GraphQLSchemaElement copy() {
+            return assertShouldNeverHappen();
+        }
+
+        @Override
+        public List<GraphQLSchemaElement> getChildren() {
+            return assertShouldNeverHappen();
+        }
+
+        @Override
+        public SchemaElementChildrenContainer getChildrenWithTypeReferences() {
+            return newSchemaElementChildrenContainer()
+                    .children(TYPES, types)
+                    .children(DIRECTIVES, directives)
+                    .children(SCHEMA_DIRECTIVES, schemaDirectives)
+                    .children(SCHEMA_APPLIED_DIRECTIVES, schemaAppliedDirectives)
+                    .build();
+        }
+
+        @Override
+        public GraphQLSchemaElement withNewChildren(SchemaElementChildrenContainer newChildren) {
+            return new TypesRoot(newChildren.getChildren(TYPES),
+                    newChildren.getChildren(DIRECTIVES),
+                    newChildren.getChildren(SCHEMA_DIRECTIVES),
+                    newChildren.getChildren(SCHEMA_APPLIED_DIRECTIVES));
+        }
+
+        @Override
+        public TraversalControl accept(TraverserContext<GraphQLSchemaElement> context, GraphQLTypeVisitor visitor) {
+            return assertShouldNeverHappen();
+        }
+    }
+}
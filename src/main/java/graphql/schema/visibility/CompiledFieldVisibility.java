@@ -0,0 +1,225 @@
+package graphql.schema.visibility;
+
+import com.google.common.collect.ImmutableList;
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLNamedSchemaElement;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A field visibility whose blocked fields are worked out once, when it is built, and kept in a bit set over the fields of
+ * a {@link FieldVisibilityIndex}.  Checking the visibility of a field then costs two map look ups and a bit test, rather
+ * than matching regular expressions against the field name on every call like {@link BlockedFields} does.
+ * <p>
+ * Many visibility profiles, say one per tenant, can be built over the same index and share a single schema, via
+ * {@link graphql.schema.GraphQLSchema#transformWithoutTypes(java.util.function.Consumer)} with a code registry that has the
+ * visibility of the profile.  Since validation depends on the visibility, documents that are cached across profiles should
+ * be keyed by the {@link #getProfile() profile} as well, see
+ * {@link graphql.execution.preparsed.CachingPreparsedDocumentProvider.Builder#visibilityProfile(java.util.function.Function)}
+ * <p>
+ * Fields that are not part of the index, for example fields of types that were added to the schema after the index was
+ * built, are visible.
+ */
+@ExperimentalApi
+public class CompiledFieldVisibility implements GraphqlFieldVisibility {
+
+    private final FieldVisibilityIndex index;
+    private final String profile;
+    private final BitSet blockedFields;
+
+    private CompiledFieldVisibility(FieldVisibilityIndex index, String profile, BitSet blockedFields) {
+        this.index = index;
+        this.profile = profile;
+        this.blockedFields = blockedFields;
+    }
+
+    /**
+     * @return the name of the visibility profile, which can be null
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return the index of the fields this visibility has been built over
+     */
+    public FieldVisibilityIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @param typeName  the name of an object, interface or input object type
+     * @param fieldName the name of one of its fields
+     *
+     * @return true if the field is visible
+     */
+    public boolean isVisible(String typeName, String fieldName) {
+        if (blockedFields.isEmpty()) {
+            return true;
+        }
+        int fieldIndex = index.indexOf(typeName, fieldName);
+        return fieldIndex < 0 || !blockedFields.get(fieldIndex);
+    }
+
+    @Override
+    public List<GraphQLFieldDefinition> getFieldDefinitions(GraphQLFieldsContainer fieldsContainer) {
+        List<GraphQLFieldDefinition> fieldDefinitions = fieldsContainer.getFieldDefinitions();
+        if (!hasBlockedFields(fieldsContainer.getName())) {
+            return fieldDefinitions;
+        }
+        return visibleFields(fieldsContainer.getName(), fieldDefinitions);
+    }
+
+    @Override
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLFieldsContainer fieldsContainer, String fieldName) {
+        GraphQLFieldDefinition fieldDefinition = fieldsContainer.getFieldDefinition(fieldName);
+        if (fieldDefinition != null && !isVisible(fieldsContainer.getName(), fieldName)) {
+            return null;
+        }
+        return fieldDefinition;
+    }
+
+    @Override
+    public List<GraphQLInputObjectField> getFieldDefinitions(GraphQLInputFieldsContainer fieldsContainer) {
+        List<GraphQLInputObjectField> fieldDefinitions = fieldsContainer.getFieldDefinitions();
+        if (!hasBlockedFields(fieldsContainer.getName())) {
+            return fieldDefinitions;
+        }
+        return visibleFields(fieldsContainer.getName(), fieldDefinitions);
+    }
+
+    @Override
+    public GraphQLInputObjectField getFieldDefinition(GraphQLInputFieldsContainer fieldsContainer, String fieldName) {
+        GraphQLInputObjectField fieldDefinition = fieldsContainer.getFieldDefinition(fieldName);
+        if (fieldDefinition != null && !isVisible(fieldsContainer.getName(), fieldName)) {
+            return null;
+        }
+        return fieldDefinition;
+    }
+
+    private boolean hasBlockedFields(String typeName) {
+        FieldVisibilityIndex.ContainerFields container = index.getContainerFields(typeName);
+        if (container == null) {
+            return false;
+        }
+        int blockedField = blockedFields.nextSetBit(container.firstIndex);
+        return blockedField >= 0 && blockedField < container.firstIndex + container.fieldCount;
+    }
+
+    private <T extends GraphQLNamedSchemaElement> List<T> visibleFields(String typeName, List<T> fieldDefinitions) {
+        ImmutableList.Builder<T> visibleFields = ImmutableList.builder();
+        for (T fieldDefinition : fieldDefinitions) {
+            if (isVisible(typeName, fieldDefinition.getName())) {
+                visibleFields.add(fieldDefinition);
+            }
+        }
+        return visibleFields.build();
+    }
+
+    /**
+     * @param index the index of the fields of the schema the visibility is for
+     *
+     * @return a new builder of a compiled field visibility
+     */
+    public static Builder newCompiledFieldVisibility(FieldVisibilityIndex index) {
+        return new Builder(index);
+    }
+
+    public static class Builder {
+        private final FieldVisibilityIndex index;
+        private final BitSet blockedFields = new BitSet();
+        private String profile;
+
+        private Builder(FieldVisibilityIndex index) {
+            this.index = assertNotNull(index);
+        }
+
+        /**
+         * @param profile the name of the visibility profile, say the name of a tenant
+         *
+         * @return this builder
+         */
+        public Builder profile(String profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        /**
+         * Blocks a single field, if it is part of the index
+         *
+         * @param fieldCoordinates the coordinates of the field to block
+         *
+         * @return this builder
+         */
+        public Builder blockField(FieldCoordinates fieldCoordinates) {
+            int fieldIndex = index.indexOf(fieldCoordinates.getTypeName(), fieldCoordinates.getFieldName());
+            if (fieldIndex >= 0) {
+                blockedFields.set(fieldIndex);
+            }
+            return this;
+        }
+
+        public Builder blockFields(Collection<FieldCoordinates> fieldCoordinates) {
+            fieldCoordinates.forEach(this::blockField);
+            return this;
+        }
+
+        /**
+         * Blocks every field of the index that the given predicate matches, which is called once per field
+         *
+         * @param predicate the predicate of the fields to block
+         *
+         * @return this builder
+         */
+        public Builder blockFieldsMatching(Predicate<FieldCoordinates> predicate) {
+            List<FieldCoordinates> fieldCoordinates = index.getFieldCoordinates();
+            for (int i = 0; i < fieldCoordinates.size(); i++) {
+                if (predicate.test(fieldCoordinates.get(i))) {
+                    blockedFields.set(i);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Blocks every field whose fully qualified name, such as "User.firstName", matches the given regular expression,
+         * just like {@link BlockedFields.Builder#addPattern(String)}
+         *
+         * @param regexPattern the pattern of the fields to block
+         *
+         * @return this builder
+         */
+        public Builder addPattern(String regexPattern) {
+            return addCompiledPattern(Pattern.compile(regexPattern));
+        }
+
+        public Builder addPatterns(Collection<String> regexPatterns) {
+            regexPatterns.forEach(this::addPattern);
+            return this;
+        }
+
+        public Builder addCompiledPattern(Pattern regex) {
+            return blockFieldsMatching(fieldCoordinates -> regex.matcher(fieldCoordinates.getTypeName() + "." + fieldCoordinates.getFieldName()).matches());
+        }
+
+        public Builder addCompiledPatterns(Collection<Pattern> regexes) {
+            regexes.forEach(this::addCompiledPattern);
+            return this;
+        }
+
+        public CompiledFieldVisibility build() {
+            return new CompiledFieldVisibility(index, profile, (BitSet) blockedFields.clone());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package graphql.schema.visibility;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * Gives every field and input field of a schema a number, so that the visibility of the fields can be kept in a bit set
+ * by a {@link CompiledFieldVisibility}.
+ * <p>
+ * The fields of a type are numbered one after the other.  An index is built once per schema and can then be shared by
+ * any number of visibility profiles.
+ */
+@ExperimentalApi
+public class FieldVisibilityIndex {
+
+    private final ImmutableMap<String, ContainerFields> containers;
+    private final ImmutableList<FieldCoordinates> fieldCoordinates;
+
+    private FieldVisibilityIndex(ImmutableMap<String, ContainerFields> containers, ImmutableList<FieldCoordinates> fieldCoordinates) {
+        this.containers = containers;
+        this.fieldCoordinates = fieldCoordinates;
+    }
+
+    /**
+     * Numbers the fields of the given schema
+     *
+     * @param schema the schema to index
+     *
+     * @return the index of the fields of the schema
+     */
+    public static FieldVisibilityIndex newFieldVisibilityIndex(GraphQLSchema schema) {
+        assertNotNull(schema);
+        ImmutableMap.Builder<String, ContainerFields> containers = ImmutableMap.builder();
+        ImmutableList.Builder<FieldCoordinates> fieldCoordinates = ImmutableList.builder();
+        int nextIndex = 0;
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            ImmutableMap.Builder<String, Integer> offsets = ImmutableMap.builder();
+            int offset = 0;
+            if (type instanceof GraphQLFieldsContainer) {
+                for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    offsets.put(fieldDefinition.getName(), offset++);
+                    fieldCoordinates.add(coordinates(type.getName(), fieldDefinition.getName()));
+                }
+            } else if (type instanceof GraphQLInputFieldsContainer) {
+                for (GraphQLInputObjectField inputField : ((GraphQLInputFieldsContainer) type).getFieldDefinitions()) {
+                    offsets.put(inputField.getName(), offset++);
+                    fieldCoordinates.add(coordinates(type.getName(), inputField.getName()));
+                }
+            } else {
+                continue;
+            }
+            containers.put(type.getName(), new ContainerFields(nextIndex, offset, offsets.build()));
+            nextIndex += offset;
+        }
+        return new FieldVisibilityIndex(containers.build(), fieldCoordinates.build());
+    }
+
+    /**
+     * @param typeName  the name of an object, interface or input object type
+     * @param fieldName the name of one of its fields
+     *
+     * @return the number of the field or -1 if the field is not part of the index
+     */
+    public int indexOf(String typeName, String fieldName) {
+        ContainerFields container = containers.get(typeName);
+        if (container == null) {
+            return -1;
+        }
+        Integer offset = container.offsets.get(fieldName);
+        return offset == null ? -1 : container.firstIndex + offset;
+    }
+
+    /**
+     * @return the number of fields in the index
+     */
+    public int size() {
+        return fieldCoordinates.size();
+    }
+
+    /**
+     * @return the coordinates of all fields in the index, where the position of a field in the list is its number
+     */
+    public List<FieldCoordinates> getFieldCoordinates() {
+        return fieldCoordinates;
+    }
+
+    ContainerFields getContainerFields(String typeName) {
+        return containers.get(typeName);
+    }
+
+    static class ContainerFields {
+        final int firstIndex;
+        final int fieldCount;
+        final ImmutableMap<String, Integer> offsets;
+
+        ContainerFields(int firstIndex, int fieldCount, ImmutableMap<String, Integer> offsets) {
+            this.firstIndex = firstIndex;
+            this.fieldCount = fieldCount;
+            this.offsets = offsets;
+        }
+    }
+}
@@ -24,13 +24,25 @@ public class InterThreadMemoizedSupplier<T> implements Supplier<T> {
 
     @Override
     public T get() {
+        return get(delegate);
+    }
+
+    /**
+     * Returns the memoized value, which is computed by the given supplier rather than by the delegate if it has not
+     * been computed yet
+     *
+     * @param supplier the supplier of the value
+     *
+     * @return the memoized value
+     */
+    public T get(Supplier<T> supplier) {
         if (!initialized) {
             lock.lock();
             try {
                 if (initialized) {
                     return value;
                 }
-                value = delegate.get();
+                value = supplier.get();
                 initialized = true;
                 return value;
             } finally {
@@ -49,6 +49,25 @@ public class LockKit {
                 lock.unlock();
             }
         }
+
+        /**
+         * Runs the code inside the lock only if the lock is free, so that the calling thread never waits for it
+         *
+         * @param codeToRun the code to run
+         *
+         * @return true if the code was run
+         */
+        public boolean tryRunLocked(Runnable codeToRun) {
+            if (!lock.tryLock()) {
+                return false;
+            }
+            try {
+                codeToRun.run();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
 
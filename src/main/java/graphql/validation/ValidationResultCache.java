@@ -0,0 +1,162 @@
+package graphql.validation;
+
+import com.google.common.collect.ImmutableList;
+import graphql.ExperimentalApi;
+import graphql.execution.preparsed.PreparsedDocumentCache;
+import graphql.schema.GraphQLSchema;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A bounded cache of validation outcomes, so that ad-hoc queries that are sent again and again are only validated once,
+ * without having to cache whole documents via a {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+ * <p>
+ * Outcomes are keyed by the schema, the query text and the locale the error messages were produced in.  Since the query text
+ * is exactly what the document and the source locations of its errors are derived from, a cached outcome is identical to
+ * validating the document again.  The schema is compared by identity and only weakly held, so one cache can be shared by
+ * the {@link graphql.GraphQL} instances of many schemas, and a schema that is reloaded or dropped never has outcomes of
+ * another schema served.  The outcomes of a schema that is no longer used are evicted like any other unpopular outcome.
+ * <p>
+ * Looking up an outcome takes no lock, and the cache admits and evicts outcomes the way a
+ * {@link graphql.execution.preparsed.CachingPreparsedDocumentProvider} does with documents.
+ * <p>
+ * Like a caching {@link graphql.execution.preparsed.PreparsedDocumentProvider}, this assumes that an instrumentation which
+ * rewrites documents rewrites the same query text the same way every time.
+ *
+ * @see graphql.GraphQL.Builder#validationResultCache(ValidationResultCache)
+ */
+@ExperimentalApi
+public class ValidationResultCache {
+
+    /**
+     * By default the cache holds the outcome of up to 1000 queries
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final PreparsedDocumentCache<Key, List<ValidationError>> outcomes;
+
+    public ValidationResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of validation outcomes held by the cache
+     */
+    public ValidationResultCache(int maximumSize) {
+        assertTrue(maximumSize > 0, () -> "maximumSize must be greater than zero");
+        // every outcome weighs one, so the maximum weight is the maximum number of outcomes
+        this.outcomes = new PreparsedDocumentCache<>(maximumSize);
+    }
+
+    /**
+     * Returns the cached validation outcome of the query, or validates it and caches the outcome.  Concurrent first requests
+     * of the same query may each validate it.
+     *
+     * @param schema     the schema the query is validated against
+     * @param query      the query text the validated document was parsed from
+     * @param locale     the locale of the validation error messages
+     * @param validation the validation to run on a cache miss
+     *
+     * @return the validation errors of the query, empty if it is valid
+     */
+    public List<ValidationError> validate(GraphQLSchema schema, String query, Locale locale, Supplier<List<ValidationError>> validation) {
+        assertNotNull(schema);
+        assertNotNull(query);
+        List<ValidationError> outcome = outcomes.get(Key.lookupKey(schema, query, locale));
+        if (outcome != null) {
+            return outcome;
+        }
+        List<ValidationError> validationErrors = ImmutableList.copyOf(validation.get());
+        outcomes.put(Key.storedKey(schema, query, locale), validationErrors, 1);
+        return validationErrors;
+    }
+
+    /**
+     * @return the number of validation outcomes currently cached
+     */
+    public int size() {
+        return outcomes.getStats().getEntryCount();
+    }
+
+    /**
+     * @return the number of lookups that were served from the cache
+     */
+    public long getHitCount() {
+        return outcomes.getStats().getHitCount();
+    }
+
+    /**
+     * @return the number of lookups that had to validate the query
+     */
+    public long getMissCount() {
+        return outcomes.getStats().getMissCount();
+    }
+
+    /**
+     * Removes all cached validation outcomes
+     */
+    public void invalidateAll() {
+        outcomes.invalidateAll();
+    }
+
+    /*
+     * The key of an outcome.  A key that is looked up holds its schema strongly, as it only lives as long as the lookup,
+     * while a key that is cached holds its schema weakly.
+     */
+    private static class Key {
+        private final GraphQLSchema schema;
+        private final WeakReference<GraphQLSchema> weakSchema;
+        private final String query;
+        private final Locale locale;
+        private final int hashCode;
+
+        private Key(GraphQLSchema schema, WeakReference<GraphQLSchema> weakSchema, String query, Locale locale, int schemaHashCode) {
+            this.schema = schema;
+            this.weakSchema = weakSchema;
+            this.query = query;
+            this.locale = locale;
+            this.hashCode = 31 * schemaHashCode + Objects.hash(query, locale);
+        }
+
+        static Key lookupKey(GraphQLSchema schema, String query, Locale locale) {
+            return new Key(schema, null, query, locale, System.identityHashCode(schema));
+        }
+
+        static Key storedKey(GraphQLSchema schema, String query, Locale locale) {
+            return new Key(null, new WeakReference<>(schema), query, locale, System.identityHashCode(schema));
+        }
+
+        private GraphQLSchema schema() {
+            return schema != null ? schema : weakSchema.get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            if (hashCode != key.hashCode || !query.equals(key.query) || !Objects.equals(locale, key.locale)) {
+                return false;
+            }
+            // the key of a schema that has been garbage collected is only equal to itself
+            GraphQLSchema schema = schema();
+            return schema != null && schema == key.schema();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
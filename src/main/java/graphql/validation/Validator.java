@@ -5,6 +5,7 @@ import graphql.ExperimentalApi;
 import graphql.Internal;
 import graphql.i18n.I18n;
 import graphql.language.Document;
+import graphql.language.SourceLocation;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.rules.ArgumentsOfCorrectType;
 import graphql.validation.rules.DeferDirectiveLabel;
@@ -38,9 +39,15 @@ import graphql.validation.rules.VariableTypesMatch;
 import graphql.validation.rules.VariablesAreInputTypes;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Internal
@@ -48,6 +55,17 @@ public class Validator {
 
     static int MAX_VALIDATION_ERRORS = 100;
 
+    /*
+     * The rule groups of parallel validation.  Overlapping field checking is by far the most expensive rule on large documents
+     * so it gets a group of its own, the rules that visit fragment spreads re-walk every fragment for every operation that
+     * uses it and every other rule is cheap
+     */
+    private static final int RULE_GROUP_COUNT = 3;
+
+    private static final Comparator<ValidationError> BY_LOCATION = Comparator.comparing(
+            Validator::firstLocation,
+            Comparator.nullsLast(Comparator.comparingInt(SourceLocation::getLine).thenComparingInt(SourceLocation::getColumn)));
+
     /**
      * `graphql-java` will stop validation after a maximum number of validation messages has been reached.  Attackers
      * can send pathologically invalid queries to induce a Denial of Service attack and fill memory with 10000s of errors
@@ -71,12 +89,99 @@ public class Validator {
 
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale) {
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, locale);
+        return validateRules(schema, document, i18n, rule -> applyRule.test(rule.getClass()));
+    }
+
+    /**
+     * Validates the document with the rules split into groups that are validated in parallel on the given executor.  Each group
+     * traverses the document on its own, so this only pays off for large documents, where it brings validation time down
+     * towards the time of the most expensive group.
+     * <p>
+     * The same errors are found as by {@link #validateDocument(GraphQLSchema, Document, Predicate, Locale)}, but they are
+     * ordered by their source location (and then by rule group) so that the order does not depend on which group finishes first.
+     *
+     * @param schema    the schema to validate against
+     * @param document  the document to validate
+     * @param applyRule decides which rules will be applied
+     * @param locale    the locale of the error messages
+     * @param executor  the executor the rule groups are validated on or null to validate them all on the calling thread
+     *
+     * @return the validation errors
+     */
+    @ExperimentalApi
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Predicate<Class<?>> applyRule, Locale locale, Executor executor) {
+        if (executor == null) {
+            return validateDocument(schema, document, applyRule, locale);
+        }
+        I18n i18n = I18n.i18n(I18n.BundleType.Validation, locale);
+
+        List<CompletableFuture<List<ValidationError>>> groupErrors = new ArrayList<>();
+        for (int group = 0; group < RULE_GROUP_COUNT; group++) {
+            int ruleGroup = group;
+            Supplier<List<ValidationError>> validateGroup = () -> validateRules(schema, document, i18n,
+                    rule -> ruleGroup(rule) == ruleGroup && applyRule.test(rule.getClass()));
+            if (ruleGroup == RULE_GROUP_COUNT - 1) {
+                // the calling thread would only wait otherwise, so it validates the last group itself
+                groupErrors.add(CompletableFuture.completedFuture(validateGroup.get()));
+            } else {
+                groupErrors.add(supplyAsyncOrRunHere(validateGroup, executor));
+            }
+        }
+
+        List<ValidationError> errors = new ArrayList<>();
+        for (CompletableFuture<List<ValidationError>> groupError : groupErrors) {
+            try {
+                errors.addAll(groupError.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        errors.sort(BY_LOCATION);
+
+        // a group that reached the maximum errors ends with a location-less max errors reached error, which the sort keeps
+        // behind that group's other errors, so going through a collector cuts the merged errors down to the maximum again
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(MAX_VALIDATION_ERRORS);
+        try {
+            errors.forEach(validationErrorCollector::addError);
+        } catch (ValidationErrorCollector.MaxValidationErrorsReached ignored) {
+            // the collector has added the max errors reached error
+        }
+        return validationErrorCollector.getErrors();
+    }
+
+    private static int ruleGroup(AbstractRule rule) {
+        if (rule instanceof OverlappingFieldsCanBeMerged) {
+            return 0;
+        }
+        return rule.isVisitFragmentSpreads() ? 1 : 2;
+    }
+
+    private static SourceLocation firstLocation(ValidationError error) {
+        List<SourceLocation> locations = error.getLocations();
+        return locations == null || locations.isEmpty() ? null : locations.get(0);
+    }
+
+    private static <T> CompletableFuture<T> supplyAsyncOrRunHere(Supplier<T> supplier, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(supplier.get());
+        }
+    }
+
+    private List<ValidationError> validateRules(GraphQLSchema schema, Document document, I18n i18n, Predicate<AbstractRule> applyRule) {
         ValidationContext validationContext = new ValidationContext(schema, document, i18n);
 
         ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(MAX_VALIDATION_ERRORS);
         List<AbstractRule> rules = createRules(validationContext, validationErrorCollector);
         // filter out any rules they don't want applied
-        rules = rules.stream().filter(r -> applyRule.test(r.getClass())).collect(Collectors.toList());
+        rules = rules.stream().filter(applyRule).collect(Collectors.toList());
+        if (rules.isEmpty()) {
+            return validationErrorCollector.getErrors();
+        }
         LanguageTraversal languageTraversal = new LanguageTraversal();
         try {
             languageTraversal.traverse(document, new RulesVisitor(validationContext, rules));
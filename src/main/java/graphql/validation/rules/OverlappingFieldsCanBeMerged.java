@@ -26,6 +26,9 @@ import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -52,21 +55,51 @@ import static java.lang.String.format;
 @Internal
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
+    /**
+     * The number of fields that are compared per document, after which the document is rejected rather than validated further
+     */
+    public static final int MAX_FIELD_COMPARISONS = 1_000_000;
 
     private final Set<Set<FieldAndType>> sameResponseShapeChecked = new LinkedHashSet<>();
     private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new LinkedHashSet<>();
     private final Set<Set<Field>> conflictsReported = new LinkedHashSet<>();
 
+    /*
+     * The fields of a fragment only depend on the fragment, since its type condition is the parent type of its fields, and the
+     * sub selection fields of a field only depend on the field.  They are collected once per document rather than every time the
+     * fragment is spread or the field is part of a merge, which is what goes quadratic on documents that reuse fragments a lot.
+     */
+    private final Map<String, Map<String, Set<FieldAndType>>> fragmentFields = new HashMap<>();
+    private final Set<String> fragmentsBeingCollected = new HashSet<>();
+    private final Map<Field, CollectedFields> subSelectionFields = new IdentityHashMap<>();
+
+    /*
+     * Two fragments spread next to each other are compared once per document and kind of check, no matter how many selection
+     * sets spread them together, as the fields of a fragment do not depend on where it is spread
+     */
+    private final Set<FragmentPair> comparedFragmentPairs = new HashSet<>();
+
+    private final int maxFieldComparisons;
+    private int fieldComparisons;
+    private boolean tooManyFieldComparisons;
+
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
+        this(validationContext, validationErrorCollector, MAX_FIELD_COMPARISONS);
+    }
+
+    OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector, int maxFieldComparisons) {
         super(validationContext, validationErrorCollector);
+        this.maxFieldComparisons = maxFieldComparisons;
     }
 
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-        collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
-        List<Conflict> conflicts = findConflicts(fieldMap);
+        if (tooManyFieldComparisons) {
+            return;
+        }
+        CollectedFields collectedFields = new CollectedFields();
+        collectFields(collectedFields, selectionSet, getValidationContext().getOutputType());
+        List<Conflict> conflicts = findConflicts(collectedFields);
         for (Conflict conflict : conflicts) {
             if (conflictsReported.contains(conflict.fields)) {
                 continue;
@@ -76,34 +109,75 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             // queryPath is null for the first selection set
             addError(FieldsConflict, conflict.fields, conflict.reason);
         }
+        if (tooManyFieldComparisons) {
+            addError(FieldsConflict, selectionSet.getSourceLocation(), i18n(FieldsConflict, "OverlappingFieldsCanBeMerged.tooManyFieldComparisons", maxFieldComparisons));
+        }
     }
 
-    private void collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
+    /*
+     * The names of the spread fragments are recorded next to their fields, so that the fields of the fragments can be told
+     * apart from the fields of the selection set itself when they are compared
+     */
+    private void collectFields(CollectedFields collectedFields, SelectionSet selectionSet, GraphQLType parentType) {
 
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
-                collectFieldsForField(fieldMap, parentType, (Field) selection);
+                collectFieldsForField(collectedFields, parentType, (Field) selection);
 
             } else if (selection instanceof InlineFragment) {
-                collectFieldsForInlineFragment(fieldMap, visitedFragmentSpreads, parentType, (InlineFragment) selection);
+                collectFieldsForInlineFragment(collectedFields, parentType, (InlineFragment) selection);
 
             } else if (selection instanceof FragmentSpread) {
-                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, (FragmentSpread) selection);
+                collectFieldsForFragmentSpread(collectedFields, (FragmentSpread) selection);
             }
         }
     }
 
-    private void collectFieldsForFragmentSpread(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, FragmentSpread fragmentSpread) {
+    private void collectFieldsForFragmentSpread(CollectedFields collectedFields, FragmentSpread fragmentSpread) {
         FragmentDefinition fragment = getValidationContext().getFragment(fragmentSpread.getName());
         if (fragment == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!collectedFields.fragmentNames.add(fragment.getName())) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
+        addAllFields(collectedFields.fields, getFragmentFields(fragment));
+    }
+
+    private Map<String, Set<FieldAndType>> getFragmentFields(String fragmentName) {
+        return getFragmentFields(getValidationContext().getFragment(fragmentName));
+    }
+
+    private Map<String, Set<FieldAndType>> getFragmentFields(FragmentDefinition fragment) {
+        Map<String, Set<FieldAndType>> fields = fragmentFields.get(fragment.getName());
+        if (fields != null) {
+            return fields;
+        }
+        if (!fragmentsBeingCollected.add(fragment.getName())) {
+            // a fragment cycle, which is reported by NoFragmentCycles.  The fragments of the cycle are still memoized
+            // without each other's fields, so that cycles can not make the collecting work grow exponentially
+            return Collections.emptyMap();
+        }
+        CollectedFields collectedFields = new CollectedFields();
         GraphQLType graphQLType = getGraphQLTypeForFragmentDefinition(fragment);
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        collectFields(collectedFields, fragment.getSelectionSet(), graphQLType);
+        fragmentsBeingCollected.remove(fragment.getName());
+        fragmentFields.put(fragment.getName(), collectedFields.fields);
+        return collectedFields.fields;
+    }
+
+    /*
+     * The sets of the memoized field maps are shared, so they are copied rather than added to
+     */
+    private void addAllFields(Map<String, Set<FieldAndType>> fieldMap, Map<String, Set<FieldAndType>> fieldsToAdd) {
+        for (Map.Entry<String, Set<FieldAndType>> entry : fieldsToAdd.entrySet()) {
+            Set<FieldAndType> fields = fieldMap.get(entry.getKey());
+            if (fields == null) {
+                fieldMap.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+            } else {
+                fields.addAll(entry.getValue());
+            }
+        }
     }
 
     private GraphQLType getGraphQLTypeForFragmentDefinition(FragmentDefinition fragment) {
@@ -111,9 +185,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
                 fragment.getTypeCondition());
     }
 
-    private void collectFieldsForInlineFragment(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, GraphQLType parentType, InlineFragment inlineFragment) {
+    private void collectFieldsForInlineFragment(CollectedFields collectedFields, GraphQLType parentType, InlineFragment inlineFragment) {
         GraphQLType graphQLType = getGraphQLTypeForInlineFragment(parentType, inlineFragment);
-        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        collectFields(collectedFields, inlineFragment.getSelectionSet(), graphQLType);
     }
 
     private GraphQLType getGraphQLTypeForInlineFragment(GraphQLType parentType, InlineFragment inlineFragment) {
@@ -123,11 +197,8 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return TypeFromAST.getTypeFromAST(getValidationContext().getSchema(), inlineFragment.getTypeCondition());
     }
 
-    private void collectFieldsForField(Map<String, Set<FieldAndType>> fieldMap, GraphQLType parentType, Field field) {
+    private void collectFieldsForField(CollectedFields collectedFields, GraphQLType parentType, Field field) {
         String responseName = field.getResultKey();
-        if (!fieldMap.containsKey(responseName)) {
-            fieldMap.put(responseName, new LinkedHashSet<>());
-        }
         GraphQLOutputType fieldType = null;
         GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
         if (unwrappedParent instanceof GraphQLFieldsContainer) {
@@ -135,7 +206,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
             fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
         }
-        fieldMap.get(responseName).add(new FieldAndType(field, fieldType, unwrappedParent));
+        FieldAndType fieldAndType = new FieldAndType(field, fieldType, unwrappedParent);
+        collectedFields.fields.computeIfAbsent(responseName, key -> new LinkedHashSet<>()).add(fieldAndType);
+        collectedFields.ownFields.computeIfAbsent(responseName, key -> new LinkedHashSet<>()).add(fieldAndType);
     }
 
     private GraphQLFieldDefinition getVisibleFieldDefinition(GraphQLFieldsContainer fieldsContainer, Field field) {
@@ -143,52 +216,45 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
 
-    private List<Conflict> findConflicts(Map<String, Set<FieldAndType>> fieldMap) {
+    private List<Conflict> findConflicts(CollectedFields collectedFields) {
         /*
          * The algorithm implemented here is not the one from the Spec, but is based on
          * https://tech.xing.com/graphql-overlapping-fields-can-be-merged-fast-ea6e92e0a01
          * . It is not the final version (Listing 11), but Listing 10 adopted to this code base.
+         *
+         * The response shape check is the comparison of mutually exclusive fields, the common parents check the one of fields
+         * that are not, which is what the compared fragment pairs are keyed by.
          */
         List<Conflict> result = new ArrayList<>();
-        sameResponseShapeByName(fieldMap, emptyList(), result);
-        sameForCommonParentsByName(fieldMap, emptyList(), result);
+        List<CollectedFields> fieldSources = Collections.singletonList(collectedFields);
+        sameResponseShapeByName(fieldSources, emptyList(), result);
+        sameForCommonParentsByName(fieldSources, emptyList(), result);
         return result;
     }
 
-    private void sameResponseShapeByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
-        for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
-            if (sameResponseShapeChecked.contains(entry.getValue())) {
+    private void sameResponseShapeByName(List<CollectedFields> fieldSources, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
+        for (String responseName : responseNamesToCheck(fieldSources, true)) {
+            Set<FieldAndType> fields = fieldsNamed(fieldSources, responseName);
+            if (fields.size() < 2 || sameResponseShapeChecked.contains(fields) || !countFieldComparisons(fields.size())) {
                 continue;
             }
-            ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
-            sameResponseShapeChecked.add(entry.getValue());
-            Conflict conflict = requireSameOutputTypeShape(newPath, entry.getValue());
+            ImmutableList<String> newPath = addToList(currentPath, responseName);
+            sameResponseShapeChecked.add(fields);
+            Conflict conflict = requireSameOutputTypeShape(newPath, fields);
             if (conflict != null) {
                 conflictsResult.add(conflict);
                 continue;
             }
-            Map<String, Set<FieldAndType>> subSelections = mergeSubSelections(entry.getValue());
-            sameResponseShapeByName(subSelections, newPath, conflictsResult);
-        }
-    }
-
-    private Map<String, Set<FieldAndType>> mergeSubSelections(Set<FieldAndType> sameNameFields) {
-        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        for (FieldAndType fieldAndType : sameNameFields) {
-            if (fieldAndType.field.getSelectionSet() != null) {
-                Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-                collectFields(fieldMap, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType, visitedFragmentSpreads);
-            }
+            sameResponseShapeByName(subSelectionFieldSources(fields), newPath, conflictsResult);
         }
-        return fieldMap;
     }
 
-    private void sameForCommonParentsByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
-        for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
-            List<Set<FieldAndType>> groups = groupByCommonParents(entry.getValue());
-            ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
+    private void sameForCommonParentsByName(List<CollectedFields> fieldSources, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
+        for (String responseName : responseNamesToCheck(fieldSources, false)) {
+            List<Set<FieldAndType>> groups = groupByCommonParents(fieldsNamed(fieldSources, responseName));
+            ImmutableList<String> newPath = addToList(currentPath, responseName);
             for (Set<FieldAndType> group : groups) {
-                if (sameForCommonParentsChecked.contains(group)) {
+                if (group.size() < 2 || sameForCommonParentsChecked.contains(group) || !countFieldComparisons(group.size())) {
                     continue;
                 }
                 sameForCommonParentsChecked.add(group);
@@ -197,12 +263,112 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
                     conflictsResult.add(conflict);
                     continue;
                 }
-                Map<String, Set<FieldAndType>> subSelections = mergeSubSelections(group);
-                sameForCommonParentsByName(subSelections, newPath, conflictsResult);
+                sameForCommonParentsByName(subSelectionFieldSources(group), newPath, conflictsResult);
+            }
+        }
+    }
+
+    /*
+     * Every selection set and fragment is checked on its own when it is left, so the only response names left to check are the
+     * ones that come from more than one field of the selection sets themselves, or from them and a fragment, or from two
+     * fragments that were not compared before.  A single field can not conflict with anything, as its own sub selection has
+     * been checked when it was left.
+     */
+    private Set<String> responseNamesToCheck(List<CollectedFields> fieldSources, boolean areMutuallyExclusive) {
+        Map<String, Integer> ownFieldCounts = new LinkedHashMap<>();
+        Set<String> fragmentNames = new LinkedHashSet<>();
+        for (CollectedFields fieldSource : fieldSources) {
+            for (Map.Entry<String, Set<FieldAndType>> entry : fieldSource.ownFields.entrySet()) {
+                ownFieldCounts.merge(entry.getKey(), entry.getValue().size(), Integer::sum);
+            }
+            fragmentNames.addAll(fieldSource.fragmentNames);
+        }
+        countFieldComparisons(ownFieldCounts.size());
+        List<Map<String, Set<FieldAndType>>> fragments = new ArrayList<>(fragmentNames.size());
+        for (String fragmentName : fragmentNames) {
+            fragments.add(getFragmentFields(fragmentName));
+        }
+
+        Set<String> responseNames = new LinkedHashSet<>();
+        for (Map.Entry<String, Integer> entry : ownFieldCounts.entrySet()) {
+            if (entry.getValue() > 1 || anyContains(fragments, entry.getKey())) {
+                responseNames.add(entry.getKey());
+            }
+        }
+        List<String> fragmentNameList = new ArrayList<>(fragmentNames);
+        for (int i = 0; i < fragments.size(); i++) {
+            for (int j = i + 1; j < fragments.size(); j++) {
+                if (comparedFragmentPairs.add(new FragmentPair(fragmentNameList.get(i), fragmentNameList.get(j), areMutuallyExclusive))) {
+                    addCommonResponseNames(responseNames, fragments.get(i), fragments.get(j));
+                }
+            }
+        }
+        return responseNames;
+    }
+
+    private boolean anyContains(List<Map<String, Set<FieldAndType>>> fragments, String responseName) {
+        countFieldComparisons(fragments.size());
+        for (Map<String, Set<FieldAndType>> fragment : fragments) {
+            if (fragment.containsKey(responseName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addCommonResponseNames(Set<String> responseNames, Map<String, Set<FieldAndType>> fragmentA, Map<String, Set<FieldAndType>> fragmentB) {
+        Map<String, Set<FieldAndType>> smaller = fragmentA.size() <= fragmentB.size() ? fragmentA : fragmentB;
+        Map<String, Set<FieldAndType>> larger = smaller == fragmentA ? fragmentB : fragmentA;
+        countFieldComparisons(smaller.size());
+        for (String responseName : smaller.keySet()) {
+            if (larger.containsKey(responseName)) {
+                responseNames.add(responseName);
             }
         }
     }
 
+    private Set<FieldAndType> fieldsNamed(List<CollectedFields> fieldSources, String responseName) {
+        Set<FieldAndType> fields = new LinkedHashSet<>();
+        for (CollectedFields fieldSource : fieldSources) {
+            Set<FieldAndType> fieldsOfSource = fieldSource.fields.get(responseName);
+            if (fieldsOfSource != null) {
+                fields.addAll(fieldsOfSource);
+            }
+        }
+        return fields;
+    }
+
+    private List<CollectedFields> subSelectionFieldSources(Set<FieldAndType> sameNameFields) {
+        List<CollectedFields> fieldSources = new ArrayList<>(sameNameFields.size());
+        for (FieldAndType fieldAndType : sameNameFields) {
+            if (fieldAndType.field.getSelectionSet() != null) {
+                fieldSources.add(getSubSelectionFields(fieldAndType));
+            }
+        }
+        return fieldSources;
+    }
+
+    private CollectedFields getSubSelectionFields(FieldAndType fieldAndType) {
+        CollectedFields fields = subSelectionFields.get(fieldAndType.field);
+        if (fields == null) {
+            fields = new CollectedFields();
+            collectFields(fields, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType);
+            subSelectionFields.put(fieldAndType.field, fields);
+        }
+        return fields;
+    }
+
+    /*
+     * Bounds the work per document: once the budget is used up nothing more is compared and the document is rejected
+     */
+    private boolean countFieldComparisons(int comparisons) {
+        fieldComparisons += comparisons;
+        if (fieldComparisons > maxFieldComparisons) {
+            tooManyFieldComparisons = true;
+        }
+        return !tooManyFieldComparisons;
+    }
+
     private List<Set<FieldAndType>> groupByCommonParents(Set<FieldAndType> fields) {
         Set<FieldAndType> abstractTypes = filterSet(fields, fieldAndType -> isInterfaceOrUnion(fieldAndType.parentType));
         Set<FieldAndType> concreteTypes = filterSet(fields, fieldAndType -> fieldAndType.parentType instanceof GraphQLObjectType);
@@ -395,5 +561,44 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         }
     }
 
+    /*
+     * The fields of a selection set, with the fields of its fragment spreads, and apart from that the fields that are selected
+     * directly or via inline fragments and the names of the spread fragments
+     */
+    private static class CollectedFields {
+        final Map<String, Set<FieldAndType>> fields = new LinkedHashMap<>();
+        final Map<String, Set<FieldAndType>> ownFields = new LinkedHashMap<>();
+        final Set<String> fragmentNames = new LinkedHashSet<>();
+    }
+
+    private static class FragmentPair {
+        final String fragmentA;
+        final String fragmentB;
+        final boolean areMutuallyExclusive;
+
+        FragmentPair(String fragmentA, String fragmentB, boolean areMutuallyExclusive) {
+            // the pair is not ordered
+            boolean ordered = fragmentA.compareTo(fragmentB) <= 0;
+            this.fragmentA = ordered ? fragmentA : fragmentB;
+            this.fragmentB = ordered ? fragmentB : fragmentA;
+            this.areMutuallyExclusive = areMutuallyExclusive;
+        }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FragmentPair that = (FragmentPair) o;
+            return areMutuallyExclusive == that.areMutuallyExclusive && fragmentA.equals(that.fragmentA) && fragmentB.equals(that.fragmentB);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fragmentA, fragmentB, areMutuallyExclusive);
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package graphql.analysis
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.AbortExecutionException
+import graphql.execution.CoercedVariables
+import graphql.execution.ExecutionContext
+import graphql.execution.instrumentation.ChainedInstrumentation
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.language.Document
+import graphql.parser.Parser
+import graphql.schema.FieldCoordinates
+import spock.lang.Specification
+
+class QueryAnalysisTest extends Specification {
+
+    def schema = TestUtil.schema("""
+            type Query{
+                foo: Foo
+                bar(arg: Int): String
+            }
+            type Foo {
+                scalar: String
+                foo: Foo
+            }
+        """)
+
+    Document createQuery(String query) {
+        Parser parser = new Parser()
+        parser.parseDocument(query)
+    }
+
+    def "has the same depth and complexity as a walk per protection"() {
+        def query = createQuery("""
+            query q {
+                f2: foo {scalar foo{scalar __typename}}
+                f1: foo { foo {foo {foo {foo{foo{scalar}}}}}}
+                bar(arg: 1)
+            }
+            """)
+        FieldComplexityCalculator fieldComplexityCalculator = { env, childComplexity -> env.getField().getName() == "foo" ? 10 + childComplexity : 1 }
+
+        when:
+        def queryAnalysis = QueryAnalysis.analyseQuery(schema, query, null, CoercedVariables.emptyVariables())
+        def expectedComplexity = QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator(fieldComplexityCalculator).schema(schema).document(query).variables(CoercedVariables.emptyVariables())
+                .build()
+                .calculate()
+
+        then:
+        queryAnalysis.getDepth() == 7
+        queryAnalysis.getComplexity(fieldComplexityCalculator) == expectedComplexity
+        queryAnalysis.getComplexity({ env, childComplexity -> 1 + childComplexity }) == 12
+        queryAnalysis.getFieldCount() == 13
+        queryAnalysis.getFieldCounts() == [
+                (FieldCoordinates.coordinates("Query", "foo")): 2,
+                (FieldCoordinates.coordinates("Foo", "scalar")): 3,
+                (FieldCoordinates.coordinates("Foo", "foo")): 6,
+                (FieldCoordinates.coordinates("Query", "bar")): 1,
+        ]
+        queryAnalysis.getFields().collect { it.getField().getResultKey() }.take(4) == ["f2", "scalar", "foo", "scalar"]
+    }
+
+    def "keeps what the protections need to know about each field"() {
+        def query = createQuery("""
+            {
+                foo { foo { scalar } }
+                bar(arg: 1)
+            }
+            """)
+
+        when:
+        def fields = QueryAnalysis.analyseQuery(schema, query, null, CoercedVariables.emptyVariables()).getFields()
+
+        then:
+        fields.collect { it.getField().getName() } == ["foo", "foo", "scalar", "bar"]
+        fields[0].getParent() == null
+        fields[2].getParent() === fields[1]
+        fields[1].getParent() === fields[0]
+        fields[2].getFieldsContainer().getName() == "Foo"
+        fields[2].getFieldDefinition() == schema.getObjectType("Foo").getFieldDefinition("scalar")
+        fields[3].getArguments() == [arg: 1]
+    }
+
+    def "the analysis of an operation without variables is shared by the executions of a cached document"() {
+        def documentProvider = new TestingPreparsedDocumentProvider()
+        def analyses = []
+        def capturingInstrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+                ExecutionContext executionContext = parameters.getExecutionContext()
+                analyses.add(executionContext.getQueryAnalysis())
+                return super.beginExecuteOperation(parameters, state)
+            }
+        }
+        def instrumentation = new ChainedInstrumentation([
+                new MaxQueryDepthInstrumentation(5),
+                new MaxQueryComplexityInstrumentation(20),
+                capturingInstrumentation])
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).preparsedDocumentProvider(documentProvider).build()
+
+        when:
+        def er1 = graphQL.execute("{ foo { foo { scalar } } }")
+        def er2 = graphQL.execute("{ foo { foo { scalar } } }")
+        def er3 = graphQL.execute(ExecutionInput.newExecutionInput("query q(\$arg: Int) { bar(arg: \$arg) }").variables([arg: 1]))
+        def er4 = graphQL.execute(ExecutionInput.newExecutionInput("query q(\$arg: Int) { bar(arg: \$arg) }").variables([arg: 2]))
+
+        then:
+        er1.errors.isEmpty()
+        er2.errors.isEmpty()
+        er3.errors.isEmpty()
+        er4.errors.isEmpty()
+        analyses.size() == 4
+        analyses[0].is(analyses[1])
+        !analyses[2].is(analyses[3])
+    }
+
+    def "the protections still abort when they share the analysis"() {
+        def instrumentation = new ChainedInstrumentation([
+                new MaxQueryDepthInstrumentation(10),
+                new MaxQueryComplexityInstrumentation(3)])
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+
+        when:
+        def executionResult = graphQL.execute("{ foo { foo { foo { scalar } } } }")
+
+        then:
+        executionResult.errors.size() == 1
+        executionResult.errors[0] instanceof AbortExecutionException
+        executionResult.errors[0].message == "maximum query complexity exceeded 4 > 3"
+    }
+
+    def "complexities are kept with a cached document per values of the variables the calculator reads"() {
+        def itemSchema = TestUtil.schema("""
+            type Query{
+                items(first: Int, after: String): [Item]
+            }
+            type Item {
+                name: String
+                details: String
+            }
+        """)
+        def calculations = 0
+        FieldComplexityCalculator fieldComplexityCalculator = { env, childComplexity ->
+            calculations++
+            def first = env.getArguments().get("first")
+            return first != null ? first * childComplexity : 1 + childComplexity
+        }
+        def depthInstrumentation = new MaxQueryDepthInstrumentation(5)
+        def complexityInstrumentation = new MaxQueryComplexityInstrumentation(50, fieldComplexityCalculator)
+        def graphQL = GraphQL.newGraphQL(itemSchema)
+                .instrumentation(new ChainedInstrumentation([depthInstrumentation, complexityInstrumentation]))
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+        def query = 'query q($first: Int, $after: String, $details: Boolean!) { items(first: $first, after: $after) { name details @include(if: $details) } }'
+
+        def execute = { Map variables ->
+            calculations = 0
+            def executionResult = graphQL.execute(ExecutionInput.newExecutionInput(query).variables(variables))
+            [executionResult.errors.collect { it.message }, calculations]
+        }
+
+        expect:
+        // the first execution calculates, after which executions that only differ in a variable the calculator does not read do not
+        execute([first: 10, after: "a", details: false]) == [[], 2]
+        execute([first: 10, after: "b", details: false]) == [[], 0]
+        execute([first: 20, after: "b", details: false]) == [[], 2]
+        execute([first: 10, after: "c", details: true]) == [[], 3]
+        execute([first: 10, after: "d", details: true]) == [[], 0]
+        execute([first: 30, after: "d", details: true]) == [["maximum query complexity exceeded 60 > 50"], 3]
+        execute([first: 30, after: "e", details: true]) == [["maximum query complexity exceeded 60 > 50"], 0]
+    }
+}
@@ -0,0 +1,115 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class DataFetcherExecutorTest extends Specification {
+
+    def sdl = """
+        type Query {
+            blocking: String
+            people: [Person]
+        }
+
+        type Person {
+            id: ID
+            name: String
+        }
+    """
+
+    def executor = Executors.newFixedThreadPool(4, { runnable -> new Thread(runnable, "data-fetcher-executor") })
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    GraphQL graphQL(Executor dataFetcherExecutor, Map<String, String> threadsByField) {
+        DataFetcher blockingDF = { env ->
+            threadsByField.put("blocking", Thread.currentThread().name)
+            Thread.sleep(10)
+            "done"
+        }
+        DataFetcher peopleDF = { env ->
+            threadsByField.put("people", Thread.currentThread().name)
+            [[id: "1"], [id: "2"]]
+        }
+        DataFetcher nameDF = { env ->
+            threadsByField.put("name", Thread.currentThread().name)
+            env.getDataLoader("name").load(env.getSource().id)
+        }
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("blocking", blockingDF)
+                        .dataFetcher("people", peopleDF))
+                .type(newTypeWiring("Person").dataFetcher("name", nameDF))
+                .build()
+        TestUtil.graphQL(sdl, wiring)
+                .queryExecutionStrategy(new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), dataFetcherExecutor))
+                .build()
+    }
+
+    ExecutionInput executionInput() {
+        def nameLoader = DataLoaderFactory.newDataLoader({ List<String> keys ->
+            CompletableFuture.completedFuture(keys.collect { "name-" + it })
+        } as BatchLoader<String, String>)
+        def dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("name", nameLoader)
+        ExecutionInput.newExecutionInput("{ blocking people { id name } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build()
+    }
+
+    def "non trivial data fetchers run on the executor and data loaders are still dispatched"() {
+        given:
+        def threadsByField = [:]
+        def graphQL = graphQL(executor, threadsByField)
+
+        when:
+        def result = graphQL.execute(executionInput())
+
+        then:
+        result.errors.isEmpty()
+        result.data == [blocking: "done", people: [[id: "1", name: "name-1"], [id: "2", name: "name-2"]]]
+        threadsByField["blocking"] == "data-fetcher-executor"
+        threadsByField["people"] == "data-fetcher-executor"
+        threadsByField["name"] == "data-fetcher-executor"
+    }
+
+    def "rejected executions become field errors"() {
+        given:
+        def rejectingExecutor = { Runnable runnable -> throw new RejectedExecutionException("full") } as Executor
+        def graphQL = graphQL(rejectingExecutor, [:])
+
+        when:
+        def result = graphQL.execute(executionInput())
+
+        then:
+        result.errors.size() == 2
+        result.data == [blocking: null, people: null]
+    }
+
+    def "virtual thread executors are available on runtimes that support them"() {
+        expect:
+        DataFetcherExecutors.isVirtualThreadSupported() == (Runtime.version().feature() >= 21)
+
+        when:
+        def virtualThreadExecutor = DataFetcherExecutors.isVirtualThreadSupported() ? DataFetcherExecutors.newVirtualThreadPerTaskExecutor() : null
+
+        then:
+        virtualThreadExecutor == null || virtualThreadExecutor instanceof Executor
+    }
+}
@@ -0,0 +1,108 @@
+package graphql.execution
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.Instrumentation
+import graphql.schema.DataFetchingEnvironment
+import spock.lang.Specification
+
+class LeafFieldFastPathTest extends Specification {
+
+    def sdl = """
+        type Query {
+            things: [Thing]
+        }
+
+        type Thing {
+            id: ID!
+            name: String
+            count: Int
+            colour: Colour
+            optional: String
+            throwing: String
+            missing: String!
+            badInt: Int
+            withEnv: String
+        }
+
+        enum Colour { RED, GREEN }
+    """
+
+    static class Thing {
+        String id
+        String name
+        Integer count
+        String colour
+        Optional<String> optional
+        String badInt
+
+        String getThrowing() {
+            throw new RuntimeException("bang")
+        }
+
+        String getMissing() {
+            null
+        }
+
+        String getWithEnv(DataFetchingEnvironment env) {
+            env.getField().getName() + "@" + env.getExecutionStepInfo().getPath()
+        }
+    }
+
+    ExecutionResult execute(String query, boolean leafFastPath) {
+        def things = [
+                new Thing(id: "1", name: "one", count: 1, colour: "RED", optional: Optional.of("present"), badInt: "7"),
+                new Thing(id: "2", name: null, count: 2, colour: "GREEN", optional: Optional.empty(), badInt: "not a number"),
+        ]
+        GraphQL.Builder builder = TestUtil.graphQL(sdl, [Query: [things: { env -> things }]])
+        if (!leafFastPath) {
+            // any instrumentation turns the fast path off
+            builder.instrumentation(new Instrumentation() {})
+        }
+        builder.build().execute(query)
+    }
+
+    def "the fast path gives the same results as the general path"() {
+        def query = "{ things { id name count colour optional withEnv } }"
+
+        when:
+        def fastResult = execute(query, true)
+        def generalResult = execute(query, false)
+
+        then:
+        fastResult.errors.isEmpty()
+        fastResult.data == [things: [
+                [id: "1", name: "one", count: 1, colour: "RED", optional: "present", withEnv: "withEnv@/things[0]/withEnv"],
+                [id: "2", name: null, count: 2, colour: "GREEN", optional: null, withEnv: "withEnv@/things[1]/withEnv"],
+        ]]
+        fastResult.toSpecification() == generalResult.toSpecification()
+    }
+
+    def "values that fail on the fast path are reported by the general path"() {
+        def query = "{ things { id throwing badInt } }"
+
+        when:
+        def fastResult = execute(query, true)
+        def generalResult = execute(query, false)
+
+        then:
+        fastResult.data == [things: [[id: "1", throwing: null, badInt: 7], [id: "2", throwing: null, badInt: null]]]
+        fastResult.errors.collect { it.path } == [["things", 0, "throwing"], ["things", 1, "throwing"], ["things", 1, "badInt"]]
+        fastResult.toSpecification() == generalResult.toSpecification()
+    }
+
+    def "null values of non null fields bubble up on the fast path"() {
+        def query = "{ things { id missing } }"
+
+        when:
+        def fastResult = execute(query, true)
+        def generalResult = execute(query, false)
+
+        then:
+        fastResult.data == [things: [null, null]]
+        fastResult.errors.size() == 2
+        fastResult.errors[0].path == ["things", 0, "missing"]
+        fastResult.toSpecification() == generalResult.toSpecification()
+    }
+}
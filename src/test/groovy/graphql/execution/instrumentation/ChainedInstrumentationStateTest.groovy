@@ -7,6 +7,8 @@ import graphql.StarWarsSchema
 import graphql.execution.AsyncExecutionStrategy
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters
 import graphql.validation.ValidationError
 import spock.lang.Specification
@@ -281,6 +283,62 @@ class ChainedInstrumentationStateTest extends Specification {
     }
 
 
+    def "only the instrumentations that implement a per field hook take part in it"() {
+        def fetchedFields = []
+        def completedFields = []
+        def completionContext = SimpleInstrumentationContext.whenCompleted { result, t -> }
+        def fetching = new SimplePerformantInstrumentation() {
+            @Override
+            InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+                return new StringInstrumentationState("fetching")
+            }
+
+            @Override
+            FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+                fetchedFields.add(((StringInstrumentationState) state).value + ":" + parameters.getField().getName())
+                return null
+            }
+        }
+        def completing = new SimplePerformantInstrumentation() {
+            @Override
+            InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+                completedFields.add(parameters.getField().getName())
+                return completionContext
+            }
+        }
+        def plain = new SimplePerformantInstrumentation()
+        def chainedInstrumentation = new ChainedInstrumentation([plain, fetching, new ChainedInstrumentation([plain, completing]), plain])
+
+        def query = """
+        query HeroNameAndFriendsQuery {
+            hero {
+                id
+            }
+        }
+        """
+
+        when:
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(chainedInstrumentation)
+                .build()
+
+        def executionResult = graphQL.execute(query)
+
+        then:
+        executionResult.errors.isEmpty()
+        fetchedFields == ["fetching:hero", "fetching:id"]
+        completedFields == ["hero", "id"]
+
+        when:
+        def state = chainedInstrumentation.createStateAsync(new InstrumentationCreateStateParameters(StarWarsSchema.starWarsSchema, ExecutionInput.newExecutionInput(query).build())).join()
+
+        then:
+        // with a single instrumentation taking part its context is not wrapped and with none a no op is returned
+        chainedInstrumentation.beginFieldCompletion(null, state).is(completionContext)
+        chainedInstrumentation.beginFieldListCompletion(null, state).is(SimpleInstrumentationContext.noOp())
+    }
+
     class StringInstrumentationState implements InstrumentationState {
         StringInstrumentationState(String value) {
             this.value = value
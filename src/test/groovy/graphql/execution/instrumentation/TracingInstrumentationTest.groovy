@@ -159,11 +159,69 @@ class TracingInstrumentationTest extends Specification {
         new AsyncSerialExecutionStrategy() | _
     }
 
+    def "compact field records give the same resolvers"() {
+        given:
+        def instrumentation = new TracingInstrumentation(newOptions().compactFieldRecords(true))
+
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .queryExecutionStrategy(testExecutionStrategy)
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        def executionResult = graphQL.execute(query)
+        def tracing = executionResult.getExtensions()['tracing']
+
+        then:
+        tracing["duration"] > 0L
+
+        List resolvers = tracing['execution']['resolvers'] as List
+        resolvers.collect { [it['fieldName'], it['path'], it['parentType'], it['returnType']] } == [
+                ["hero", ["hero"], "QueryType", "Character"],
+                ["id", ["hero", "id"], "Droid", "String!"],
+                ["appearsIn", ["hero", "appearsIn"], "Droid", "[Episode]"],
+        ]
+        resolvers.every { it['startOffset'] > 0L && it['duration'] > 0L }
+
+        where:
+        testExecutionStrategy              | _
+        new AsyncExecutionStrategy()       | _
+        new AsyncSerialExecutionStrategy() | _
+    }
+
+    def "tracing is only put into the results the predicate includes"() {
+        given:
+        def durations = []
+        def instrumentation = new TracingInstrumentation(newOptions()
+                .compactFieldRecords(compact)
+                .includeTracingIf({ long durationNanos -> durations.add(durationNanos); durations.size() == 2 }))
+
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        def er1 = graphQL.execute(query)
+        def er2 = graphQL.execute(query)
+
+        then:
+        er1.errors.isEmpty()
+        er1.getExtensions() == null
+        er2.getExtensions()['tracing']['execution']['resolvers'].size() == 3
+        durations.every { it > 0L }
+
+        where:
+        compact << [false, true]
+    }
+
     def "default behavior is that trivial fields ARE recorded"() {
         when:
         def options = newOptions()
         then:
         options.isIncludeTrivialDataFetchers()
+        !options.isCompactFieldRecords()
     }
 
     def 'do not trace introspection information'() {
@@ -0,0 +1,84 @@
+package graphql.execution.instrumentation.dataloader
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class AtomicLevelMapTest extends Specification {
+
+    def "increment adds levels"() {
+        given:
+        AtomicLevelMap sut = new AtomicLevelMap()
+
+        when:
+        def count = sut.increment(2, 42)
+
+        then:
+        count == 42
+        sut.get(0) == 0
+        sut.get(1) == 0
+        sut.get(2) == 42
+    }
+
+    def "levels beyond the first chunk can be used"() {
+        given:
+        AtomicLevelMap sut = new AtomicLevelMap()
+
+        when:
+        sut.increment(100, 3)
+        sut.set(17, 5)
+
+        then:
+        sut.get(100) == 3
+        sut.get(17) == 5
+        sut.get(16) == 0
+        sut.get(99) == 0
+    }
+
+    def "compare and set only succeeds once"() {
+        given:
+        AtomicLevelMap sut = new AtomicLevelMap()
+
+        expect:
+        sut.compareAndSet(3, 0, 1)
+        !sut.compareAndSet(3, 0, 1)
+        sut.get(3) == 1
+    }
+
+    def "negative levels are rejected"() {
+        given:
+        AtomicLevelMap sut = new AtomicLevelMap()
+
+        when:
+        sut.get(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "concurrent increments are not lost while growing"() {
+        given:
+        AtomicLevelMap sut = new AtomicLevelMap()
+        def threads = 8
+        def executor = Executors.newFixedThreadPool(threads)
+        def start = new CountDownLatch(1)
+
+        when:
+        threads.times {
+            executor.submit({
+                start.await()
+                for (int i = 0; i < 640; i++) {
+                    sut.increment(i % 64, 1)
+                }
+            })
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        (0..<64).every { sut.get(it) == threads * 10 }
+    }
+}
@@ -0,0 +1,174 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class BatchWindowDataLoaderDispatchStrategyTest extends Specification {
+
+    def sdl = """
+        type Query {
+            slow: String
+            items: [Item]
+        }
+
+        type Item {
+            id: ID
+            name: String
+        }
+    """
+
+    CountDownLatch batchLoaded
+    CountDownLatch namesQueued
+    List<List<String>> batches
+    DataLoaderRegistry dataLoaderRegistry
+    // the batch window only elapses when the test says so, rather than after some wall clock time
+    BlockingQueue<Runnable> scheduledWindows
+    ScheduledExecutorService manualScheduler
+    List<Runnable> dispatches
+    Executor recordingDispatchExecutor
+
+    def setup() {
+        batchLoaded = new CountDownLatch(1)
+        namesQueued = new CountDownLatch(3)
+        batches = Collections.synchronizedList([])
+        def nameLoader = DataLoaderFactory.newDataLoader({ List<String> keys ->
+            batches.add(keys)
+            batchLoaded.countDown()
+            CompletableFuture.completedFuture(keys.collect { "name-" + it })
+        } as BatchLoader<String, String>)
+        dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("name", nameLoader)
+        scheduledWindows = new LinkedBlockingQueue<>()
+        manualScheduler = [schedule: { Runnable command, long delay, TimeUnit unit ->
+            scheduledWindows.add(command)
+            return null
+        }] as ScheduledExecutorService
+        dispatches = Collections.synchronizedList([])
+        recordingDispatchExecutor = { Runnable command ->
+            dispatches.add(command)
+            command.run()
+        } as Executor
+    }
+
+    BatchWindowDispatchOptions.Builder batchWindowOptions() {
+        BatchWindowDispatchOptions.newBatchWindowDispatchOptions().scheduledExecutorService(manualScheduler)
+                .dispatchExecutor(recordingDispatchExecutor)
+    }
+
+    String elapseBatchWindow() {
+        // waits for the names of all the items to be queued, which happens on the execution thread
+        Runnable window = namesQueued.await(10, TimeUnit.SECONDS) ? scheduledWindows.poll() : null
+        if (window == null) {
+            return "no batch window"
+        }
+        window.run()
+        return batchLoaded.count == 0 ? "after names" : "names not loaded"
+    }
+
+    GraphQL.Builder graphQL(DataFetcher slowDF) {
+        DataFetcher nameDF = { env ->
+            def name = env.getDataLoader("name").load(env.getSource().id)
+            namesQueued.countDown()
+            return name
+        }
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("slow", slowDF)
+                        .dataFetcher("items", { env -> [[id: "1"], [id: "2"], [id: "3"]] } as DataFetcher))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("name", nameDF))
+                .build()
+        TestUtil.graphQL(sdl, wiring)
+    }
+
+    // the slow field only completes once the batch window has elapsed, and so it holds back per level dispatching
+    DataFetcher slowUntilBatchWindow = { env -> CompletableFuture.supplyAsync { elapseBatchWindow() } }
+
+    def "a slow field does not hold back data loaders of other parts of the query"() {
+        given:
+        def graphQL = graphQL(slowUntilBatchWindow)
+                .batchWindowDispatchOptions(batchWindowOptions().batchWindow(Duration.ofMillis(5)).build())
+                .build()
+        def executionInput = ExecutionInput.newExecutionInput("{ slow items { id name } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [slow: "after names", items: [[id: "1", name: "name-1"], [id: "2", name: "name-2"], [id: "3", name: "name-3"]]]
+        batches == [["1", "2", "3"]]
+        // the scheduler only timed the window and handed the dispatch to the dispatch executor
+        dispatches.size() == 1
+    }
+
+    def "batch window dispatching can be enabled per execution via the graphql context"() {
+        given:
+        def graphQL = graphQL(slowUntilBatchWindow).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ slow items { id name } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .graphQLContext([(BatchWindowDispatchOptions.class): batchWindowOptions().build()])
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.isEmpty()
+        result.data["slow"] == "after names"
+        batches == [["1", "2", "3"]]
+    }
+
+    def "queued keys are dispatched immediately once the max batch size is reached"() {
+        given:
+        // the slow field completes once the first batch has been loaded, which the batch window never triggers here
+        DataFetcher slowUntilFirstBatch = { env ->
+            CompletableFuture.supplyAsync {
+                batchLoaded.await(10, TimeUnit.SECONDS) ? "after names" : "names not loaded"
+            }
+        }
+        def graphQL = graphQL(slowUntilFirstBatch)
+                .batchWindowDispatchOptions(batchWindowOptions().maxBatchSize(2).build())
+                .build()
+        def executionInput = ExecutionInput.newExecutionInput("{ slow items { id name } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.isEmpty()
+        result.data["slow"] == "after names"
+        // the third key waits for the level to be ready, as its batch window is never elapsed
+        batches == [["1", "2"], ["3"]]
+        scheduledWindows.size() == 1
+        dispatches.isEmpty()
+    }
+
+    def "the dispatch executor defaults to the common pool"() {
+        expect:
+        BatchWindowDispatchOptions.defaultOptions().dispatchExecutor == ForkJoinPool.commonPool()
+    }
+}
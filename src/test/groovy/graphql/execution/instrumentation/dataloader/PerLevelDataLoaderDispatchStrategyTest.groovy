@@ -0,0 +1,100 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.Scalars
+import graphql.execution.ExecutionStepInfo
+import graphql.execution.ExecutionStrategyParameters
+import graphql.execution.FieldValueInfo
+import graphql.execution.MergedField
+import graphql.execution.MergedSelectionSet
+import graphql.execution.ResultPath
+import graphql.language.Field
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class PerLevelDataLoaderDispatchStrategyTest extends Specification {
+
+    static final int FIELDS_PER_OBJECT = 4
+    static final int OBJECT_LEVELS = 4
+
+    ExecutorService executor = Executors.newFixedThreadPool(8)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "every level is dispatched exactly once when fields complete on many threads"() {
+        given:
+        Map<Integer, AtomicInteger> dispatches = new ConcurrentHashMap<>()
+        def strategy = new PerLevelDataLoaderDispatchStrategy(null) {
+            @Override
+            void dispatch(int level) {
+                dispatches.computeIfAbsent(level, { new AtomicInteger() }).incrementAndGet()
+            }
+        }
+
+        when:
+        executeObject(strategy, ResultPath.rootPath(), 1).get(10, TimeUnit.SECONDS)
+
+        then:
+        // every level of objects is fetched and the level below the leaves is ready once they are complete
+        dispatches.keySet() == (1..OBJECT_LEVELS + 1) as Set
+        dispatches.values().every { it.get() == 1 }
+
+        where:
+        run << (1..50)
+    }
+
+    /*
+     * Drives the strategy the way an execution strategy does for an object whose fields are fetched on the threads of
+     * the executor, where every field below the deepest level of objects is a scalar
+     */
+    CompletableFuture<Void> executeObject(PerLevelDataLoaderDispatchStrategy strategy, ResultPath path, int level) {
+        def parameters = parameters(path)
+        if (level == 1) {
+            strategy.executionStrategy(null, parameters)
+        } else {
+            strategy.executeObject(null, parameters)
+        }
+        def fetches = (0..<FIELDS_PER_OBJECT).collect { index ->
+            CompletableFuture.runAsync({
+                strategy.fieldFetched(null, parameters(path.segment("f" + index)), null, null)
+            }, executor)
+        }
+        return CompletableFuture.allOf(fetches as CompletableFuture[]).thenComposeAsync({
+            if (level == OBJECT_LEVELS) {
+                def fieldValueInfos = (0..<FIELDS_PER_OBJECT).collect { new FieldValueInfo(FieldValueInfo.CompleteValueType.SCALAR, null) }
+                onFieldValuesInfo(strategy, fieldValueInfos, parameters, level)
+                return CompletableFuture.completedFuture(null)
+            }
+            // like an execution strategy, the objects below are started before the field values of this one are reported
+            def children = (0..<FIELDS_PER_OBJECT).collect { index -> executeObject(strategy, path.segment("f" + index), level + 1) }
+            def fieldValueInfos = (0..<FIELDS_PER_OBJECT).collect { new FieldValueInfo(FieldValueInfo.CompleteValueType.OBJECT, null) }
+            onFieldValuesInfo(strategy, fieldValueInfos, parameters, level)
+            return CompletableFuture.allOf(children as CompletableFuture[])
+        }, executor)
+    }
+
+    static void onFieldValuesInfo(PerLevelDataLoaderDispatchStrategy strategy, List<FieldValueInfo> fieldValueInfos, ExecutionStrategyParameters parameters, int level) {
+        if (level == 1) {
+            strategy.executionStrategyOnFieldValuesInfo(fieldValueInfos, parameters)
+        } else {
+            strategy.executeObjectOnFieldValuesInfo(fieldValueInfos, parameters)
+        }
+    }
+
+    static ExecutionStrategyParameters parameters(ResultPath path) {
+        Map<String, MergedField> fields = [:]
+        (0..<FIELDS_PER_OBJECT).each { fields.put("f" + it, MergedField.newMergedField(new Field("f" + it)).build()) }
+        return ExecutionStrategyParameters.newParameters()
+                .executionStepInfo(ExecutionStepInfo.newExecutionStepInfo().type(Scalars.GraphQLString).path(path))
+                .fields(MergedSelectionSet.newMergedSelectionSet().subFields(fields).build())
+                .path(path)
+                .build()
+    }
+}
@@ -0,0 +1,157 @@
+package graphql.execution.instrumentation.fieldtiming
+
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.schema.FieldCoordinates
+import spock.lang.Specification
+
+class FieldTimingInstrumentationTest extends Specification {
+
+    def query = """
+        {
+            hero {
+                id
+                appearsIn
+                __typename
+            }
+        }
+        """
+
+    def "keeps the latencies of the fields across the sampled executions"() {
+        given:
+        def instrumentation = new FieldTimingInstrumentation(1.0d)
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(instrumentation).build()
+
+        when:
+        3.times { assert graphQL.execute(query).errors.isEmpty() }
+        def fieldTimings = instrumentation.getFieldTimings()
+
+        then:
+        fieldTimings.keySet() == [
+                FieldCoordinates.coordinates("QueryType", "hero"),
+                FieldCoordinates.coordinates("Droid", "id"),
+                FieldCoordinates.coordinates("Droid", "appearsIn"),
+        ] as Set
+        fieldTimings.values().every {
+            it.fetchLatencies.count == 3 && it.completionLatencies.count == 3 &&
+                    it.fetchLatencies.getValueAtPercentile(99) <= it.fetchLatencies.maxValue
+        }
+        // completing the hero includes completing the fields below it
+        def hero = fieldTimings[FieldCoordinates.coordinates("QueryType", "hero")]
+        hero.completionLatencies.maxValue > 0
+
+        when:
+        instrumentation.reset()
+
+        then:
+        instrumentation.getFieldTimings().isEmpty()
+    }
+
+    def "executions that are not sampled are not timed"() {
+        given:
+        def executions = 0
+        def instrumentation = new FieldTimingInstrumentation({ executionInput -> ++executions % 2 == 0 })
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(instrumentation).build()
+
+        when:
+        4.times { assert graphQL.execute(query).errors.isEmpty() }
+
+        then:
+        instrumentation.getFieldTimings()[FieldCoordinates.coordinates("QueryType", "hero")].fetchLatencies.count == 2
+
+        when:
+        def neverSampled = new FieldTimingInstrumentation(0.0d)
+        GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(neverSampled).build().execute(query)
+
+        then:
+        neverSampled.getFieldTimings().isEmpty()
+    }
+
+    def "keeps the latencies of each schema when executions of several schemas take turns"() {
+        given:
+        def instrumentation = new FieldTimingInstrumentation(1.0d)
+        def otherSchema = TestUtil.schema("type Query { hero : Hero } type Hero { id : ID }",
+                [Query: [hero: { env -> [id: "1000"] }]])
+        def starWars = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(instrumentation).build()
+        def other = GraphQL.newGraphQL(otherSchema).instrumentation(instrumentation).build()
+
+        when:
+        3.times {
+            assert starWars.execute(query).errors.isEmpty()
+            assert other.execute("{ hero { id } }").errors.isEmpty()
+        }
+
+        then:
+        def starWarsTimings = instrumentation.getFieldTimings(StarWarsSchema.starWarsSchema)
+        starWarsTimings.keySet() == [
+                FieldCoordinates.coordinates("QueryType", "hero"),
+                FieldCoordinates.coordinates("Droid", "id"),
+                FieldCoordinates.coordinates("Droid", "appearsIn"),
+        ] as Set
+        starWarsTimings.values().every { it.fetchLatencies.count == 3 }
+
+        def otherTimings = instrumentation.getFieldTimings(otherSchema)
+        otherTimings.keySet() == [
+                FieldCoordinates.coordinates("Query", "hero"),
+                FieldCoordinates.coordinates("Hero", "id"),
+        ] as Set
+        otherTimings.values().every { it.fetchLatencies.count == 3 }
+
+        instrumentation.getFieldTimings().keySet() == starWarsTimings.keySet() + otherTimings.keySet()
+
+        when:
+        instrumentation.reset()
+
+        then:
+        instrumentation.getFieldTimings().isEmpty()
+        instrumentation.getFieldTimings(otherSchema).isEmpty()
+    }
+
+    def "the latencies of a field that is in several schemas are added together"() {
+        given:
+        def instrumentation = new FieldTimingInstrumentation(1.0d)
+        def sdl = "type Query { hero : Hero } type Hero { id : ID }"
+        def dataFetchers = [Query: [hero: { env -> [id: "1000"] }]]
+        def first = GraphQL.newGraphQL(TestUtil.schema(sdl, dataFetchers)).instrumentation(instrumentation).build()
+        def second = GraphQL.newGraphQL(TestUtil.schema(sdl, dataFetchers)).instrumentation(instrumentation).build()
+
+        when:
+        2.times {
+            first.execute("{ hero { id } }")
+            second.execute("{ hero { id } }")
+        }
+
+        then:
+        instrumentation.getFieldTimings()[FieldCoordinates.coordinates("Query", "hero")].fetchLatencies.count == 4
+    }
+
+    def "latencies are counted in buckets that are at most a sixteenth wide"() {
+        given:
+        def recorder = new LatencyRecorder()
+        (1..1000).each { recorder.record(it * 1000L) }
+
+        when:
+        def histogram = recorder.snapshot()
+
+        then:
+        histogram.count == 1000
+        histogram.maxValue == 1_000_000
+        histogram.mean == 500_500d
+        Math.abs(histogram.getValueAtPercentile(50) - 500_000) <= 500_000 / 16
+        Math.abs(histogram.getValueAtPercentile(99) - 990_000) <= 990_000 / 16
+        histogram.getValueAtPercentile(100) == 1_000_000
+        new LatencyRecorder().snapshot().getValueAtPercentile(99) == 0
+    }
+
+    def "every value falls within its bucket"() {
+        expect:
+        def bucket = LatencyHistogram.bucketIndex(value)
+        LatencyHistogram.lowestValueOf(bucket) <= Math.min(value, LatencyHistogram.MAX_VALUE)
+        LatencyHistogram.highestValueOf(bucket) >= Math.min(value, LatencyHistogram.MAX_VALUE)
+        LatencyHistogram.highestValueOf(bucket) - LatencyHistogram.lowestValueOf(bucket) <= Math.max(1, LatencyHistogram.lowestValueOf(bucket) / 16)
+
+        where:
+        value << [0L, 1L, 15L, 16L, 17L, 31L, 32L, 33L, 1000L, 123_456_789L, LatencyHistogram.MAX_VALUE, Long.MAX_VALUE]
+    }
+}
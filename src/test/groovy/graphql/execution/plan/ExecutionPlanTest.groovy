@@ -0,0 +1,148 @@
+package graphql.execution.plan
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.CoercedVariables
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+class ExecutionPlanTest extends Specification {
+
+    def sdl = """
+        type Query {
+            hero : Hero
+        }
+
+        type Hero {
+            id : ID
+            name : String
+            friends : [Hero]
+        }
+    """
+
+    def heroFetcher = { env -> [id: "1", name: "Luke", friends: [[id: "2", name: "Han"], [id: "3", name: "Leia"]]] } as DataFetcher
+
+    def schema = TestUtil.schema(sdl, [Query: [hero: heroFetcher]])
+
+    def "collects the variables used by skip and include"() {
+        def document = new Parser().parseDocument('''
+            query q($skipName : Boolean!, $withFriends : Boolean!, $other : String) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                    ... on Hero @include(if : $withFriends) {
+                        friends { id }
+                    }
+                }
+            }
+        ''')
+
+        when:
+        def plan = ExecutionPlan.newExecutionPlan(document, schema)
+
+        then:
+        plan.getConditionalVariableNames() == ["skipName", "withFriends"]
+        plan.isForSchema(schema)
+        !plan.isForSchema(TestUtil.schema(sdl))
+    }
+
+    def "variants are shared for the same conditional variable values"() {
+        def document = new Parser().parseDocument('''
+            query q($skipName : Boolean!, $other : String) {
+                hero {
+                    name @skip(if : $skipName)
+                }
+            }
+        ''')
+        def plan = ExecutionPlan.newExecutionPlan(document, schema)
+        def graphQLContext = ExecutionInput.newExecutionInput("{}").build().getGraphQLContext()
+
+        when:
+        def variant1 = plan.getVariant(CoercedVariables.of([skipName: true, other: "a"]), graphQLContext)
+        def variant2 = plan.getVariant(CoercedVariables.of([skipName: true, other: "b"]), graphQLContext)
+        def variant3 = plan.getVariant(CoercedVariables.of([skipName: false, other: "a"]), graphQLContext)
+
+        then:
+        variant1 === variant2
+        variant1 !== variant3
+        plan.getVariantCount() == 2
+    }
+
+    def "no more than MAX_VARIANTS variants are compiled per plan"() {
+        def document = new Parser().parseDocument('''
+            query q($a : Boolean!, $b : Boolean!, $c : Boolean!, $d : Boolean!, $e : Boolean!, $f : Boolean!) {
+                hero {
+                    id @skip(if : $a)
+                    name @skip(if : $b)
+                    friends @skip(if : $c) { id @include(if : $d) name @include(if : $e) }
+                    ... on Hero @include(if : $f) { id }
+                }
+            }
+        ''')
+        def plan = ExecutionPlan.newExecutionPlan(document, schema)
+        def graphQLContext = ExecutionInput.newExecutionInput("{}").build().getGraphQLContext()
+        def names = ["a", "b", "c", "d", "e", "f"]
+
+        when:
+        def variants = (0..<64).collect { combination ->
+            def variables = names.withIndex().collectEntries { name, i -> [(name): ((combination >> i) & 1) == 1] }
+            plan.getVariant(CoercedVariables.of(variables), graphQLContext)
+        }
+
+        then:
+        plan.getVariantCount() == ExecutionPlan.MAX_VARIANTS
+        variants.take(ExecutionPlan.MAX_VARIANTS).every { it != null }
+        variants.drop(ExecutionPlan.MAX_VARIANTS).every { it == null }
+        // combinations seen before still get their variant
+        plan.getVariant(CoercedVariables.of([a: false, b: false, c: false, d: false, e: false, f: false]), graphQLContext) === variants[0]
+    }
+
+    def "no more than MAX_ENTRIES entries are kept per variant"() {
+        def variant = new ExecutionPlanVariant()
+        def heroType = schema.getObjectType("Hero")
+        def idField = heroType.getFieldDefinition("id")
+
+        when:
+        def definitions = (0..<ExecutionPlanVariant.MAX_ENTRIES + 10).collect {
+            // a field that is not stable is a new object on every execution
+            variant.getFieldDefinition(new Object(), heroType, { idField })
+        }
+
+        then:
+        definitions.every { it === idField }
+        variant.getEntryCount() == ExecutionPlanVariant.MAX_ENTRIES
+    }
+
+    def "compiled plans produce the same results as normal execution"() {
+        def query = '''
+            query q($skipName : Boolean!, $withFriends : Boolean!) {
+                hero {
+                    id
+                    name @skip(if : $skipName)
+                    ... on Hero @include(if : $withFriends) {
+                        friends { id name }
+                    }
+                }
+            }
+        '''
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .compileExecutionPlans(true)
+                .build()
+
+        when:
+        def er1 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([skipName: false, withFriends: true]))
+        def er2 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([skipName: true, withFriends: false]))
+        def er3 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([skipName: false, withFriends: true]))
+
+        then:
+        er1.errors.isEmpty()
+        er1.data == [hero: [id: "1", name: "Luke", friends: [[id: "2", name: "Han"], [id: "3", name: "Leia"]]]]
+        er2.errors.isEmpty()
+        er2.data == [hero: [id: "1"]]
+        er3.data == er1.data
+    }
+}
@@ -0,0 +1,245 @@
+package graphql.execution.preparsed
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.ParseAndValidate
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.Function
+import java.util.function.Predicate
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    def parseCount = 0
+
+    Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = { ExecutionInput ei ->
+        parseCount++
+        new PreparsedDocumentEntry(new Parser().parseDocument(ei.query))
+    }
+
+    def ei(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    def "caches documents and counts hits and misses"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        def entry1 = provider.getDocumentAsync(ei("{ hero { id } }"), parseAndValidate).join()
+        def entry2 = provider.getDocumentAsync(ei("{ hero { id } }"), parseAndValidate).join()
+        def entry3 = provider.getDocumentAsync(ei("{ hero { name } }"), parseAndValidate).join()
+
+        then:
+        entry1 === entry2
+        entry1 !== entry3
+        parseCount == 2
+
+        def stats = provider.getStats()
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.entryCount == 2
+        stats.weightedSize == "{ hero { id } }".length() + "{ hero { name } }".length()
+    }
+
+    def "the cache never grows beyond its maximum weight"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(100)
+                .weigher({ query -> 10 })
+                .build()
+
+        when:
+        for (int i = 0; i < 50; i++) {
+            provider.getDocumentAsync(ei("{ f$i }"), parseAndValidate).join()
+        }
+
+        then:
+        def stats = provider.getStats()
+        stats.weightedSize <= 100
+        stats.entryCount <= 10
+        stats.evictionCount + stats.rejectionCount > 0
+    }
+
+    def "one off queries do not evict frequently used queries"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(100)
+                .weigher({ query -> 10 })
+                .build()
+        def hotQueries = (0..<5).collect { "{ hot$it }" }
+
+        when:
+        for (int round = 0; round < 5; round++) {
+            hotQueries.each { provider.getDocumentAsync(ei(it), parseAndValidate).join() }
+        }
+        for (int i = 0; i < 200; i++) {
+            provider.getDocumentAsync(ei("{ random$i }"), parseAndValidate).join()
+        }
+        parseCount = 0
+        hotQueries.each { provider.getDocumentAsync(ei(it), parseAndValidate).join() }
+
+        then:
+        parseCount == 0
+        provider.getStats().rejectionCount > 0
+    }
+
+    def "documents heavier than the maximum weight are not cached"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(5)
+                .build()
+
+        when:
+        provider.getDocumentAsync(ei("{ hero { id } }"), parseAndValidate).join()
+        provider.getDocumentAsync(ei("{ hero { id } }"), parseAndValidate).join()
+
+        then:
+        parseCount == 2
+        provider.getStats().entryCount == 0
+    }
+
+    def "can be used as the preparsed document provider of a GraphQL instance"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(provider)
+                .build()
+
+        when:
+        def er1 = graphQL.execute("{ hero { name } }")
+        def er2 = graphQL.execute("{ hero { name } }")
+
+        then:
+        er1.data == [hero: [name: "R2-D2"]]
+        er2.data == er1.data
+        provider.getStats().hitCount == 1
+        provider.getStats().missCount == 1
+    }
+
+    def "documents can be keyed by visibility profile"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .visibilityProfile({ ExecutionInput executionInput -> executionInput.getGraphQLContext().get("tenant") as String })
+                .build()
+        def ei = { String query, String tenant ->
+            ExecutionInput.newExecutionInput(query).graphQLContext(["tenant": tenant]).build()
+        }
+
+        when:
+        def entryA1 = provider.getDocumentAsync(ei("{ hero { id } }", "a"), parseAndValidate).join()
+        def entryB = provider.getDocumentAsync(ei("{ hero { id } }", "b"), parseAndValidate).join()
+        def entryA2 = provider.getDocumentAsync(ei("{ hero { id } }", "a"), parseAndValidate).join()
+
+        then:
+        entryA1 === entryA2
+        entryA1 !== entryB
+        parseCount == 2
+        provider.getStats().entryCount == 2
+    }
+
+    def "documents are keyed by the schema and the validation rule predicate"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def schemaA = TestUtil.schema("type Query { hero : String }")
+        def schemaB = TestUtil.schema("type Query { hero : String }")
+        Predicate<Class<?>> somePredicate = { rule -> true }
+        def withPredicate = ExecutionInput.newExecutionInput("{ hero }")
+                .graphQLContext([(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT): somePredicate]).build()
+
+        when:
+        def entryA1 = provider.getDocumentAsync(ei("{ hero }"), schemaA, parseAndValidate).join()
+        def entryB = provider.getDocumentAsync(ei("{ hero }"), schemaB, parseAndValidate).join()
+        def entryA2 = provider.getDocumentAsync(ei("{ hero }"), schemaA, parseAndValidate).join()
+        def entryAWithPredicate = provider.getDocumentAsync(withPredicate, schemaA, parseAndValidate).join()
+
+        then:
+        entryA1 === entryA2
+        entryA1 !== entryB
+        entryA1 !== entryAWithPredicate
+        parseCount == 3
+        provider.getStats().entryCount == 3
+    }
+
+    def "the documents of a GraphQL instance are not used by another instance with a different schema"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def heroes = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build()
+        def other = GraphQL.newGraphQL(TestUtil.schema("type Query { hello : String }")).preparsedDocumentProvider(provider).build()
+
+        when:
+        def er1 = heroes.execute("{ hero { name } }")
+        def er2 = other.execute("{ hero { name } }")
+
+        then:
+        er1.errors.isEmpty()
+        !er2.errors.isEmpty()
+        provider.getStats().missCount == 2
+    }
+
+    def "moving an entry to a key that is already cached keeps that entry and drops the old one"() {
+        given:
+        def cache = new PreparsedDocumentCache<String, PreparsedDocumentEntry>(1000)
+        def moved = new PreparsedDocumentEntry(new Parser().parseDocument("{ moved }"))
+        def kept = new PreparsedDocumentEntry(new Parser().parseDocument("{ kept }"))
+        def replacement = new PreparsedDocumentEntry(new Parser().parseDocument("{ replacement }"))
+        cache.put("old", moved, 10)
+        cache.put("new", kept, 10)
+
+        when:
+        def replaced = cache.replace("old", moved, "new", replacement)
+
+        then:
+        !replaced
+        cache.entries() == [new: kept]
+        cache.stats.weightedSize == 10
+
+        when: "the old key is not mapped to the expected entry"
+        cache.put("other", moved, 10)
+        replaced = cache.replace("other", kept, "moved", replacement)
+
+        then:
+        !replaced
+        cache.entries() == [new: kept, other: moved]
+    }
+
+    def "a weigher that gives a negative weight is rejected"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .weigher({ query -> -1 })
+                .build()
+
+        when:
+        provider.getDocumentAsync(ei("{ hero { id } }"), parseAndValidate).join()
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "documents can be read from many threads while others are being put"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(1000)
+                .weigher({ query -> 10 })
+                .build()
+        def executor = Executors.newFixedThreadPool(8)
+        Function<ExecutionInput, PreparsedDocumentEntry> parse = { ExecutionInput ei -> new PreparsedDocumentEntry(new Parser().parseDocument(ei.query)) }
+
+        when:
+        def futures = (0..<8).collect { thread ->
+            CompletableFuture.runAsync({
+                for (int i = 0; i < 2000; i++) {
+                    def query = "{ f${(i * 7 + thread) % 200} }"
+                    assert provider.getDocumentAsync(ei(query), parse).join().document != null
+                }
+            }, executor)
+        }
+        CompletableFuture.allOf(futures as CompletableFuture[]).get(30, TimeUnit.SECONDS)
+        def stats = provider.getStats()
+
+        then:
+        stats.hitCount + stats.missCount == 8 * 2000
+        stats.weightedSize <= 1000
+        provider.cache.data.size() == stats.entryCount
+
+        cleanup:
+        executor.shutdownNow()
+    }
+}
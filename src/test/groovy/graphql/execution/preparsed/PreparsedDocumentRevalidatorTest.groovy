@@ -0,0 +1,171 @@
+package graphql.execution.preparsed
+
+import graphql.ExecutionInput
+import graphql.ParseAndValidate
+import graphql.TestUtil
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class PreparsedDocumentRevalidatorTest extends Specification {
+
+    def oldSdl = """
+        directive @cached(ttl: Int) on FIELD
+
+        type Query {
+            product(id: ID!): Product
+            search(filter: Filter): [Product]
+            node(id: ID!): Node
+        }
+
+        interface Node {
+            id: ID!
+        }
+
+        type Product implements Node {
+            id: ID!
+            name: String
+            price: Float
+            category: Category
+        }
+
+        type Category implements Node {
+            id: ID!
+            name: String
+        }
+
+        input Filter {
+            name: String
+            category: CategoryKind
+        }
+
+        enum CategoryKind { BOOKS MUSIC }
+    """
+
+    def oldSchema = TestUtil.schema(oldSdl)
+
+    def product = '{ product(id: "1") { id name } }'
+    def search = 'query($filter: Filter) { search(filter: $filter) { id } }'
+    def fragment = '{ node(id: "1") { id ... on Category { name } } }'
+    def directive = '{ product(id: "1") { price @cached(ttl: 10) } }'
+
+    def revalidator(String newSdl) {
+        PreparsedDocumentRevalidator.newRevalidator(oldSchema, TestUtil.schema(newSdl), Locale.ENGLISH)
+    }
+
+    def entry(String query) {
+        def document = new Parser().parseDocument(query)
+        def errors = ParseAndValidate.validate(oldSchema, document)
+        errors.isEmpty() ? new PreparsedDocumentEntry(document) : new PreparsedDocumentEntry(document, errors)
+    }
+
+    def affected(PreparsedDocumentRevalidator revalidator) {
+        [product, search, fragment, directive].findAll { revalidator.isAffected(new Parser().parseDocument(it)) }
+    }
+
+    def "an identical schema affects no document"() {
+        expect:
+        affected(revalidator(oldSdl)).isEmpty()
+    }
+
+    def "documents selecting a removed field are affected and become invalid"() {
+        given:
+        def revalidator = revalidator(oldSdl.replace("price: Float", ""))
+        def entry = entry(directive)
+
+        expect:
+        affected(revalidator) == [directive]
+
+        when:
+        def carriedOver = revalidator.revalidate(entry)
+
+        then:
+        carriedOver !== entry
+        carriedOver.hasErrors()
+    }
+
+    def "additions to the schema affect no document"() {
+        expect:
+        affected(revalidator(oldSdl.replace("price: Float", "price: Float\n weight: Float"))).isEmpty()
+    }
+
+    def "a changed input type affects the documents that pass it as a variable"() {
+        expect:
+        affected(revalidator(oldSdl.replace("enum CategoryKind { BOOKS MUSIC }", "enum CategoryKind { BOOKS }"))) == [search]
+    }
+
+    def "a changed fragment type condition affects the document"() {
+        expect:
+        affected(revalidator(oldSdl.replace("type Category implements Node", "type Category"))).contains(fragment)
+    }
+
+    def "output nullability changes affect the documents selecting the field"() {
+        expect:
+        affected(revalidator(oldSdl.replace("name: String\n            price", "name: String!\n            price"))) == [product]
+    }
+
+    def "changed directive definitions affect the documents using the directive"() {
+        expect:
+        affected(revalidator(oldSdl.replace("@cached(ttl: Int)", "@cached(ttl: Int!)"))) == [directive]
+    }
+
+    def "unaffected entries are carried over as they are and invalid ones are validated again"() {
+        given:
+        def revalidator = revalidator(oldSdl.replace("price: Float", "price: Float\n weight: Float"))
+        def valid = entry(product)
+        def invalid = entry('{ product(id: "1") { weight } }')
+        def unparseable = new PreparsedDocumentEntry(new ArrayList())
+
+        expect:
+        invalid.hasErrors()
+        revalidator.revalidate(valid) === valid
+        revalidator.revalidate(unparseable) === unparseable
+
+        when:
+        def fixed = revalidator.revalidate(invalid)
+
+        then:
+        !fixed.hasErrors()
+        fixed.document === invalid.document
+    }
+
+    def "the caching provider carries its documents over to the new schema"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = { ExecutionInput ei -> entry(ei.query) }
+        [product, search, fragment, directive].each {
+            provider.getDocumentAsync(ExecutionInput.newExecutionInput(it).build(), parseAndValidate).join()
+        }
+        def productEntry = provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), parseAndValidate).join()
+
+        when:
+        def revalidated = provider.revalidate(revalidator(oldSdl.replace("price: Float", "")))
+        def directiveEntry = provider.getDocumentAsync(ExecutionInput.newExecutionInput(directive).build(), { throw new IllegalStateException() }).join()
+
+        then:
+        revalidated == 1
+        directiveEntry.hasErrors()
+        provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), parseAndValidate).join() === productEntry
+        provider.getStats().entryCount == 4
+    }
+
+    def "the caching provider moves the documents of the old schema over to the new schema"() {
+        given:
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = { ExecutionInput ei -> entry(ei.query) }
+        def otherSchema = TestUtil.schema(oldSdl)
+        def productEntry = provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), oldSchema, parseAndValidate).join()
+        def otherEntry = provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), otherSchema, parseAndValidate).join()
+        def revalidator = revalidator(oldSdl.replace("price: Float", ""))
+        Function<ExecutionInput, PreparsedDocumentEntry> notCached = { throw new IllegalStateException() }
+
+        when:
+        provider.revalidate(revalidator)
+
+        then:
+        provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), revalidator.getNewSchema(), notCached).join() === productEntry
+        provider.getDocumentAsync(ExecutionInput.newExecutionInput(product).build(), otherSchema, notCached).join() === otherEntry
+        provider.getStats().entryCount == 2
+    }
+}
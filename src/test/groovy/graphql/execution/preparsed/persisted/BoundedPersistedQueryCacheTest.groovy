@@ -0,0 +1,68 @@
+package graphql.execution.preparsed.persisted
+
+import graphql.ExecutionInput
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import static graphql.language.AstPrinter.printAstCompact
+
+class BoundedPersistedQueryCacheTest extends Specification {
+
+    def mkEI(String hash, String query) {
+        ExecutionInput.newExecutionInput().query(query).extensions([persistedQuery: [sha256Hash: hash, version: 1]]).build()
+    }
+
+    def missCount = 0
+
+    PersistedQueryCacheMiss onMiss = {
+        String query ->
+            missCount++
+            def doc = new Parser().parseDocument(query)
+            return new PreparsedDocumentEntry(doc)
+    }
+
+    def "caches persisted queries by id"() {
+        def cache = BoundedPersistedQueryCache.newBoundedPersistedQueryCache()
+                .addQuery("hash123", "query { oneTwoThree }")
+                .build()
+        def ei = mkEI("hash123", PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+
+        when:
+        def entry1 = cache.getPersistedQueryDocumentAsync("hash123", ei, onMiss).join()
+        def entry2 = cache.getPersistedQueryDocumentAsync("hash123", ei, onMiss).join()
+
+        then:
+        printAstCompact(entry1.document) == "{oneTwoThree}"
+        entry1 === entry2
+        missCount == 1
+        cache.getStats().hitCount == 1
+        cache.getStats().missCount == 1
+    }
+
+    def "throws not found for unknown queries"() {
+        def cache = BoundedPersistedQueryCache.newBoundedPersistedQueryCache().build()
+        def ei = mkEI("unknown", PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+
+        when:
+        cache.getPersistedQueryDocumentAsync("unknown", ei, onMiss)
+
+        then:
+        thrown(PersistedQueryNotFound)
+    }
+
+    def "stays within its maximum weight"() {
+        def cache = BoundedPersistedQueryCache.newBoundedPersistedQueryCache()
+                .maximumWeight(50)
+                .weigher({ query -> 10 })
+                .build()
+
+        when:
+        for (int i = 0; i < 20; i++) {
+            cache.getPersistedQueryDocumentAsync("hash$i", mkEI("hash$i", "{ f$i }"), onMiss).join()
+        }
+
+        then:
+        cache.getStats().weightedSize <= 50
+    }
+}
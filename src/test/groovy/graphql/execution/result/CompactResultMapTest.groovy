@@ -0,0 +1,107 @@
+package graphql.execution.result
+
+import graphql.ExecutionInput
+import graphql.ExperimentalApi
+import graphql.TestUtil
+import graphql.execution.MergedField
+import graphql.execution.MergedSelectionSet
+import graphql.language.Field
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class CompactResultMapTest extends Specification {
+
+    def "behaves like a read only ordered map"() {
+        given:
+        def keys = new ResultKeys(["b", "a", "c"])
+        def map = new CompactResultMap(keys, ["B", null, "C"] as Object[])
+
+        expect:
+        map.size() == 3
+        map.get("b") == "B"
+        map.get("a") == null
+        map.containsKey("a")
+        !map.containsKey("x")
+        map.getOrDefault("x", "default") == "default"
+        map.keySet() as List == ["b", "a", "c"]
+        map.values() as List == ["B", null, "C"]
+        map == [b: "B", a: null, c: "C"]
+        map.hashCode() == [b: "B", a: null, c: "C"].hashCode()
+        map.toString() == "{b=B, a=null, c=C}"
+
+        when:
+        map.put("d", "D")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "looks up keys of wide selection sets"() {
+        given:
+        def names = (1..20).collect { "field" + it }
+        def keys = new ResultKeys(names)
+        def map = new CompactResultMap(keys, names.collect { it.toUpperCase() } as Object[])
+
+        expect:
+        map.get("field1") == "FIELD1"
+        map.get("field20") == "FIELD20"
+        map.get("field21") == null
+        keys.indexOf("field13") == 12
+    }
+
+    static MergedSelectionSet selectionSet(String... names) {
+        Map<String, MergedField> subFields = [:]
+        names.each { subFields.put(it, MergedField.newMergedField(new Field(it)).build()) }
+        MergedSelectionSet.newMergedSelectionSet().subFields(subFields).build()
+    }
+
+    def "the factory shares the keys of equal selection sets and keeps them on the selection set"() {
+        given:
+        def factory = new CompactResultMapFactory()
+        def fields = selectionSet("id", "name")
+        def equalFields = selectionSet("id", "name")
+
+        when:
+        CompactResultMap first = factory.newResultMap(fields, fields.keys, ["1", "one"]) as CompactResultMap
+        CompactResultMap second = factory.newResultMap(fields, fields.keys, ["2", "two"]) as CompactResultMap
+        CompactResultMap third = factory.newResultMap(equalFields, equalFields.keys, ["3", "three"]) as CompactResultMap
+        // the name is deferred
+        CompactResultMap fourth = factory.newResultMap(fields, ["id"], ["4"]) as CompactResultMap
+
+        then:
+        first == [id: "1", name: "one"]
+        second == [id: "2", name: "two"]
+        third == [id: "3", name: "three"]
+        fourth == [id: "4"]
+        first.keys.is(second.keys)
+        first.keys.is(third.keys)
+        // a selection set that is used again reads its keys rather than looking them up by their names
+        fields.getResultKeys({ names -> throw new AssertionError("looked up again") } as Function).is(first.keys)
+    }
+
+    def "compact results are used when enabled and give the same data"() {
+        given:
+        def sdl = """
+            type Query { people: [Person] }
+            type Person { id: ID name: String friend: Person }
+        """
+        def people = [[id: "1", name: "Ada", friend: [id: "2", name: "Grace"]], [id: "2", name: "Grace", friend: null]]
+        def graphQL = TestUtil.graphQL(sdl, [Query: [people: { env -> people }]]).build()
+        def query = "{ people { name id friend { id name } } }"
+
+        when:
+        def plainResult = graphQL.execute(query)
+        def compactResult = graphQL.execute(ExecutionInput.newExecutionInput(query)
+                .graphQLContext([(ExperimentalApi.ENABLE_COMPACT_RESULTS): true])
+                .build())
+
+        then:
+        compactResult.errors.isEmpty()
+        compactResult.data == plainResult.data
+        compactResult.data["people"][0] instanceof CompactResultMap
+        (compactResult.data["people"][0] as Map).keySet() as List == ["name", "id", "friend"]
+        // both are written out in the same order
+        compactResult.toSpecification().toString() == plainResult.toSpecification().toString()
+    }
+}
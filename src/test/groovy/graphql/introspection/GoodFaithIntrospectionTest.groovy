@@ -4,6 +4,11 @@ import graphql.ExecutionInput
 import graphql.ExecutionResult
 import graphql.TestUtil
 import graphql.execution.CoercedVariables
+import graphql.execution.ExecutionContext
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters
 import graphql.language.Document
 import graphql.normalized.ExecutableNormalizedOperationFactory
 import spock.lang.Specification
@@ -188,6 +193,38 @@ class GoodFaithIntrospectionTest extends Specification {
         100 | GoodFaithIntrospection.BadFaithIntrospectionError.class
     }
 
+    def "shares the normalized operation with the rest of the execution"() {
+        def executionContexts = []
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+                ExecutionContext executionContext = parameters.getExecutionContext()
+                if (makeNormalizedOperation) {
+                    executionContext.getNormalizedQueryTree().get()
+                }
+                executionContexts.add(executionContext)
+                return super.beginExecuteOperation(parameters, state)
+            }
+        }
+        def graphql = TestUtil.graphQL("type Query { normalField : String }").instrumentation(instrumentation).build()
+
+        when:
+        ExecutionResult goodFaithResult = graphql.execute(IntrospectionQuery.INTROSPECTION_QUERY)
+        ExecutionResult badFaithResult = graphql.execute(createDeepQuery(10))
+
+        then:
+        goodFaithResult.errors.isEmpty()
+        executionContexts[0].getOrCreateNormalizedOperation({ throw new IllegalStateException("the operation should have been made") }).getOperationFieldCount() > 0
+
+        // an operation that was made without limits is still checked against them
+        badFaithResult.errors.size() == 1
+        badFaithResult.errors[0] instanceof GoodFaithIntrospection.BadFaithIntrospectionError
+        badFaithResult.data == null
+
+        where:
+        makeNormalizedOperation << [false, true]
+    }
+
     String createDeepQuery(int depth = 25) {
         def result = """
 query test {
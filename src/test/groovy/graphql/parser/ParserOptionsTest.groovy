@@ -1,5 +1,9 @@
 package graphql.parser
 
+import graphql.language.Field
+import graphql.language.IgnoredChars
+import graphql.language.InlineFragment
+import graphql.language.OperationDefinition
 import spock.lang.Specification
 
 class ParserOptionsTest extends Specification {
@@ -30,6 +34,8 @@ class ParserOptionsTest extends Specification {
         defaultOptions.isCaptureLineComments()
         !defaultOptions.isCaptureIgnoredChars()
         defaultOptions.isReaderTrackData()
+        !defaultOptions.isCompactAst()
+        !defaultOptions.isRecursiveDescentParser()
 
         defaultOperationOptions.getMaxTokens() == 15_000
         defaultOperationOptions.getMaxWhitespaceTokens() == 200_000
@@ -101,4 +107,38 @@ class ParserOptionsTest extends Specification {
         currentDefaultSdlOptions.isCaptureIgnoredChars()
         currentDefaultSdlOptions.isReaderTrackData()
     }
+
+    def "compact ASTs intern names and share source locations across documents"() {
+        def compactOptions = defaultOptions.transform({ it.compactAst(true).captureLineComments(true).captureIgnoredChars(true) })
+        def query = """
+            # a comment
+            query q(\$id: ID) { node(id: \$id) { ... on User { id handle: name } } }
+        """
+
+        when:
+        def document1 = Parser.parse(ParserEnvironment.newParserEnvironment().document(new String(query)).parserOptions(compactOptions).build())
+        def document2 = Parser.parse(ParserEnvironment.newParserEnvironment().document(new String(query)).parserOptions(compactOptions).build())
+        def regular = Parser.parse(ParserEnvironment.newParserEnvironment().document(query).parserOptions(defaultOptions).build())
+
+        then:
+        document1.isEqualTo(regular)
+        compactOptions.isCompactAst()
+        compactOptions.transform({ it.maxTokens(100) }).isCompactAst()
+
+        def operation1 = document1.definitions[0] as OperationDefinition
+        def operation2 = document2.definitions[0] as OperationDefinition
+        operation1.comments.isEmpty()
+        operation1.ignoredChars == IgnoredChars.EMPTY
+        operation1.sourceLocation == (regular.definitions[0] as OperationDefinition).sourceLocation
+        operation1.sourceLocation.is(operation2.sourceLocation)
+        operation1.name.is(operation2.name)
+        operation1.variableDefinitions[0].name.is(operation2.variableDefinitions[0].name)
+
+        def field1 = operation1.selectionSet.selections[0] as Field
+        def field2 = operation2.selectionSet.selections[0] as Field
+        field1.arguments[0].name.is(field2.arguments[0].name)
+        def userFields1 = (field1.selectionSet.selections[0] as InlineFragment).selectionSet.selections
+        def userFields2 = (field2.selectionSet.selections[0] as InlineFragment).selectionSet.selections
+        (userFields1[1] as Field).alias.is((userFields2[1] as Field).alias)
+    }
 }
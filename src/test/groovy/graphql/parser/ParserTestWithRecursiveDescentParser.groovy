@@ -0,0 +1,18 @@
+package graphql.parser
+
+/**
+ * Runs all of the {@link ParserTest} specs again with the recursive descent parser switched on by default
+ */
+class ParserTestWithRecursiveDescentParser extends ParserTest {
+
+    ParserOptions previousDefaultParserOptions
+
+    def setup() {
+        previousDefaultParserOptions = ParserOptions.getDefaultParserOptions()
+        ParserOptions.setDefaultParserOptions(ParserOptions.newParserOptions().recursiveDescentParser(true).build())
+    }
+
+    def cleanup() {
+        ParserOptions.setDefaultParserOptions(previousDefaultParserOptions)
+    }
+}
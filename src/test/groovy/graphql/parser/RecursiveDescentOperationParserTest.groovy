@@ -0,0 +1,232 @@
+package graphql.parser
+
+import graphql.i18n.I18n
+import graphql.language.AstComparator
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.Node
+import graphql.parser.exceptions.ParseCancelledException
+import graphql.parser.exceptions.ParseCancelledTooDeepException
+import graphql.parser.exceptions.ParseCancelledTooManyCharsException
+import spock.lang.Specification
+
+import static graphql.parser.ParserEnvironment.newParserEnvironment
+
+class RecursiveDescentOperationParserTest extends Specification {
+
+    static recursiveDescent = ParserOptions.newParserOptions().recursiveDescentParser(true).build()
+
+    static Document antlr(String text, ParserOptions parserOptions = ParserOptions.newParserOptions().build()) {
+        Parser.parse(newParserEnvironment().document(text).parserOptions(parserOptions.transform({ it.recursiveDescentParser(false) })).build())
+    }
+
+    static Document recursiveDescent(String text, ParserOptions parserOptions = recursiveDescent) {
+        def multiSourceReader = MultiSourceReader.newMultiSourceReader().string(text, "source.graphql").trackData(true).build()
+        RecursiveDescentOperationParser.parseDocument(multiSourceReader.getText(), multiSourceReader, parserOptions, I18n.i18n(I18n.BundleType.Parsing, Locale.ENGLISH))
+    }
+
+    static Document antlrWithSourceName(String text, ParserOptions parserOptions = ParserOptions.newParserOptions().build()) {
+        def multiSourceReader = MultiSourceReader.newMultiSourceReader().string(text, "source.graphql").trackData(true).build()
+        antlr(multiSourceReader, parserOptions)
+    }
+
+    static Document antlr(Reader reader, ParserOptions parserOptions) {
+        Parser.parse(newParserEnvironment().document(reader).parserOptions(parserOptions).build())
+    }
+
+    /**
+     * Every node in document order with its source location and comments
+     */
+    static List snapshot(Node node) {
+        def nodes = []
+        def visit
+        visit = { Node n ->
+            nodes.add([n.getClass().getSimpleName(), n.getSourceLocation(), n.getComments().collect { [it.content, it.sourceLocation] }])
+            n.getChildren().each { visit(it) }
+        }
+        visit(node)
+        nodes
+    }
+
+    void sameDocument(String text, ParserOptions parserOptions = recursiveDescent) {
+        def expected = antlrWithSourceName(text, parserOptions.transform({ it.recursiveDescentParser(false) }))
+        def actual = recursiveDescent(text, parserOptions)
+        assert actual != null
+        assert AstComparator.isEqual(actual, expected)
+        assert AstPrinter.printAst(actual) == AstPrinter.printAst(expected)
+        assert snapshot(actual) == snapshot(expected)
+    }
+
+    def "produces the same AST as the ANTLR parser"() {
+        expect:
+        sameDocument(text)
+
+        where:
+        text << [
+                '{ hello }',
+                'query { a b c }',
+                'query Named($id: ID!, $list: [[String!]]! = [["a"]], $obj: In = {a: 1, b: [true, false, null]} @dir) @op { node(id: $id) { id } }',
+                'mutation M { create(input: {name: "x", tags: [A, B], nested: {deep: $var}}) @a @b(c: 1) { id } }',
+                'subscription S { events { ... on Event @skip(if: $no) { id } ... @include(if: true) { at } ... { x } ...Frag @d } }',
+                'fragment Frag on Event @f { alias: name(first: 10, after: "c") other : field }',
+                '{ a(int: 0, neg: -12, float: 1.5, exp: 1e10, both: -0.25E-3, enum: on, keyword: query, t: true, n: null) }',
+                '{ query mutation subscription fragment on true false null type schema }',
+                'query fragment { on }\nfragment query on on { on }\n{ ...query }',
+                '{ a(s: "", e: "\\" \\\\ \\/ \\b \\f \\n \\r \\t \\u00e9 \\u{1F37A}", u: "snow \u2603 and beer \uD83C\uDF7A here") }',
+                '{ a(block: """\n    indented\n      block \\""" string\n  """, next: "x") b }',
+        ]
+    }
+
+    def "source locations and comments match the ANTLR parser"() {
+        expect:
+        sameDocument(text)
+        sameDocument(text, recursiveDescent.transform({ it.captureSourceLocation(false) }))
+        sameDocument(text, recursiveDescent.transform({ it.captureLineComments(false) }))
+        sameDocument(text, recursiveDescent.transform({ it.compactAst(true) }))
+
+        where:
+        text << [
+                '# leading\n#  comment\nquery Q {\n  # on a field\n  a # trailing\n  # before the alias\n  alias: b(\n    # before the argument\n    x: 1\n  )\n}\n# at the end\n',
+                '{\r\n  a\r\n  b\r\n}',
+                '\uFEFF{ a(x: "\uD83C\uDF7A\uD83C\uDF7A") b(y: "\uD83C\uDF7A") # \uD83C\uDF7A comment\n  c }',
+                '{ a(b: """\nline\n\uD83C\uDF7A line\n""") c }',
+                '{ a\u2028b\u2029\tc }',
+                'query ($a: [Int!]! # type\n = # default\n [1]) { f(a: $a) { ... on T { x } } }',
+        ]
+    }
+
+    def "documents spread over multiple sources have the same source locations"() {
+        given:
+        def multiSourceReader = {
+            MultiSourceReader.newMultiSourceReader()
+                    .string("query Q {\n  a\n", "one.graphql")
+                    .string("  b\n}\n", "two.graphql")
+                    .trackData(true)
+                    .build()
+        }
+
+        when:
+        def expected = antlr(multiSourceReader(), ParserOptions.newParserOptions().build())
+        def actual = antlr(multiSourceReader(), recursiveDescent)
+
+        then:
+        AstComparator.isEqual(actual, expected)
+        snapshot(actual) == snapshot(expected)
+        snapshot(actual).collect { it[1].sourceName }.toSet() == ["one.graphql", "two.graphql"].toSet()
+    }
+
+    def "hands anything it does not handle over to ANTLR"() {
+        when:
+        def document = recursiveDescent(text)
+
+        then:
+        document == null
+
+        when:
+        def parsed = Parser.parse(newParserEnvironment().document(text).parserOptions(recursiveDescent).build())
+
+        then:
+        AstComparator.isEqual(parsed, antlr(text))
+
+        where:
+        text << [
+                'type Query { a: String }',
+                '{ a } type Query { a: String }',
+                'extend type Query { b: String }',
+                'schema { query: Query }',
+                'directive @cached on FIELD',
+        ]
+    }
+
+    def "syntax errors are reported like the ANTLR parser reports them"() {
+        when:
+        antlr(text)
+
+        then:
+        def expected = thrown(InvalidSyntaxException)
+
+        when:
+        Parser.parse(newParserEnvironment().document(text).parserOptions(recursiveDescent).build())
+
+        then:
+        def actual = thrown(InvalidSyntaxException)
+        actual.getClass() == expected.getClass()
+        actual.getMessage() == expected.getMessage()
+        actual.getLocation() == expected.getLocation()
+
+        where:
+        text << [
+                '',
+                '{ }',
+                '{ a',
+                '{ a } }',
+                '{ a(x: 01) }',
+                '{ a(x: 1.) }',
+                '{ a(x: 1e) }',
+                '{ a(x: 1abc) }',
+                '{ a(x: "unterminated) }',
+                '{ a(x: "\\q") }',
+                'fragment on on T { a }',
+                'query ($a: Int = $b) { a }',
+                '{ a(x: 1) | b }',
+        ]
+    }
+
+    def "limits are enforced like the ANTLR parser enforces them"() {
+        when:
+        Parser.parse(newParserEnvironment().document(text).parserOptions(recursiveDescent.transform(limits)).build())
+
+        then:
+        thrown(expected)
+
+        where:
+        text                                    | limits                              | expected
+        '{ a b c d e f }'                       | { it.maxTokens(5) }                 | ParseCancelledException
+        '# one\n# two\n# three\n{ a }'          | { it.maxTokens(2) }                 | ParseCancelledException
+        '{ a     b     c }'                     | { it.maxWhitespaceTokens(5) }       | ParseCancelledException
+        '{ a { b { c { d { e { f } } } } } }'   | { it.maxRuleDepth(10) }             | ParseCancelledTooDeepException
+        '{ a { b { c { d { e { f } } } } } }'   | { it.maxCharacters(20) }            | ParseCancelledTooManyCharsException
+    }
+
+    def "documents within the limits are parsed by the recursive descent parser"() {
+        given:
+        def text = '{ a { b { c } } }'
+        def tokens = 10 // including EOF
+        def depth = 15 // 12 rules plus the leaf rules below the innermost field, which the parser over estimates by one
+
+        expect:
+        recursiveDescent(text, recursiveDescent.transform({ it.maxTokens(tokens).maxRuleDepth(depth) })) != null
+        recursiveDescent(text, recursiveDescent.transform({ it.maxTokens(tokens - 1) })) == null
+        recursiveDescent(text, recursiveDescent.transform({ it.maxRuleDepth(depth - 1) })) == null
+        antlr(text, ParserOptions.newParserOptions().maxTokens(tokens).maxRuleDepth(depth).build()) != null
+    }
+
+    def "compact ASTs share their names and source locations"() {
+        given:
+        def compact = recursiveDescent.transform({ it.compactAst(true) })
+
+        when:
+        def first = recursiveDescent('query Q { viewer { name } }', compact)
+        def second = recursiveDescent('query Q { viewer { name } }', compact)
+
+        then:
+        first.getDefinitions()[0].name.is(second.getDefinitions()[0].name)
+        first.getDefinitions()[0].sourceLocation.is(second.getDefinitions()[0].sourceLocation)
+        first.getDefinitions()[0].comments.isEmpty()
+    }
+
+    def "a parsing listener or capturing ignored chars is left to ANTLR"() {
+        given:
+        def tokens = []
+        def listening = recursiveDescent.transform({ it.parsingListener({ tokens.add(it.text) } as ParsingListener) })
+        def ignoredChars = recursiveDescent.transform({ it.captureIgnoredChars(true) })
+
+        when:
+        Parser.parse(newParserEnvironment().document('{ a }').parserOptions(listening).build())
+        def document = Parser.parse(newParserEnvironment().document('{ a }\n').parserOptions(ignoredChars).build())
+
+        then:
+        tokens == ["{", "a", "}"]
+        !document.getDefinitions()[0].getIgnoredChars().getRight().isEmpty()
+    }
+}
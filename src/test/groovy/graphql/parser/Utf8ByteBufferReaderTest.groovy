@@ -0,0 +1,119 @@
+package graphql.parser
+
+import graphql.language.AstComparator
+import com.sun.management.ThreadMXBean
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+import static graphql.parser.ParserEnvironment.newParserEnvironment
+
+class Utf8ByteBufferReaderTest extends Specification {
+
+    static ByteBuffer utf8(String text) {
+        ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))
+    }
+
+    static String readInChunks(Reader reader, int chunkSize) {
+        def sb = new StringBuilder()
+        char[] chunk = new char[chunkSize]
+        int read
+        while ((read = reader.read(chunk, 0, chunkSize)) != -1) {
+            sb.append(chunk, 0, read)
+        }
+        sb.toString()
+    }
+
+    def "decodes multi byte and supplementary characters whatever the size of the reads"() {
+        given:
+        def text = 'query { a(s: "café ☃ 🍺🍺") }'
+
+        expect:
+        readInChunks(new Utf8ByteBufferReader(utf8(text)), chunkSize) == text
+
+        where:
+        chunkSize << [1, 2, 3, 7, 1024]
+    }
+
+    def "single chars can be read"() {
+        given:
+        def reader = new Utf8ByteBufferReader(utf8('é🍺'))
+
+        expect:
+        reader.read() == 0xe9
+        reader.read() == 0xD83C
+        reader.read() == 0xDF7A
+        reader.read() == -1
+        !reader.ready()
+    }
+
+    def "malformed input is replaced like a string decodes it"() {
+        given:
+        byte[] bytes = [0x7b, 0x20, 0xc3, 0x20, 0xff, 0x61, 0xe2, 0x98] as byte[]
+
+        expect:
+        readInChunks(new Utf8ByteBufferReader(ByteBuffer.wrap(bytes)), 3) == new String(bytes, StandardCharsets.UTF_8)
+    }
+
+    def "decoding does not copy the document"() {
+        given:
+        def bytes = utf8("{ a }\n" * 1_000_000)
+        def threads = ManagementFactory.getThreadMXBean() as ThreadMXBean
+        def reader = new Utf8ByteBufferReader(bytes)
+        char[] chunk = new char[8192]
+        long read = 0
+        int chunkRead
+
+        when:
+        long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().getId())
+        while ((chunkRead = reader.read(chunk, 0, chunk.length)) != -1) {
+            read += chunkRead
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore
+
+        then:
+        read == 6_000_000
+        // a copy of the document would take 12 MB as chars, whereas each read only wraps the chunk it is given
+        allocated < 1_000_000
+    }
+
+    def "an empty buffer is at the end straight away"() {
+        expect:
+        new Utf8ByteBufferReader(ByteBuffer.allocate(0)).read(new char[8], 0, 8) == -1
+    }
+
+    def "documents parsed from bytes are the same as documents parsed from strings"() {
+        given:
+        def text = '# ☃\nquery Q($a: String = "🍺") {\n  a(s: $a) { b }\n}\n'
+        def bytes = utf8(text)
+
+        when:
+        def fromBytes = Parser.parse(newParserEnvironment().document(bytes).build())
+        def fromString = Parser.parse(newParserEnvironment().document(text).build())
+
+        then:
+        AstComparator.isEqual(fromBytes, fromString)
+        fromBytes.getDefinitions()[0].getSourceLocation() == fromString.getDefinitions()[0].getSourceLocation()
+        fromBytes.getDefinitions()[0].getComments()[0].getContent() == " ☃"
+        // the buffer of the caller is left as it was
+        bytes.position() == 0
+    }
+
+    def "byte buffers can be combined into a multi source reader"() {
+        given:
+        def multiSource = MultiSourceReader.newMultiSourceReader()
+                .byteBuffer(utf8("type Query {\n"), "one.graphqls")
+                .byteBuffer(utf8("  snow: String # ☃\n}\n"), "two.graphqls")
+                .trackData(true)
+                .build()
+
+        when:
+        def text = multiSource.getText()
+
+        then:
+        text == "type Query {\n  snow: String # ☃\n}\n"
+        multiSource.getSourceAndLineFromOverallLine(1).sourceName == "two.graphqls"
+    }
+}
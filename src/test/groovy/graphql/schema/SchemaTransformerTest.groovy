@@ -9,6 +9,8 @@ import graphql.util.TraversalControl
 import graphql.util.TraverserContext
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
+
 import static graphql.schema.FieldCoordinates.coordinates
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
 import static graphql.schema.GraphQLObjectType.newObject
@@ -959,4 +961,192 @@ type Query {
         visitedSchema == schema
         visitedCodeRegistry instanceof GraphQLCodeRegistry.Builder
     }
+
+    def "transforming with sharing only copies the changed types and the types that refer to them"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema("""
+        type Query {
+            foo: Foo
+            bar: Bar
+        }
+        type Foo {
+            name: String
+            secret: String
+        }
+        type Bar {
+            name: String
+            baz: Baz
+        }
+        type Baz {
+            bar: Bar
+        }
+        """)
+        def visitor = new GraphQLTypeVisitorStub() {
+            @Override
+            TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition fieldDefinition, TraverserContext<GraphQLSchemaElement> context) {
+                if (fieldDefinition.name == "secret") {
+                    return deleteNode(context)
+                }
+                return TraversalControl.CONTINUE
+            }
+        }
+
+        when:
+        GraphQLSchema newSchema = SchemaTransformer.transformSchemaWithSharing(schema, visitor)
+
+        then:
+        new SchemaPrinter().print(newSchema) == new SchemaPrinter().print(SchemaTransformer.transformSchema(schema, visitor))
+        (newSchema.getType("Foo") as GraphQLObjectType).getFieldDefinition("secret") == null
+        newSchema.getQueryType() != schema.getQueryType()
+        newSchema.getQueryType().getFieldDefinition("foo").getType() == newSchema.getType("Foo")
+        newSchema.getType("Bar") == schema.getType("Bar")
+        newSchema.getType("Baz") == schema.getType("Baz")
+        newSchema.getQueryType().getFieldDefinition("bar").getType() == schema.getType("Bar")
+
+        // the original schema is left as it was
+        (schema.getType("Foo") as GraphQLObjectType).getFieldDefinition("secret") != null
+        schema.getQueryType().getFieldDefinition("foo").getType() == schema.getType("Foo")
+    }
+
+    def "transforming with sharing copies the types of a cycle when one of them is changed"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema("""
+        type Query {
+            bar: Bar
+            other: Other
+        }
+        type Bar {
+            name: String
+            baz: Baz
+        }
+        type Baz {
+            bar: Bar
+        }
+        type Other {
+            name: String
+        }
+        """)
+
+        when:
+        GraphQLSchema newSchema = SchemaTransformer.transformSchemaWithSharing(schema, new GraphQLTypeVisitorStub() {
+            @Override
+            TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition fieldDefinition, TraverserContext<GraphQLSchemaElement> context) {
+                if (fieldDefinition.name == "name" && (context.getParentNode() as GraphQLObjectType).name == "Bar") {
+                    return changeNode(context, fieldDefinition.transform({ builder -> builder.description("changed") }))
+                }
+                return TraversalControl.CONTINUE
+            }
+        })
+
+        then:
+        def bar = newSchema.getType("Bar") as GraphQLObjectType
+        def baz = newSchema.getType("Baz") as GraphQLObjectType
+        bar.getFieldDefinition("name").description == "changed"
+        bar != schema.getType("Bar")
+        baz != schema.getType("Baz")
+        bar.getFieldDefinition("baz").getType() == baz
+        baz.getFieldDefinition("bar").getType() == bar
+        newSchema.getType("Other") == schema.getType("Other")
+
+        (schema.getType("Bar") as GraphQLObjectType).getFieldDefinition("name").description == null
+        (schema.getType("Baz") as GraphQLObjectType).getFieldDefinition("bar").getType() == schema.getType("Bar")
+    }
+
+    def "transforming with sharing renames the references to a renamed type"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema("""
+        type Query {
+            foo(in: Input): Foo
+            other: String
+        }
+        type Foo {
+            foo: Foo
+            kind: Kind
+        }
+        enum Kind {
+            A
+            B
+        }
+        input Input {
+            kind: Kind
+        }
+        """)
+
+        when:
+        GraphQLSchema newSchema = SchemaTransformer.transformSchemaWithSharing(schema, new GraphQLTypeVisitorStub() {
+            @Override
+            TraversalControl visitGraphQLEnumType(GraphQLEnumType enumType, TraverserContext<GraphQLSchemaElement> context) {
+                return changeNode(context, enumType.transform({ builder -> builder.name("Sort") }))
+            }
+        }, ForkJoinPool.commonPool())
+
+        then:
+        newSchema.getType("Kind") == null
+        def sort = newSchema.getType("Sort")
+        (newSchema.getType("Foo") as GraphQLObjectType).getFieldDefinition("kind").getType() == sort
+        (newSchema.getType("Input") as GraphQLInputObjectType).getFieldDefinition("kind").getType() == sort
+        newSchema.getQueryType().getFieldDefinition("foo").getArgument("in").getType() == newSchema.getType("Input")
+    }
+
+    def "transforming with sharing does not write to the shared types"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema("""
+        type Query {
+            pet: Pet
+            named: Named
+            foo: Foo
+        }
+        interface Named {
+            name: String
+        }
+        type Cat implements Named {
+            name: String
+        }
+        type Dog implements Named {
+            name: String
+        }
+        union Pet = Cat | Dog
+        type Foo {
+            name: String
+            cat: Cat
+        }
+        """)
+        def cat = schema.getType("Cat") as GraphQLObjectType
+        def pet = schema.getType("Pet") as GraphQLUnionType
+        def catInterfaces = cat.@replacedInterfaces
+        def petTypes = pet.@replacedTypes
+
+        when:
+        GraphQLSchema newSchema = SchemaTransformer.transformSchemaWithSharing(schema, new GraphQLTypeVisitorStub() {
+            @Override
+            TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition fieldDefinition, TraverserContext<GraphQLSchemaElement> context) {
+                if (fieldDefinition.name == "name" && (context.getParentNode() as GraphQLNamedType).name == "Foo") {
+                    return changeNode(context, fieldDefinition.transform({ builder -> builder.description("changed") }))
+                }
+                return TraversalControl.CONTINUE
+            }
+        })
+
+        then:
+        newSchema.getType("Foo") != schema.getType("Foo")
+        (newSchema.getType("Foo") as GraphQLObjectType).getFieldDefinition("cat").getType() == cat
+        newSchema.getType("Cat") == cat
+        newSchema.getType("Pet") == pet
+
+        // resolving the type references of the schema would have given the shared types new lists
+        cat.@replacedInterfaces.is(catInterfaces)
+        pet.@replacedTypes.is(petTypes)
+    }
+
+    def "transforming with sharing returns the same schema if nothing has changed"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema("""
+        type Query {
+            foo: String
+        }
+        """)
+
+        expect:
+        SchemaTransformer.transformSchemaWithSharing(schema, new GraphQLTypeVisitorStub()) == schema
+    }
 }
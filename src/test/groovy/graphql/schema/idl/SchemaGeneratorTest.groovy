@@ -31,6 +31,7 @@ import graphql.schema.idl.errors.SchemaProblem
 import graphql.schema.visibility.GraphqlFieldVisibility
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
 import java.util.function.UnaryOperator
 
 import static graphql.Scalars.GraphQLBoolean
@@ -2532,4 +2533,141 @@ class SchemaGeneratorTest extends Specification {
         inputObjectType.isOneOf()
         inputObjectType.hasAppliedDirective("oneOf")
     }
+
+    def "types can be built in parallel"() {
+        def sdl = '''
+            schema {
+                query: Query
+                mutation: Mutation
+            }
+
+            directive @cost(weight: Weight) on FIELD_DEFINITION | OBJECT
+
+            "the query"
+            type Query @cost(weight: {value: 1}) {
+                node(id: ID!): Node
+                search(filter: Filter, order: [Order!]): [Result] @cost(weight: {value: 10})
+                at: Date @deprecated(reason: "use time")
+            }
+
+            type Mutation {
+                rename(id: ID!, name: String): Character
+            }
+
+            interface Node {
+                id: ID!
+            }
+
+            interface Character implements Node {
+                id: ID!
+                name: String
+                friends: [Character]
+            }
+
+            type Human implements Character & Node {
+                id: ID!
+                name: String
+                friends: [Character]
+                starships: [Starship]
+            }
+
+            type Droid implements Character & Node {
+                id: ID!
+                name: String
+                friends: [Character]
+            }
+
+            type Starship implements Node {
+                id: ID!
+                pilot: Human
+            }
+
+            union Result = Human | Droid
+
+            extend union Result = Starship
+
+            extend type Droid {
+                primaryFunction: String
+            }
+
+            input Filter {
+                name: String
+                and: [Filter!]
+                order: Order = ASC
+            }
+
+            input Weight {
+                value: Int
+            }
+
+            enum Order {
+                ASC
+                DESC
+            }
+
+            scalar Date
+
+            type Unused {
+                order: Order
+            }
+        '''
+        DataFetcher search = { env -> [] }
+        def wiring = newRuntimeWiring()
+                .wiringFactory(TestUtil.mockWiringFactory)
+                .type(newTypeWiring("Query").dataFetcher("search", search))
+                .build()
+        def pool = new ForkJoinPool(4)
+
+        when:
+        def expected = schema(sdl, wiring)
+        def actual = TestUtil.schema(defaultOptions().buildInParallel(pool), sdl, wiring)
+
+        then:
+        new SchemaPrinter().print(actual) == new SchemaPrinter().print(expected)
+        actual.getAllTypesAsList().collect { it.name } == expected.getAllTypesAsList().collect { it.name }
+        actual.getType("Float") == null
+        (actual.getObjectType("Human").getFieldDefinition("starships").getType() as GraphQLList).wrappedType.is(actual.getObjectType("Starship"))
+        actual.getImplementations(actual.getType("Character") as GraphQLInterfaceType).collect { it.name }.toSet() == ["Human", "Droid"].toSet()
+        actual.getCodeRegistry().getDataFetcher(actual.getObjectType("Query"), actual.getObjectType("Query").getFieldDefinition("search")) == search
+        actual.getCodeRegistry().getTypeResolver(actual.getType("Result") as GraphQLUnionType) != null
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    def "schema directive wiring is applied to types built in parallel"() {
+        def sdl = '''
+            directive @upper on FIELD_DEFINITION
+
+            type Query {
+                greeting: Greeting
+            }
+
+            type Greeting {
+                text: String @upper
+            }
+        '''
+        def names = Collections.synchronizedList([])
+        def upperWiring = new SchemaDirectiveWiring() {
+            @Override
+            GraphQLFieldDefinition onField(SchemaDirectiveWiringEnvironment<GraphQLFieldDefinition> environment) {
+                names.add(environment.getFieldsContainer().getName() + "." + environment.getElement().getName())
+                return environment.getElement()
+            }
+        }
+        def wiring = newRuntimeWiring()
+                .wiringFactory(TestUtil.mockWiringFactory)
+                .directive("upper", upperWiring)
+                .build()
+        def pool = new ForkJoinPool(2)
+
+        when:
+        TestUtil.schema(defaultOptions().buildInParallel(pool), sdl, wiring)
+
+        then:
+        names == ["Greeting.text"]
+
+        cleanup:
+        pool.shutdown()
+    }
 }
@@ -365,6 +365,32 @@ class SchemaParserTest extends Specification {
 
     }
 
+    def "schema files can be parsed from a path"() {
+        def sdl = '''
+            # the weather ☃
+            type Query {
+                forecast(city: String = "Zürich"): String
+            }
+        '''
+        def file = File.createTempFile("schema", ".graphqls")
+        file.deleteOnExit()
+        file.setText(sdl, "UTF-8")
+
+        when:
+        def typeDefinitionRegistry = new SchemaParser().parse(file.toPath())
+        then:
+        def query = typeDefinitionRegistry.getType("Query").get() as ObjectTypeDefinition
+        query.getComments()[0].getContent() == " the weather ☃"
+        query.getFieldDefinitions()[0].getInputValueDefinitions()[0].getDefaultValue().getValue() == "Zürich"
+
+        when: "options are used they will be respected"
+        def options = ParserOptions.defaultParserOptions.transform({ it.maxTokens(5) })
+        new SchemaParser().parse(file.toPath(), options)
+        then:
+        def e = thrown(SchemaProblem)
+        e.errors[0].message.contains("parsing has been cancelled")
+    }
+
     def "correctly parses schema keyword block, include Query, does not include Mutation type"() {
         // From RFC to clarify spec https://github.com/graphql/graphql-spec/pull/987
         when:
@@ -0,0 +1,211 @@
+package graphql.schema.idl
+
+import graphql.TestUtil
+import graphql.language.StringValue
+import graphql.schema.Coercing
+import graphql.schema.CoercingParseLiteralException
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLScalarType
+import graphql.schema.idl.errors.SchemaProblem
+import spock.lang.Specification
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class SchemaSnapshotTest extends Specification {
+
+    def sdl = '''
+        schema {
+            query: Root
+        }
+
+        "the root"
+        type Root {
+            # a comment as a description
+            hero(episode: Episode = JEDI): Character @deprecated(reason: "use heroes")
+            heroes(filter: Filter): [Character]
+            born: Date
+        }
+
+        interface Character {
+            name: String
+        }
+
+        type Human implements Character {
+            name: String
+        }
+
+        extend type Human {
+            homePlanet: String
+        }
+
+        input Filter {
+            episode: Episode
+            and: [Filter!]
+        }
+
+        enum Episode {
+            NEWHOPE
+            EMPIRE
+            JEDI
+        }
+
+        scalar Date @specifiedBy(url: "https://tools.ietf.org/html/rfc3339")
+    '''
+
+    def "a schema made from a snapshot is the same as one made from the type registry"() {
+        given:
+        DataFetcher heroes = { env -> [] }
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .wiringFactory(TestUtil.mockWiringFactory)
+                .type(newTypeWiring("Root").dataFetcher("heroes", heroes))
+                .build()
+        def typeRegistry = new SchemaParser().parse(sdl)
+        def generator = new SchemaGenerator()
+
+        when:
+        def bytes = generator.makeSchemaSnapshot(typeRegistry, wiring).toByteArray()
+        def expected = generator.makeExecutableSchema(typeRegistry, wiring)
+        def actual = generator.makeExecutableSchema(SchemaSnapshot.fromByteArray(bytes), wiring)
+
+        then:
+        new SchemaPrinter().print(actual) == new SchemaPrinter().print(expected)
+        actual.getQueryType().name == "Root"
+        actual.getQueryType().getFieldDefinition("hero").getDescription() == " a comment as a description"
+        actual.getObjectType("Human").getFieldDefinition("homePlanet") != null
+        actual.getCodeRegistry().getDataFetcher(actual.getQueryType(), actual.getQueryType().getFieldDefinition("heroes")) == heroes
+    }
+
+    def "snapshots can be written to and read from streams"() {
+        given:
+        def snapshot = new SchemaGenerator().makeSchemaSnapshot(new SchemaParser().parse(sdl), TestUtil.mockRuntimeWiring)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        snapshot.write(out)
+        def schema = new SchemaGenerator().makeExecutableSchema(SchemaSnapshot.read(new ByteArrayInputStream(out.toByteArray())), TestUtil.mockRuntimeWiring)
+
+        then:
+        out.toByteArray() == snapshot.toByteArray()
+        schema.getType("Episode") != null
+    }
+
+    def "the type registry is checked when the snapshot is made"() {
+        when:
+        new SchemaGenerator().makeSchemaSnapshot(new SchemaParser().parse("type Query { f: Missing }"), TestUtil.mockRuntimeWiring)
+
+        then:
+        def problem = thrown(SchemaProblem)
+        problem.errors[0].message.contains("Missing")
+    }
+
+    def "the runtime wiring is checked when a schema is made from a snapshot"() {
+        given:
+        def snapshot = new SchemaGenerator().makeSchemaSnapshot(new SchemaParser().parse(sdl), TestUtil.mockRuntimeWiring)
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(snapshot, RuntimeWiring.newRuntimeWiring().build())
+
+        then:
+        def problem = thrown(SchemaProblem)
+        problem.errors.collect { it.class.simpleName }.toSet() == ["MissingScalarImplementationError", "MissingTypeResolverError"].toSet()
+    }
+
+    def "the directive argument values are checked against the scalars of the runtime wiring"() {
+        given:
+        def sdl = '''
+            directive @limit(max: Count) on FIELD_DEFINITION
+
+            scalar Count
+
+            type Query {
+                heroes: [String] @limit(max: "lots")
+            }
+        '''
+        def wiring = { boolean acceptsStrings ->
+            def count = GraphQLScalarType.newScalar().name("Count").coercing(new Coercing() {
+                @Override
+                Object serialize(Object dataFetcherResult) {
+                    return dataFetcherResult
+                }
+
+                @Override
+                Object parseValue(Object input) {
+                    return input
+                }
+
+                @Override
+                Object parseLiteral(Object input) {
+                    if (input instanceof StringValue && !acceptsStrings) {
+                        throw new CoercingParseLiteralException("a count is a number")
+                    }
+                    return input
+                }
+            }).build()
+            RuntimeWiring.newRuntimeWiring().scalar(count).build()
+        }
+        def snapshot = new SchemaGenerator().makeSchemaSnapshot(new SchemaParser().parse(sdl), wiring(true))
+
+        when:
+        def schema = new SchemaGenerator().makeExecutableSchema(snapshot, wiring(true))
+
+        then:
+        schema.getQueryType().getFieldDefinition("heroes").getAppliedDirective("limit") != null
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(snapshot, wiring(false))
+
+        then:
+        def problem = thrown(SchemaProblem)
+        problem.errors.size() == 1
+        problem.errors[0].message.contains("Count")
+    }
+
+    def "only snapshots can be read"() {
+        when:
+        SchemaSnapshot.fromByteArray("type Query { f: String }".getBytes("UTF-8"))
+
+        then:
+        def e = thrown(UncheckedIOException)
+        e.cause instanceof StreamCorruptedException
+    }
+
+    def "a snapshot can only contain the classes of a type registry"() {
+        given:
+        def bytes = new ByteArrayOutputStream()
+        def header = new DataOutputStream(bytes)
+        header.writeInt(0x47514c53)
+        header.writeInt(1)
+        header.flush()
+        def objects = new ObjectOutputStream(bytes)
+        objects.writeObject(new File("snapshot"))
+        objects.flush()
+
+        when:
+        SchemaSnapshot.fromByteArray(bytes.toByteArray())
+
+        then:
+        def e = thrown(UncheckedIOException)
+        e.cause instanceof InvalidClassException
+    }
+
+    def "a snapshot that is nested too deeply is not read"() {
+        given:
+        def bytes = new ByteArrayOutputStream()
+        def header = new DataOutputStream(bytes)
+        header.writeInt(0x47514c53)
+        header.writeInt(1)
+        header.flush()
+        def nested = new ArrayList()
+        (SchemaSnapshot.MAX_DEPTH + 1).times { nested = new ArrayList([nested]) }
+        def objects = new ObjectOutputStream(bytes)
+        objects.writeObject(nested)
+        objects.flush()
+
+        when:
+        SchemaSnapshot.fromByteArray(bytes.toByteArray())
+
+        then:
+        def e = thrown(UncheckedIOException)
+        e.cause instanceof InvalidClassException
+    }
+}
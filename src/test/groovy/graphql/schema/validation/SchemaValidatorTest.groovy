@@ -1,8 +1,12 @@
 package graphql.schema.validation
 
 
+import graphql.TestUtil
+import graphql.schema.idl.SchemaGenerator
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
+
 class SchemaValidatorTest extends Specification {
 
 
@@ -22,4 +26,36 @@ class SchemaValidatorTest extends Specification {
         rules[7] instanceof OneOfInputObjectRules
         rules[8] instanceof DeprecatedInputObjectAndArgumentsAreValid
     }
+
+    def "rules can be run in parallel"() {
+        def sdl = '''
+            type Query {
+                enumValue: EnumType
+                __bad: String
+            }
+            enum EnumType {}
+            input InputType {}
+        '''
+        def pool = new ForkJoinPool(4)
+
+        when:
+        TestUtil.schema(sdl)
+        then:
+        def expected = thrown(InvalidSchemaException)
+
+        when:
+        TestUtil.schema(SchemaGenerator.Options.defaultOptions().buildInParallel(pool), sdl, TestUtil.mockRuntimeWiring)
+        then:
+        def actual = thrown(InvalidSchemaException)
+        actual.errors.size() == 3
+        actual.errors.toSet() == expected.errors.toSet()
+
+        when:
+        def schema = TestUtil.schema("type Query { f(arg: Int = 1): String }")
+        then:
+        new SchemaValidator().validateSchema(schema, pool).isEmpty()
+
+        cleanup:
+        pool.shutdown()
+    }
 }
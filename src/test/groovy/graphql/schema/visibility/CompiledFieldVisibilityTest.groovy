@@ -0,0 +1,93 @@
+package graphql.schema.visibility
+
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.schema.GraphQLInputObjectType
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+import java.util.stream.Collectors
+
+import static graphql.schema.FieldCoordinates.coordinates
+
+class CompiledFieldVisibilityTest extends Specification {
+
+    def schema = StarWarsSchema.starWarsSchema
+    def index = FieldVisibilityIndex.newFieldVisibilityIndex(schema)
+
+    def names(List fields) {
+        fields.stream().map({ fd -> fd.getName() }).collect(Collectors.toList())
+    }
+
+    def "every field of the schema is numbered once"() {
+        expect:
+        index.getFieldCoordinates().size() == index.size()
+        index.getFieldCoordinates().toSet().size() == index.size()
+        index.getFieldCoordinates().eachWithIndex { fieldCoordinates, i ->
+            assert index.indexOf(fieldCoordinates.typeName, fieldCoordinates.fieldName) == i
+        }
+        index.indexOf("Human", "name") >= 0
+        index.indexOf("Human", "unknown") == -1
+        index.indexOf("Unknown", "name") == -1
+    }
+
+    def "blocks the same fields as blocked fields with the same patterns"() {
+        given:
+        def compiled = CompiledFieldVisibility.newCompiledFieldVisibility(index).addPatterns(patterns).build()
+        def blocked = BlockedFields.newBlock().addPatterns(patterns).build()
+
+        expect:
+        schema.getAllTypesAsList().findAll { it instanceof GraphQLObjectType || it instanceof GraphQLInputObjectType }.each { type ->
+            assert names(compiled.getFieldDefinitions(type)) == names(blocked.getFieldDefinitions(type))
+            type.getFieldDefinitions().each { field ->
+                assert compiled.getFieldDefinition(type, field.name) == blocked.getFieldDefinition(type, field.name)
+            }
+        }
+
+        where:
+        patterns << [[".*\\.name"], ["Character.mismatched"], [".*"], ["Human.name", ".*.id"], ["__Type.fields"]]
+    }
+
+    def "single fields can be blocked"() {
+        given:
+        def compiled = CompiledFieldVisibility.newCompiledFieldVisibility(index)
+                .profile("tenant")
+                .blockField(coordinates("Human", "homePlanet"))
+                .blockFields([coordinates("Droid", "primaryFunction"), coordinates("Droid", "unknown")])
+                .blockFieldsMatching({ fieldCoordinates -> fieldCoordinates.fieldName == "appearsIn" })
+                .build()
+        def human = schema.getType("Human") as GraphQLObjectType
+
+        expect:
+        compiled.profile == "tenant"
+        !compiled.isVisible("Human", "homePlanet")
+        !compiled.isVisible("Droid", "primaryFunction")
+        !compiled.isVisible("Character", "appearsIn")
+        compiled.isVisible("Human", "name")
+        compiled.isVisible("Unknown", "name")
+        compiled.getFieldDefinition(human, "homePlanet") == null
+        compiled.getFieldDefinition(human, "name") != null
+        names(compiled.getFieldDefinitions(human)) == ["friends", "id", "name"]
+    }
+
+    def "is enforced when executing"() {
+        given:
+        def compiled = CompiledFieldVisibility.newCompiledFieldVisibility(index)
+                .blockField(coordinates("Human", "homePlanet"))
+                .build()
+        def tenantSchema = schema.transformWithoutTypes({ builder ->
+            builder.codeRegistry(schema.codeRegistry.transform({ codeRegistry -> codeRegistry.fieldVisibility(compiled) }))
+        })
+        def graphQL = GraphQL.newGraphQL(tenantSchema).build()
+
+        when:
+        def visible = graphQL.execute('{ human(id: "1000") { name } }')
+        def hidden = graphQL.execute('{ human(id: "1000") { homePlanet } }')
+
+        then:
+        visible.errors.isEmpty()
+        visible.data == [human: [name: "Luke Skywalker"]]
+        hidden.errors.size() == 1
+        hidden.errors[0].message.contains("homePlanet")
+    }
+}
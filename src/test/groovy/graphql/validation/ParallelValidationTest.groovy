@@ -0,0 +1,105 @@
+package graphql.validation
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.ParseAndValidate
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+class ParallelValidationTest extends Specification {
+
+    def executor = Executors.newFixedThreadPool(2)
+
+    def cleanup() {
+        executor.shutdownNow()
+        Validator.setMaxValidationErrors(100)
+    }
+
+    static List<ValidationError> validate(String query, Executor executor) {
+        def document = new Parser().parseDocument(query)
+        new Validator().validateDocument(SpecValidationSchema.specValidationSchema, document, { true }, Locale.ENGLISH, executor)
+    }
+
+    static List<ValidationError> validate(String query) {
+        def document = new Parser().parseDocument(query)
+        new Validator().validateDocument(SpecValidationSchema.specValidationSchema, document, Locale.ENGLISH)
+    }
+
+    def "parallel validation finds the same errors in location order"() {
+        def query = """
+            query getDogName(\$unused: Int) {
+              dog {
+                name: nickname
+                name
+                unknownField
+              }
+            }
+
+            fragment unusedFragment on Dog {
+              barkVolume(loud: true)
+            }
+        """
+
+        when:
+        def sequentialErrors = validate(query)
+        def parallelErrors = validate(query, executor)
+
+        then:
+        parallelErrors.size() == sequentialErrors.size()
+        parallelErrors.collect { it.toString() } as Set == sequentialErrors.collect { it.toString() } as Set
+        parallelErrors.collect { it.validationErrorType }.containsAll([
+                ValidationErrorType.FieldsConflict,
+                ValidationErrorType.FieldUndefined,
+                ValidationErrorType.UnusedFragment,
+                ValidationErrorType.UnusedVariable,
+        ])
+        def lines = parallelErrors.collect { it.locations.isEmpty() ? Integer.MAX_VALUE : it.locations[0].line }
+        lines == lines.toSorted()
+    }
+
+    def "valid documents have no errors"() {
+        expect:
+        validate("{ dog { name nickname barkVolume } }", executor).isEmpty()
+    }
+
+    def "the maximum number of validation errors is respected across the rule groups"() {
+        def query = """
+            query lotsOfErrors {
+              f ${"@lol" * 500}
+            }
+        """
+
+        when:
+        Validator.setMaxValidationErrors(10)
+        def errors = validate(query, executor)
+
+        then:
+        errors.size() == 10
+        errors.last().validationErrorType == ValidationErrorType.MaxValidationErrorsReached
+    }
+
+    def "rule groups that are rejected by the executor are validated on the calling thread"() {
+        def rejectingExecutor = { Runnable runnable -> throw new RejectedExecutionException("full") } as Executor
+
+        expect:
+        validate("{ dog { unknownField } }", rejectingExecutor).collect { it.validationErrorType } == [ValidationErrorType.FieldUndefined]
+    }
+
+    def "an executor can be supplied via the graphql context"() {
+        def graphQL = GraphQL.newGraphQL(SpecValidationSchema.specValidationSchema).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ dog { unknownField } }")
+                .graphQLContext([(ParseAndValidate.VALIDATION_EXECUTOR_HINT): executor])
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.size() == 1
+        (result.errors[0] as ValidationError).validationErrorType == ValidationErrorType.FieldUndefined
+    }
+}
@@ -0,0 +1,142 @@
+package graphql.validation
+
+import graphql.ExecutionInput
+import graphql.ParseAndValidate
+import graphql.TestUtil
+import spock.lang.Specification
+
+import java.util.function.Predicate
+
+class ValidationResultCacheTest extends Specification {
+
+    def sdl = """
+        type Query {
+            hello: String
+            world: String
+        }
+    """
+
+    def "repeated queries are only validated once"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+
+        when:
+        def first = graphQL.execute("{ hello }")
+        def second = graphQL.execute("{ hello }")
+        def third = graphQL.execute("{ world }")
+
+        then:
+        first.errors.isEmpty()
+        second.errors.isEmpty()
+        third.errors.isEmpty()
+        cache.getMissCount() == 2
+        cache.getHitCount() == 1
+        cache.size() == 2
+    }
+
+    def "validation errors are cached with their locations"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+
+        when:
+        def first = graphQL.execute("{ unknown }")
+        def second = graphQL.execute("{ unknown }")
+
+        then:
+        first.errors.size() == 1
+        second.errors == first.errors
+        second.errors[0].locations == first.errors[0].locations
+        cache.getHitCount() == 1
+    }
+
+    def "outcomes are kept per schema"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+        def newSchema = TestUtil.schema("type Query { hello: String }")
+        def reloaded = graphQL.transform({ builder -> builder.schema(newSchema) })
+
+        when:
+        def before = graphQL.execute("{ world }")
+        def after = reloaded.execute("{ world }")
+
+        then:
+        before.errors.isEmpty()
+        after.errors.size() == 1
+        cache.getHitCount() == 0
+        cache.size() == 2
+
+        when: "executions of both schemas take turns"
+        def beforeAgain = graphQL.execute("{ world }")
+        def afterAgain = reloaded.execute("{ world }")
+
+        then:
+        beforeAgain.errors.isEmpty()
+        afterAgain.errors == after.errors
+        cache.getHitCount() == 2
+        cache.getMissCount() == 2
+    }
+
+    def "the cache is bounded"() {
+        given:
+        def cache = new ValidationResultCache(2)
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+
+        when:
+        ["{ hello }", "{ world }", "{ hello world }", "{ world hello }", "{ a: hello }"].each { graphQL.execute(it) }
+
+        then:
+        cache.size() == 2
+        cache.getHitCount() == 0
+        cache.getMissCount() == 5
+    }
+
+    def "outcomes are cached per locale"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput("{ unknown }").locale(Locale.ENGLISH).build())
+        graphQL.execute(ExecutionInput.newExecutionInput("{ unknown }").locale(Locale.GERMAN).build())
+
+        then:
+        cache.getMissCount() == 2
+        cache.size() == 2
+    }
+
+    def "validations with a rule predicate bypass the cache"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ hello }")
+                .graphQLContext([(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT): { Class<?> rule -> true } as Predicate<Class<?>>])
+                .build()
+
+        when:
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.errors.isEmpty()
+        cache.size() == 0
+        cache.getMissCount() == 0
+    }
+
+    def "invalidateAll removes every outcome"() {
+        given:
+        def cache = new ValidationResultCache()
+        def graphQL = TestUtil.graphQL(sdl).validationResultCache(cache).build()
+        graphQL.execute("{ hello }")
+
+        when:
+        cache.invalidateAll()
+        graphQL.execute("{ hello }")
+
+        then:
+        cache.size() == 1
+        cache.getHitCount() == 0
+        cache.getMissCount() == 2
+    }
+}
@@ -25,7 +25,7 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
 
     ValidationErrorCollector errorCollector = new ValidationErrorCollector()
 
-    def traverse(String query, GraphQLSchema schema) {
+    def traverse(String query, GraphQLSchema schema, int maxFieldComparisons = OverlappingFieldsCanBeMerged.MAX_FIELD_COMPARISONS) {
         if (schema == null) {
             def objectType = newObject()
                     .name("Test")
@@ -38,7 +38,7 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
         Document document = new Parser().parseDocument(query)
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH)
         ValidationContext validationContext = new ValidationContext(schema, document, i18n)
-        OverlappingFieldsCanBeMerged overlappingFieldsCanBeMerged = new OverlappingFieldsCanBeMerged(validationContext, errorCollector)
+        OverlappingFieldsCanBeMerged overlappingFieldsCanBeMerged = new OverlappingFieldsCanBeMerged(validationContext, errorCollector, maxFieldComparisons)
         LanguageTraversal languageTraversal = new LanguageTraversal()
 
         languageTraversal.traverse(document, new RulesVisitor(validationContext, [overlappingFieldsCanBeMerged]))
@@ -948,5 +948,120 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
         errorCollector.getErrors().size() == 0
     }
 
+    def "conflicts inside a fragment spread in many places are found once"() {
+        given:
+        def schema = schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String nickname: String child: Node }
+        ''')
+        def spreads = (1..50).collect { "a$it: child { ...F }" }.join("\n")
+        def query = """
+        {
+          node {
+            $spreads
+          }
+        }
+        fragment F on Node {
+          id
+          child { name: nickname }
+          child { name }
+        }
+        """
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message.contains("child/name")
+    }
+
+    def "same named fields spreading the same fragment are merged without conflicts"() {
+        given:
+        def schema = schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String child: Node }
+        ''')
+        def fields = (1..50).collect { "child { id ...F }" }.join("\n")
+        def query = """
+        {
+          node {
+            $fields
+          }
+        }
+        fragment F on Node { name child { id ...G } }
+        fragment G on Node { id name }
+        """
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().isEmpty()
+    }
+
+    def "fragment cycles do not stop the validation"() {
+        given:
+        def schema = schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String child: Node }
+        ''')
+        def query = """
+        { node { ...A } }
+        fragment A on Node { id child { ...B } ...B }
+        fragment B on Node { name child { ...A } ...A }
+        """
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().isEmpty()
+    }
+
+    def "fragments spread next to each other in many places are compared once"() {
+        given:
+        def schema = schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String nickname: String child: Node }
+        ''')
+        // every place merges a different group of child fields, but the same fragments
+        def spreads = (1..50).collect { "a$it: child { child { id } ...A ...B }" }.join("\n")
+        def query = """
+        {
+          node {
+            $spreads
+          }
+        }
+        fragment A on Node { child { ...X } }
+        fragment B on Node { child { ...Y } }
+        fragment X on Node { id c: name }
+        fragment Y on Node { id c: nickname }
+        """
+        when:
+        traverse(query, schema)
 
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict@[node/child]) : 'child/c' : 'name' and 'nickname' are different fields"
+    }
+
+    def "the number of compared fields per document is bounded"() {
+        given:
+        def schema = schema('''
+        type Query { node: Node }
+        type Node { id: ID name: String child: Node }
+        ''')
+        def fields = (1..50).collect { "child { id name }" }.join("\n")
+        def query = """
+        {
+          node {
+            $fields
+          }
+        }
+        """
+        when:
+        traverse(query, schema, 10)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict@[node/child]) : more than 10 fields have to be compared to check that they can be merged"
+    }
 }
@@ -0,0 +1,142 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.DataFetcherExecutors;
+import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.schema.AsyncDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Measures how long it takes to serve a burst of concurrent requests whose data fetchers do blocking I/O (simulated by sleeping),
+ * when the fetchers are wrapped in {@link AsyncDataFetcher}s on the common pool, invoked on a fixed thread pool or invoked on
+ * virtual threads.  The virtual thread mode needs Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingDataFetcherBenchmark {
+
+    private static final String SDL = "type Query { account: Account }\n" +
+            "type Account { id: ID balance: Int owner: String }\n";
+
+    private static final String QUERY = "{ account { id balance owner } }";
+
+    @Param({"COMMON_POOL", "FIXED_POOL", "VIRTUAL_THREADS"})
+    public String mode;
+
+    @Param({"10000"})
+    public int concurrentRequests;
+
+    @Param({"10"})
+    public int blockingMillis;
+
+    ExecutorService executor;
+    GraphQL graphQL;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataFetcher<Object> accountDF = env -> {
+            block();
+            return "account";
+        };
+        DataFetcher<Object> balanceDF = env -> {
+            block();
+            return 42;
+        };
+        DataFetcher<Object> ownerDF = env -> {
+            block();
+            return "owner";
+        };
+
+        AsyncExecutionStrategy strategy;
+        if ("COMMON_POOL".equals(mode)) {
+            accountDF = AsyncDataFetcher.async(accountDF, ForkJoinPool.commonPool());
+            balanceDF = AsyncDataFetcher.async(balanceDF, ForkJoinPool.commonPool());
+            ownerDF = AsyncDataFetcher.async(ownerDF, ForkJoinPool.commonPool());
+            strategy = new AsyncExecutionStrategy();
+        } else if ("FIXED_POOL".equals(mode)) {
+            executor = Executors.newFixedThreadPool(200);
+            strategy = new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), executor);
+        } else {
+            executor = DataFetcherExecutors.newVirtualThreadPerTaskExecutor();
+            strategy = new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), executor);
+        }
+
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("account", accountDF))
+                .type(newTypeWiring("Account")
+                        .dataFetcher("id", env -> "a1")
+                        .dataFetcher("balance", balanceDF)
+                        .dataFetcher("owner", ownerDF))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Object concurrentBlockingRequests() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<ExecutionResult>[] results = new CompletableFuture[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            results[i] = graphQL.executeAsync(QUERY);
+        }
+        return CompletableFuture.allOf(results).join();
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.BlockingDataFetcherBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -2,11 +2,13 @@ package benchmark;
 
 import graphql.ExecutionInput;
 import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -44,6 +46,7 @@ public class ChainedInstrumentationBenchmark {
     ChainedInstrumentation chainedInstrumentation;
     GraphQLSchema schema;
     InstrumentationExecutionParameters parameters;
+    InstrumentationFieldFetchParameters fieldFetchParameters;
     InstrumentationState instrumentationState;
 
     @Setup(Level.Trial)
@@ -65,6 +68,7 @@ public class ChainedInstrumentationBenchmark {
         chainedInstrumentation = new ChainedInstrumentation(instrumentations);
         instrumentationState = chainedInstrumentation.createStateAsync(createStateParameters).get();
         parameters = new InstrumentationExecutionParameters(executionInput, schema);
+        fieldFetchParameters = new InstrumentationFieldFetchParameters(null, () -> null, null, false);
     }
 
     @Benchmark
@@ -73,6 +77,12 @@ public class ChainedInstrumentationBenchmark {
         return chainedInstrumentation.instrumentSchema(schema, parameters, instrumentationState);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public FieldFetchingInstrumentationContext benchmarkBeginFieldFetching() {
+        return chainedInstrumentation.beginFieldFetching(fieldFetchParameters, instrumentationState);
+    }
+
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include("benchmark.ChainedInstrumentationBenchmark")
@@ -0,0 +1,131 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.parser.ParserEnvironment;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing into the regular AST with parsing into the compact AST of {@link ParserOptions#isCompactAst()}.
+ * <p>
+ * The benchmark measures the parsing time, while the main method first reports the heap retained by a cache sized set of
+ * distinct documents in each mode, which is what the compact AST is for.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompactAstBenchmark {
+
+    private static final int RETAINED_DOCUMENTS = 40_000;
+
+    @Param({"false", "true"})
+    public boolean compactAst;
+
+    ParserOptions parserOptions;
+    String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parserOptions = parserOptions(compactAst);
+        query = query(42);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return parse(query, parserOptions);
+    }
+
+    private static ParserOptions parserOptions(boolean compactAst) {
+        return ParserOptions.getDefaultOperationParserOptions().transform(builder -> builder.compactAst(compactAst));
+    }
+
+    private static Document parse(String query, ParserOptions parserOptions) {
+        return new Parser().parseDocument(ParserEnvironment.newParserEnvironment().document(query).parserOptions(parserOptions).build());
+    }
+
+    /**
+     * Every document is a distinct query text, like the persisted queries of many clients, but they use the same names
+     */
+    private static String query(int n) {
+        return "query timeline" + n + "($count: Int = " + n + ", $after: String) {\n" +
+                "  viewer { id handle name }\n" +
+                "  timeline(count: $count, after: $after) {\n" +
+                "    pageInfo { hasNextPage endCursor }\n" +
+                "    edges {\n" +
+                "      cursor\n" +
+                "      node {\n" +
+                "        ...tweet\n" +
+                "        replyTo { ...tweet }\n" +
+                "        quoted" + n % 10 + ": quoted { ...tweet author { followers verified } }\n" +
+                "      }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}\n" +
+                "fragment tweet on Tweet {\n" +
+                "  id text likes retweets createdAt\n" +
+                "  author { id handle name avatar(size: " + (n % 4 + 1) * 32 + ") }\n" +
+                "  media @include(if: true) { url width height }\n" +
+                "}\n";
+    }
+
+    private static long retainedBytes(boolean compactAst) {
+        ParserOptions parserOptions = parserOptions(compactAst);
+        long before = usedHeap();
+        List<Document> documents = new ArrayList<>(RETAINED_DOCUMENTS);
+        for (int i = 0; i < RETAINED_DOCUMENTS; i++) {
+            documents.add(parse(query(i), parserOptions));
+        }
+        long retained = usedHeap() - before;
+        if (documents.size() != RETAINED_DOCUMENTS) {
+            throw new IllegalStateException();
+        }
+        return retained;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (boolean compactAst : new boolean[]{false, true}) {
+            long retained = retainedBytes(compactAst);
+            System.out.printf("compactAst=%-5s %,d documents retain %,d bytes (%,d bytes per document)%n",
+                    compactAst, RETAINED_DOCUMENTS, retained, retained / RETAINED_DOCUMENTS);
+        }
+
+        Options opt = new OptionsBuilder()
+                .include("benchmark.CompactAstBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQL;
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Compares the allocation rate of executing a wide list query with plain and with compact result maps.  Run it with
+ * the gc profiler ({@code -prof gc}) to see the normalised allocation per operation.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompactResultBenchmark {
+
+    private static final String SDL = "" +
+            "type Query { timeline(count: Int): [Tweet] }\n" +
+            "type Tweet { id: ID text: String likes: Int retweets: Int author: User replyTo: Tweet }\n" +
+            "type User { id: ID handle: String name: String followers: Int verified: Boolean }\n";
+
+    private static final String QUERY = "" +
+            "query timeline($count: Int) { timeline(count: $count) { id text likes retweets " +
+            "author { id handle name followers verified } " +
+            "replyTo { id text likes retweets author { id handle name followers verified } } } }";
+
+    @Param({"false", "true"})
+    public boolean compactResults;
+
+    @Param({"1000"})
+    public int count;
+
+    GraphQL graphQL;
+    List<Map<String, Object>> tweets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tweets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> user = Map.of("id", "u" + i, "handle", "@user" + i, "name", "User " + i, "followers", i * 7, "verified", i % 2 == 0);
+            Map<String, Object> tweet = new LinkedHashMap<>();
+            tweet.put("id", "t" + i);
+            tweet.put("text", "tweet number " + i);
+            tweet.put("likes", i);
+            tweet.put("retweets", i / 2);
+            tweet.put("author", user);
+            tweet.put("replyTo", i > 0 ? tweets.get(i - 1) : null);
+            tweets.add(tweet);
+        }
+
+        DataFetcher<?> timelineDF = env -> tweets.subList(0, Math.min(tweets.size(), env.<Integer>getArgument("count")));
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("timeline", timelineDF))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build();
+    }
+
+    @Benchmark
+    public ExecutionResult wideListQuery() {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(QUERY)
+                .variables(Map.of("count", count))
+                .graphQLContext(Map.of(ExperimentalApi.ENABLE_COMPACT_RESULTS, compactResults))
+                .build();
+        return graphQL.execute(executionInput);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.CompactResultBenchmark")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
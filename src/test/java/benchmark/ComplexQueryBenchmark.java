@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLSchema;
@@ -47,6 +48,9 @@ import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
  * along with multiple threads happening.
  * <p>
  * It can also be run in a forever mode say if you want to connect a profiler to it say
+ * <p>
+ * The leafFastPath param compares the allocation rate ({@code -prof gc}) with and without the fast path for
+ * scalar fields fetched by a {@link graphql.schema.PropertyDataFetcher}, which any instrumentation turns off
  */
 @State(Scope.Benchmark)
 @Warmup(iterations = 2, time = 5)
@@ -56,6 +60,8 @@ public class ComplexQueryBenchmark {
 
     @Param({"5", "10", "20"})
     int howManyItems = 5;
+    @Param({"true", "false"})
+    boolean leafFastPath = true;
     int howLongToSleep = 5;
     int howManyQueries = 10;
     int howManyQueryThreads = 10;
@@ -164,7 +170,12 @@ public class ComplexQueryBenchmark {
 
         GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
 
-        return GraphQL.newGraphQL(graphQLSchema).build();
+        GraphQL.Builder builder = GraphQL.newGraphQL(graphQLSchema);
+        if (!leafFastPath) {
+            builder.instrumentation(new Instrumentation() {
+            });
+        }
+        return builder.build();
     }
 
     private <T> CompletableFuture<T> supplyAsyncListItems(DataFetchingEnvironment environment, Supplier<T> codeToRun) {
@@ -14,6 +14,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 @Warmup(iterations = 2, time = 5)
@@ -23,6 +24,8 @@ public class CreateSchemaBenchmark {
 
     static String largeSDL = BenchmarkUtils.loadResource("large-schema-3.graphqls");
 
+    static String generatedSDL = generateSDL(100, 98);
+
     @Benchmark
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.MINUTES)
@@ -37,9 +40,58 @@ public class CreateSchemaBenchmark {
         blackhole.consume(createSchema(largeSDL));
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkGeneratedSchemaCreateAvgTime(Blackhole blackhole) {
+        blackhole.consume(createSchema(generatedSDL));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkGeneratedSchemaCreateInParallelAvgTime(Blackhole blackhole) {
+        blackhole.consume(createSchema(generatedSDL, SchemaGenerator.Options.defaultOptions().buildInParallel(ForkJoinPool.commonPool())));
+    }
+
     private static GraphQLSchema createSchema(String sdl) {
+        return createSchema(sdl, SchemaGenerator.Options.defaultOptions());
+    }
+
+    private static GraphQLSchema createSchema(String sdl, SchemaGenerator.Options options) {
         TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
-        return new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING);
+        return new SchemaGenerator().makeExecutableSchema(options, registry, RuntimeWiring.MOCKED_WIRING);
+    }
+
+    /**
+     * A schema of many modules, each with a tree of object types plus an enum and an input type, where the types
+     * of every module also refer to the types of the first module, like the shared types of a large service
+     */
+    private static String generateSDL(int modules, int objectTypesPerModule) {
+        StringBuilder sdl = new StringBuilder();
+        sdl.append("interface Node {\n  id: ID!\n}\n\n");
+        sdl.append("type Query {\n");
+        for (int m = 0; m < modules; m++) {
+            sdl.append("  module").append(m).append("(filter: Filter").append(m).append("): T").append(m).append("_0\n");
+        }
+        sdl.append("}\n\n");
+        for (int m = 0; m < modules; m++) {
+            sdl.append("enum Status").append(m).append(" {\n  ACTIVE\n  RETIRED\n}\n\n");
+            sdl.append("input Filter").append(m).append(" {\n  status: Status").append(m)
+                    .append("\n  name: String\n  and: [Filter").append(m).append("!]\n}\n\n");
+            for (int t = 0; t < objectTypesPerModule; t++) {
+                sdl.append("\"Type ").append(t).append(" of module ").append(m).append("\"\n");
+                sdl.append("type T").append(m).append('_').append(t).append(" implements Node {\n");
+                sdl.append("  id: ID!\n  name: String\n  score: Float @deprecated(reason: \"unused\")\n");
+                sdl.append("  status: Status").append(m).append("\n");
+                sdl.append("  parent: T").append(m).append('_').append(t / 2).append("\n");
+                sdl.append("  children(first: Int = 10, filter: Filter").append(m).append("): [T").append(m).append('_')
+                        .append(Math.min(2 * t + 1, objectTypesPerModule - 1)).append("!]\n");
+                sdl.append("  shared: T0_").append(t).append("\n");
+                sdl.append("}\n\n");
+            }
+        }
+        return sdl.toString();
     }
 
     @SuppressWarnings("InfiniteLoopStatement")
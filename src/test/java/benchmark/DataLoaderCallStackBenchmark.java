@@ -0,0 +1,171 @@
+package benchmark;
+
+import graphql.execution.instrumentation.dataloader.AtomicLevelMap;
+import graphql.execution.instrumentation.dataloader.LevelMap;
+import graphql.util.LockKit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per level call stack bookkeeping of the PerLevelDataLoaderDispatchStrategy when it is guarded by a
+ * single lock (the previous implementation) against the lock free implementation, with 1, 8 and 32 threads concurrently
+ * completing fields of the same request.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataLoaderCallStackBenchmark {
+
+    private static final int MAX_LEVEL = 6;
+
+    private final LockedCallStack lockedCallStack = new LockedCallStack();
+    private final AtomicCallStack atomicCallStack = new AtomicCallStack();
+
+    @Benchmark
+    @Threads(1)
+    public void locked_1Thread(Blackhole blackhole) {
+        completeField(lockedCallStack, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void locked_8Threads(Blackhole blackhole) {
+        completeField(lockedCallStack, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void locked_32Threads(Blackhole blackhole) {
+        completeField(lockedCallStack, blackhole);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lockFree_1Thread(Blackhole blackhole) {
+        completeField(atomicCallStack, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void lockFree_8Threads(Blackhole blackhole) {
+        completeField(atomicCallStack, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void lockFree_32Threads(Blackhole blackhole) {
+        completeField(atomicCallStack, blackhole);
+    }
+
+    // the mix of callbacks a thread completing a field of a wide list makes: the object's strategy call,
+    // the field fetch and the field value callback, each followed by a readiness check where the strategy does one
+    private static void completeField(CallStack callStack, Blackhole blackhole) {
+        int level = ThreadLocalRandom.current().nextInt(1, MAX_LEVEL);
+        callStack.executeObject(level, 3);
+        blackhole.consume(callStack.fieldFetched(level));
+        blackhole.consume(callStack.onFieldValues(level, 1));
+    }
+
+    interface CallStack {
+
+        void executeObject(int level, int fieldCount);
+
+        boolean fieldFetched(int level);
+
+        boolean onFieldValues(int level, int objectCount);
+    }
+
+    static class LockedCallStack implements CallStack {
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private final LevelMap expectedFetchCountPerLevel = new LevelMap();
+        private final LevelMap fetchCountPerLevel = new LevelMap();
+        private final LevelMap expectedStrategyCallsPerLevel = new LevelMap();
+        private final LevelMap happenedStrategyCallsPerLevel = new LevelMap();
+        private final LevelMap happenedOnFieldValueCallsPerLevel = new LevelMap();
+        private final Set<Integer> dispatchedLevels = new LinkedHashSet<>();
+
+        @Override
+        public void executeObject(int level, int fieldCount) {
+            lock.runLocked(() -> {
+                expectedFetchCountPerLevel.increment(level, fieldCount);
+                happenedStrategyCallsPerLevel.increment(level, 1);
+            });
+        }
+
+        @Override
+        public boolean fieldFetched(int level) {
+            return lock.callLocked(() -> {
+                fetchCountPerLevel.increment(level, 1);
+                return dispatchIfNeeded(level);
+            });
+        }
+
+        @Override
+        public boolean onFieldValues(int level, int objectCount) {
+            return lock.callLocked(() -> {
+                happenedOnFieldValueCallsPerLevel.increment(level, 1);
+                expectedStrategyCallsPerLevel.increment(level + 1, objectCount);
+                return dispatchIfNeeded(level + 1);
+            });
+        }
+
+        private boolean dispatchIfNeeded(int level) {
+            boolean ready = happenedOnFieldValueCallsPerLevel.get(level - 1) == expectedStrategyCallsPerLevel.get(level - 1)
+                    && happenedStrategyCallsPerLevel.get(level) == expectedStrategyCallsPerLevel.get(level)
+                    && fetchCountPerLevel.get(level) == expectedFetchCountPerLevel.get(level);
+            return ready && dispatchedLevels.add(level);
+        }
+    }
+
+    static class AtomicCallStack implements CallStack {
+        private final AtomicLevelMap expectedFetchCountPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap fetchCountPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap expectedStrategyCallsPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap happenedStrategyCallsPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap happenedOnFieldValueCallsPerLevel = new AtomicLevelMap();
+        private final AtomicLevelMap dispatchedLevels = new AtomicLevelMap();
+
+        @Override
+        public void executeObject(int level, int fieldCount) {
+            expectedFetchCountPerLevel.increment(level, fieldCount);
+            happenedStrategyCallsPerLevel.increment(level, 1);
+        }
+
+        @Override
+        public boolean fieldFetched(int level) {
+            fetchCountPerLevel.increment(level, 1);
+            return dispatchIfNeeded(level);
+        }
+
+        @Override
+        public boolean onFieldValues(int level, int objectCount) {
+            expectedStrategyCallsPerLevel.increment(level + 1, objectCount);
+            happenedOnFieldValueCallsPerLevel.increment(level, 1);
+            return dispatchIfNeeded(level + 1);
+        }
+
+        private boolean dispatchIfNeeded(int level) {
+            boolean ready = happenedOnFieldValueCallsPerLevel.get(level - 1) == expectedStrategyCallsPerLevel.get(level - 1)
+                    && happenedStrategyCallsPerLevel.get(level) == expectedStrategyCallsPerLevel.get(level)
+                    && fetchCountPerLevel.get(level) == expectedFetchCountPerLevel.get(level);
+            return ready && dispatchedLevels.compareAndSet(level, 0, 1);
+        }
+    }
+}
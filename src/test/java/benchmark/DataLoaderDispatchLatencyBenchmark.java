@@ -0,0 +1,149 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.dataloader.BatchWindowDispatchOptions;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Measures the latency distribution of a query of uneven depth: one shallow field is slow, while a deep branch of the query
+ * resolves its levels via DataLoaders.  With per level dispatching the deep branch waits for the slow field on every level,
+ * with batch window dispatching it does not.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataLoaderDispatchLatencyBenchmark {
+
+    private static final String SDL = "" +
+            "type Query {\n" +
+            "  slow: String\n" +
+            "  departments: [Department]\n" +
+            "}\n" +
+            "type Department {\n" +
+            "  id: ID\n" +
+            "  manager: Person\n" +
+            "}\n" +
+            "type Person {\n" +
+            "  id: ID\n" +
+            "  friend: Person\n" +
+            "}\n";
+
+    private static final String QUERY = "{ slow departments { id manager { id friend { id friend { id friend { id } } } } } }";
+
+    @Param({"PER_LEVEL", "BATCH_WINDOW"})
+    public String dispatchMode;
+
+    @Param({"5"})
+    public int slowFieldMillis;
+
+    ExecutorService executor;
+    GraphQL graphQL;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(16);
+
+        DataFetcher<?> slowDF = env -> CompletableFuture.supplyAsync(() -> {
+            sleep(slowFieldMillis);
+            return "slow";
+        }, executor);
+        DataFetcher<?> departmentsDF = env -> IntStream.range(0, 10).mapToObj(i -> Map.of("id", "d" + i)).collect(Collectors.toList());
+        DataFetcher<?> managerDF = env -> env.getDataLoader("person").load("m-" + ((Map<?, ?>) env.getSource()).get("id"));
+        DataFetcher<?> friendDF = env -> env.getDataLoader("person").load("f-" + ((Map<?, ?>) env.getSource()).get("id"));
+
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("slow", slowDF)
+                        .dataFetcher("departments", departmentsDF))
+                .type(newTypeWiring("Department").dataFetcher("manager", managerDF))
+                .type(newTypeWiring("Person").dataFetcher("friend", friendDF))
+                .build();
+        TypeDefinitionRegistry registry = new SchemaParser().parse(SDL);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(registry, wiring);
+
+        GraphQL.Builder builder = GraphQL.newGraphQL(schema);
+        if ("BATCH_WINDOW".equals(dispatchMode)) {
+            builder.batchWindowDispatchOptions(BatchWindowDispatchOptions.newBatchWindowDispatchOptions().batchWindow(Duration.ofMillis(1)).build());
+        }
+        graphQL = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ExecutionResult unevenDepthQuery() {
+        BatchLoader<String, Map<String, Object>> personBatchLoader = keys -> CompletableFuture.supplyAsync(() -> {
+            sleep(1);
+            return keys.stream().map(key -> Map.<String, Object>of("id", key)).collect(Collectors.toList());
+        }, executor);
+        DataLoader<String, Map<String, Object>> personLoader = DataLoaderFactory.newDataLoader(personBatchLoader);
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaderRegistry.register("person", personLoader);
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(QUERY)
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build();
+        return graphQL.execute(executionInput);
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.DataLoaderDispatchLatencyBenchmark")
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
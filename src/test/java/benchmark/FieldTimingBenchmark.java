@@ -0,0 +1,95 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.fieldtiming.FieldTimingInstrumentation;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Measures what the field timing costs an execution at different sample rates, where a rate of 0 is the cost of an
+ * execution that is not sampled.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FieldTimingBenchmark {
+
+    private static final int NUMBER_OF_FRIENDS = 1000;
+    private static final String QUERY = "{ hero { name friends { name } } }";
+
+    @Param({"0", "0.01", "1"})
+    double sampleRate;
+
+    GraphQL untimed;
+    GraphQL timed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphQLSchema schema = buildSchema();
+        untimed = GraphQL.newGraphQL(schema).build();
+        timed = GraphQL.newGraphQL(schema)
+                .instrumentation(new FieldTimingInstrumentation(sampleRate))
+                .build();
+    }
+
+    @Benchmark
+    public ExecutionResult withoutFieldTiming() {
+        return untimed.execute(QUERY);
+    }
+
+    @Benchmark
+    public ExecutionResult withFieldTiming() {
+        return timed.execute(QUERY);
+    }
+
+    private static GraphQLSchema buildSchema() {
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(BenchmarkUtils.loadResource("starWarsSchema.graphqls"));
+
+        DataFetcher<SimpleQueryBenchmark.CharacterDTO> heroDataFetcher = environment -> SimpleQueryBenchmark.CharacterDTO.mkCharacter(environment, "r2d2", NUMBER_OF_FRIENDS);
+        TypeResolver typeResolver = env -> env.getSchema().getObjectType("Human");
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("QueryType").dataFetcher("hero", heroDataFetcher))
+                .type(newTypeWiring("Character").typeResolver(typeResolver))
+                .build();
+
+        return new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.FieldTimingBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
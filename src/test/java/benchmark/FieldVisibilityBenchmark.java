@@ -0,0 +1,90 @@
+package benchmark;
+
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.visibility.BlockedFields;
+import graphql.schema.visibility.CompiledFieldVisibility;
+import graphql.schema.visibility.FieldVisibilityIndex;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up every field of a large schema through {@link BlockedFields} and through a
+ * {@link CompiledFieldVisibility} with the same patterns.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FieldVisibilityBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    GraphqlFieldVisibility fieldVisibility;
+    List<GraphQLFieldsContainer> fieldsContainers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphQLSchema schema = SchemaGenerator.createdMockedSchema(BenchmarkUtils.loadResource("large-schema-3.graphqls"));
+        List<String> patterns = List.of("Object1\\d\\d\\.field.*", ".*\\.field4610", "Interface7.*");
+        fieldVisibility = compiled
+                ? CompiledFieldVisibility.newCompiledFieldVisibility(FieldVisibilityIndex.newFieldVisibilityIndex(schema)).addPatterns(patterns).build()
+                : BlockedFields.newBlock().addPatterns(patterns).build();
+        fieldsContainers = new ArrayList<>();
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLFieldsContainer) {
+                fieldsContainers.add((GraphQLFieldsContainer) type);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getFieldDefinition(Blackhole blackhole) {
+        for (GraphQLFieldsContainer fieldsContainer : fieldsContainers) {
+            for (GraphQLFieldDefinition fieldDefinition : fieldsContainer.getFieldDefinitions()) {
+                blackhole.consume(fieldVisibility.getFieldDefinition(fieldsContainer, fieldDefinition.getName()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getFieldDefinitions(Blackhole blackhole) {
+        for (GraphQLFieldsContainer fieldsContainer : fieldsContainers) {
+            blackhole.consume(fieldVisibility.getFieldDefinitions(fieldsContainer));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.FieldVisibilityBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -19,6 +19,7 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -62,6 +63,131 @@ public class OverlappingFieldValidationBenchmark {
         }
     }
 
+    /**
+     * Generated documents that reuse fragments in the ways that used to make overlapping field validation go quadratic, in
+     * growing sizes so that the scaling shows
+     */
+    @State(Scope.Benchmark)
+    public static class AdversarialState {
+
+        static final String SDL = "" +
+                "type Query { viewer: Node }\n" +
+                "type Node { id: ID name: String value: Int child: Node children(first: Int): [Node] }\n";
+
+        @Param({"10", "100", "1000"})
+        int size;
+
+        GraphQLSchema schema;
+        Document repeatedFragment;
+        Document sameNameFields;
+        Document fragmentChain;
+        Document fragmentPairs;
+
+        @Setup
+        public void setup() {
+            schema = SchemaGenerator.createdMockedSchema(SDL);
+            repeatedFragment = parseValid(repeatedFragment(size));
+            sameNameFields = parseValid(sameNameFields(size));
+            fragmentChain = parseValid(fragmentChain(size));
+            fragmentPairs = parseValid(fragmentPairs(size));
+        }
+
+        private Document parseValid(String query) {
+            Document document = Parser.parse(query);
+            assertTrue(validateQuery(schema, document).isEmpty());
+            return document;
+        }
+
+        private static final String FRAGMENT = "fragment F on Node { id name value child { id name child { id name ...G } } children(first: 2) { ...G } }\n" +
+                "fragment G on Node { id value child { id value } }\n";
+
+        /**
+         * The same fragment spread under many different aliases
+         */
+        static String repeatedFragment(int size) {
+            StringBuilder query = new StringBuilder("query { viewer {");
+            for (int i = 0; i < size; i++) {
+                query.append(" a").append(i).append(": child { ...F }");
+            }
+            return query.append(" } }\n").append(FRAGMENT).toString();
+        }
+
+        /**
+         * Many fields of the same name that all spread the same fragment, so their sub selections all have to be merged
+         */
+        static String sameNameFields(int size) {
+            StringBuilder query = new StringBuilder("query { viewer {");
+            for (int i = 0; i < size; i++) {
+                query.append(" child { id ...F }");
+            }
+            return query.append(" } }\n").append(FRAGMENT).toString();
+        }
+
+        /**
+         * Fragments that each spread the previous fragment twice, which expands to an exponential number of fields
+         */
+        static String fragmentChain(int size) {
+            int depth = Math.max(2, size / 10);
+            StringBuilder query = new StringBuilder("query { viewer { ...F").append(depth).append(" } }\n");
+            query.append("fragment F0 on Node { id name }\n");
+            for (int i = 1; i <= depth; i++) {
+                query.append("fragment F").append(i).append(" on Node { id child { ...F").append(i - 1)
+                        .append(" } same: child { ...F").append(i - 1).append(" } }\n");
+            }
+            return query.toString();
+        }
+
+        /**
+         * The same two fragments spread next to a field of the same name in many places, so that every place merges a
+         * different group of fields from the same fragments
+         */
+        static String fragmentPairs(int size) {
+            StringBuilder query = new StringBuilder("query { viewer {");
+            for (int i = 0; i < size; i++) {
+                query.append(" a").append(i).append(": child { child { id } ...A ...B }");
+            }
+            query.append(" } }\n");
+            query.append("fragment A on Node { child { ...X } }\n");
+            query.append("fragment B on Node { child { ...Y } }\n");
+            for (String fragmentName : new String[]{"X", "Y"}) {
+                query.append("fragment ").append(fragmentName).append(" on Node { id name");
+                for (int i = 0; i < size; i++) {
+                    query.append(" c").append(i).append(": child { id }");
+                }
+                query.append(" }\n");
+            }
+            return query.toString();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void repeatedFragment(AdversarialState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.repeatedFragment));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sameNameFields(AdversarialState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.sameNameFields));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fragmentChain(AdversarialState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.fragmentChain));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fragmentPairs(AdversarialState state, Blackhole blackhole) {
+        blackhole.consume(validateQuery(state.schema, state.fragmentPairs));
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     public void overlappingFieldValidationAbgTime(MyState myState, Blackhole blackhole) {
@@ -74,7 +200,7 @@ public class OverlappingFieldValidationBenchmark {
         blackhole.consume(validateQuery(myState.schema, myState.document));
     }
 
-    private List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
+    private static List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
         ValidationErrorCollector errorCollector = new ValidationErrorCollector();
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH);
         ValidationContext validationContext = new ValidationContext(schema, document, i18n);
@@ -0,0 +1,96 @@
+package benchmark;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.QueryAnalysis;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.CoercedVariables;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking the depth and the complexity of an operation with a walk per check, which is what the
+ * max depth and max complexity instrumentations used to do, with checking both from a single {@link QueryAnalysis}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryAnalysisBenchmark {
+
+    private static final FieldComplexityCalculator FIELD_COMPLEXITY_CALCULATOR = (env, childComplexity) -> 1 + childComplexity;
+
+    GraphQLSchema schema;
+    Document document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schema = SchemaGenerator.createdMockedSchema(BenchmarkUtils.loadResource("large-schema-1.graphqls"));
+        document = Parser.parse(BenchmarkUtils.loadResource("large-schema-1-query.graphql"));
+    }
+
+    @Benchmark
+    public void walkPerCheck(Blackhole blackhole) {
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(document)
+                .coercedVariables(CoercedVariables.emptyVariables())
+                .build();
+        int depth = queryTraverser.reducePreOrder((env, acc) -> Math.max(getPathLength(env.getParentEnvironment()), acc), 0);
+        int complexity = QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator(FIELD_COMPLEXITY_CALCULATOR)
+                .schema(schema)
+                .document(document)
+                .build()
+                .calculate();
+        blackhole.consume(depth);
+        blackhole.consume(complexity);
+    }
+
+    @Benchmark
+    public void sharedAnalysis(Blackhole blackhole) {
+        QueryAnalysis queryAnalysis = QueryAnalysis.analyseQuery(schema, document, null, CoercedVariables.emptyVariables());
+        blackhole.consume(queryAnalysis.getDepth());
+        blackhole.consume(queryAnalysis.getComplexity(FIELD_COMPLEXITY_CALCULATOR));
+    }
+
+    private static int getPathLength(QueryVisitorFieldEnvironment path) {
+        int length = 1;
+        while (path != null) {
+            path = path.getParentEnvironment();
+            length++;
+        }
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.QueryAnalysisBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.parser.ParserEnvironment;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ANTLR based parser with the recursive descent parser of {@link ParserOptions#isRecursiveDescentParser()}
+ * on executable documents of different sizes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecursiveDescentParserBenchmark {
+
+    @Param({"false", "true"})
+    public boolean recursiveDescentParser;
+
+    @Param({"large-schema-1-query.graphql", "large-schema-4-query.graphql", "extra-large-schema-1-query.graphql"})
+    public String query;
+
+    ParserOptions parserOptions;
+    String queryText;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parserOptions = ParserOptions.getDefaultOperationParserOptions().transform(builder -> builder.recursiveDescentParser(recursiveDescentParser));
+        queryText = BenchmarkUtils.loadResource(query);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return Parser.parse(ParserEnvironment.newParserEnvironment().document(queryText).parserOptions(parserOptions).build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.RecursiveDescentParserBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
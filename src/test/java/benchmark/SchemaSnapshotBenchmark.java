@@ -0,0 +1,60 @@
+package benchmark;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.SchemaSnapshot;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares making a large schema from its SDL with making it from a {@link SchemaSnapshot}, which is what a service does
+ * every time it starts
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class SchemaSnapshotBenchmark {
+
+    static String largeSDL = BenchmarkUtils.loadResource("large-schema-3.graphqls");
+    static byte[] snapshot = new SchemaGenerator().makeSchemaSnapshot(new SchemaParser().parse(largeSDL), RuntimeWiring.MOCKED_WIRING).toByteArray();
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkSchemaFromSDL(Blackhole blackhole) {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(largeSDL);
+        blackhole.consume(new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkSchemaFromSnapshot(Blackhole blackhole) {
+        SchemaSnapshot schemaSnapshot = SchemaSnapshot.fromByteArray(snapshot);
+        blackhole.consume(new SchemaGenerator().makeExecutableSchema(schemaSnapshot, RuntimeWiring.MOCKED_WIRING));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkReadSnapshot(Blackhole blackhole) {
+        blackhole.consume(SchemaSnapshot.fromByteArray(snapshot));
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("SDL %,d chars, snapshot %,d bytes%n", largeSDL.length(), snapshot.length);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(SchemaSnapshot.fromByteArray(snapshot), RuntimeWiring.MOCKED_WIRING);
+        System.out.printf("%,d types%n", schema.getAllTypesAsList().size());
+    }
+}
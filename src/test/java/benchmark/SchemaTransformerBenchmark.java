@@ -89,6 +89,17 @@ public class SchemaTransformerBenchmark {
             }
         };
 
+        // a visibility change of a single field, like a per tenant schema would have
+        GraphQLTypeVisitor fieldHider = new GraphQLTypeVisitorStub() {
+            @Override
+            public TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition node, TraverserContext<GraphQLSchemaElement> context) {
+                if (node.getName().equals("field4610") && ((GraphQLObjectType) context.getParentNode()).getName().equals("Object1000")) {
+                    return deleteNode(context);
+                }
+                return TraversalControl.CONTINUE;
+            }
+        };
+
         @Setup
         public void setup() {
             try {
@@ -114,4 +125,24 @@ public class SchemaTransformerBenchmark {
         GraphQLSchema schema = myState.txSchema;
         return SchemaTransformer.transformSchema(schema, myState.directiveRemover);
     }
+
+    @Benchmark
+    public GraphQLSchema benchMarkSchemaTransformerAddWithSharing(MyState myState) {
+        return SchemaTransformer.transformSchemaWithSharing(myState.schema, myState.directiveAdder);
+    }
+
+    @Benchmark
+    public GraphQLSchema benchMarkSchemaTransformerRemoveWithSharing(MyState myState) {
+        return SchemaTransformer.transformSchemaWithSharing(myState.txSchema, myState.directiveRemover);
+    }
+
+    @Benchmark
+    public GraphQLSchema benchMarkSchemaTransformerHideField(MyState myState) {
+        return SchemaTransformer.transformSchema(myState.schema, myState.fieldHider);
+    }
+
+    @Benchmark
+    public GraphQLSchema benchMarkSchemaTransformerHideFieldWithSharing(MyState myState) {
+        return SchemaTransformer.transformSchemaWithSharing(myState.schema, myState.fieldHider);
+    }
 }
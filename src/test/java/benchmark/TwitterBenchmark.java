@@ -2,6 +2,7 @@ package benchmark;
 
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
 import graphql.GraphQL;
 import graphql.execution.preparsed.persisted.InMemoryPersistedQueryCache;
 import graphql.execution.preparsed.persisted.PersistedQueryCache;
@@ -28,6 +29,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -57,10 +59,23 @@ public class TwitterBenchmark {
         bh.consume(execute());
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void benchmarkAvgTimeCompactResults(Blackhole bh) {
+        bh.consume(executeWithCompactResults());
+    }
+
     private static ExecutionResult execute() {
         return graphQL.execute(query);
     }
 
+    private static ExecutionResult executeWithCompactResults() {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(query)
+                .graphQLContext(Map.of(ExperimentalApi.ENABLE_COMPACT_RESULTS, true))
+                .build();
+        return graphQL.execute(executionInput);
+    }
+
     public static String mkQuery() {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
@@ -0,0 +1,156 @@
+package benchmark.endtoend;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link Scenario} through the full request lifecycle: document caching or parsing, validation, variable coercion,
+ * execution, DataLoader dispatching and instrumentation, until the last result (including every deferred payload) is complete.
+ * <p>
+ * The workload is generated from a fixed seed by {@link Workload}, so results of different runs and releases are comparable.
+ * Run it via the {@code endToEndBenchmark} gradle task or this class's main method, which write the JMH results as json
+ * (the file name can be passed as the first argument) so that they can be tracked per release.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndToEndBenchmark {
+
+    static final long SEED = 20240601L;
+
+    @Param({
+            "PERSISTED_QUERY_CACHE_HIT",
+            "VARIABLES_COERCION",
+            "DATALOADER_BATCHING",
+            "DEFER",
+            "LARGE_RESPONSE_1MB",
+            "LARGE_RESPONSE_10MB",
+            "INSTRUMENTATION_CHAIN"
+    })
+    public Scenario scenario;
+
+    Workload workload;
+    GraphQL graphQL;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = newWorkload();
+        graphQL = scenario.graphQL(workload).build();
+    }
+
+    @Benchmark
+    public Object request() {
+        return execute(graphQL, scenario, workload);
+    }
+
+    static Workload newWorkload() {
+        return new Workload(SEED, 400, 10, 5, 1000);
+    }
+
+    /**
+     * Executes one request of the scenario and waits for all of its results
+     *
+     * @return the initial result followed by any incremental results
+     */
+    static List<Object> execute(GraphQL graphQL, Scenario scenario, Workload workload) {
+        ExecutionResult executionResult = graphQL.executeAsync(scenario.executionInput(workload)).join();
+        List<Object> results = new ArrayList<>();
+        results.add(executionResult);
+        if (executionResult instanceof IncrementalExecutionResult) {
+            results.addAll(drain((IncrementalExecutionResult) executionResult));
+        }
+        return results;
+    }
+
+    private static List<DelayedIncrementalPartialResult> drain(IncrementalExecutionResult incrementalResult) {
+        CompletableFuture<List<DelayedIncrementalPartialResult>> done = new CompletableFuture<>();
+        incrementalResult.getIncrementalItemPublisher().subscribe(new Subscriber<>() {
+            final List<DelayedIncrementalPartialResult> results = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DelayedIncrementalPartialResult result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(results);
+            }
+        });
+        return done.join();
+    }
+
+    /**
+     * Makes sure every scenario runs without errors, and shows how big its response is, before spending time benchmarking it
+     */
+    private static void checkScenarios() {
+        Workload workload = newWorkload();
+        for (Scenario scenario : Scenario.values()) {
+            GraphQL graphQL = scenario.graphQL(workload).build();
+            List<Object> results = execute(graphQL, scenario, workload);
+            ExecutionResult executionResult = (ExecutionResult) results.get(0);
+            if (!executionResult.getErrors().isEmpty()) {
+                throw new IllegalStateException(scenario + " has errors: " + executionResult.getErrors());
+            }
+            System.out.printf("%-28s %,12d characters of result in %d result(s)%n", scenario, String.valueOf(executionResult.toSpecification()).length(), results.size());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        checkScenarios();
+
+        File resultFile = new File(args.length > 0 ? args[0] : "build/reports/jmh/end-to-end.json");
+        //noinspection ResultOfMethodCallIgnored
+        resultFile.getAbsoluteFile().getParentFile().mkdirs();
+
+        Options opt = new OptionsBuilder()
+                .include("benchmark.endtoend.EndToEndBenchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.getPath())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
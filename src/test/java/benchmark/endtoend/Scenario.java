@@ -0,0 +1,242 @@
+package benchmark.endtoend;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidationInstrumentation;
+import graphql.execution.instrumentation.fieldvalidation.SimpleFieldValidation;
+import graphql.execution.instrumentation.tracing.TracingInstrumentation;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.InMemoryPersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The named end to end scenarios.  Each one models a kind of request that production servers see, from the raw query text (or
+ * persisted query id) and variables through to the complete result.
+ * <p>
+ * The names are part of the machine-readable results, so rename a scenario only when its workload changes in a way that makes
+ * old results incomparable.
+ */
+public enum Scenario {
+
+    /**
+     * A client sending a persisted query id whose parsed and validated document is already cached
+     */
+    PERSISTED_QUERY_CACHE_HIT {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            InMemoryPersistedQueryCache cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                    .addQuery(sha256(Queries.CATALOG_PAGE), Queries.CATALOG_PAGE)
+                    .build();
+            return GraphQL.newGraphQL(workload.propertySchema())
+                    .preparsedDocumentProvider(new ApolloPersistedQuerySupport(cache));
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return ExecutionInput.newExecutionInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+                    .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", sha256(Queries.CATALOG_PAGE))))
+                    .variables(Map.of("first", 5))
+                    .build();
+        }
+    },
+
+    /**
+     * A search with a large input object, lists of input objects and defaulted values that all need coercing
+     */
+    VARIABLES_COERCION {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            return GraphQL.newGraphQL(workload.propertySchema());
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            Map<String, Object> filter = Map.of(
+                    "minPrice", 10,
+                    "maxPrice", 900.5,
+                    "tags", List.of("graph", "coffee", "lamp", "river", "signal", "harbour"),
+                    "inStock", true,
+                    "ratingAtLeast", 2,
+                    "sort", List.of(Map.of("field", "RATING", "descending", true), Map.of("field", "PRICE"), Map.of("field", "NAME")));
+            return ExecutionInput.newExecutionInput(Queries.SEARCH)
+                    .variables(Map.of("filter", filter, "first", 20, "offset", 5))
+                    .build();
+        }
+    },
+
+    /**
+     * A deep query where every level below the root is batched by a DataLoader, four levels deep
+     */
+    DATALOADER_BATCHING {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            return GraphQL.newGraphQL(workload.dataLoaderSchema());
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return ExecutionInput.newExecutionInput(Queries.DEEP_CATALOG)
+                    .variables(Map.of("first", 5))
+                    .dataLoaderRegistry(workload.newDataLoaderRegistry())
+                    .build();
+        }
+    },
+
+    /**
+     * A catalog page whose reviews are deferred, consumed until the last incremental payload has arrived
+     */
+    DEFER {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            return GraphQL.newGraphQL(workload.propertySchema());
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return ExecutionInput.newExecutionInput(Queries.DEFERRED_CATALOG_PAGE)
+                    .variables(Map.of("first", 5))
+                    .graphQLContext(Map.of(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true))
+                    .build();
+        }
+    },
+
+    /**
+     * A full catalog export with a result of roughly 1MB of JSON
+     */
+    LARGE_RESPONSE_1MB {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            return GraphQL.newGraphQL(workload.propertySchema());
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return ExecutionInput.newExecutionInput(Queries.CATALOG_EXPORT)
+                    .variables(Map.of("first", 36))
+                    .build();
+        }
+    },
+
+    /**
+     * A full catalog export with a result of roughly 10MB of JSON
+     */
+    LARGE_RESPONSE_10MB {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            return GraphQL.newGraphQL(workload.propertySchema());
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return ExecutionInput.newExecutionInput(Queries.CATALOG_EXPORT)
+                    .variables(Map.of("first", 360))
+                    .build();
+        }
+    },
+
+    /**
+     * The DataLoader batched query behind the kind of instrumentation chain a production server installs: depth and complexity
+     * limits, field validation and tracing
+     */
+    INSTRUMENTATION_CHAIN {
+        @Override
+        GraphQL.Builder graphQL(Workload workload) {
+            ChainedInstrumentation instrumentation = new ChainedInstrumentation(
+                    new MaxQueryDepthInstrumentation(20),
+                    new MaxQueryComplexityInstrumentation(100_000),
+                    new FieldValidationInstrumentation(new SimpleFieldValidation()),
+                    new TracingInstrumentation());
+            return GraphQL.newGraphQL(workload.dataLoaderSchema()).instrumentation(instrumentation);
+        }
+
+        @Override
+        ExecutionInput executionInput(Workload workload) {
+            return DATALOADER_BATCHING.executionInput(workload);
+        }
+    };
+
+    /**
+     * @param workload the generated data
+     *
+     * @return the GraphQL set up the way this scenario runs
+     */
+    abstract GraphQL.Builder graphQL(Workload workload);
+
+    /**
+     * Called for every request, since things like DataLoaders must not be shared between requests
+     *
+     * @param workload the generated data
+     *
+     * @return the next request of this scenario
+     */
+    abstract ExecutionInput executionInput(Workload workload);
+
+    private static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Queries {
+
+        static final String CATALOG_PAGE = "" +
+                "query catalogPage($first: Int!) {\n" +
+                "  categories(first: $first) {\n" +
+                "    id name\n" +
+                "    products { id name price inStock rating tags reviews { id title rating author { id handle } } }\n" +
+                "  }\n" +
+                "}";
+
+        static final String DEFERRED_CATALOG_PAGE = "" +
+                "query deferredCatalogPage($first: Int!) {\n" +
+                "  categories(first: $first) {\n" +
+                "    id name\n" +
+                "    products {\n" +
+                "      id name price inStock rating tags\n" +
+                "      ... @defer(label: \"reviews\") { reviews { id title body rating author { id handle name } } }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+
+        static final String SEARCH = "" +
+                "query search($filter: ProductFilter!, $first: Int!, $offset: Int) {\n" +
+                "  search(filter: $filter, first: $first, offset: $offset) { id name description price tags inStock rating }\n" +
+                "}";
+
+        static final String DEEP_CATALOG = "" +
+                "query deepCatalog($first: Int!) {\n" +
+                "  categories(first: $first) {\n" +
+                "    id name\n" +
+                "    products {\n" +
+                "      id name price\n" +
+                "      reviews { id rating author { id handle followers favouriteCategory { id name } } }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+
+        static final String CATALOG_EXPORT = "" +
+                "query catalogExport($first: Int!) {\n" +
+                "  categories(first: $first) {\n" +
+                "    id name description\n" +
+                "    products {\n" +
+                "      id name description price tags inStock rating\n" +
+                "      reviews { id title body rating author { id handle name bio followers } }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+    }
+}
@@ -0,0 +1,400 @@
+package benchmark.endtoend;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * A reproducible, production shaped catalog of categories, products, reviews and users together with its schema.
+ * <p>
+ * The data is generated from a fixed seed so every run and every release benchmarks exactly the same data.  The schema can
+ * be wired in two ways: with property data fetchers that walk the object graph directly, or with DataLoaders that batch every
+ * level of the graph, which gives four levels of DataLoader batching for
+ * {@code categories -> products -> reviews -> author -> favouriteCategory}.
+ */
+public class Workload {
+
+    static final String SDL = "" +
+            "directive @defer(if: Boolean, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT\n" +
+            "type Query {\n" +
+            "  categories(first: Int!): [Category!]!\n" +
+            "  search(filter: ProductFilter!, first: Int!, offset: Int = 0): [Product!]!\n" +
+            "}\n" +
+            "input ProductFilter {\n" +
+            "  text: String\n" +
+            "  minPrice: Float\n" +
+            "  maxPrice: Float\n" +
+            "  tags: [String!]\n" +
+            "  inStock: Boolean\n" +
+            "  ratingAtLeast: Int\n" +
+            "  sort: [SortOrder!] = [{field: NAME}]\n" +
+            "}\n" +
+            "input SortOrder {\n" +
+            "  field: SortField!\n" +
+            "  descending: Boolean = false\n" +
+            "}\n" +
+            "enum SortField { NAME PRICE RATING }\n" +
+            "type Category {\n" +
+            "  id: ID!\n" +
+            "  name: String!\n" +
+            "  description: String\n" +
+            "  products: [Product!]!\n" +
+            "}\n" +
+            "type Product {\n" +
+            "  id: ID!\n" +
+            "  name: String!\n" +
+            "  description: String\n" +
+            "  price: Float!\n" +
+            "  tags: [String!]!\n" +
+            "  inStock: Boolean!\n" +
+            "  rating: Int\n" +
+            "  reviews: [Review!]!\n" +
+            "}\n" +
+            "type Review {\n" +
+            "  id: ID!\n" +
+            "  title: String\n" +
+            "  body: String\n" +
+            "  rating: Int!\n" +
+            "  author: User!\n" +
+            "}\n" +
+            "type User {\n" +
+            "  id: ID!\n" +
+            "  handle: String!\n" +
+            "  name: String\n" +
+            "  bio: String\n" +
+            "  followers: Int!\n" +
+            "  favouriteCategory: Category\n" +
+            "}\n";
+
+    private static final String[] WORDS = {
+            "graph", "query", "latency", "batch", "coffee", "lamp", "desk", "garden", "river", "stone", "paper", "orange",
+            "violet", "engine", "signal", "harbour", "winter", "summer", "market", "little", "quiet", "bright", "rapid", "silver"
+    };
+
+    private final List<Category> categories = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+    private final Map<String, Category> categoriesById = new LinkedHashMap<>();
+    private final Map<String, User> usersById = new LinkedHashMap<>();
+
+    /**
+     * Generates a catalog with the given shape.  The same arguments always generate the same catalog.
+     *
+     * @param seed                  the random seed
+     * @param categoryCount         how many categories there are
+     * @param productsPerCategory   how many products each category has
+     * @param reviewsPerProduct     how many reviews each product has
+     * @param userCount             how many users write the reviews
+     */
+    public Workload(long seed, int categoryCount, int productsPerCategory, int reviewsPerProduct, int userCount) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < userCount; u++) {
+            User user = new User("user-" + u, "@" + words(random, 1) + u, words(random, 2), words(random, 16), random.nextInt(100_000));
+            users.add(user);
+            usersById.put(user.getId(), user);
+        }
+        for (int c = 0; c < categoryCount; c++) {
+            Category category = new Category("category-" + c, words(random, 2), words(random, 20));
+            for (int p = 0; p < productsPerCategory; p++) {
+                List<String> tags = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    tags.add(WORDS[random.nextInt(WORDS.length)]);
+                }
+                Product product = new Product(category.getId() + "-product-" + p, words(random, 3), words(random, 24),
+                        Math.round(random.nextDouble() * 100_000) / 100.0, tags, random.nextInt(4) != 0, 1 + random.nextInt(5));
+                for (int r = 0; r < reviewsPerProduct; r++) {
+                    User author = users.get(random.nextInt(users.size()));
+                    product.reviews.add(new Review(product.getId() + "-review-" + r, words(random, 5), words(random, 32), 1 + random.nextInt(5), author));
+                }
+                category.products.add(product);
+                products.add(product);
+            }
+            categories.add(category);
+            categoriesById.put(category.getId(), category);
+        }
+        for (User user : users) {
+            user.favouriteCategory = categories.isEmpty() ? null : categories.get(random.nextInt(categories.size()));
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return a schema where the data is fetched by walking the generated object graph
+     */
+    public GraphQLSchema propertySchema() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("categories", categoriesDF())
+                        .dataFetcher("search", searchDF()))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+    }
+
+    /**
+     * @return a schema where every level below the root is fetched via a DataLoader from {@link #newDataLoaderRegistry()}
+     */
+    public GraphQLSchema dataLoaderSchema() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("categories", categoriesDF())
+                        .dataFetcher("search", searchDF()))
+                .type(newTypeWiring("Category")
+                        .dataFetcher("products", loaderDF("products", Category::getId)))
+                .type(newTypeWiring("Product")
+                        .dataFetcher("reviews", loaderDF("reviews", Product::getId)))
+                .type(newTypeWiring("Review")
+                        .dataFetcher("author", loaderDF("users", (Review review) -> review.getAuthor().getId())))
+                .type(newTypeWiring("User")
+                        .dataFetcher("favouriteCategory", loaderDF("categories", (User user) -> user.getFavouriteCategory().getId())))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+    }
+
+    /**
+     * DataLoaders cache per request, so every request needs a registry of its own
+     *
+     * @return a new registry with the DataLoaders that {@link #dataLoaderSchema()} uses
+     */
+    public DataLoaderRegistry newDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register("products", loader(id -> categoriesById.get(id).getProducts()));
+        registry.register("reviews", loader(id -> findProduct(id).getReviews()));
+        registry.register("users", loader(usersById::get));
+        registry.register("categories", loader(categoriesById::get));
+        return registry;
+    }
+
+    private Product findProduct(String id) {
+        String categoryId = id.substring(0, id.indexOf("-product-"));
+        int index = Integer.parseInt(id.substring(id.lastIndexOf('-') + 1));
+        return categoriesById.get(categoryId).getProducts().get(index);
+    }
+
+    private static <V> DataLoader<String, V> loader(Function<String, V> lookup) {
+        BatchLoader<String, V> batchLoader = keys -> CompletableFuture.completedFuture(keys.stream().map(lookup).collect(Collectors.toList()));
+        return DataLoaderFactory.newDataLoader(batchLoader);
+    }
+
+    private static <T> DataFetcher<?> loaderDF(String loaderName, Function<T, String> key) {
+        return env -> env.getDataLoader(loaderName).load(key.apply(env.getSource()));
+    }
+
+    private DataFetcher<?> categoriesDF() {
+        return env -> categories.subList(0, Math.min(categories.size(), env.<Integer>getArgument("first")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataFetcher<?> searchDF() {
+        return env -> {
+            Map<String, Object> filter = env.getArgument("filter");
+            String text = (String) filter.get("text");
+            Double minPrice = (Double) filter.get("minPrice");
+            Double maxPrice = (Double) filter.get("maxPrice");
+            List<String> tags = (List<String>) filter.get("tags");
+            Boolean inStock = (Boolean) filter.get("inStock");
+            Integer ratingAtLeast = (Integer) filter.get("ratingAtLeast");
+            int first = env.getArgument("first");
+            int offset = env.getArgument("offset");
+            return products.stream()
+                    .filter(p -> text == null || p.getName().contains(text))
+                    .filter(p -> minPrice == null || p.getPrice() >= minPrice)
+                    .filter(p -> maxPrice == null || p.getPrice() <= maxPrice)
+                    .filter(p -> tags == null || p.getTags().stream().anyMatch(tags::contains))
+                    .filter(p -> inStock == null || p.isInStock() == inStock)
+                    .filter(p -> ratingAtLeast == null || p.getRating() >= ratingAtLeast)
+                    .skip(offset)
+                    .limit(first)
+                    .collect(Collectors.toList());
+        };
+    }
+
+    @SuppressWarnings("unused")
+    public static class Category {
+        private final String id;
+        private final String name;
+        private final String description;
+        private final List<Product> products = new ArrayList<>();
+
+        Category(String id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Product {
+        private final String id;
+        private final String name;
+        private final String description;
+        private final double price;
+        private final List<String> tags;
+        private final boolean inStock;
+        private final int rating;
+        private final List<Review> reviews = new ArrayList<>();
+
+        Product(String id, String name, String description, double price, List<String> tags, boolean inStock, int rating) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.tags = tags;
+            this.inStock = inStock;
+            this.rating = rating;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public boolean isInStock() {
+            return inStock;
+        }
+
+        public int getRating() {
+            return rating;
+        }
+
+        public List<Review> getReviews() {
+            return reviews;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Review {
+        private final String id;
+        private final String title;
+        private final String body;
+        private final int rating;
+        private final User author;
+
+        Review(String id, String title, String body, int rating, User author) {
+            this.id = id;
+            this.title = title;
+            this.body = body;
+            this.rating = rating;
+            this.author = author;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public int getRating() {
+            return rating;
+        }
+
+        public User getAuthor() {
+            return author;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class User {
+        private final String id;
+        private final String handle;
+        private final String name;
+        private final String bio;
+        private final int followers;
+        private Category favouriteCategory;
+
+        User(String id, String handle, String name, String bio, int followers) {
+            this.id = id;
+            this.handle = handle;
+            this.name = name;
+            this.bio = bio;
+            this.followers = followers;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getHandle() {
+            return handle;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getBio() {
+            return bio;
+        }
+
+        public int getFollowers() {
+            return followers;
+        }
+
+        public Category getFavouriteCategory() {
+            return favouriteCategory;
+        }
+    }
+}